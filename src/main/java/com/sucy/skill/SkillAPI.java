@@ -373,13 +373,13 @@ public class SkillAPI extends JavaPlugin {
      * modify this map. Instead, use helper methods within individual player data.
      *
      * @return all Fabled player data
-     * @deprecated use {@link Fabled#getPlayerAccountData()}
+     * @deprecated use {@link Fabled#getPlayerAccounts()}
      */
     @Deprecated(forRemoval = true)
     public static Map<String, PlayerAccounts> getPlayerAccountData() {
-        return Fabled.getPlayerAccountData().entrySet()
+        return Fabled.getPlayerAccounts().entrySet()
                 .stream()
-                .collect(Collectors.toMap(Map.Entry::getKey,
+                .collect(Collectors.toMap(entry -> entry.getKey().toString().toLowerCase(),
                         entry -> new PlayerAccounts(entry.getValue()),
                         (a, b) -> b));
     }
@@ -27,12 +27,12 @@ package studio.magemonkey.fabled;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.HandlerList;
 import org.bukkit.metadata.FixedMetadataValue;
 import org.bukkit.metadata.MetadataValue;
 import org.bukkit.metadata.Metadatable;
-import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.PluginDescriptionFile;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.plugin.java.JavaPluginLoader;
@@ -50,18 +50,30 @@ import studio.magemonkey.fabled.api.FabledAttributeProvider;
 import studio.magemonkey.fabled.api.armorstand.ArmorStandManager;
 import studio.magemonkey.fabled.api.classes.FabledClass;
 import studio.magemonkey.fabled.api.particle.EffectManager;
+import studio.magemonkey.fabled.api.particle.FrameCache;
+import studio.magemonkey.fabled.api.particle.ParticleSink;
 import studio.magemonkey.fabled.api.player.PlayerAccounts;
 import studio.magemonkey.fabled.api.player.PlayerClass;
 import studio.magemonkey.fabled.api.player.PlayerData;
 import studio.magemonkey.fabled.api.player.PlayerSkill;
+import studio.magemonkey.fabled.api.projectile.ProjectileEngine;
 import studio.magemonkey.fabled.api.skills.Skill;
+import studio.magemonkey.fabled.api.util.BuffManager;
+import studio.magemonkey.fabled.api.util.EntityMeta;
+import studio.magemonkey.fabled.api.util.EntityState;
+import studio.magemonkey.fabled.api.util.FlagManager;
+import studio.magemonkey.fabled.api.util.SpatialIndex;
 import studio.magemonkey.fabled.data.PlayerStats;
 import studio.magemonkey.fabled.data.Settings;
+import studio.magemonkey.fabled.data.formula.Formula;
 import studio.magemonkey.fabled.data.io.ConfigIO;
 import studio.magemonkey.fabled.data.io.IOManager;
+import studio.magemonkey.fabled.data.io.PlayerCache;
 import studio.magemonkey.fabled.data.io.SQLIO;
 import studio.magemonkey.fabled.dynamic.DynamicClass;
 import studio.magemonkey.fabled.dynamic.DynamicSkill;
+import studio.magemonkey.fabled.dynamic.SkillScheduler;
+import studio.magemonkey.fabled.dynamic.TriggerDispatcher;
 import studio.magemonkey.fabled.exception.FabledNotEnabledException;
 import studio.magemonkey.fabled.gui.tool.GUITool;
 import studio.magemonkey.fabled.hook.PlaceholderAPIHook;
@@ -71,14 +83,17 @@ import studio.magemonkey.fabled.listener.*;
 import studio.magemonkey.fabled.listener.attribute.AttributeListener;
 import studio.magemonkey.fabled.manager.*;
 import studio.magemonkey.fabled.task.CooldownTask;
+import studio.magemonkey.fabled.task.EntityStateTask;
 import studio.magemonkey.fabled.task.GUITask;
 import studio.magemonkey.fabled.task.ManaTask;
 import studio.magemonkey.fabled.task.SaveTask;
-import studio.magemonkey.fabled.thread.MainThread;
+import studio.magemonkey.fabled.thread.TickExecutor;
+import studio.magemonkey.fabled.util.PlaceholderUtil;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <p>The main class of the plugin which has the accessor methods into most of the API</p>
@@ -88,9 +103,9 @@ public class Fabled extends JavaPlugin {
     private static Fabled singleton;
     public static  Random RANDOM = new Random();
 
-    private final Map<String, Skill>          skills  = new HashMap<>();
-    private final Map<String, FabledClass>    classes = new HashMap<>();
-    private final Map<String, PlayerAccounts> players = new HashMap<>();
+    private final Map<String, Skill>          skills  = new ConcurrentHashMap<>();
+    private final Map<String, FabledClass>    classes = new ConcurrentHashMap<>();
+    private final Map<UUID, PlayerAccounts>   players = new ConcurrentHashMap<>();
     private final List<String>                groups  = new ArrayList<>();
 
     private final List<FabledListener> listeners = new ArrayList<>();
@@ -99,13 +114,13 @@ public class Fabled extends JavaPlugin {
     private Settings                settings;
 
     private IOManager           io;
+    private PlayerCache         playerCache;
     private CmdManager          cmd;
     private ComboManager        comboManager;
     private RegistrationManager registrationManager;
     private IAttributeManager   attributeManager = new NullAttributeManager();
     private AttributeProvider   fabledProvider   = null;
 
-    private MainThread mainThread;
     private BukkitTask manaTask;
 
     private boolean loaded    = false;
@@ -151,6 +166,15 @@ public class Fabled extends JavaPlugin {
         return inst().settings;
     }
 
+    /**
+     * Retrieves the manager that registered the skills and classes
+     *
+     * @return registration manager
+     */
+    public static RegistrationManager getRegistrationManager() {
+        return inst().registrationManager;
+    }
+
     /**
      * Retrieves the language file data for Fabled
      *
@@ -169,6 +193,24 @@ public class Fabled extends JavaPlugin {
         return inst().comboManager;
     }
 
+    /**
+     * Retrieves the manager used to save and load player data
+     *
+     * @return player data IO manager
+     */
+    public static IOManager getIOManager() {
+        return inst().io;
+    }
+
+    /**
+     * Retrieves the cache of players who recently left
+     *
+     * @return player data cache
+     */
+    public static PlayerCache getPlayerCache() {
+        return inst().playerCache;
+    }
+
     /**
      * Retrieves the attribute manager for Fabled
      *
@@ -312,7 +354,11 @@ public class Fabled extends JavaPlugin {
         if (player == null) {
             return null;
         }
-        return getPlayerAccountData(player).getActiveData();
+        PlayerAccounts accounts = inst().players.get(player.getUniqueId());
+        if (accounts == null) {
+            accounts = loadPlayerData(player);
+        }
+        return accounts.getActiveData();
     }
 
     /**
@@ -329,20 +375,30 @@ public class Fabled extends JavaPlugin {
         }
 
         // Already loaded for some reason, no need to load again
-        String id = player.getUniqueId().toString().toLowerCase();
-        if (inst().players.containsKey(id)) {
-            return singleton.players.get(id);
+        PlayerAccounts loaded = inst().players.get(player.getUniqueId());
+        if (loaded != null) {
+            return loaded;
         }
 
-        // Load the data
-        return doLoad(player);
+        // Keep whichever data was published first if another thread loaded it meanwhile
+        PlayerAccounts data     = singleton.playerCache.load(player);
+        PlayerAccounts existing = singleton.players.putIfAbsent(player.getUniqueId(), data);
+        return existing != null ? existing : data;
     }
 
     private static PlayerAccounts doLoad(OfflinePlayer player) {
-        // Load the data
-        PlayerAccounts data = singleton.io.loadData(player);
-        singleton.players.put(player.getUniqueId().toString(), data);
-        return data;
+        // Only replace the data this reload started from, keeping anything another thread published meanwhile
+        UUID           id       = player.getUniqueId();
+        PlayerAccounts previous = singleton.players.get(id);
+        PlayerAccounts data     = singleton.playerCache.load(player);
+        boolean published = previous == null
+                ? singleton.players.putIfAbsent(id, data) == null
+                : singleton.players.replace(id, previous, data);
+        if (published) {
+            return data;
+        }
+        PlayerAccounts current = singleton.players.get(id);
+        return current != null ? current : data;
     }
 
     /**
@@ -352,7 +408,7 @@ public class Fabled extends JavaPlugin {
      * @param player player to fake data for
      */
     public static void initFakeData(final OfflinePlayer player) {
-        inst().players.computeIfAbsent(player.getUniqueId().toString(), id -> new PlayerAccounts(player));
+        inst().players.computeIfAbsent(player.getUniqueId(), id -> new PlayerAccounts(player));
     }
 
     /**
@@ -382,9 +438,7 @@ public class Fabled extends JavaPlugin {
      * @return true if data has loaded, false otherwise
      */
     public static boolean hasPlayerData(OfflinePlayer player) {
-        return singleton != null && player != null && singleton.players.containsKey(player.getUniqueId()
-                .toString()
-                .toLowerCase());
+        return singleton != null && player != null && singleton.players.containsKey(player.getUniqueId());
     }
 
     /**
@@ -398,26 +452,27 @@ public class Fabled extends JavaPlugin {
     }
 
     /**
-     * Unloads player data from memory, saving it to the config
-     * first and then removing it from the map.
+     * Unloads player data from memory, moving it to the cache of recently
+     * left players where it is saved in the background.
      *
      * @param player     player to unload data for
      * @param skipSaving whether to skip saving the data
      *                   before unloading
      */
     public static void unloadPlayerData(final OfflinePlayer player, final boolean skipSaving) {
-        if (singleton == null || player == null || singleton.disabling
-                || !singleton.players.containsKey(player.getUniqueId().toString().toLowerCase())) {
+        if (singleton == null || player == null || singleton.disabling) {
+            return;
+        }
+        PlayerAccounts accounts = singleton.players.get(player.getUniqueId());
+        if (accounts == null) {
             return;
         }
 
-        singleton.getServer().getScheduler().runTaskAsynchronously((Plugin) singleton, () -> {
-            PlayerAccounts accounts = getPlayerAccountData(player);
-            if (!skipSaving) {
-                singleton.io.saveData(accounts);
-            }
-            singleton.players.remove(player.getUniqueId().toString().toLowerCase());
-        });
+        // Cache the data before dropping it so a quick relog never reads it back mid-save
+        if (!skipSaving && accounts.isLoaded()) {
+            singleton.playerCache.release(player, accounts);
+        }
+        singleton.players.remove(player.getUniqueId(), accounts);
     }
 
     /**
@@ -433,24 +488,31 @@ public class Fabled extends JavaPlugin {
             return null;
         }
 
-        String id = player.getUniqueId().toString().toLowerCase();
-        if (!inst().players.containsKey(id)) {
-            PlayerAccounts data = loadPlayerData(player);
-            singleton.players.put(id, data);
-            return data;
-        } else {
-            return singleton.players.get(id);
-        }
+        PlayerAccounts accounts = inst().players.get(player.getUniqueId());
+        return accounts != null ? accounts : loadPlayerData(player);
+    }
+
+    /**
+     * Retrieves all the player data of Fabled, keyed by player UUID. The map
+     * can't be modified, use helper methods within individual player data instead.
+     *
+     * @return all Fabled player data
+     */
+    public static Map<UUID, PlayerAccounts> getPlayerAccounts() {
+        return Collections.unmodifiableMap(inst().players);
     }
 
     /**
-     * Retrieves all the player data of Fabled. It is recommended not to
-     * modify this map. Instead, use helper methods within individual player data.
+     * Retrieves all the player data of Fabled, keyed by the lowercase string
+     * form of the player UUIDs. This is a live view of the player data, so
+     * changes go both ways like they did before the data was keyed by UUID.
      *
      * @return all Fabled player data
+     * @deprecated use {@link #getPlayerAccounts()}
      */
+    @Deprecated
     public static Map<String, PlayerAccounts> getPlayerAccountData() {
-        return inst().players;
+        return new PlayerAccountView(inst().players);
     }
 
     /**
@@ -495,14 +557,20 @@ public class Fabled extends JavaPlugin {
     }
 
     /**
-     * Sets a value to an entity's metadata
+     * Sets a value to an entity's metadata. Keys declared in {@link EntityMeta} are kept
+     * in the entity's {@link EntityState} when the target is an entity, anything else goes to Bukkit metadata.
      *
      * @param target entity to set to
      * @param key    key to store under
      * @param value  value to store
      */
     public static void setMeta(Metadatable target, String key, Object value) {
-        target.setMetadata(key, new FixedMetadataValue(inst(), value));
+        EntityMeta.Key<?> declared = EntityMeta.getKey(key);
+        if (declared != null && EntityMeta.supports(target)) {
+            EntityMeta.setValue((Entity) target, declared, value);
+        } else {
+            target.setMetadata(key, new FixedMetadataValue(inst(), value));
+        }
     }
 
     /**
@@ -514,10 +582,29 @@ public class Fabled extends JavaPlugin {
      */
     @SuppressWarnings("ConstantValue")
     public static Object getMeta(Metadatable target, String key) {
+        EntityMeta.Key<?> declared = EntityMeta.getKey(key);
+        if (declared != null && EntityMeta.supports(target)) {
+            return EntityMeta.get((Entity) target, declared);
+        }
         List<MetadataValue> meta = target.getMetadata(key);
         return meta == null || meta.isEmpty() ? null : meta.get(0).value();
     }
 
+    /**
+     * Checks whether an entity has metadata under a key
+     *
+     * @param target entity to check
+     * @param key    key the value was stored under
+     * @return true if a value is stored
+     */
+    public static boolean hasMeta(Metadatable target, String key) {
+        EntityMeta.Key<?> declared = EntityMeta.getKey(key);
+        if (declared != null && EntityMeta.supports(target)) {
+            return EntityMeta.has((Entity) target, declared);
+        }
+        return target.hasMetadata(key);
+    }
+
     /**
      * Retrieves metadata from an entity
      *
@@ -526,6 +613,11 @@ public class Fabled extends JavaPlugin {
      * @return the stored value
      */
     public static int getMetaInt(Metadatable target, String key) {
+        EntityMeta.Key<?> declared = EntityMeta.getKey(key);
+        if (declared != null && EntityMeta.supports(target)) {
+            Object value = EntityMeta.get((Entity) target, declared);
+            return value instanceof Number ? ((Number) value).intValue() : 0;
+        }
         return target.getMetadata(key).get(0).asInt();
     }
 
@@ -537,6 +629,11 @@ public class Fabled extends JavaPlugin {
      * @return the stored value
      */
     public static double getMetaDouble(Metadatable target, String key) {
+        EntityMeta.Key<?> declared = EntityMeta.getKey(key);
+        if (declared != null && EntityMeta.supports(target)) {
+            Object value = EntityMeta.get((Entity) target, declared);
+            return value instanceof Number ? ((Number) value).doubleValue() : 0;
+        }
         return target.getMetadata(key).get(0).asDouble();
     }
 
@@ -547,7 +644,12 @@ public class Fabled extends JavaPlugin {
      * @param key    key metadata was stored under
      */
     public static void removeMeta(Metadatable target, String key) {
-        target.removeMetadata(key, inst());
+        EntityMeta.Key<?> declared = EntityMeta.getKey(key);
+        if (declared != null && EntityMeta.supports(target)) {
+            EntityMeta.remove((Entity) target, declared);
+        } else {
+            target.removeMetadata(key, inst());
+        }
     }
 
     /**
@@ -602,9 +704,17 @@ public class Fabled extends JavaPlugin {
         GUITool.cleanUp();
         EffectManager.cleanUp();
         ArmorStandManager.cleanUp();
-
-        mainThread.disable();
-        mainThread = null;
+        ProjectileEngine.cleanUp();
+        FlagManager.cleanUp();
+        BuffManager.cleanUp();
+        SkillScheduler.cleanUp();
+        SpatialIndex.cleanUp();
+        EntityState.cleanUp();
+        ParticleSink.cleanUp();
+        PlaceholderUtil.cleanUp();
+        Formula.cleanUp();
+
+        TickExecutor.cleanUp();
 
         if (manaTask != null) {
             manaTask.cancel();
@@ -625,12 +735,15 @@ public class Fabled extends JavaPlugin {
         }
 
         io.saveAll();
+        playerCache.close();
+        io.close();
 
         skills.clear();
         classes.clear();
         players.clear();
 
         HandlerList.unregisterAll(this);
+        TriggerDispatcher.clear();
         cmd.clear();
 
         loaded = false;
@@ -659,7 +772,7 @@ public class Fabled extends JavaPlugin {
 
         singleton = this;
 
-        mainThread = new MainThread();
+        TickExecutor.init();
         EffectManager.init();
         ArmorStandManager.init();
 
@@ -683,6 +796,10 @@ public class Fabled extends JavaPlugin {
         registrationManager = new RegistrationManager(this);
         cmd = new CmdManager(this);
         io = settings.isUseSql() ? new SQLIO(this) : new ConfigIO(this);
+        playerCache = new PlayerCache(this,
+                io,
+                settings.isUseSql() ? 0 : settings.getCacheSize(),
+                settings.getCacheSeconds() * 1000L);
         PlayerStats.init();
         ClassBoardManager.registerText();
         if (settings.isAttributesEnabled()) {
@@ -701,6 +818,8 @@ public class Fabled extends JavaPlugin {
         listen(new BuffListener(), true);
         listen(new MainListener(), true);
         listen(new MechanicListener(), true);
+        listen(new EntitiesUnloadListener(), VersionManager.isVersionAtLeast(11700));
+        listen(new ChunkUnloadListener(), !VersionManager.isVersionAtLeast(11700));
         if (protocolLib) listen(new PacketListener(), true);
         listen(new ProjectileListener(), true);
         listen(new ShieldBlockListener(), true);
@@ -736,6 +855,12 @@ public class Fabled extends JavaPlugin {
         listen(new PluginChecker(), true);
 
         // Set up tasks
+        ProjectileEngine.init();
+        SkillScheduler.init();
+        SpatialIndex.init();
+        EntityState.init();
+        ParticleSink.init();
+        FrameCache.init();
         if (settings.isManaEnabled()) {
             if (VersionManager.isVersionAtLeast(11400)) {
                 manaTask = Bukkit.getScheduler().runTaskTimer(
@@ -745,16 +870,17 @@ public class Fabled extends JavaPlugin {
                         Fabled.getSettings().getGainFreq()
                 );
             } else {
-                MainThread.register(new ManaTask());
+                TickExecutor.register(new ManaTask());
             }
         }
         if (settings.isSkillBarCooldowns()) {
-            MainThread.register(new CooldownTask());
+            TickExecutor.register(new CooldownTask());
         }
         if (settings.isAutoSave()) {
-            MainThread.register(new SaveTask(this));
+            TickExecutor.register(new SaveTask(this));
         }
-        MainThread.register(new GUITask(this));
+        TickExecutor.register(new GUITask(this));
+        TickExecutor.register(new EntityStateTask());
 
         GUITool.init();
 
@@ -869,6 +995,37 @@ public class Fabled extends JavaPlugin {
         }
     }
 
+    /**
+     * Swaps a reloaded dynamic skill in for the registered skill with the same
+     * name. This should not be called by other plugins.
+     *
+     * @param skill the reloaded dynamic skill
+     * @return the skill that was replaced or null if there was none
+     */
+    public Skill replaceDynamicSkill(DynamicSkill skill) {
+        if (registrationManager.isAddingDynamicSkills()) {
+            return skills.put(skill.getName().toLowerCase(), skill);
+        } else {
+            throw new IllegalStateException("Cannot add dynamic skills from outside Fabled");
+        }
+    }
+
+    /**
+     * Swaps a reloaded dynamic class in for the registered class with the same
+     * name. This should not be called by other plugins.
+     *
+     * @param rpgClass the reloaded dynamic class
+     * @return the class that was replaced or null if there was none
+     */
+    public FabledClass replaceDynamicClass(DynamicClass rpgClass) {
+        FabledClass previous = classes.put(rpgClass.getName().toLowerCase(), rpgClass);
+        ClassBoardManager.registerClass(rpgClass);
+        if (!groups.contains(rpgClass.getGroup())) {
+            groups.add(rpgClass.getGroup());
+        }
+        return previous;
+    }
+
     /**
      * Registers a new class with Fabled. If this is called outside the method
      * provided in SkillPlugin, this will throw an error. You should implement SkillPlugin
@@ -881,4 +1038,102 @@ public class Fabled extends JavaPlugin {
             addClass(fabledClass);
         }
     }
+
+    /**
+     * String keyed view over the UUID keyed player data, backing the deprecated
+     * {@link #getPlayerAccountData()}
+     */
+    private static final class PlayerAccountView extends AbstractMap<String, PlayerAccounts> {
+        private final Map<UUID, PlayerAccounts> players;
+
+        private PlayerAccountView(Map<UUID, PlayerAccounts> players) {
+            this.players = players;
+        }
+
+        private static UUID toId(Object key) {
+            if (!(key instanceof String)) {
+                return null;
+            }
+            try {
+                return UUID.fromString((String) key);
+            } catch (IllegalArgumentException ex) {
+                return null;
+            }
+        }
+
+        @Override
+        public int size() {
+            return players.size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            UUID id = toId(key);
+            return id != null && players.containsKey(id);
+        }
+
+        @Override
+        public PlayerAccounts get(Object key) {
+            UUID id = toId(key);
+            return id == null ? null : players.get(id);
+        }
+
+        @Override
+        public PlayerAccounts put(String key, PlayerAccounts value) {
+            UUID id = toId(key);
+            if (id == null) {
+                throw new IllegalArgumentException("Player data is keyed by UUID, got " + key);
+            }
+            return players.put(id, value);
+        }
+
+        @Override
+        public PlayerAccounts remove(Object key) {
+            UUID id = toId(key);
+            return id == null ? null : players.remove(id);
+        }
+
+        @Override
+        public void clear() {
+            players.clear();
+        }
+
+        @Override
+        public Set<Entry<String, PlayerAccounts>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return players.size();
+                }
+
+                @Override
+                public Iterator<Entry<String, PlayerAccounts>> iterator() {
+                    Iterator<Entry<UUID, PlayerAccounts>> iterator = players.entrySet().iterator();
+                    return new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return iterator.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, PlayerAccounts> next() {
+                            Entry<UUID, PlayerAccounts> entry = iterator.next();
+                            return new SimpleEntry<>(entry.getKey().toString(), entry.getValue()) {
+                                @Override
+                                public PlayerAccounts setValue(PlayerAccounts value) {
+                                    super.setValue(value);
+                                    return entry.setValue(value);
+                                }
+                            };
+                        }
+
+                        @Override
+                        public void remove() {
+                            iterator.remove();
+                        }
+                    };
+                }
+            };
+        }
+    }
 }
@@ -3,22 +3,45 @@ package studio.magemonkey.fabled.api;
 import studio.magemonkey.codex.mccore.util.MobManager;
 import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.player.PlayerData;
+import lombok.Getter;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
-
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Skill variables of a single caster.</p>
+ * <p>Variable names are interned into numeric slots shared by every caster, usually
+ * when skills load, so components can read and write by slot without hashing the
+ * name each time. Numbers are kept unboxed in a primitive store while everything
+ * else goes into a separate object store.</p>
+ */
 public class CastData {
-    private final Map<String, Object> data = new HashMap<>();
+    private static final byte ABSENT = 0;
+    private static final byte NUMBER = 1;
+    private static final byte OBJECT = 2;
+
+    private static final Map<String, Integer> slots = new ConcurrentHashMap<>();
+    private static       String[]             names = new String[32];
+    private static       int                  slotCount;
+
+    @Getter
+    private final LivingEntity caster;
+
+    private byte[]   kinds   = new byte[0];
+    private double[] numbers = new double[0];
+    private Object[] objects = new Object[0];
 
     public CastData(LivingEntity caster) {
-        data.put("caster", caster);
+        this.caster = caster;
+        put("caster", caster);
 
         // Load the player's attributes as attr:<attribute> into the castData map
         if (caster instanceof Player) {
             for (String attr : Fabled.getAttributeManager().getAttributes().keySet()) {
-                data.put("attr:" + attr.toLowerCase(), (PlayerDataConsumer) () -> {
+                put("attr:" + attr.toLowerCase(), (PlayerDataConsumer) () -> {
                     PlayerData playerData = Fabled.getPlayerData((Player) caster);
                     int        stage      = playerData.getInvestedAttributeStage(attr);
                     return stage;
@@ -27,20 +50,95 @@ public class CastData {
         }
     }
 
+    /**
+     * Gets the slot of a variable name, assigning a new one if the name has not been seen yet
+     *
+     * @param key variable name
+     * @return slot of the variable
+     */
+    public static int slot(String key) {
+        Integer slot = slots.get(key);
+        return slot != null ? slot : intern(key);
+    }
+
+    /**
+     * Gets the slot of a variable name without assigning one
+     *
+     * @param key variable name
+     * @return slot of the variable or -1 if the name has never been used
+     */
+    public static int find(String key) {
+        Integer slot = slots.get(key);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * @param slot slot of a variable
+     * @return name of the variable in the slot
+     */
+    public static synchronized String getName(int slot) {
+        return names[slot];
+    }
+
+    private static synchronized int intern(String key) {
+        Integer slot = slots.get(key);
+        if (slot != null) return slot;
+
+        if (slotCount == names.length) names = Arrays.copyOf(names, slotCount * 2);
+        names[slotCount] = key;
+        slots.put(key, slotCount);
+        return slotCount++;
+    }
+
     public boolean contains(String key) {
-        return data.containsKey(key) && data.get(key) != null;
+        return contains(find(key));
+    }
+
+    public boolean contains(int slot) {
+        final byte kind = kindOf(slot);
+        return kind == NUMBER || kind == OBJECT && objects[slot] != null;
+    }
+
+    /**
+     * @param slot slot of a variable
+     * @return true if the variable holds a number in the primitive store
+     */
+    public boolean isNumber(int slot) {
+        return kindOf(slot) == NUMBER;
     }
 
     public Object getRaw(String key) {
-        return data.get(key);
+        return getRaw(find(key));
+    }
+
+    public Object getRaw(int slot) {
+        switch (kindOf(slot)) {
+            case NUMBER:
+                return numbers[slot];
+            case OBJECT:
+                return objects[slot];
+            default:
+                return null;
+        }
     }
 
     public double getDouble(String key) {
+        return getDouble(find(key));
+    }
+
+    public double getDouble(int slot) {
+        if (kindOf(slot) == NUMBER) {
+            return numbers[slot];
+        }
+
         double value = 0d;
-        Object raw   = getRaw(key);
+        Object raw   = getRaw(slot);
         if (raw instanceof PlayerDataConsumer) {
             raw = ((PlayerDataConsumer) raw).consume();
         }
+        if (raw instanceof Number) {
+            return ((Number) raw).doubleValue();
+        }
 
         try {
             value = Double.parseDouble(raw.toString());
@@ -52,9 +150,14 @@ public class CastData {
     }
 
     public String get(String key) {
-        if (!contains(key)) return null;
+        return get(find(key));
+    }
+
+    public String get(int slot) {
+        if (!contains(slot)) return null;
+        if (kindOf(slot) == NUMBER) return Double.toString(numbers[slot]);
 
-        Object obj = data.get(key);
+        Object obj = objects[slot];
         if (obj instanceof Player) {
             obj = ((Player) obj).getName();
         } else if (obj instanceof LivingEntity) {
@@ -74,10 +177,55 @@ public class CastData {
     }
 
     public void put(String key, Object value) {
-        data.put(key, value);
+        put(slot(key), value);
+    }
+
+    public void put(int slot, Object value) {
+        if (value instanceof Double) {
+            putDouble(slot, (Double) value);
+        } else if (value == null) {
+            remove(slot);
+        } else {
+            ensure(slot);
+            objects[slot] = value;
+            kinds[slot] = OBJECT;
+        }
+    }
+
+    /**
+     * Stores a number without boxing it
+     *
+     * @param slot  slot of the variable
+     * @param value value to store
+     */
+    public void putDouble(int slot, double value) {
+        ensure(slot);
+        numbers[slot] = value;
+        objects[slot] = null;
+        kinds[slot] = NUMBER;
     }
 
     public void remove(String key) {
-        data.remove(key);
+        remove(find(key));
+    }
+
+    public void remove(int slot) {
+        if (kindOf(slot) == ABSENT) return;
+        kinds[slot] = ABSENT;
+        objects[slot] = null;
+    }
+
+    private byte kindOf(int slot) {
+        final byte[] kinds = this.kinds;
+        return slot >= 0 && slot < kinds.length ? kinds[slot] : ABSENT;
+    }
+
+    private void ensure(int slot) {
+        if (slot < kinds.length) return;
+
+        final int capacity = Math.max(slot + 1, Math.max(16, kinds.length * 2));
+        numbers = Arrays.copyOf(numbers, capacity);
+        objects = Arrays.copyOf(objects, capacity);
+        kinds = Arrays.copyOf(kinds, capacity);
     }
 }
@@ -32,9 +32,12 @@ import studio.magemonkey.codex.mccore.config.parse.NumberParser;
 import studio.magemonkey.fabled.log.Logger;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * <p>Represents a set of settings that store configurable data for an object.</p>
@@ -44,6 +47,7 @@ public class Settings {
     private static final String SCALE = "-scale";
 
     private final HashMap<String, Object> settings;
+    private       int                     version;
 
     public Settings() {
         this.settings = new LinkedHashMap<>();
@@ -53,6 +57,33 @@ public class Settings {
         this.settings = new HashMap<>(settings.settings);
     }
 
+    /**
+     * Retrieves the modification counter of the settings. The counter is
+     * bumped whenever a value is added, changed or removed, which lets
+     * pre-parsed views of the settings detect when they are stale.
+     *
+     * @return current modification counter
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Retrieves a read-only view of the raw setting values
+     *
+     * @return raw setting values
+     */
+    public Map<String, Object> getRaw() {
+        return Collections.unmodifiableMap(settings);
+    }
+
+    private void put(String key, Object value) {
+        if (!settings.containsKey(key) || !Objects.equals(settings.get(key), value)) {
+            version++;
+        }
+        settings.put(key, value);
+    }
+
     /**
      * Sets the value for a setting. You should only provide a
      * String, int, boolean, or double as those are the only
@@ -62,7 +93,7 @@ public class Settings {
      * @param value setting value
      */
     public void set(String key, Object value) {
-        settings.put(key, value);
+        put(key, value);
     }
 
     /**
@@ -77,8 +108,8 @@ public class Settings {
      * @param scale value scale
      */
     public void set(String key, double base, double scale) {
-        settings.put(key + BASE, base);
-        settings.put(key + SCALE, scale);
+        put(key + BASE, base);
+        put(key + SCALE, scale);
     }
 
     /**
@@ -94,9 +125,9 @@ public class Settings {
      */
     public void setBase(String key, double value) {
         if (!settings.containsKey(key + SCALE)) {
-            settings.put(key + SCALE, 0.0);
+            put(key + SCALE, 0.0);
         }
-        settings.put(key + BASE, value);
+        put(key + BASE, value);
     }
 
     /**
@@ -112,9 +143,9 @@ public class Settings {
      */
     public void setScale(String key, double value) {
         if (!settings.containsKey(key + BASE)) {
-            settings.put(key + BASE, 0.0);
+            put(key + BASE, 0.0);
         }
-        settings.put(key + SCALE, value);
+        put(key + SCALE, value);
     }
 
     /**
@@ -376,6 +407,7 @@ public class Settings {
      * @param key name of the attribute
      */
     public void remove(String key) {
+        version++;
         settings.remove(key);
         settings.remove(key + BASE);
         settings.remove(key + SCALE);
@@ -429,7 +461,7 @@ public class Settings {
         }
 
         for (String key : config.keys()) {
-            settings.put(key, config.get(key));
+            put(key, config.get(key));
         }
     }
 
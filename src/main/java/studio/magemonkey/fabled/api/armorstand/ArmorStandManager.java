@@ -1,9 +1,10 @@
 package studio.magemonkey.fabled.api.armorstand;
 
-import studio.magemonkey.fabled.Fabled;
+import studio.magemonkey.fabled.api.util.EntityMeta;
+import studio.magemonkey.fabled.api.util.EntityState;
 import studio.magemonkey.fabled.listener.MechanicListener;
 import studio.magemonkey.fabled.task.ArmorStandTask;
-import studio.magemonkey.fabled.thread.MainThread;
+import studio.magemonkey.fabled.thread.TickExecutor;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.ArmorStand;
 import org.bukkit.entity.LivingEntity;
@@ -13,6 +14,10 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Keeps track of armor stands attached to entities. Armor stands of real entities are kept in
+ * the entity's {@link EntityState}, those of temporary targets are kept here.
+ */
 public class ArmorStandManager {
     private static final Map<LivingEntity, ArmorStandData> instances = new ConcurrentHashMap<>();
 
@@ -20,9 +25,9 @@ public class ArmorStandManager {
      * Registers the armor stand repeated task, and searches for rogue armor to remove them
      */
     public static void init() {
-        MainThread.register(new ArmorStandTask());
+        TickExecutor.register(new ArmorStandTask());
         Bukkit.getWorlds().forEach(world -> world.getEntitiesByClass(ArmorStand.class).forEach(as -> {
-            if (Fabled.getMeta(as, MechanicListener.ARMOR_STAND) != null) as.remove();
+            if (EntityMeta.has(as, MechanicListener.ARMOR_STAND_META)) as.remove();
         }));
     }
 
@@ -32,6 +37,10 @@ public class ArmorStandManager {
     public static void cleanUp() {
         instances.values().forEach(ArmorStandData::remove);
         instances.clear();
+        for (EntityState state : EntityState.getStates()) {
+            ArmorStandData data = state.removeArmorStands(null);
+            if (data != null) data.remove();
+        }
     }
 
     /**
@@ -40,7 +49,12 @@ public class ArmorStandManager {
      * @param target target to clear for
      */
     public static void clear(LivingEntity target) {
-        instances.remove(target);
+        if (EntityMeta.supports(target)) {
+            EntityState state = EntityState.get(target);
+            if (state != null) state.removeArmorStands(null);
+        } else {
+            instances.remove(target);
+        }
     }
 
     /**
@@ -50,6 +64,10 @@ public class ArmorStandManager {
      * @return armor stand data for the target or null if doesn't exist
      */
     public static ArmorStandData getArmorStandData(LivingEntity target) {
+        if (EntityMeta.supports(target)) {
+            EntityState state = EntityState.get(target);
+            return state == null ? null : state.getArmorStands(false);
+        }
         return instances.get(target);
     }
 
@@ -61,10 +79,8 @@ public class ArmorStandManager {
      * @return active armor stand or null if not found
      */
     public static Optional<ArmorStandInstance> getArmorStand(LivingEntity target, String key) {
-        if (!instances.containsKey(target)) {
-            return Optional.empty();
-        }
-        return Optional.ofNullable(instances.get(target).getArmorStands(key));
+        ArmorStandData data = getArmorStandData(target);
+        return data == null ? Optional.empty() : Optional.ofNullable(data.getArmorStands(key));
     }
 
     /**
@@ -75,10 +91,10 @@ public class ArmorStandManager {
      * @param key        armor stand key
      */
     public static void register(ArmorStandInstance armorStand, LivingEntity target, String key) {
-        if (!instances.containsKey(target)) {
-            instances.put(target, new ArmorStandData(target));
-        }
-        instances.get(target).register(armorStand, key);
+        ArmorStandData data = EntityMeta.supports(target)
+                ? EntityState.of(target).getArmorStands(true)
+                : instances.computeIfAbsent(target, ArmorStandData::new);
+        data.register(armorStand, key);
     }
 
     /**
@@ -95,5 +111,16 @@ public class ArmorStandManager {
                 iterator.remove();
             }
         }
+
+        for (EntityState state : EntityState.getStates()) {
+            ArmorStandData data = state.getArmorStands(false);
+            if (data == null) continue;
+
+            if (data.isValid()) {
+                data.tick();
+            } else if (state.removeArmorStands(data) != null) {
+                data.remove();
+            }
+        }
     }
 }
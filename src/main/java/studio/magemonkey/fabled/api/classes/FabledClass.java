@@ -720,7 +720,25 @@ public abstract class FabledClass implements IconHolder {
         this.skillTree = this.tree.getTree(Fabled.inst(), this);
     }
 
+    /**
+     * Swaps a reloaded copy of a skill in for the old one. This does not update
+     * the skill tree, use {@link #reloadSkillTree()} for that.
+     *
+     * @param previous skill that was reloaded
+     * @param skill    reloaded copy of the skill
+     * @return true if the class provides the skill, false otherwise
+     */
+    public boolean replaceSkill(Skill previous, Skill skill) {
+        int index = skills.indexOf(previous);
+        if (index < 0) {
+            return false;
+        }
+        skills.set(index, skill);
+        return true;
+    }
+
     public void reloadSkillTree() {
+        skillMap.clear();
         this.skillTree = this.tree.getTree(Fabled.inst(), this);
         arrange();
     }
@@ -27,6 +27,7 @@
 package studio.magemonkey.fabled.api.particle;
 
 import studio.magemonkey.fabled.api.particle.target.EffectTarget;
+import org.bukkit.Location;
 
 import java.util.HashMap;
 import java.util.Iterator;
@@ -34,18 +35,35 @@ import java.util.Map;
 import java.util.Optional;
 
 /**
- * A collection of effects played on a target
+ * A collection of effects played on a target. Effects tick off the server thread, so
+ * they are played at the target's location and validity as last captured on the
+ * server thread rather than reading the target directly.
  */
 public class EffectData {
     private final Map<String, EffectInstance> effects = new HashMap<>();
 
     private final EffectTarget target;
 
+    private volatile Location location;
+    private volatile boolean  valid;
+
     /**
      * @param target target of each effect
      */
     public EffectData(EffectTarget target) {
         this.target = target;
+        capture();
+    }
+
+    /**
+     * Records where the target currently is and whether it is still valid.
+     * This must be called on the server thread.
+     */
+    public void capture() {
+        valid = target.isValid();
+        if (valid) {
+            location = target.getLocation().clone();
+        }
     }
 
     /**
@@ -72,7 +90,7 @@ public class EffectData {
      * @return true should keep the data, false otherwise
      */
     public boolean isValid() {
-        return !effects.isEmpty() && target.isValid();
+        return !effects.isEmpty() && valid;
     }
 
     /**
@@ -103,11 +121,12 @@ public class EffectData {
      * Ticks each effect for the target
      */
     public void tick() {
-        Iterator<EffectInstance> iterator = effects.values().iterator();
+        final Location                 location = this.location;
+        final Iterator<EffectInstance> iterator = effects.values().iterator();
         while (iterator.hasNext()) {
             EffectInstance effect = iterator.next();
-            if (effect.isValid())
-                effect.tick();
+            if (valid && effect.getLife() > 0)
+                effect.tick(location);
             else
                 iterator.remove();
         }
@@ -27,6 +27,7 @@
 package studio.magemonkey.fabled.api.particle;
 
 import studio.magemonkey.fabled.api.particle.target.EffectTarget;
+import org.bukkit.Location;
 
 import java.util.function.Consumer;
 
@@ -89,13 +90,29 @@ public class EffectInstance {
         life = Math.max(life, duration);
     }
 
+    /**
+     * @return remaining ticks the effect runs for
+     */
+    public int getLife() {
+        return life;
+    }
+
     /**
      * Ticks the effect
      */
     public void tick() {
+        tick(target.getLocation());
+    }
+
+    /**
+     * Ticks the effect, playing it at the given location
+     *
+     * @param location location of the target
+     */
+    public void tick(Location location) {
         tick++;
         if (tick % effect.getInterval() == 0) {
-            effect.play(target.getLocation(), frame, level);
+            effect.play(location, frame, level);
             frame++;
             tick = 0;
         }
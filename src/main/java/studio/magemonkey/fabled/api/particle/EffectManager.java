@@ -33,8 +33,11 @@ import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.particle.direction.XZHandler;
 import studio.magemonkey.fabled.api.particle.target.EffectTarget;
 import studio.magemonkey.fabled.api.particle.target.EntityTarget;
+import studio.magemonkey.fabled.api.util.EntityMeta;
+import studio.magemonkey.fabled.api.util.EntityState;
 import studio.magemonkey.fabled.task.EffectTask;
-import studio.magemonkey.fabled.thread.MainThread;
+import studio.magemonkey.fabled.thread.TickExecutor;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 
 import java.io.File;
@@ -45,7 +48,8 @@ import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Handles the management of particle effects and related components
+ * Handles the management of particle effects and related components. Effects following
+ * an entity are kept in the entity's {@link EntityState}, any other targets are kept here.
  */
 public class EffectManager {
     private static Map<EffectTarget, EffectData> instances = new ConcurrentHashMap<>();
@@ -76,13 +80,17 @@ public class EffectManager {
             Fabled.inst().getLogger().warning("Failed to create images directory: " + e.getMessage());
         }
 
-        MainThread.register(new EffectTask());
+        TickExecutor.register(new EffectTask());
     }
 
     public static void cleanUp() {
         formulas.clear();
         effects.clear();
         instances.clear();
+        for (EntityState state : EntityState.getStates()) {
+            state.removeEffects(null);
+        }
+        FrameCache.clear();
     }
 
     /**
@@ -94,6 +102,7 @@ public class EffectManager {
     public static void register(IParticleEffect effect) {
         if (effect != null) {
             effects.put(effect.getName(), effect);
+            FrameCache.invalidate(effect.getName());
         }
     }
 
@@ -135,7 +144,12 @@ public class EffectManager {
      * @param target target to clear for
      */
     public static void clear(EffectTarget target) {
-        instances.remove(target);
+        Entity entity = entityOf(target);
+        if (entity == null) {
+            instances.remove(target);
+        } else {
+            clearEntity(entity);
+        }
     }
 
     /**
@@ -144,9 +158,12 @@ public class EffectManager {
      * @param target target to clear for
      */
     public static void clear(LivingEntity target) {
-        instances.entrySet()
-                .removeIf(entry -> entry.getKey() instanceof EntityTarget
-                        && ((EntityTarget) entry.getKey()).getEntity() == target);
+        clearEntity(target);
+    }
+
+    private static void clearEntity(Entity target) {
+        EntityState state = EntityState.get(target);
+        if (state != null) state.removeEffects(null);
     }
 
     /**
@@ -156,7 +173,12 @@ public class EffectManager {
      * @return effect data for the target or null if it doesn't exist
      */
     public static EffectData getEffectData(EffectTarget target) {
-        return instances.get(target);
+        Entity entity = entityOf(target);
+        if (entity == null) {
+            return instances.get(target);
+        }
+        EntityState state = EntityState.get(entity);
+        return state == null ? null : state.getEffects();
     }
 
     /**
@@ -167,11 +189,8 @@ public class EffectManager {
      * @return active effect or null if not found
      */
     public static EffectInstance getEffect(EffectTarget target, String key) {
-        if (!instances.containsKey(target)) {
-            return null;
-        }
-
-        return instances.get(target).getEffect(key);
+        EffectData data = getEffectData(target);
+        return data == null ? null : data.getEffect(key);
     }
 
     /**
@@ -185,24 +204,71 @@ public class EffectManager {
      * @param level  effect level
      */
     public static void runEffect(IParticleEffect effect, EffectTarget target, int ticks, int level) {
-        if (!instances.containsKey(target)) {
-            instances.put(target, new EffectData(target));
+        Entity     entity = entityOf(target);
+        EffectData data   = entity == null
+                ? instances.computeIfAbsent(target, EffectData::new)
+                : EntityState.of(entity).getEffects(target);
+        data.runEffect(effect, ticks, level);
+    }
+
+    /**
+     * Captures the location of every effect target. This must be called on the server thread.
+     */
+    public static void capture() {
+        for (EffectData data : instances.values()) {
+            data.capture();
+        }
+        for (EntityState state : EntityState.getStates()) {
+            EffectData data = state.getEffects();
+            if (data != null) data.capture();
         }
-        instances.get(target).runEffect(effect, ticks, level);
     }
 
     /**
-     * Ticks all active effects
+     * Ticks all active effects at their last captured locations
+     *
+     * @return true if any effects are still running
      */
-    public static void tick() {
+    public static boolean tick() {
+        boolean active = false;
+
         Iterator<EffectData> iterator = instances.values().iterator();
         while (iterator.hasNext()) {
             EffectData data = iterator.next();
             if (data.isValid()) {
                 data.tick();
+                active = true;
             } else {
                 iterator.remove();
             }
         }
+
+        for (EntityState state : EntityState.getStates()) {
+            EffectData data = state.getEffects();
+            if (data == null) continue;
+
+            if (data.isValid()) {
+                data.tick();
+                active = true;
+            } else {
+                state.removeEffects(data);
+            }
+        }
+        return active;
+    }
+
+    /**
+     * Gets the entity an effect target follows, if it is a real entity whose
+     * effects are kept in its {@link EntityState}
+     *
+     * @param target effect target
+     * @return the followed entity or null if the target is kept by the manager
+     */
+    private static Entity entityOf(EffectTarget target) {
+        if (target instanceof EntityTarget) {
+            Entity entity = ((EntityTarget) target).getEntity();
+            return EntityMeta.supports(entity) ? entity : null;
+        }
+        return null;
     }
 }
@@ -0,0 +1,333 @@
+/**
+ * Fabled
+ * studio.magemonkey.fabled.api.particle.FrameCache
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 MageMonkeyStudio
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package studio.magemonkey.fabled.api.particle;
+
+import studio.magemonkey.fabled.Fabled;
+import lombok.Getter;
+import org.bukkit.World;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * <p>Keeps precomputed frames of particle effects so that playing a frame again only
+ * needs to turn the points to the target's yaw and move them to its location.</p>
+ * <p>Frames are keyed by effect, level and frame index. Once their estimated size
+ * passes the configured limit, the least recently played frames are dropped first.
+ * Hit rate and memory use are tracked per effect.</p>
+ */
+public class FrameCache {
+    // Rough per-frame cost of the map entry, key and array headers in bytes
+    private static final int OVERHEAD = 128;
+
+    private static final Map<Key, Frame>          frames = new LinkedHashMap<>(64, 0.75f, true);
+    private static final Map<String, EffectStats> stats  = new HashMap<>();
+
+    private static long capacity = 4096L * 1024;
+    private static long bytes;
+
+    /**
+     * Reads the cache size from the settings, dropping frames past the new limit
+     */
+    public static void init() {
+        setCapacity(Fabled.getSettings().getParticleFrameCache() * 1024L);
+    }
+
+    /**
+     * Sets the memory cached frames may use, dropping frames past the new limit
+     *
+     * @param max limit in bytes, 0 or less to disable caching
+     */
+    public static synchronized void setCapacity(long max) {
+        capacity = Math.max(0, max);
+        trim();
+    }
+
+    /**
+     * Drops every cached frame and all statistics
+     */
+    public static synchronized void clear() {
+        frames.clear();
+        stats.clear();
+        bytes = 0;
+    }
+
+    /**
+     * Drops the cached frames of an effect, used when the effect is replaced
+     *
+     * @param effect name of the effect
+     */
+    public static synchronized void invalidate(String effect) {
+        Iterator<Map.Entry<Key, Frame>> iterator = frames.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, Frame> entry = iterator.next();
+            if (entry.getKey().effect.equals(effect)) {
+                bytes -= entry.getValue().getBytes();
+                iterator.remove();
+            }
+        }
+        stats.remove(effect);
+    }
+
+    /**
+     * Fetches a frame of an effect, building and caching it if it is not cached yet
+     *
+     * @param effect  name of the effect
+     * @param level   level of the effect
+     * @param frame   frame index
+     * @param builder computes the frame on a miss
+     * @return the frame
+     */
+    public static Frame get(String effect, int level, int frame, Supplier<Frame> builder) {
+        final Key key = new Key(effect, level, frame);
+        synchronized (FrameCache.class) {
+            final Frame cached = frames.get(key);
+            final EffectStats effectStats = stats.computeIfAbsent(effect, e -> new EffectStats());
+            if (cached != null) {
+                effectStats.hits++;
+                return cached;
+            }
+            effectStats.misses++;
+        }
+
+        final Frame built = builder.get();
+        synchronized (FrameCache.class) {
+            if (built.getBytes() > capacity) {
+                return built;
+            }
+            final Frame previous = frames.put(key, built);
+            final EffectStats effectStats = stats.computeIfAbsent(effect, e -> new EffectStats());
+            if (previous != null) {
+                bytes -= previous.getBytes();
+                effectStats.bytes -= previous.getBytes();
+                effectStats.frames--;
+            }
+            bytes += built.getBytes();
+            effectStats.bytes += built.getBytes();
+            effectStats.frames++;
+            trim();
+        }
+        return built;
+    }
+
+    /**
+     * @return estimated memory used by cached frames in bytes
+     */
+    public static synchronized long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return memory cached frames may use in bytes
+     */
+    public static synchronized long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return number of cached frames
+     */
+    public static synchronized int size() {
+        return frames.size();
+    }
+
+    /**
+     * Gets a copy of the statistics of an effect
+     *
+     * @param effect name of the effect
+     * @return statistics of the effect, empty if it has not been played
+     */
+    public static synchronized EffectStats getStats(String effect) {
+        final EffectStats effectStats = stats.get(effect);
+        return effectStats == null ? new EffectStats() : effectStats.copy();
+    }
+
+    /**
+     * @return copies of the statistics of every effect played since the last clear, by effect name
+     */
+    public static synchronized Map<String, EffectStats> getStats() {
+        final Map<String, EffectStats> copy = new TreeMap<>();
+        stats.forEach((effect, effectStats) -> copy.put(effect, effectStats.copy()));
+        return copy;
+    }
+
+    private static void trim() {
+        final Iterator<Map.Entry<Key, Frame>> iterator = frames.entrySet().iterator();
+        while (bytes > capacity && iterator.hasNext()) {
+            final Map.Entry<Key, Frame> entry = iterator.next();
+            final Frame frame = entry.getValue();
+            final EffectStats effectStats = stats.get(entry.getKey().effect);
+            if (effectStats != null) {
+                effectStats.bytes -= frame.getBytes();
+                effectStats.frames--;
+                effectStats.evictions++;
+            }
+            bytes -= frame.getBytes();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * <p>A precomputed frame stored as packed x, y, z offsets from the play location.</p>
+     * <p>The base offsets are used as is while the turned offsets are rotated about the
+     * Y axis by the target's yaw when the effect follows it. Either may be null.</p>
+     */
+    public static final class Frame {
+        private final float[]              base;
+        private final float[]              turned;
+        private final ParticleSink.Style[] styles;
+        /**
+         * Extra values computed with the frame that the effect resolves when playing it
+         */
+        @Getter
+        private final double[]             params;
+        @Getter
+        private final int                  bytes;
+
+        /**
+         * @param base   offsets applied as they are, three per point, or null
+         * @param turned offsets rotated by the yaw when requested, three per point, or null
+         * @param styles particle style of each point
+         * @param params extra per-frame values, or null
+         */
+        public Frame(float[] base, float[] turned, ParticleSink.Style[] styles, double[] params) {
+            this.base = base;
+            this.turned = turned;
+            this.styles = styles;
+            this.params = params;
+            this.bytes = OVERHEAD
+                    + 4 * (length(base) + length(turned) + styles.length)
+                    + 8 * (params == null ? 0 : params.length);
+        }
+
+        /**
+         * @return number of points in the frame
+         */
+        public int size() {
+            return styles.length;
+        }
+
+        /**
+         * Sends the frame to the particle sink
+         *
+         * @param world  world to play in
+         * @param x      X coordinate of the play location
+         * @param y      Y coordinate of the play location
+         * @param z      Z coordinate of the play location
+         * @param rotate whether to rotate the turned offsets by the yaw
+         * @param yaw    yaw in degrees to rotate by
+         * @param view   range in blocks players can see the frame from
+         */
+        public void emit(World world, double x, double y, double z, boolean rotate, float yaw, int view) {
+            final double rads = rotate ? Math.toRadians(-yaw) : 0;
+            final double sin  = Math.sin(rads);
+            final double cos  = Math.cos(rads);
+
+            final ParticleSink.Batch batch = ParticleSink.batch(world, styles.length);
+            for (int i = 0, k = 0; i < styles.length; i++, k += 3) {
+                double px = x, py = y, pz = z;
+                if (base != null) {
+                    px += base[k];
+                    py += base[k + 1];
+                    pz += base[k + 2];
+                }
+                if (turned != null) {
+                    px += cos * turned[k] + sin * turned[k + 2];
+                    py += turned[k + 1];
+                    pz += cos * turned[k + 2] - sin * turned[k];
+                }
+                batch.add(styles[i], px, py, pz, view, null);
+            }
+            batch.submit();
+        }
+
+        private static int length(float[] array) {
+            return array == null ? 0 : array.length;
+        }
+    }
+
+    /**
+     * Cache statistics of a single effect
+     */
+    @Getter
+    public static final class EffectStats {
+        private long hits;
+        private long misses;
+        private long evictions;
+        private int  frames;
+        private long bytes;
+
+        /**
+         * @return share of plays served from the cache between 0 and 1
+         */
+        public double getHitRate() {
+            final long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+
+        private EffectStats copy() {
+            final EffectStats copy = new EffectStats();
+            copy.hits = hits;
+            copy.misses = misses;
+            copy.evictions = evictions;
+            copy.frames = frames;
+            copy.bytes = bytes;
+            return copy;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d frames, %.1f KB, %.0f%% hits, %d evicted",
+                    frames, bytes / 1024.0, getHitRate() * 100, evictions);
+        }
+    }
+
+    private static final class Key {
+        private final String effect;
+        private final int    level;
+        private final int    frame;
+
+        private Key(String effect, int level, int frame) {
+            this.effect = effect;
+            this.level = level;
+            this.frame = frame;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            final Key other = (Key) o;
+            return level == other.level && frame == other.frame && effect.equals(other.effect);
+        }
+
+        @Override
+        public int hashCode() {
+            return (effect.hashCode() * 31 + level) * 31 + frame;
+        }
+    }
+}
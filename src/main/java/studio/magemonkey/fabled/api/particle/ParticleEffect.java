@@ -33,16 +33,13 @@ import studio.magemonkey.fabled.data.Matrix3D;
 import studio.magemonkey.fabled.data.Point2D;
 import studio.magemonkey.fabled.data.Point3D;
 import studio.magemonkey.fabled.data.formula.Formula;
-import studio.magemonkey.fabled.data.formula.IValue;
 import studio.magemonkey.fabled.data.formula.value.CustomValue;
 import lombok.Getter;
 import org.bukkit.Location;
-import org.bukkit.Particle;
 import org.bukkit.World;
-import org.bukkit.entity.Player;
 
+import java.util.Arrays;
 import java.util.Objects;
-import java.util.Set;
 
 /**
  * A particle effect that can be played
@@ -50,11 +47,12 @@ import java.util.Set;
 public class ParticleEffect implements IParticleEffect {
     private static final XZHandler flatRot = (XZHandler) Directions.byName("XZ");
 
-    private final PolarSettings    shape;
-    private final PolarSettings    animation;
-    private final ParticleSettings particle;
-    private final IValue           size;
-    private final IValue           animSize;
+    private final PolarSettings      shape;
+    private final PolarSettings      animation;
+    private final ParticleSettings   particle;
+    private final ParticleSink.Style style;
+    private final Formula            size;
+    private final Formula            animSize;
 
     private final DirectionHandler shapeDir;
     private final DirectionHandler animDir;
@@ -62,6 +60,7 @@ public class ParticleEffect implements IParticleEffect {
     private final boolean  withRotation;
     private final double   initialRotation;
     private final Matrix3D rotMatrix;
+    private final boolean  cacheable;
 
     @Getter
     private final String name;
@@ -123,6 +122,13 @@ public class ParticleEffect implements IParticleEffect {
                 new CustomValue("v")
         );
         this.particle = particle;
+        this.style = new ParticleSink.Style(particle.type,
+                particle.amount,
+                particle.dx,
+                particle.dy,
+                particle.dz,
+                particle.speed,
+                particle.object);
         this.shapeDir = shapeDir;
         this.animDir = animDir;
         this.animSize = new Formula(
@@ -139,6 +145,10 @@ public class ParticleEffect implements IParticleEffect {
         this.interval = interval;
         this.view = viewRange;
 
+        // Turning to the target's yaw can only be left until play time when the
+        // animation rotates about the same axis, otherwise every frame is computed live
+        this.cacheable = !withRotation || animDir instanceof XZHandler;
+
         int points = shape.getPoints(shapeDir).length;
         animation.getPoints(animDir);
     }
@@ -151,7 +161,86 @@ public class ParticleEffect implements IParticleEffect {
      * @param level level of the effect
      */
     public void play(Location loc, int frame, int level) {
-        frame = frame % animation.getSteps();
+        final int step = frame % animation.getSteps();
+        if (!cacheable) {
+            playLive(loc, step, level);
+            return;
+        }
+
+        try {
+            World world = Objects.requireNonNull(loc.getWorld());
+            FrameCache.get(name, level, step, () -> bake(step, level))
+                    .emit(world, loc.getX(), loc.getY(), loc.getZ(), withRotation, loc.getYaw(), view);
+        } catch (Exception ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Computes a frame relative to the play location. When the effect follows the
+     * target's rotation, the shape is kept apart from the animation offset so it can
+     * be turned when played.
+     *
+     * @param frame frame of the animation
+     * @param level level of the effect
+     * @return computed frame
+     */
+    private FrameCache.Frame bake(int frame, int level) {
+        int       next        = (frame + 1) * animation.getCopies();
+        Point3D[] animPoints  = animation.getPoints(animDir);
+        Point3D[] shapePoints = shape.getPoints(shapeDir);
+        Point2D[] trig        = animation.getTrig(frame);
+
+        Point2D cs = trig[0];
+        double  t  = animation.getT(frame);
+        double  p  = (double) frame / animation.getSteps();
+
+        int                  count  = animation.getCopies() * shapePoints.length;
+        float[]              base   = new float[count * 3];
+        float[]              turned = withRotation ? new float[count * 3] : null;
+        ParticleSink.Style[] styles = new ParticleSink.Style[count];
+        Arrays.fill(styles, style);
+
+        int j = 0;
+        int k = 0;
+        for (int i = frame * this.animation.getCopies(); i < next; ++i) {
+            Point3D p1       = animPoints[i];
+            double  animSize = this.animSize.compute(t, p, cs.x, cs.y, p1.x, p1.y, p1.z, level);
+
+            for (Point3D p2 : shapePoints) {
+                double size = this.size.compute(t, p, cs.x, cs.y, p2.x, p2.y, p2.z, level);
+                if (initialRotation != 0) p2 = flatRot.rotateAboutY(p2, rotMatrix);
+
+                double sx = this.animDir.rotateX(p2, trig[j]) * size;
+                double sy = this.animDir.rotateY(p2, trig[j]) * size;
+                double sz = this.animDir.rotateZ(p2, trig[j]) * size;
+                if (turned != null) {
+                    base[k] = (float) (p1.x * animSize);
+                    base[k + 1] = (float) (p1.y * animSize);
+                    base[k + 2] = (float) (p1.z * animSize);
+                    turned[k] = (float) sx;
+                    turned[k + 1] = (float) sy;
+                    turned[k + 2] = (float) sz;
+                } else {
+                    base[k] = (float) (p1.x * animSize + sx);
+                    base[k + 1] = (float) (p1.y * animSize + sy);
+                    base[k + 2] = (float) (p1.z * animSize + sz);
+                }
+                k += 3;
+            }
+            ++j;
+        }
+        return new FrameCache.Frame(base, turned, styles, null);
+    }
+
+    /**
+     * Plays a frame without the frame cache
+     *
+     * @param loc   location to play at
+     * @param frame frame of the animation to play
+     * @param level level of the effect
+     */
+    private void playLive(Location loc, int frame, int level) {
         try {
             int       next        = (frame + 1) * animation.getCopies();
             Point3D[] animPoints  = animation.getPoints(animDir);
@@ -164,16 +253,8 @@ public class ParticleEffect implements IParticleEffect {
 
             int j = 0;
 
-            World       world   = Objects.requireNonNull(loc.getWorld());
-            Set<Player> players = ParticleHelper.filterPlayers(world.getPlayers(), loc, view);
-
-            Particle effect = this.particle.type;
-            int      count  = this.particle.amount;
-            double   dx     = this.particle.dx;
-            double   dy     = this.particle.dy;
-            double   dz     = this.particle.dz;
-            float    speed  = this.particle.speed;
-            Object   object = this.particle.object;
+            World              world = Objects.requireNonNull(loc.getWorld());
+            ParticleSink.Batch batch = ParticleSink.batch(world, animation.getCopies() * shapePoints.length);
 
             for (int i = frame * this.animation.getCopies(); i < next; ++i) {
                 Point3D p1       = animPoints[i];
@@ -190,11 +271,11 @@ public class ParticleEffect implements IParticleEffect {
                     double y = p1.y * animSize + this.animDir.rotateY(p2, trig[j]) * size + loc.getY();
                     double z = p1.z * animSize + this.animDir.rotateZ(p2, trig[j]) * size + loc.getZ();
 
-                    players.forEach(player ->
-                            player.spawnParticle(effect, x, y, z, count, dx, dy, dz, speed, object));
+                    batch.add(style, x, y, z, view, null);
                 }
                 ++j;
             }
+            batch.submit();
         } catch (Exception ex) {
             ex.printStackTrace();
         }
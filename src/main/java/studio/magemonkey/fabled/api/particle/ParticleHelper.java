@@ -150,10 +150,13 @@ public final class ParticleHelper {
                         viewers);
                 break;
             default:
-                if (viewers == null)
-                    viewers = filterPlayers(Objects.requireNonNull(loc.getWorld()).getPlayers(), loc, visibleRadius);
-                viewers.forEach(
-                        player -> player.spawnParticle(particle, loc, amount, dx, dy, dz, speed, object));
+                ParticleSink.emit(new ParticleSink.Style(particle, amount, dx, dy, dz, speed, object),
+                        Objects.requireNonNull(loc.getWorld()),
+                        loc.getX(),
+                        loc.getY(),
+                        loc.getZ(),
+                        visibleRadius,
+                        viewers);
                 break;
         }
     }
@@ -173,11 +176,12 @@ public final class ParticleHelper {
             Location loc, Settings settings, int level, int points, double visibleRadius,
             Particle particle, int amount, double dx, double dy, double dz, float speed, Object object,
             String particleKey, @Nullable Set<Player> viewers) {
-        double       radius       = settings.getAttr(particleKey + RADIUS_KEY, level, 3.0);
-        World        world        = Objects.requireNonNull(loc.getWorld());
-        List<Player> worldPlayers = world.getPlayers();
-        double       rSquared     = radius * radius;
-        double       twoRadius    = radius * 2;
+        double             radius    = settings.getAttr(particleKey + RADIUS_KEY, level, 3.0);
+        World              world     = Objects.requireNonNull(loc.getWorld());
+        double             rSquared  = radius * radius;
+        double             twoRadius = radius * 2;
+        ParticleSink.Style style     = new ParticleSink.Style(particle, amount, dx, dy, dz, speed, object);
+        ParticleSink.Batch batch     = ParticleSink.batch(world, points);
 
         Location temp  = loc.clone();
         int      index = 0;
@@ -208,10 +212,10 @@ public final class ParticleHelper {
                 continue;
             }
 
-            if (viewers == null) viewers = filterPlayers(worldPlayers, temp, visibleRadius);
-            viewers.forEach(player -> player.spawnParticle(particle, temp, amount, dx, dy, dz, speed, object));
+            batch.add(style, temp.getX(), temp.getY(), temp.getZ(), visibleRadius, viewers);
             index++;
         }
+        batch.submit();
     }
 
     public static void fillCircle(
@@ -227,11 +231,12 @@ public final class ParticleHelper {
             Location loc, Settings settings, int level, int points, double visibleRadius,
             Particle particle, int amount, double dx, double dy, double dz, float speed, Object object,
             String particleKey, @Nullable Set<Player> viewers) {
-        double       radius       = settings.getAttr(particleKey + RADIUS_KEY, level, 3.0);
-        World        world        = Objects.requireNonNull(loc.getWorld());
-        List<Player> worldPlayers = world.getPlayers();
-        double       rSquared     = radius * radius;
-        double       twoRadius    = radius * 2;
+        double             radius    = settings.getAttr(particleKey + RADIUS_KEY, level, 3.0);
+        World              world     = Objects.requireNonNull(loc.getWorld());
+        double             rSquared  = radius * radius;
+        double             twoRadius = radius * 2;
+        ParticleSink.Style style     = new ParticleSink.Style(particle, amount, dx, dy, dz, speed, object);
+        ParticleSink.Batch batch     = ParticleSink.batch(world, points);
 
         Location temp  = loc.clone();
         int      index = 0;
@@ -246,11 +251,10 @@ public final class ParticleHelper {
                 continue;
             }
 
-            if (viewers == null) viewers = filterPlayers(worldPlayers, temp, visibleRadius);
-            viewers.forEach(
-                    player -> player.spawnParticle(particle, temp, amount, dx, dy, dz, speed, object));
+            batch.add(style, temp.getX(), temp.getY(), temp.getZ(), visibleRadius, viewers);
             index++;
         }
+        batch.submit();
     }
 
     public static void fillSphere(
@@ -266,11 +270,12 @@ public final class ParticleHelper {
             Location loc, Settings settings, int level, int points, double visibleRadius,
             Particle particle, int amount, double dx, double dy, double dz, float speed, Object object,
             String particleKey, @Nullable Set<Player> viewers) {
-        double       radius       = settings.getAttr(particleKey + RADIUS_KEY, level, 3.0);
-        World        world        = Objects.requireNonNull(loc.getWorld());
-        List<Player> worldPlayers = world.getPlayers();
-        double       rSquared     = radius * radius;
-        double       twoRadius    = radius * 2;
+        double             radius    = settings.getAttr(particleKey + RADIUS_KEY, level, 3.0);
+        World              world     = Objects.requireNonNull(loc.getWorld());
+        double             rSquared  = radius * radius;
+        double             twoRadius = radius * 2;
+        ParticleSink.Style style     = new ParticleSink.Style(particle, amount, dx, dy, dz, speed, object);
+        ParticleSink.Batch batch     = ParticleSink.batch(world, points);
 
         Location temp  = loc.clone();
         int      index = 0;
@@ -285,11 +290,10 @@ public final class ParticleHelper {
                 continue;
             }
 
-            if (viewers == null) viewers = filterPlayers(worldPlayers, temp, visibleRadius);
-            viewers.forEach(
-                    player -> player.spawnParticle(particle, temp, amount, dx, dy, dz, speed, object));
+            batch.add(style, temp.getX(), temp.getY(), temp.getZ(), visibleRadius, viewers);
             index++;
         }
+        batch.submit();
     }
 
     public static void fillHemisphere(
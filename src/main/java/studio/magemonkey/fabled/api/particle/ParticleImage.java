@@ -33,10 +33,10 @@ import lombok.RequiredArgsConstructor;
 import org.bukkit.Color;
 import org.bukkit.Location;
 import org.bukkit.Particle;
-import org.bukkit.World;
-import org.bukkit.entity.Player;
+import org.bukkit.util.Vector;
 
-import java.util.Set;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * A particle effect image that can be played
@@ -65,39 +65,65 @@ public class ParticleImage implements IParticleEffect {
     public void play(Location loc, int frame, int level) {
         if (loc == null || loc.getWorld() == null) return;
 
-        World       world   = loc.getWorld();
-        Set<Player> players = ParticleHelper.filterPlayers(world.getPlayers(), loc, view);
+        FrameCache.Frame data = FrameCache.get(name, level, frame, () -> bake(frame, level));
 
-        if (players.isEmpty()) return;
+        double x = loc.getX(), y = loc.getY(), z = loc.getZ();
+        if (data.getParams() != null) {
+            double[] translation = data.getParams();
+            Vector   offset      = TimeBasedTransform.getOffset(loc, translation[0], translation[1], translation[2]);
+            x += offset.getX();
+            y += offset.getY();
+            z += offset.getZ();
+        }
+        data.emit(loc.getWorld(), x, y, z, withRotation, loc.getYaw(), view);
+    }
 
+    /**
+     * Computes a frame relative to the play location, leaving the target's yaw and
+     * the facing-based translation to be applied when played
+     *
+     * @param frame frame of the animation
+     * @param level level of the effect
+     * @return computed frame
+     */
+    private FrameCache.Frame bake(int frame, int level) {
         int       gifFrame      = iterationsPerFrame == 0 ? 1 : frame / iterationsPerFrame;
         Point3D[] framePoints   = points[gifFrame % points.length];
         Color[]   colors        = this.colors[gifFrame % this.colors.length];
         Point3D[] displayPoints = framePoints;
+        double[]  translation   = null;
         if (transform != null) {
-            displayPoints = transform.apply(displayPoints, loc, withRotation, frame, level);
+            displayPoints = transform.applyLocal(displayPoints, frame, level);
+            translation = transform.getTranslation(frame, level);
         }
 
         float particleSize = (float) particleSizeFormula.compute(frame, level);
 
+        int count = 0;
+        for (Color color : colors) {
+            if (color != null) count++;
+        }
+
+        float[]                        offsets = new float[count * 3];
+        ParticleSink.Style[]           styles  = new ParticleSink.Style[count];
+        Map<Color, ParticleSink.Style> byColor = new HashMap<>();
+
+        int k = 0;
         for (int i = 0; i < displayPoints.length; i++) {
             Point3D point = displayPoints[i];
             Color   color = colors[i];
             if (color == null) continue;
 
-            Location location = loc.clone().add(point.x, point.y, point.z);
-            for (Player player : players) {
-                if (player.getLocation().distance(location) > view) continue;
-
-                player.spawnParticle(Particle.REDSTONE,
-                        location,
-                        1,
-                        0,
-                        0,
-                        0,
-                        0,
-                        new Particle.DustOptions(color, particleSize));
-            }
+            styles[k / 3] = byColor.computeIfAbsent(color, c -> new ParticleSink.Style(Particle.REDSTONE,
+                    1, 0, 0, 0, 0, new Particle.DustOptions(c, particleSize)));
+            offsets[k] = (float) point.x;
+            offsets[k + 1] = (float) point.y;
+            offsets[k + 2] = (float) point.z;
+            k += 3;
         }
+
+        return withRotation
+                ? new FrameCache.Frame(null, offsets, styles, translation)
+                : new FrameCache.Frame(offsets, null, styles, translation);
     }
 }
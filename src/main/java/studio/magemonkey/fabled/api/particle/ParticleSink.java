@@ -0,0 +1,556 @@
+/**
+ * Fabled
+ * studio.magemonkey.fabled.api.particle.ParticleSink
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 MageMonkeyStudio
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package studio.magemonkey.fabled.api.particle;
+
+import studio.magemonkey.fabled.Fabled;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * <p>Collects particle emissions during a tick and sends them to each viewer in one pass.</p>
+ * <p>On flush, every emission is checked against every player in its world once:
+ * points outside the visible radius, and optionally well behind the viewer, are
+ * culled, points of equal style that land in the same small cell are merged, and
+ * each viewer is capped at a per-tick budget. Counters are kept per viewer so
+ * effect-heavy fights can be inspected.</p>
+ * <p>Effects tick off the main thread, so emissions are collected into one set of
+ * buffers while the previous set is being sent. Effects emitting many points at once
+ * fill a {@link Batch} first so the buffers are only locked once per effect.</p>
+ * <p>When the sink is not running, emissions are sent immediately.</p>
+ */
+public class ParticleSink {
+    // Points closer than this are never culled for being behind the viewer
+    private static final double NEAR_SQ    = 6 * 6;
+    // Cosine of the angle from the look direction past which points are culled
+    private static final double BEHIND_COS = -0.35;
+
+    private static final Object                   LOCK  = new Object();
+    private static final Map<Player, ViewerStats> stats = new WeakHashMap<>();
+
+    private static Map<World, Buffer> pending  = new HashMap<>();
+    private static Map<World, Buffer> draining = new HashMap<>();
+
+    private static BukkitTask task;
+    private static int        budget;
+    private static boolean    cullBehind;
+    private static double     dedupe;
+
+    private static long totalSent;
+    private static long totalCulled;
+    private static long totalMerged;
+    private static long totalDropped;
+
+    /**
+     * Starts flushing particles every tick
+     */
+    public static void init() {
+        budget = Fabled.getSettings().getParticleBudget();
+        cullBehind = Fabled.getSettings().isParticleCullBehind();
+        dedupe = Fabled.getSettings().getParticleDedupe();
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(Fabled.inst(), ParticleSink::flush, 1, 1);
+        }
+    }
+
+    /**
+     * Sends any pending particles and stops the sink
+     */
+    public static void cleanUp() {
+        flush();
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Queues a particle to be sent at the end of the tick
+     *
+     * @param style         particle and its parameters
+     * @param world         world to play in
+     * @param x             X coordinate
+     * @param y             Y coordinate
+     * @param z             Z coordinate
+     * @param visibleRadius radius around the point players can see it from
+     * @param viewers       players to show the particle to regardless of distance, or null for nearby players
+     */
+    public static void emit(Style style,
+                            World world,
+                            double x,
+                            double y,
+                            double z,
+                            double visibleRadius,
+                            @Nullable Set<Player> viewers) {
+        if (task == null) {
+            sendNow(style, world, x, y, z, visibleRadius, viewers);
+            return;
+        }
+        synchronized (LOCK) {
+            pending.computeIfAbsent(world, w -> new Buffer()).add(style, x, y, z, visibleRadius, viewers);
+        }
+    }
+
+    /**
+     * Starts collecting the particles of a single effect to queue them all at once
+     *
+     * @param world    world to play in
+     * @param capacity expected number of particles
+     * @return empty batch
+     */
+    public static Batch batch(World world, int capacity) {
+        return new Batch(world, capacity);
+    }
+
+    /**
+     * Sends all queued particles
+     */
+    public static void flush() {
+        final Map<World, Buffer> buffers;
+        synchronized (LOCK) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            buffers = pending;
+            pending = draining;
+            draining = buffers;
+        }
+
+        final Set<Cell> seen = new HashSet<>();
+        for (Map.Entry<World, Buffer> entry : buffers.entrySet()) {
+            final Buffer buffer = entry.getValue();
+            if (buffer.size == 0) {
+                continue;
+            }
+            for (Player player : entry.getKey().getPlayers()) {
+                seen.clear();
+                flush(buffer, player, seen);
+            }
+            buffer.clear();
+        }
+        buffers.keySet().removeIf(world -> Bukkit.getWorld(world.getUID()) == null);
+    }
+
+    /**
+     * Sets the most particles a single viewer is sent each tick
+     *
+     * @param max particle budget, 0 or less for unlimited
+     */
+    public static void setBudget(int max) {
+        budget = Math.max(0, max);
+    }
+
+    /**
+     * Sets whether particles well behind a viewer are skipped
+     *
+     * @param cull true to skip particles behind viewers
+     */
+    public static void setCullBehind(boolean cull) {
+        cullBehind = cull;
+    }
+
+    /**
+     * @return particle budget per viewer per tick, 0 if unlimited
+     */
+    public static int getBudget() {
+        return budget;
+    }
+
+    /**
+     * @param player viewer to get the counters for
+     * @return counters for the viewer, or null if nothing was ever sent to them
+     */
+    public static ViewerStats getStats(Player player) {
+        return stats.get(player);
+    }
+
+    /**
+     * @return total particles sent since startup
+     */
+    public static long getTotalSent() {
+        return totalSent;
+    }
+
+    /**
+     * @return total particles culled for distance or direction since startup
+     */
+    public static long getTotalCulled() {
+        return totalCulled;
+    }
+
+    /**
+     * @return total particles merged into a nearby identical one since startup
+     */
+    public static long getTotalMerged() {
+        return totalMerged;
+    }
+
+    /**
+     * @return total particles dropped for exceeding a viewer's budget since startup
+     */
+    public static long getTotalDropped() {
+        return totalDropped;
+    }
+
+    private static void flush(Buffer buffer, Player player, Set<Cell> seen) {
+        final Location eye = player.getEyeLocation();
+        final double   ex  = eye.getX(), ey = eye.getY(), ez = eye.getZ();
+        final double   lx  = eye.getDirection().getX(), ly = eye.getDirection().getY(), lz = eye.getDirection().getZ();
+
+        int sent = 0, culled = 0, merged = 0, dropped = 0;
+        for (int i = 0; i < buffer.size; i++) {
+            final Set<Player> viewers = buffer.viewers[i];
+            if (viewers != null && !viewers.contains(player)) {
+                continue;
+            }
+
+            final double dx = buffer.x[i] - ex, dy = buffer.y[i] - ey, dz = buffer.z[i] - ez;
+            final double distSq = dx * dx + dy * dy + dz * dz;
+            if (viewers == null && distSq > buffer.radiusSq[i]) {
+                continue;
+            }
+            if (cullBehind && distSq > NEAR_SQ && dx * lx + dy * ly + dz * lz < BEHIND_COS * Math.sqrt(distSq)) {
+                culled++;
+                continue;
+            }
+
+            final Style style = buffer.styles[i];
+            if (dedupe > 0 && !seen.add(new Cell(style, buffer.x[i], buffer.y[i], buffer.z[i]))) {
+                merged++;
+                continue;
+            }
+            if (budget > 0 && sent >= budget) {
+                dropped++;
+                continue;
+            }
+
+            player.spawnParticle(style.particle, buffer.x[i], buffer.y[i], buffer.z[i],
+                    style.count, style.dx, style.dy, style.dz, style.speed, style.data);
+            sent++;
+        }
+
+        if (sent + culled + merged + dropped > 0) {
+            stats.computeIfAbsent(player, p -> new ViewerStats()).record(sent, culled, merged, dropped);
+            totalSent += sent;
+            totalCulled += culled;
+            totalMerged += merged;
+            totalDropped += dropped;
+        }
+    }
+
+    private static void sendNow(Style style,
+                                World world,
+                                double x,
+                                double y,
+                                double z,
+                                double visibleRadius,
+                                @Nullable Set<Player> viewers) {
+        final Collection<Player> targets = viewers != null
+                ? viewers
+                : ParticleHelper.filterPlayers(world.getPlayers(), new Location(world, x, y, z), visibleRadius);
+        for (Player player : targets) {
+            player.spawnParticle(style.particle, x, y, z,
+                    style.count, style.dx, style.dy, style.dz, style.speed, style.data);
+        }
+    }
+
+    /**
+     * A particle type along with the parameters it is spawned with. Styles with the
+     * same parameters are equal, so points of separately created styles still merge.
+     */
+    public static final class Style {
+        private final Particle particle;
+        private final int      count;
+        private final double   dx;
+        private final double   dy;
+        private final double   dz;
+        private final double   speed;
+        private final Object   data;
+        private final int      hash;
+
+        /**
+         * @param particle particle to spawn
+         * @param count    amount of particles per point
+         * @param dx       random spread along X
+         * @param dy       random spread along Y
+         * @param dz       random spread along Z
+         * @param speed    particle speed
+         * @param data     particle data, or null if the particle needs none
+         */
+        public Style(Particle particle, int count, double dx, double dy, double dz, double speed, Object data) {
+            this.particle = particle;
+            this.count = count;
+            this.dx = dx;
+            this.dy = dy;
+            this.dz = dz;
+            this.speed = speed;
+            this.data = data;
+            this.hash = Objects.hash(particle, count, dx, dy, dz, speed, data);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Style)) return false;
+            final Style style = (Style) o;
+            return hash == style.hash && particle == style.particle && count == style.count
+                    && Double.compare(dx, style.dx) == 0 && Double.compare(dy, style.dy) == 0
+                    && Double.compare(dz, style.dz) == 0 && Double.compare(speed, style.speed) == 0
+                    && Objects.equals(data, style.data);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * <p>Particles of a single effect collected off the shared buffers.</p>
+     * <p>A batch is queued as a whole by {@link #submit()} and can't be used after that.</p>
+     */
+    public static final class Batch {
+        private final World  world;
+        private final Buffer buffer;
+
+        private Batch(World world, int capacity) {
+            this.world = world;
+            this.buffer = new Buffer(Math.max(1, capacity));
+        }
+
+        /**
+         * Adds a particle to the batch
+         *
+         * @param style         particle and its parameters
+         * @param x             X coordinate
+         * @param y             Y coordinate
+         * @param z             Z coordinate
+         * @param visibleRadius radius around the point players can see it from
+         * @param viewers       players to show the particle to regardless of distance, or null for nearby players
+         */
+        public void add(Style style, double x, double y, double z, double visibleRadius,
+                        @Nullable Set<Player> viewers) {
+            buffer.add(style, x, y, z, visibleRadius, viewers);
+        }
+
+        /**
+         * Queues every particle of the batch to be sent at the end of the tick
+         */
+        public void submit() {
+            if (buffer.size == 0) {
+                return;
+            }
+            if (task == null) {
+                for (int i = 0; i < buffer.size; i++) {
+                    sendNow(buffer.styles[i], world, buffer.x[i], buffer.y[i], buffer.z[i],
+                            Math.sqrt(buffer.radiusSq[i]), buffer.viewers[i]);
+                }
+                return;
+            }
+            synchronized (LOCK) {
+                final Buffer queued = pending.get(world);
+                if (queued == null) {
+                    pending.put(world, buffer);
+                } else {
+                    queued.addAll(buffer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Particle counters for a single viewer
+     */
+    public static final class ViewerStats {
+        private long sent;
+        private long culled;
+        private long merged;
+        private long dropped;
+        private int  lastSent;
+        private int  lastDropped;
+
+        private void record(int sent, int culled, int merged, int dropped) {
+            this.sent += sent;
+            this.culled += culled;
+            this.merged += merged;
+            this.dropped += dropped;
+            this.lastSent = sent;
+            this.lastDropped = dropped;
+        }
+
+        /**
+         * @return particles sent to the viewer since they joined
+         */
+        public long getSent() {
+            return sent;
+        }
+
+        /**
+         * @return particles culled for the viewer since they joined
+         */
+        public long getCulled() {
+            return culled;
+        }
+
+        /**
+         * @return particles merged for the viewer since they joined
+         */
+        public long getMerged() {
+            return merged;
+        }
+
+        /**
+         * @return particles dropped by the budget since they joined
+         */
+        public long getDropped() {
+            return dropped;
+        }
+
+        /**
+         * @return particles sent on the last tick anything was queued for the viewer
+         */
+        public int getLastSent() {
+            return lastSent;
+        }
+
+        /**
+         * @return particles dropped on the last tick anything was queued for the viewer
+         */
+        public int getLastDropped() {
+            return lastDropped;
+        }
+    }
+
+    /**
+     * The dedupe cell a particle of a given style lands in
+     */
+    private static final class Cell {
+        private final Style style;
+        private final long  x;
+        private final long  y;
+        private final long  z;
+
+        private Cell(Style style, double x, double y, double z) {
+            this.style = style;
+            this.x = (long) Math.floor(x / dedupe);
+            this.y = (long) Math.floor(y / dedupe);
+            this.z = (long) Math.floor(z / dedupe);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Cell)) return false;
+            final Cell cell = (Cell) o;
+            return x == cell.x && y == cell.y && z == cell.z && style.equals(cell.style);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = style.hashCode();
+            hash = hash * 31 + Long.hashCode(x);
+            hash = hash * 31 + Long.hashCode(y);
+            hash = hash * 31 + Long.hashCode(z);
+            return hash;
+        }
+    }
+
+    /**
+     * Emissions queued for one world
+     */
+    private static final class Buffer {
+        private Style[]       styles;
+        private double[]      x;
+        private double[]      y;
+        private double[]      z;
+        private double[]      radiusSq;
+        private Set<Player>[] viewers;
+        private int           size;
+
+        private Buffer() {
+            this(64);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Buffer(int capacity) {
+            styles = new Style[capacity];
+            x = new double[capacity];
+            y = new double[capacity];
+            z = new double[capacity];
+            radiusSq = new double[capacity];
+            viewers = new Set[capacity];
+        }
+
+        private void add(Style style, double x, double y, double z, double radius, Set<Player> viewers) {
+            if (size == styles.length) {
+                grow(size * 2);
+            }
+            styles[size] = style;
+            this.x[size] = x;
+            this.y[size] = y;
+            this.z[size] = z;
+            radiusSq[size] = radius * radius;
+            this.viewers[size] = viewers;
+            size++;
+        }
+
+        private void addAll(Buffer other) {
+            final int needed = size + other.size;
+            if (needed > styles.length) {
+                grow(Math.max(styles.length * 2, needed));
+            }
+            System.arraycopy(other.styles, 0, styles, size, other.size);
+            System.arraycopy(other.x, 0, x, size, other.size);
+            System.arraycopy(other.y, 0, y, size, other.size);
+            System.arraycopy(other.z, 0, z, size, other.size);
+            System.arraycopy(other.radiusSq, 0, radiusSq, size, other.size);
+            System.arraycopy(other.viewers, 0, viewers, size, other.size);
+            size = needed;
+        }
+
+        private void grow(int capacity) {
+            styles = Arrays.copyOf(styles, capacity);
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+            z = Arrays.copyOf(z, capacity);
+            radiusSq = Arrays.copyOf(radiusSq, capacity);
+            viewers = Arrays.copyOf(viewers, capacity);
+        }
+
+        private void clear() {
+            Arrays.fill(styles, 0, size, null);
+            Arrays.fill(viewers, 0, size, null);
+            size = 0;
+        }
+    }
+}
@@ -65,27 +65,69 @@ public class TimeBasedTransform {
     }
 
     public Point3D[] apply(Point3D[] points, Location loc, boolean withRotation, int iteration, int level) {
-        double rotate           = rotateFormula.compute(iteration, level);
-        double spin             = spinFormula.compute(iteration, level);
-        double tilt             = tiltFormula.compute(iteration, level);
-        double newScale         = scaleFormula.compute(iteration, level);
-        double translateForward = translateFowardFormula.compute(iteration, level);
-        double translateUp      = translateUpFormula.compute(iteration, level);
-        double translateRight   = translateRightFormula.compute(iteration, level);
+        Matrix3D  pointedRotation = withRotation ? MatrixUtil.getRotationMatrix(0, -loc.getYaw(), 0) : null;
+        Point3D[] local           = applyLocal(points, iteration, level);
+        if (pointedRotation != null) {
+            local = pointedRotation.multiply(local);
+        }
+
+        double[] translation = getTranslation(iteration, level);
+        Vector   offset      = getOffset(loc, translation[0], translation[1], translation[2]);
+        return MatrixUtil.translate(local, offset.getX(), offset.getY(), offset.getZ());
+    }
+
+    /**
+     * Applies the parts of the transform that do not depend on where the effect is played:
+     * direction, rotation, spin, tilt and scale
+     *
+     * @param points    points to transform
+     * @param iteration animation iteration
+     * @param level     effect level
+     * @return transformed points
+     */
+    public Point3D[] applyLocal(Point3D[] points, int iteration, int level) {
+        double rotate   = rotateFormula.compute(iteration, level);
+        double spin     = spinFormula.compute(iteration, level);
+        double tilt     = tiltFormula.compute(iteration, level);
+        double newScale = scaleFormula.compute(iteration, level);
 
         Matrix3D directionMatrix = direction.getMatrix();
-        Matrix3D pointedRotation = withRotation ? MatrixUtil.getRotationMatrix(0, -loc.getYaw(), 0) : null;
         Matrix3D rotationMatrix  = MatrixUtil.getRotationMatrix(tilt, spin, rotate);
         Matrix3D scaleMatrix     = MatrixUtil.getScaleMatrix(newScale);
 
-        Matrix3D finalMatrix = MatrixUtil.multiply(pointedRotation, directionMatrix, rotationMatrix, scaleMatrix);
+        return MatrixUtil.multiply(directionMatrix, rotationMatrix, scaleMatrix).multiply(points);
+    }
+
+    /**
+     * Computes the forward, upward and right translation for an iteration
+     *
+     * @param iteration animation iteration
+     * @param level     effect level
+     * @return forward, upward and right distances in that order
+     */
+    public double[] getTranslation(int iteration, int level) {
+        return new double[]{
+                translateFowardFormula.compute(iteration, level),
+                translateUpFormula.compute(iteration, level),
+                translateRightFormula.compute(iteration, level)
+        };
+    }
 
-        Vector dir   = loc.getDirection().setY(0).normalize();
-        Vector right = dir.clone().crossProduct(UP).normalize();
-        Vector offset = new Vector()
-                .add(dir.clone().multiply(translateForward))
-                .add(right.clone().multiply(translateRight))
-                .setY(translateUp);
-        return MatrixUtil.translate(finalMatrix.multiply(points), offset.getX(), offset.getY(), offset.getZ());
+    /**
+     * Converts a relative translation into a world offset based on where a location faces
+     *
+     * @param loc     location the effect is played at
+     * @param forward distance along the horizontal facing direction
+     * @param up      distance upwards
+     * @param right   distance to the right of the facing direction
+     * @return world offset
+     */
+    public static Vector getOffset(Location loc, double forward, double up, double right) {
+        Vector dir      = loc.getDirection().setY(0).normalize();
+        Vector rightDir = dir.clone().crossProduct(UP).normalize();
+        return new Vector()
+                .add(dir.clone().multiply(forward))
+                .add(rightDir.clone().multiply(right))
+                .setY(up);
     }
 }
@@ -56,6 +56,8 @@ public class PlayerAccounts {
     @Setter
     @Accessors(fluent = true)
     private       boolean                      isLoaded  = false;
+    private volatile long                      generation;
+    private volatile long                      savedGeneration;
 
     /**
      * Initializes a new container for player account data.
@@ -162,6 +164,7 @@ public class PlayerAccounts {
     public PlayerData getData(int id, OfflinePlayer player, boolean init) {
         if (!hasData(id) && id > 0 && player != null) {
             classData.put(id, new PlayerData(player, init));
+            markDirty();
         }
 
         return classData.get(id);
@@ -177,6 +180,47 @@ public class PlayerAccounts {
         return classData;
     }
 
+    /**
+     * Retrieves the combined change generation of every account. This only ever
+     * grows, so any change since a snapshot shows up as a different value.
+     *
+     * @return current change generation
+     */
+    public long getGeneration() {
+        long total = generation;
+        for (PlayerData data : classData.values()) {
+            total += data.getGeneration();
+        }
+        return total;
+    }
+
+    /**
+     * Marks the accounts as changed so they get written on the next save
+     */
+    public void markDirty() {
+        generation++;
+    }
+
+    /**
+     * Checks whether anything changed since the data was last loaded or saved
+     *
+     * @return true if there are unsaved changes
+     */
+    public boolean isDirty() {
+        return getGeneration() != savedGeneration;
+    }
+
+    /**
+     * Records that the data has been written as of the given generation. The
+     * generation should be read before serializing so that changes made while
+     * saving still count as unsaved.
+     *
+     * @param generation generation from {@link #getGeneration()} that was written
+     */
+    public void markSaved(long generation) {
+        savedGeneration = generation;
+    }
+
     /**
      * Switches the active account for the player by ID. This will not accept
      * IDs outside the player's account limits. If the player is offline or
@@ -199,11 +243,13 @@ public class PlayerAccounts {
     public void setAccount(int id, boolean apply) {
         Player player = getPlayer();
         if (player == null || id == active || !apply) {
+            if (active != id) markDirty();
             active = id;
             return;
         }
         if (id <= getAccountLimit() && id > 0 && !classData.containsKey(id)) {
             classData.put(id, new PlayerData(player, false));
+            markDirty();
         }
         if (classData.containsKey(id)) {
             PlayerAccountChangeEvent event = new PlayerAccountChangeEvent(this, active, id);
@@ -217,6 +263,7 @@ public class PlayerAccounts {
                 getActiveData().stopPassives(player);
                 getActiveData().clearAllModifiers();
                 active = event.getNewID();
+                markDirty();
                 getActiveData().startPassives(player);
                 getActiveData().updateScoreboard();
                 if (getActiveData().hasClass() && Fabled.getSettings().isSkillBarEnabled() && !Fabled.getSettings()
@@ -231,6 +278,7 @@ public class PlayerAccounts {
                 getActiveData().updateHealth(player);
             } else {
                 active = event.getNewID();
+                markDirty();
             }
         }
     }
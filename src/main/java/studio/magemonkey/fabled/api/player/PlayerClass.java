@@ -125,6 +125,7 @@ public class PlayerClass {
      */
     public void setExp(double exp) {
         this.exp = Math.max(Math.min(exp, getRequiredExp() - 1), 0);
+        player.markDirty();
     }
 
     /**
@@ -169,6 +170,8 @@ public class PlayerClass {
             throw new IllegalArgumentException("Cannot be a level less than 1");
 
         this.level = level;
+        getPlayerData().invalidateAttributeCache();
+        getPlayerData().markDirty();
     }
 
     /**
@@ -198,6 +201,7 @@ public class PlayerClass {
 
         // Set the points
         points = amount;
+        player.markDirty();
     }
 
     ///////////////////////////////////////////////////////
@@ -270,6 +274,7 @@ public class PlayerClass {
         // Add the points if not cancelled
         if (!event.isCancelled()) {
             points += event.getAmount();
+            player.markDirty();
         }
     }
 
@@ -291,6 +296,7 @@ public class PlayerClass {
 
         // Use the points
         points -= amount;
+        player.markDirty();
     }
 
     /**
@@ -345,6 +351,7 @@ public class PlayerClass {
             }
 
             exp += rounded;
+            player.markDirty();
             checkLevelUp();
         }
     }
@@ -375,6 +382,7 @@ public class PlayerClass {
                 amount = Math.min(event.getExp(), exp);
             }
             exp = exp - amount;
+            player.markDirty();
 
 
             // Exp loss message
@@ -479,6 +487,8 @@ public class PlayerClass {
         amount = Math.min(amount, classData.getMaxLevel() - level);
         if (amount <= 0) return;
         level += amount;
+        getPlayerData().invalidateAttributeCache();
+        getPlayerData().markDirty();
         points += classData.getGroupSettings().getPointsForLevels(level, level - amount);
         getPlayerData().giveAttribPoints(classData.getGroupSettings().getAttribsForLevels(level, level - amount));
 
@@ -512,6 +522,8 @@ public class PlayerClass {
             return;
         }
         level -= amount;
+        getPlayerData().invalidateAttributeCache();
+        getPlayerData().markDirty();
         points += classData.getGroupSettings().getPointsForLevels(level, level + amount);
         getPlayerData().giveAttribPoints(classData.getGroupSettings().getAttribsForLevels(level, level + amount));
 
@@ -545,4 +557,14 @@ public class PlayerClass {
         this.classData = classData;
         getPlayerData().setClass(previous, classData, false);
     }
+
+    /**
+     * Points this class at a reloaded copy of its class data, keeping the
+     * player's progress.
+     *
+     * @param classData reloaded class data
+     */
+    void setData(FabledClass classData) {
+        this.classData = classData;
+    }
 }
@@ -224,6 +224,7 @@ public class PlayerCombos {
      * @param skill skill to add
      */
     public void addSkill(Skill skill) {
+        player.markDirty();
         if (skill == null || !skill.canCast() || !Fabled.getSettings().isCombosEnabled()) {
             return;
         }
@@ -259,6 +260,7 @@ public class PlayerCombos {
      * @param skill skill to remove
      */
     public void removeSkill(Skill skill) {
+        player.markDirty();
         if (skill == null || !reverse.containsKey(skill.getName())) {
             return;
         }
@@ -307,6 +309,7 @@ public class PlayerCombos {
      * @return true if set successfully, false otherwise
      */
     public boolean setSkill(Skill skill, int id) {
+        player.markDirty();
         if (skill == null || !skill.canCast() || !isValidCombo(id)) {
             return false;
         }
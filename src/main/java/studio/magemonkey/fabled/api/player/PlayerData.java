@@ -83,6 +83,7 @@ import studio.magemonkey.fabled.task.ScoreboardTask;
 
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -110,6 +111,14 @@ public class PlayerData {
     private final Map<String, List<PlayerStatModifier>>      statModifiers       = new HashMap<>();
     private final Map<String, String>                        persistentData      = new HashMap<>();
     private final Map<String, Long>                          cooldownCache       = new HashMap<>();
+    /**
+     * Cached attribute totals, cleared whenever anything feeding into them changes
+     */
+    private final Map<String, Integer>                       attributeCache      = new ConcurrentHashMap<>();
+    /**
+     * Cached stat results before clamping, keyed by stat and holding the base value they were scaled from
+     */
+    private final Map<String, double[]>                      statCache           = new ConcurrentHashMap<>();
     /**
      * @return extra data attached to the player's account
      */
@@ -132,11 +141,34 @@ public class PlayerData {
 
     /**
      * The current amount of attribute points
-     *
-     * @param attribPoints amount of points to have
      */
-    @Setter
     public  int        attribPoints;
+    /**
+     * Number of attribute and stat lookups answered from the cache
+     *
+     * @return cache hit count
+     */
+    private long       attributeCacheHits;
+    /**
+     * Number of attribute and stat lookups that had to be computed
+     *
+     * @return cache miss count
+     */
+    private long       attributeCacheMisses;
+    /**
+     * Counter bumped whenever saved data changes, used to skip saving
+     * accounts that have not been modified since they were last written
+     *
+     * @return current change generation
+     */
+    private volatile long generation;
+    /**
+     * Counter bumped whenever the cached attribute totals are cleared, so caches
+     * built from attribute values can tell when they need to be rebuilt
+     *
+     * @return current attribute generation
+     */
+    private volatile long attributeGeneration;
     /**
      * -- GETTER --
      * Retrieves the name of the active map menu scheme for the player
@@ -154,11 +186,7 @@ public class PlayerData {
      * Retrieves the amount of mana the player currently has
      *
      * @return current player mana
-     * -- SETTER --
-     * Sets the player's amount of mana without launching events
-     * @param mana current mana
      */
-    @Setter
     private double     mana;
     /**
      * -- GETTER --
@@ -168,14 +196,9 @@ public class PlayerData {
      */
     private double     maxMana;
     /**
-     * -- SETTER --
-     * Used by the API for restoring health - do not use this.
-     *
-     * @param lastHealth health logged off with
      * -- GETTER --
      * @return health during last logout
      */
-    @Setter
     private double     lastHealth;
     private double     maxHealth;
     /**
@@ -186,10 +209,7 @@ public class PlayerData {
      * as normal, this will go down by decimals to slow the decay of hunger.
      *
      * @return amount of the next hunger point the player has
-     * -- SETTER --
-     * @param hungerValue new hunger value
      */
-    @Setter
     private double     hungerValue;
     private boolean    init;
     private boolean    passive;
@@ -337,6 +357,19 @@ public class PlayerData {
      */
     public int getAttribute(String key) {
         key = key.toLowerCase();
+        Integer cached = attributeCache.get(key);
+        if (cached != null) {
+            attributeCacheHits++;
+            return cached;
+        }
+
+        attributeCacheMisses++;
+        int total = computeAttribute(key);
+        attributeCache.put(key, total);
+        return total;
+    }
+
+    private int computeAttribute(String key) {
         double total = 0;
 
         // Attribute points comes with class level
@@ -375,6 +408,33 @@ public class PlayerData {
         return Math.max(0, (int) Math.round(total));
     }
 
+    /**
+     * Clears the cached attribute totals and stat values. This is done automatically
+     * by every method that changes attributes, modifiers or classes. Anything modifying
+     * {@link #attributes} or {@link #attrUpStages} directly must call this afterwards.
+     */
+    public void invalidateAttributeCache() {
+        attributeCache.clear();
+        statCache.clear();
+        attributeGeneration++;
+    }
+
+    /**
+     * Clears the cached stat values while keeping attribute totals
+     */
+    public void invalidateStatCache() {
+        statCache.clear();
+    }
+
+    /**
+     * Marks the data as changed so it is written on the next save. The API does
+     * this itself for everything it changes, but anything modifying saved data
+     * another way (e.g. through {@link #getExtraData()}) should call this.
+     */
+    public void markDirty() {
+        generation++;
+    }
+
 
     /**
      * Gets the number of attribute points invested in the
@@ -447,6 +507,8 @@ public class PlayerData {
         attributes.put(key, currentInvested + cost);
         attrUpStages.put(key, newStage);
         attribPoints -= cost;
+        invalidateAttributeCache();
+        markDirty();
 
         this.updatePlayerStat(getPlayer());
         return true;
@@ -550,6 +612,8 @@ public class PlayerData {
 
         attrUpStages.put(key, newStage); // iomatix: attr stage goes up by the given value
         attributes.put(key, invested + cost); // let's increase totals value for now
+        invalidateAttributeCache();
+        markDirty();
 
         this.updatePlayerStat(getPlayer());
         return true;
@@ -567,6 +631,7 @@ public class PlayerData {
         List<PlayerStatModifier> modifiers = this.getStatModifiers(key);
         modifiers.add(modifier);
         this.statModifiers.put(key, modifiers);
+        invalidateStatCache();
 
         if (update) {
             this.updatePlayerStat(getPlayer());
@@ -600,6 +665,7 @@ public class PlayerData {
         List<PlayerAttributeModifier> modifiers = this.getAttributeModifiers(key);
         modifiers.add(modifier);
         this.attributesModifiers.put(key, modifiers);
+        invalidateAttributeCache();
 
         if (update) {
             this.updatePlayerStat(getPlayer());
@@ -649,6 +715,8 @@ public class PlayerData {
         attribPoints -= currentCost; // iomatix: get the current stage cost back
         attributes.put(key, invested + currentCost); // iomatix: the fix for total spent attributes
         attrUpStages.put(key, newStage); // iomatix: single step back to previous stage
+        invalidateAttributeCache();
+        markDirty();
 
         this.updatePlayerStat(getPlayer());
         return true;
@@ -684,6 +752,8 @@ public class PlayerData {
         attribPoints -= refundAmount;
         attributes.put(key, getInvestedAttribute(key) + refundAmount);
         attrUpStages.put(key, newStage);
+        invalidateAttributeCache();
+        markDirty();
 
         this.updatePlayerStat(getPlayer());
         return true;
@@ -714,6 +784,17 @@ public class PlayerData {
      */
     public void giveAttribPoints(int amount) {
         attribPoints += amount;
+        markDirty();
+    }
+
+    /**
+     * Sets the current amount of attribute points
+     *
+     * @param attribPoints amount of points to have
+     */
+    public void setAttribPoints(int attribPoints) {
+        this.attribPoints = attribPoints;
+        markDirty();
     }
 
     /**
@@ -750,6 +831,13 @@ public class PlayerData {
             return defaultValue;
         }
 
+        double[] cached = statCache.get(stat);
+        if (cached != null && Double.compare(cached[0], defaultValue) == 0) {
+            attributeCacheHits++;
+            return Math.max(min, Math.min(max, cached[1]));
+        }
+        attributeCacheMisses++;
+
         double modified = defaultValue;
 
         final List<ProAttribute> matches = manager.forStat(stat);
@@ -785,6 +873,7 @@ public class PlayerData {
             modified = modified * multiplier;
         }
 
+        statCache.put(stat, new double[]{defaultValue, modified});
         return Math.max(min, Math.min(max, modified));
     }
 
@@ -968,6 +1057,7 @@ public class PlayerData {
             PlayerSkill data = new PlayerSkill(this, skill, parent);
             skills.put(key, data);
             comboData.addSkill(skill);
+            markDirty();
         }
     }
 
@@ -983,6 +1073,7 @@ public class PlayerData {
             cooldownCache.remove(key);
             skills.put(key, data);
             comboData.addSkill(skill);
+            markDirty();
             forceUpSkill(data, level);
         } else if (existing.isExternal() && level > existing.getLevel()) {
             forceUpSkill(existing, level - existing.getLevel());
@@ -1010,6 +1101,7 @@ public class PlayerData {
                 cooldownCache.put(key, existing.getCooldown());
                 skills.remove(key);
                 comboData.removeSkill(existing.getData());
+                markDirty();
                 forceDownSkill(existing, existing.getLevel());
             } else {
                 forceDownSkill(existing, existing.getLevel() - maxLevel);
@@ -1490,6 +1582,8 @@ public class PlayerData {
             classData.setPoints(c.getPoints());
         }
         classes.put(fabledClass.getGroup(), classData);
+        invalidateAttributeCache();
+        markDirty();
 
         // Add in missing skills
         for (Skill skill : fabledClass.getSkills()) {
@@ -1584,6 +1678,8 @@ public class PlayerData {
 
         PlayerClass playerClass = classes.remove(group);
         int         points      = 0;
+        invalidateAttributeCache();
+        markDirty();
         if (playerClass != null) {
             // Remove skills
             FabledClass data = playerClass.getData();
@@ -1654,6 +1750,8 @@ public class PlayerData {
             if (attributes.get(attr) == 0)
                 attributes.remove(attr);
         }
+        invalidateAttributeCache();
+        markDirty();
 
         this.updatePlayerStat(getPlayer());
     }
@@ -1700,6 +1798,8 @@ public class PlayerData {
                 current = previousData;
                 previousData.setClassData(fabledClass);
             }
+            invalidateAttributeCache();
+            markDirty();
 
 
             // Add skills
@@ -1872,7 +1972,7 @@ public class PlayerData {
         this.maxHealth = this.scaleStat(AttributeManager.HEALTH, maxHealth);
         this.maxMana = this.scaleStat(AttributeManager.MANA, maxMana);
 
-        this.mana = Math.min(mana, maxMana);
+        if (mana > maxMana) setMana(maxMana);
 
         // AsyncPlayerPreLoginEvent has to call this without player object to update Mana
         if (player == null) {
@@ -2010,6 +2110,37 @@ public class PlayerData {
         }
     }
 
+    /**
+     * Sets the player's amount of mana without launching events
+     *
+     * @param mana current mana
+     */
+    public void setMana(double mana) {
+        if (this.mana == mana) return;
+        this.mana = mana;
+        markDirty();
+    }
+
+    /**
+     * Used by the API for restoring health - do not use this.
+     *
+     * @param lastHealth health logged off with
+     */
+    public void setLastHealth(double lastHealth) {
+        if (this.lastHealth == lastHealth) return;
+        this.lastHealth = lastHealth;
+        markDirty();
+    }
+
+    /**
+     * @param hungerValue new hunger value
+     */
+    public void setHungerValue(double hungerValue) {
+        if (this.hungerValue == hungerValue) return;
+        this.hungerValue = hungerValue;
+        markDirty();
+    }
+
     /**
      * Gives mana to the player from an unknown source. This will not
      * cause the player's mana to go above their max amount.
@@ -2036,6 +2167,7 @@ public class PlayerData {
                     2,
                     getPlayerName() + " gained " + amount + " mana due to " + event.getSource().name());
 
+            double previous = mana;
             mana += event.getAmount();
             if (mana > maxMana) {
                 mana = maxMana;
@@ -2043,6 +2175,7 @@ public class PlayerData {
             if (mana < 0) {
                 mana = 0;
             }
+            if (mana != previous) markDirty();
         } else {
             Logger.log(LogType.MANA, 2, getPlayerName() + " had their mana gain cancelled");
         }
@@ -2074,10 +2207,12 @@ public class PlayerData {
                     2,
                     getPlayerName() + " used " + amount + " mana due to " + event.getSource().name());
 
+            double previous = mana;
             mana -= event.getAmount();
             if (mana < 0) {
                 mana = 0;
             }
+            if (mana != previous) markDirty();
         }
     }
 
@@ -2101,6 +2236,7 @@ public class PlayerData {
 
             this.statModifiers.put(entry.getKey(), modifiers);
         }
+        invalidateStatCache();
 
         if (update) {
             this.updatePlayerStat(getPlayer());
@@ -2124,6 +2260,7 @@ public class PlayerData {
 
             this.statModifiers.put(entry.getKey(), modifiers);
         }
+        invalidateStatCache();
 
         this.updatePlayerStat(getPlayer());
     }
@@ -2148,6 +2285,7 @@ public class PlayerData {
 
             this.attributesModifiers.put(entry.getKey(), modifiers);
         }
+        invalidateAttributeCache();
 
         if (update) {
             this.updatePlayerStat(getPlayer());
@@ -2177,6 +2315,7 @@ public class PlayerData {
 
             this.attributesModifiers.put(entry.getKey(), modifiers);
         }
+        invalidateAttributeCache();
 
         this.equips.update(getPlayer());
         this.updatePlayerStat(getPlayer());
@@ -2317,6 +2456,7 @@ public class PlayerData {
             removePersistentData(key);
             return;
         }
+        markDirty();
         if (data instanceof List) {
             List<String> sum = new ArrayList<>();
             ((List<?>) data).forEach(entry -> {
@@ -2353,7 +2493,7 @@ public class PlayerData {
      * @param key The key is used to save the value.
      */
     public void removePersistentData(String key) {
-        persistentData.remove(key);
+        if (persistentData.remove(key) != null) markDirty();
     }
 
     /**
@@ -2391,7 +2531,7 @@ public class PlayerData {
      * @param player player to record for
      */
     public void record(Player player) {
-        this.lastHealth = player.getHealth();
+        setLastHealth(player.getHealth());
     }
 
     /**
@@ -2446,6 +2586,72 @@ public class PlayerData {
         }
     }
 
+    /**
+     * Points the player's progress for a skill at a reloaded copy of it. Passive
+     * effects running for the old copy are stopped and started again for the new
+     * one. This is already called by the API and shouldn't be called by other plugins.
+     *
+     * @param previous skill that was reloaded
+     * @param skill    reloaded copy of the skill
+     * @return true if the player had the skill, false otherwise
+     */
+    public boolean replaceSkill(Skill previous, Skill skill) {
+        PlayerSkill data = skills.get(skill.getKey());
+        if (data == null || data.getData() != previous) {
+            return false;
+        }
+
+        Player  player  = passive ? getPlayer() : null;
+        boolean running = player != null && data.isUnlocked();
+        if (running && previous instanceof PassiveSkill) {
+            ((PassiveSkill) previous).stopEffects(player, data.getLevel());
+        }
+        data.setData(skill);
+        if (running && skill instanceof PassiveSkill) {
+            ((PassiveSkill) skill).initialize(player, data.getLevel());
+        }
+        return true;
+    }
+
+    /**
+     * Points the player's progress for a class at a reloaded copy of it, giving
+     * any skills the reloaded class added. This is already called by the API and
+     * shouldn't be called by other plugins.
+     *
+     * @param previous    class that was reloaded
+     * @param fabledClass reloaded copy of the class
+     * @return true if the player was professed as the class, false otherwise
+     */
+    public boolean replaceClass(FabledClass previous, FabledClass fabledClass) {
+        PlayerClass data = classes.get(previous.getGroup());
+        if (data == null || data.getData() != previous) {
+            return false;
+        }
+        if (!previous.getGroup().equals(fabledClass.getGroup())) {
+            if (classes.containsKey(fabledClass.getGroup())) {
+                Logger.invalid("Cannot move " + previous.getName() + " to the " + fabledClass.getGroup()
+                        + " group for " + playerUUID + ", the player already has a class there");
+                return false;
+            }
+            classes.remove(previous.getGroup());
+            classes.put(fabledClass.getGroup(), data);
+        }
+
+        data.setData(fabledClass);
+        for (Skill skill : fabledClass.getSkills()) {
+            giveSkill(skill, data);
+        }
+        invalidateAttributeCache();
+        markDirty();
+
+        Player player = passive ? getPlayer() : null;
+        if (player != null) {
+            updatePlayerStat(player);
+            updateScoreboard();
+        }
+        return true;
+    }
+
     /**
      * Casts a skill by name for the player. In order to cast the skill,
      * the player must be online, have the skill unlocked, have enough mana,
@@ -29,6 +29,7 @@ package studio.magemonkey.fabled.api.player;
 import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.enums.SkillStatus;
 import studio.magemonkey.fabled.api.skills.Skill;
+import studio.magemonkey.fabled.api.skills.SkillIcon;
 import studio.magemonkey.fabled.manager.AttributeManager;
 import lombok.Getter;
 import lombok.Setter;
@@ -40,14 +41,18 @@ import org.bukkit.Material;
  */
 public final class PlayerSkill {
 
-    private Skill       skill;
-    private PlayerData  player;
-    private PlayerClass parent;
+    private       Skill       skill;
+    private       PlayerData  player;
+    private       PlayerClass parent;
     @Getter
     @Setter
-    private long        cooldown;
-    private int         level;
-    private boolean     external;
+    private       long        cooldown;
+    private       int         level;
+    private       boolean     external;
+    /**
+     * Rendered icons of the skill, the first for menus and the second for brief displays
+     */
+    private final SkillIcon[] icons = new SkillIcon[2];
 
     /**
      * Constructs a new PlayerSkill. You should not need to use
@@ -102,6 +107,18 @@ public final class PlayerSkill {
         return skill;
     }
 
+    /**
+     * Points this skill at a reloaded copy of its template data, keeping the
+     * player's progress. Icons rendered from the old template are dropped.
+     *
+     * @param skill reloaded skill template
+     */
+    void setData(Skill skill) {
+        this.skill = skill;
+        icons[0] = null;
+        icons[1] = null;
+    }
+
     /**
      * Retrieves the owning player class.
      *
@@ -250,6 +267,7 @@ public final class PlayerSkill {
      */
     public void setLevel(int level) {
         this.level = level;
+        player.markDirty();
     }
 
     /**
@@ -261,6 +279,29 @@ public final class PlayerSkill {
      */
     public void addLevels(int amount) {
         this.level = Math.min(this.level + amount, skill.getMaxLevel());
+        player.markDirty();
+    }
+
+    /**
+     * Retrieves the icon last rendered for this skill. This is managed by
+     * {@link Skill#getIndicator(PlayerSkill, boolean)} and should not be
+     * needed elsewhere.
+     *
+     * @param brief whether to get the brief icon instead of the menu icon
+     * @return last rendered icon or null if none was rendered yet
+     */
+    public SkillIcon getIcon(boolean brief) {
+        return icons[brief ? 1 : 0];
+    }
+
+    /**
+     * Stores the icon rendered for this skill
+     *
+     * @param brief whether the icon is the brief icon instead of the menu icon
+     * @param icon  rendered icon
+     */
+    public void setIcon(boolean brief, SkillIcon icon) {
+        icons[brief ? 1 : 0] = icon;
     }
 
     /**
@@ -278,12 +319,14 @@ public final class PlayerSkill {
     public void revert() {
         parent.givePoints(getInvestedCost());
         level = 0;
+        player.markDirty();
     }
 
     /**
      * Starts the cooldown of the skill
      */
     public void startCooldown() {
+        player.markDirty();
         long cd = (long) player.scaleStat(AttributeManager.COOLDOWN, skill.getCooldown(level) * 1000L);
         cooldown = System.currentTimeMillis() + cd;
     }
@@ -293,6 +336,7 @@ public final class PlayerSkill {
      * player to cast the skill again.
      */
     public void refreshCooldown() {
+        player.markDirty();
         cooldown = 0;
     }
 
@@ -313,6 +357,7 @@ public final class PlayerSkill {
      * @param seconds number of seconds to add to the cooldown
      */
     public void addCooldown(double seconds) {
+        player.markDirty();
         if (isOnCooldown())
             cooldown += (int) (seconds * 1000);
         else
@@ -69,6 +69,7 @@ public class PlayerSkillBar {
     }
 
     public void reserve(int slot) {
+        player.markDirty();
         this.reserved.add(slot);
         this.slots.remove(slot);
     }
@@ -163,6 +164,7 @@ public class PlayerSkillBar {
      * Toggles the enabled state of the skill bar
      */
     public void toggleEnabled() {
+        player.markDirty();
         if (enabled) {
             clear(player.getPlayer());
             enabled = false;
@@ -178,6 +180,7 @@ public class PlayerSkillBar {
      * @param slot slot to toggle
      */
     public void toggleSlot(int slot) {
+        player.markDirty();
         if (!isEnabled() || Fabled.getSettings().getLockedSlots()[slot] || reserved.contains(slot))
             return;
 
@@ -258,6 +261,7 @@ public class PlayerSkillBar {
      * Resets the skill bar
      */
     public void reset() {
+        player.markDirty();
         for (int i = 0; i < 9; i++) {
             if (isWeaponSlot(i))
                 continue;
@@ -314,6 +318,7 @@ public class PlayerSkillBar {
      * @param skill unlocked skill
      */
     public void unlock(PlayerSkill skill) {
+        player.markDirty();
         for (int i = 1; i <= 9; i++) {
             if (slots.containsKey(i) && slots.get(i).equals(UNASSIGNED)) {
                 slots.put(i, skill.getData().getName());
@@ -330,6 +335,7 @@ public class PlayerSkillBar {
      * @param slot  slot to assign to
      */
     public void assign(PlayerSkill skill, int slot) {
+        player.markDirty();
         if (isWeaponSlot(slot))
             return;
 
@@ -34,63 +34,73 @@ import studio.magemonkey.fabled.api.particle.target.Followable;
 import studio.magemonkey.fabled.log.Logger;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.event.Event;
 import org.bukkit.metadata.MetadataValue;
 import org.bukkit.metadata.Metadatable;
 import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.util.*;
 import java.util.function.Predicate;
 
 /**
  * Base class for custom projectiles
  */
-public abstract class CustomProjectile extends BukkitRunnable implements Metadatable, Followable {
+public abstract class CustomProjectile implements Runnable, Metadatable, Followable {
     private static final Vector                                   X_VEC           = new Vector(1, 0, 0);
     private static final double                                   DEGREE_TO_RAD   = Math.PI / 180;
     private static final Vector                                   vel             = new Vector();
-    private static       Constructor<?>                           aabbConstructor;
-    private static       Method                                   getEntities;
-    private static       Method                                   getBukkitEntity;
+    private static       MethodHandle                             aabbConstructor;
+    private static       MethodHandle                             getEntities;
+    private static       MethodHandle                             getBukkitEntity;
     private static final Predicate<Object>                        JAVA_PREDICATE  = CustomProjectile::isLivingEntity;
     private static final com.google.common.base.Predicate<Object> GUAVA_PREDICATE = CustomProjectile::isLivingEntity;
-    private static       Method                                   getEntitiesGuava;
-    private static       Method                                   getHandle;
+    private static       Object                                   predicate;
+    private static       MethodHandle                             getHandle;
+
+    // Lookups shared by all projectiles within a single engine pass
+    private static final Map<World, Object>                        nmsWorlds     = new HashMap<>();
+    private static final Map<World, Map<Long, Boolean>>            loadedChunks  = new HashMap<>();
+    private static final Map<World, Map<Long, List<LivingEntity>>> chunkEntities = new HashMap<>();
 
     static {
         try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
             Class<?> aabbClass =
                     ReflectionManager.MINOR_VERSION >= 17 ? Reflex.getClass("net.minecraft.world.phys.AxisAlignedBB")
                             : Reflex.getNMSClass("AxisAlignedBB");
             Class<?> entityClass =
                     ReflectionManager.MINOR_VERSION >= 17 ? Reflex.getClass("net.minecraft.world.entity.Entity")
                             : Reflex.getNMSClass("Entity");
-            aabbConstructor = aabbClass.getConstructor(double.class,
+            aabbConstructor = lookup.unreflectConstructor(aabbClass.getConstructor(double.class,
                     double.class,
                     double.class,
                     double.class,
                     double.class,
-                    double.class);
-            getBukkitEntity = entityClass.getDeclaredMethod("getBukkitEntity");
-            getHandle = Reflex.getCraftClass("CraftWorld").getDeclaredMethod("getHandle");
+                    double.class));
+            getBukkitEntity = lookup.unreflect(entityClass.getDeclaredMethod("getBukkitEntity"));
+            getHandle = lookup.unreflect(Reflex.getCraftClass("CraftWorld").getDeclaredMethod("getHandle"));
             Class<?> worldClass =
                     ReflectionManager.MINOR_VERSION >= 17 ? Reflex.getClass("net.minecraft.world.level.World")
                             : Reflex.getNMSClass("World");
             try {
-                getEntities = worldClass.getDeclaredMethod(ReflectionManager.MINOR_VERSION >= 18 ? "a" : "getEntities",
-                        entityClass, aabbClass, Predicate.class);
+                getEntities = lookup.unreflect(worldClass.getDeclaredMethod(
+                        ReflectionManager.MINOR_VERSION >= 18 ? "a" : "getEntities",
+                        entityClass, aabbClass, Predicate.class));
+                predicate = JAVA_PREDICATE;
             } catch (Exception e) {
-                getEntitiesGuava = worldClass.getDeclaredMethod(ReflectionManager.MINOR_VERSION >= 18
+                getEntities = lookup.unreflect(worldClass.getDeclaredMethod(ReflectionManager.MINOR_VERSION >= 18
                         ? "a"
-                        : "getEntities", entityClass, aabbClass, com.google.common.base.Predicate.class);
+                        : "getEntities", entityClass, aabbClass, com.google.common.base.Predicate.class));
+                predicate = GUAVA_PREDICATE;
             }
         } catch (Exception ex) {
+            getEntities = null;
             Logger.log("Unable to use reflection for accurate collision - will resort to simple radius check");
             ex.printStackTrace();
         }
@@ -106,24 +116,69 @@ public abstract class CustomProjectile extends BukkitRunnable implements Metadat
     private         boolean                              valid    = true;
 
     /**
-     * Constructs a new custom projectile and starts its timer task
+     * Constructs a new custom projectile and registers it with the {@link ProjectileEngine}
      *
      * @param thrower entity firing the projectile
      */
     public CustomProjectile(LivingEntity thrower, Settings settings) {
         this.thrower = thrower;
         this.settings = settings;
-        runTaskTimer(Fabled.inst(), 1, 1);
+        ProjectileEngine.register(this);
     }
 
     private static boolean isLivingEntity(Object thing) {
         try {
             return getBukkitEntity.invoke(thing) instanceof LivingEntity;
-        } catch (Exception ex) {
+        } catch (Throwable ex) {
             return false;
         }
     }
 
+    /**
+     * Clears the lookups shared between projectiles. Called by the
+     * {@link ProjectileEngine} around each pass.
+     */
+    static void startTick() {
+        nmsWorlds.clear();
+        loadedChunks.clear();
+        chunkEntities.clear();
+    }
+
+    private static long chunkKey(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    private static boolean isChunkLoaded(Location loc) {
+        World world = loc.getWorld();
+        int   x     = loc.getBlockX() >> 4;
+        int   z     = loc.getBlockZ() >> 4;
+        return loadedChunks.computeIfAbsent(world, w -> new HashMap<>())
+                .computeIfAbsent(chunkKey(x, z), key -> world.isChunkLoaded(x, z));
+    }
+
+    private static List<LivingEntity> getChunkEntities(World world, int x, int z) {
+        List<LivingEntity> entities = chunkEntities.computeIfAbsent(world, w -> new HashMap<>())
+                .computeIfAbsent(chunkKey(x, z), key -> {
+                    List<LivingEntity> list = new ArrayList<>();
+                    for (Entity entity : world.getChunkAt(x, z).getEntities())
+                        if (entity instanceof LivingEntity)
+                            list.add((LivingEntity) entity);
+                    return list;
+                });
+        // Earlier projectiles in the same pass may have killed or removed some of them
+        entities.removeIf(entity -> !entity.isValid());
+        return entities;
+    }
+
+    private static Object getNmsWorld(World world) throws Throwable {
+        Object nmsWorld = nmsWorlds.get(world);
+        if (nmsWorld == null) {
+            nmsWorld = getHandle.invoke(world);
+            nmsWorlds.put(world, nmsWorld);
+        }
+        return nmsWorld;
+    }
+
     /**
      * Calculates the directions for projectiles spread from
      * the centered direction using the given angle and
@@ -289,7 +344,7 @@ public abstract class CustomProjectile extends BukkitRunnable implements Metadat
      */
     protected boolean isTraveling() {
         // Leaving a loaded chunk
-        if (!getLocation().getChunk().isLoaded()) {
+        if (!isChunkLoaded(getLocation())) {
             cancel();
             Bukkit.getPluginManager().callEvent(expire());
             return false;
@@ -349,16 +404,14 @@ public abstract class CustomProjectile extends BukkitRunnable implements Metadat
         // Reflection for nms collision
         List<LivingEntity> result = new ArrayList<>(1);
         try {
-            Object nmsWorld  = getHandle.invoke(getLocation().getWorld());
-            Object predicate = getEntities == null ? GUAVA_PREDICATE : JAVA_PREDICATE;
-            Object list = (getEntities == null ? getEntitiesGuava : getEntities)
-                    .invoke(nmsWorld, null, getBoundingBox(), predicate);
+            Object nmsWorld = getNmsWorld(getLocation().getWorld());
+            Object list     = getEntities.invoke(nmsWorld, (Object) null, getBoundingBox(), predicate);
             for (Object item : (List) list) {
                 result.add((LivingEntity) getBukkitEntity.invoke(item));
             }
         }
         // Fallback when reflection fails
-        catch (Exception ex) {
+        catch (Throwable ex) {
             double radiusSq = getCollisionRadius();
             radiusSq *= radiusSq;
             for (LivingEntity entity : getNearbyEntities()) {
@@ -375,10 +428,10 @@ public abstract class CustomProjectile extends BukkitRunnable implements Metadat
     /**
      * @return NMS bounding box of the projectile
      */
-    private Object getBoundingBox() throws Exception {
+    private Object getBoundingBox() throws Throwable {
         Location loc = getLocation();
         double   rad = getCollisionRadius();
-        return aabbConstructor.newInstance(
+        return aabbConstructor.invoke(
                 loc.getX() - rad, loc.getY() - rad, loc.getZ() - rad,
                 loc.getX() + rad, loc.getY() + rad, loc.getZ() + rad
         );
@@ -396,10 +449,8 @@ public abstract class CustomProjectile extends BukkitRunnable implements Metadat
         int                minZ   = (int) (loc.getZ() - radius) >> 4;
         int                maxZ   = (int) (loc.getZ() + radius) >> 4;
         for (int i = minX; i <= maxX; i++)
-            for (int j = minZ; j < maxZ; j++)
-                for (Entity entity : loc.getWorld().getChunkAt(i, j).getEntities())
-                    if (entity instanceof LivingEntity)
-                        list.add((LivingEntity) entity);
+            for (int j = minZ; j <= maxZ; j++)
+                list.addAll(getChunkEntities(loc.getWorld(), i, j));
         return list;
     }
 
@@ -424,14 +475,19 @@ public abstract class CustomProjectile extends BukkitRunnable implements Metadat
     }
 
     /**
-     * Marks the projectile as invalid when the associated task is cancelled
+     * Marks the projectile as invalid, removing it from the {@link ProjectileEngine}
      */
-    @Override
     public void cancel() {
-        super.cancel();
         valid = false;
     }
 
+    /**
+     * @return true if the projectile was cancelled, false otherwise
+     */
+    public boolean isCancelled() {
+        return !valid;
+    }
+
     /**
      * <p>Sets a bit of metadata onto the projectile.</p>
      *
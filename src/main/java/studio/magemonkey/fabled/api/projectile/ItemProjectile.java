@@ -34,6 +34,7 @@ import studio.magemonkey.fabled.api.event.ItemProjectileLandEvent;
 import studio.magemonkey.fabled.api.event.ItemProjectileLaunchEvent;
 import studio.magemonkey.fabled.api.target.TargetHelper;
 import studio.magemonkey.fabled.api.util.DamageLoreRemover;
+import studio.magemonkey.fabled.api.util.EntityMeta;
 import studio.magemonkey.fabled.api.util.Nearby;
 import studio.magemonkey.fabled.dynamic.DynamicSkill;
 import org.bukkit.Bukkit;
@@ -53,7 +54,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.function.Supplier;
 
-import static studio.magemonkey.fabled.listener.MechanicListener.ITEM_PROJECTILE;
+import static studio.magemonkey.fabled.listener.MechanicListener.ITEM_PROJECTILE_META;
 
 /**
  * <p>Represents a projectile that uses an item as the actual projectile.</p>
@@ -111,7 +112,7 @@ public class ItemProjectile extends CustomProjectile {
         this.walls = collideWalls;
         this.life = lifespan;
         this.radius = settings.getAttr(RADIUS, level, 0.2);
-        Fabled.setMeta(this.item, ITEM_PROJECTILE, this);
+        EntityMeta.set(this.item, ITEM_PROJECTILE_META, this);
 
         if (settings.getBool(HOMING, false)) {
             String target = settings.getString(HOMING_TARGET, "nearest");
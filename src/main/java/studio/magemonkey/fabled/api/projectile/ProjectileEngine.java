@@ -0,0 +1,202 @@
+/**
+ * Fabled
+ * studio.magemonkey.fabled.api.projectile.ProjectileEngine
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 MageMonkeyStudio
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package studio.magemonkey.fabled.api.projectile;
+
+import studio.magemonkey.fabled.Fabled;
+import studio.magemonkey.fabled.log.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>Ticks every live {@link CustomProjectile} from a single repeating task.</p>
+ * <p>Projectiles register themselves when constructed and are dropped once they
+ * are no longer valid, so no per-projectile scheduler entries are created. An
+ * optional per-tick time budget defers the remaining projectiles to the next
+ * tick, resuming where the previous pass stopped.</p>
+ */
+public class ProjectileEngine {
+    private static final List<CustomProjectile> pending = new ArrayList<>();
+
+    private static CustomProjectile[] active = new CustomProjectile[64];
+    private static int                size;
+    private static int                cursor;
+    private static BukkitTask         task;
+    private static long               budget;
+
+    private static long lastTickNanos;
+    private static long averageTickNanos;
+    private static long lastDeferred;
+
+    /**
+     * Starts ticking projectiles
+     */
+    public static void init() {
+        budget = (long) (Fabled.getSettings().getProjectileTickBudget() * 1_000_000);
+        task = Bukkit.getScheduler().runTaskTimer(Fabled.inst(), ProjectileEngine::tick, 1, 1);
+    }
+
+    /**
+     * Cancels all live projectiles and stops ticking
+     */
+    public static void cleanUp() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        flushPending();
+        for (int i = 0; i < size; i++) {
+            if (active[i].isValid()) {
+                active[i].cancel();
+            }
+        }
+        Arrays.fill(active, 0, size, null);
+        size = 0;
+        cursor = 0;
+    }
+
+    /**
+     * Adds a projectile to the engine. It will first be ticked on the next server tick.
+     *
+     * @param projectile projectile to tick
+     */
+    static void register(CustomProjectile projectile) {
+        pending.add(projectile);
+    }
+
+    /**
+     * Sets the maximum time spent ticking projectiles each tick
+     *
+     * @param nanos budget in nanoseconds, 0 or less to disable
+     */
+    public static void setTickBudget(long nanos) {
+        budget = Math.max(0, nanos);
+    }
+
+    /**
+     * @return time budget per tick in nanoseconds, 0 if disabled
+     */
+    public static long getTickBudget() {
+        return budget;
+    }
+
+    /**
+     * @return number of projectiles currently being ticked
+     */
+    public static int getActiveCount() {
+        return size + pending.size();
+    }
+
+    /**
+     * @return time spent on the last projectile tick in nanoseconds
+     */
+    public static long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    /**
+     * @return moving average of the time spent per projectile tick in nanoseconds
+     */
+    public static long getAverageTickNanos() {
+        return averageTickNanos;
+    }
+
+    /**
+     * @return number of projectiles deferred to the next tick by the budget on the last tick
+     */
+    public static long getDeferredCount() {
+        return lastDeferred;
+    }
+
+    private static void flushPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        if (size + pending.size() > active.length) {
+            active = Arrays.copyOf(active, Math.max(active.length * 2, size + pending.size()));
+        }
+        for (CustomProjectile projectile : pending) {
+            active[size++] = projectile;
+        }
+        pending.clear();
+    }
+
+    private static void tick() {
+        final long start = System.nanoTime();
+        flushPending();
+        CustomProjectile.startTick();
+
+        final int n     = size;
+        final int first = n == 0 ? 0 : cursor % n;
+        int       ran   = 0;
+        int       next  = 0;
+        lastDeferred = 0;
+        for (int k = 0; k < n; k++) {
+            if (budget > 0 && ran > 0 && System.nanoTime() - start > budget) {
+                lastDeferred = n - k;
+                next = (first + k) % n;
+                break;
+            }
+
+            CustomProjectile projectile = active[(first + k) % n];
+            if (!projectile.isValid()) {
+                continue;
+            }
+            try {
+                projectile.run();
+            } catch (Exception ex) {
+                Logger.bug("Failed to tick a projectile");
+                ex.printStackTrace();
+            }
+            ran++;
+        }
+
+        // Drop expired projectiles, keeping the resume position stable
+        int kept = 0;
+        cursor = 0;
+        for (int i = 0; i < n; i++) {
+            CustomProjectile projectile = active[i];
+            if (projectile.isValid()) {
+                if (i < next) {
+                    cursor++;
+                }
+                active[kept++] = projectile;
+            }
+        }
+        Arrays.fill(active, kept, size, null);
+        size = kept;
+
+        CustomProjectile.startTick();
+        lastTickNanos = System.nanoTime() - start;
+        averageTickNanos = averageTickNanos == 0
+                ? lastTickNanos
+                : (averageTickNanos * 19 + lastTickNanos) / 20;
+    }
+}
@@ -37,11 +37,13 @@ import studio.magemonkey.fabled.api.ReadOnlySettings;
 import studio.magemonkey.fabled.api.Settings;
 import studio.magemonkey.fabled.api.event.SkillDamageEvent;
 import studio.magemonkey.fabled.api.event.TrueDamageEvent;
+import studio.magemonkey.fabled.api.player.PlayerClass;
 import studio.magemonkey.fabled.api.player.PlayerCombos;
 import studio.magemonkey.fabled.api.player.PlayerData;
 import studio.magemonkey.fabled.api.player.PlayerSkill;
 import studio.magemonkey.fabled.api.util.DamageLoreRemover;
 import studio.magemonkey.fabled.api.util.Data;
+import studio.magemonkey.fabled.api.util.EntityMeta;
 import studio.magemonkey.fabled.data.Permissions;
 import studio.magemonkey.fabled.dynamic.TempEntity;
 import studio.magemonkey.fabled.gui.tool.IconHolder;
@@ -63,7 +65,6 @@ import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.Damageable;
 import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.metadata.FixedMetadataValue;
 import org.bukkit.util.Vector;
 
 import java.text.DecimalFormat;
@@ -108,6 +109,8 @@ public abstract class Skill implements IconHolder {
     private              boolean           needsPermission;
     private              boolean           cooldownMessage;
     private              int               combo;
+    private              int               iconVersion;
+    private              ItemStack         toolIndicator;
 
     /**
      * Initializes a new skill that doesn't require any other skill.
@@ -482,6 +485,13 @@ public abstract class Skill implements IconHolder {
      * @return GUI tool indicator
      */
     public ItemStack getToolIndicator() {
+        if (toolIndicator == null) {
+            toolIndicator = renderToolIndicator();
+        }
+        return toolIndicator.clone();
+    }
+
+    private ItemStack renderToolIndicator() {
         ItemStack item = new ItemStack(indicator.getType());
         ItemMeta  meta = item.getItemMeta();
         if (meta != null) {
@@ -564,12 +574,53 @@ public abstract class Skill implements IconHolder {
 
     /**
      * Retrieves the indicator for the skill while applying filters to match
-     * the player-specific data.
+     * the player-specific data. The rendered icon is kept on the player's skill
+     * data and reused until anything it was rendered from changes.
      *
      * @param skillData player data
      * @return filtered skill indicator
      */
     public ItemStack getIndicator(PlayerSkill skillData, boolean brief) {
+        SkillIcon state  = getIconState(skillData);
+        SkillIcon cached = skillData.getIcon(brief);
+        if (cached == null || !cached.matches(state)) {
+            state.setTemplate(renderIndicator(skillData, brief));
+            skillData.setIcon(brief, state);
+            cached = state;
+        }
+        return cached.getTemplate().clone();
+    }
+
+    /**
+     * Discards the rendered icons of the skill so they are rebuilt the next time
+     * they are shown. This is done when the skill is loaded, but anything changing
+     * the skill's icon, description or settings another way should call this.
+     */
+    public void invalidateIcons() {
+        iconVersion++;
+        toolIndicator = null;
+    }
+
+    private SkillIcon getIconState(PlayerSkill skillData) {
+        PlayerData  data   = skillData.getPlayerData();
+        PlayerClass parent = skillData.getPlayerClass();
+        String      combo  = null;
+        if (Fabled.getSettings().isCombosEnabled() && canCast()) {
+            PlayerCombos combos = data.getComboData();
+            if (combos.hasCombo(this)) combo = combos.getComboString(this);
+        }
+
+        return new SkillIcon(iconVersion,
+                skillData.getLevel(),
+                parent.getLevel(),
+                parent.getPoints(),
+                data.getInvestedSkillPoints(),
+                isCompatible(data),
+                data.getAttributeGeneration(),
+                combo);
+    }
+
+    private ItemStack renderIndicator(PlayerSkill skillData, boolean brief) {
         Player player = skillData.getPlayerData().getPlayer();
 
         ItemStack item = new ItemStack(indicator.getType());
@@ -843,7 +894,7 @@ public abstract class Skill implements IconHolder {
 
         damage = event.getDamage();
         knockback = event.isKnockback();
-        target.setMetadata(MechanicListener.DAMAGE_CAUSE, new FixedMetadataValue(Fabled.inst(), cause));
+        EntityMeta.set(target, MechanicListener.DAMAGE_CAUSE_META, cause);
         if (source instanceof Player) {
             if (PluginChecker.isNoCheatActive()) NoCheatHook.exempt((Player) source);
         }
@@ -964,5 +1015,6 @@ public abstract class Skill implements IconHolder {
         }
 
         settings.load(config.getSection(ATTR));
+        invalidateIcons();
     }
 }
@@ -0,0 +1,95 @@
+/**
+ * Fabled
+ * studio.magemonkey.fabled.api.skills.SkillIcon
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 MageMonkeyStudio
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package studio.magemonkey.fabled.api.skills;
+
+import lombok.Getter;
+import org.bukkit.inventory.ItemStack;
+import studio.magemonkey.fabled.api.player.PlayerSkill;
+
+import java.util.Objects;
+
+/**
+ * A rendered skill icon along with the player state it was rendered from. Icons are
+ * kept on the {@link PlayerSkill} and handed out as copies until one of those inputs
+ * changes, so menus can be redrawn without formatting the icon lore again.
+ */
+public final class SkillIcon {
+    private final int       version;
+    private final int       level;
+    private final int       classLevel;
+    private final int       points;
+    private final int       investedPoints;
+    private final boolean   compatible;
+    private final long      attributes;
+    private final String    combo;
+    /**
+     * The rendered icon, which must not be modified or handed out directly
+     *
+     * @return rendered icon
+     */
+    @Getter
+    private       ItemStack template;
+
+    SkillIcon(int version,
+              int level,
+              int classLevel,
+              int points,
+              int investedPoints,
+              boolean compatible,
+              long attributes,
+              String combo) {
+        this.version = version;
+        this.level = level;
+        this.classLevel = classLevel;
+        this.points = points;
+        this.investedPoints = investedPoints;
+        this.compatible = compatible;
+        this.attributes = attributes;
+        this.combo = combo;
+    }
+
+    void setTemplate(ItemStack template) {
+        this.template = template;
+    }
+
+    /**
+     * Checks whether this icon was rendered from the same state as another
+     *
+     * @param other icon state to compare against
+     * @return true if the rendered icon can be reused, false otherwise
+     */
+    boolean matches(SkillIcon other) {
+        return version == other.version
+                && level == other.level
+                && classLevel == other.classLevel
+                && points == other.points
+                && investedPoints == other.investedPoints
+                && compatible == other.compatible
+                && attributes == other.attributes
+                && Objects.equals(combo, other.combo);
+    }
+}
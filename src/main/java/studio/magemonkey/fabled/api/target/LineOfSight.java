@@ -0,0 +1,296 @@
+/**
+ * Fabled
+ * studio.magemonkey.fabled.api.target.LineOfSight
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 MageMonkeyStudio
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package studio.magemonkey.fabled.api.target;
+
+import studio.magemonkey.fabled.api.util.SpatialIndex;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * <p>Walks the exact voxels a segment passes through to answer line of sight
+ * and open location queries.</p>
+ * <p>Solidity is looked up in a bitset built once from every material, and
+ * obstruction results are memoized for the rest of the tick so nested target
+ * components checking the same pair of points do not walk the line again.
+ * Anything that changes blocks mid-tick should call {@link #invalidate()}.</p>
+ */
+public class LineOfSight {
+    private static final BitSet SOLID = new BitSet();
+
+    private static final int MEMO_SIZE   = 1024;
+    private static final int MEMO_PROBES = 8;
+
+    private static final double[] memoCoords  = new double[MEMO_SIZE * 6];
+    private static final World[]  memoWorlds  = new World[MEMO_SIZE];
+    private static final byte[]   memoResults = new byte[MEMO_SIZE];
+
+    private static long memoTick = -1;
+    private static long memoHits;
+    private static long memoMisses;
+
+    static {
+        for (Material material : Material.values()) {
+            try {
+                if (computeSolid(material)) SOLID.set(material.ordinal());
+            } catch (Exception ignored) {
+                // Legacy materials may not support the property lookups
+            }
+        }
+    }
+
+    /**
+     * Checks whether a material blocks line of sight
+     *
+     * @param material material to check
+     * @return true if it blocks line of sight
+     */
+    public static boolean isSolid(Material material) {
+        return SOLID.get(material.ordinal());
+    }
+
+    /**
+     * Checks whether any block the line between the two points passes through blocks line of sight
+     *
+     * @param loc1 first location
+     * @param loc2 second location
+     * @return true if obstructed
+     */
+    public static boolean isObstructed(Location loc1, Location loc2) {
+        if (loc1.getX() == loc2.getX() && loc1.getY() == loc2.getY() && loc1.getZ() == loc2.getZ()) {
+            return false;
+        }
+
+        final World world = loc1.getWorld();
+        if (SpatialIndex.getTick() < 0 || !Bukkit.isPrimaryThread()) {
+            return traverse(world, loc1, loc2, true, new int[6]);
+        }
+
+        final int slot = findSlot(world, loc1, loc2);
+        if (slot >= 0 && memoResults[slot] != 0) {
+            memoHits++;
+            return memoResults[slot] == 2;
+        }
+
+        memoMisses++;
+        final boolean result = traverse(world, loc1, loc2, true, new int[6]);
+        if (slot >= 0) {
+            final int base = slot * 6;
+            memoCoords[base] = loc1.getX();
+            memoCoords[base + 1] = loc1.getY();
+            memoCoords[base + 2] = loc1.getZ();
+            memoCoords[base + 3] = loc2.getX();
+            memoCoords[base + 4] = loc2.getY();
+            memoCoords[base + 5] = loc2.getZ();
+            memoWorlds[slot] = world;
+            memoResults[slot] = (byte) (result ? 2 : 1);
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves an open location along the line for teleporting or linear targeting
+     *
+     * @param loc1        start location of the path
+     * @param loc2        end location of the path
+     * @param throughWall whether going through walls is allowed
+     * @return the center of the farthest open block along the path, raised by one
+     */
+    public static Location getOpenLocation(Location loc1, Location loc2, boolean throughWall) {
+        if (loc1.getX() == loc2.getX() && loc1.getY() == loc2.getY() && loc1.getZ() == loc2.getZ()) {
+            return loc1;
+        }
+
+        final int[] voxels = new int[6];
+        final Location result;
+        if (throughWall) {
+            // Walk back from the end to the first open block
+            result = loc2.clone();
+            int offset = traverse(loc1.getWorld(), loc2, loc1, false, voxels) ? 0 : 3;
+            result.setX(voxels[offset] + 0.5);
+            result.setY(voxels[offset + 1] + 1);
+            result.setZ(voxels[offset + 2] + 0.5);
+        } else {
+            // Walk forward to the last open block before a wall
+            result = loc1.clone();
+            traverse(loc1.getWorld(), loc1, loc2, true, voxels);
+            result.setX(voxels[3] + 0.5);
+            result.setY(voxels[4] + 1);
+            result.setZ(voxels[5] + 0.5);
+        }
+        return result;
+    }
+
+    /**
+     * Clears memoized results, e.g. after blocks were changed
+     */
+    public static void invalidate() {
+        memoTick = -1;
+    }
+
+    /**
+     * @return number of obstruction checks answered from the memo
+     */
+    public static long getMemoHits() {
+        return memoHits;
+    }
+
+    /**
+     * @return number of obstruction checks that walked the line
+     */
+    public static long getMemoMisses() {
+        return memoMisses;
+    }
+
+    /**
+     * Walks every block the segment passes through in order, from the start
+     * block to the end block inclusive, using an Amanatides-Woo traversal.
+     *
+     * @param world world to read blocks from
+     * @param from  start of the segment
+     * @param to    end of the segment
+     * @param solid solidity of the block to stop at
+     * @param out   receives the block stopped at in [0..2] and the block visited
+     *              before it in [3..5]. If nothing matched, [3..5] is the end block.
+     * @return true if a block with the given solidity was found
+     */
+    static boolean traverse(World world, Location from, Location to, boolean solid, int[] out) {
+        final double x0 = from.getX(), y0 = from.getY(), z0 = from.getZ();
+        final double dx = to.getX() - x0, dy = to.getY() - y0, dz = to.getZ() - z0;
+
+        int x = floor(x0), y = floor(y0), z = floor(z0);
+        final int ex = floor(to.getX()), ey = floor(to.getY()), ez = floor(to.getZ());
+
+        final int stepX = dx > 0 ? 1 : -1;
+        final int stepY = dy > 0 ? 1 : -1;
+        final int stepZ = dz > 0 ? 1 : -1;
+
+        final double deltaX = dx == 0 ? Double.POSITIVE_INFINITY : Math.abs(1 / dx);
+        final double deltaY = dy == 0 ? Double.POSITIVE_INFINITY : Math.abs(1 / dy);
+        final double deltaZ = dz == 0 ? Double.POSITIVE_INFINITY : Math.abs(1 / dz);
+
+        // Parametric distance to the first boundary on each axis. Axes already at
+        // their end block never step, which bounds the walk to the end block.
+        double maxX = x == ex ? Double.POSITIVE_INFINITY : (stepX > 0 ? x + 1 - x0 : x0 - x) * deltaX;
+        double maxY = y == ey ? Double.POSITIVE_INFINITY : (stepY > 0 ? y + 1 - y0 : y0 - y) * deltaY;
+        double maxZ = z == ez ? Double.POSITIVE_INFINITY : (stepZ > 0 ? z + 1 - z0 : z0 - z) * deltaZ;
+
+        int px = x, py = y, pz = z;
+        while (true) {
+            if (isSolid(world.getBlockAt(x, y, z).getType()) == solid) {
+                out[0] = x;
+                out[1] = y;
+                out[2] = z;
+                out[3] = px;
+                out[4] = py;
+                out[5] = pz;
+                return true;
+            }
+            if (x == ex && y == ey && z == ez) {
+                break;
+            }
+
+            px = x;
+            py = y;
+            pz = z;
+            if (maxX <= maxY && maxX <= maxZ) {
+                x += stepX;
+                maxX = x == ex ? Double.POSITIVE_INFINITY : maxX + deltaX;
+            } else if (maxY <= maxZ) {
+                y += stepY;
+                maxY = y == ey ? Double.POSITIVE_INFINITY : maxY + deltaY;
+            } else {
+                z += stepZ;
+                maxZ = z == ez ? Double.POSITIVE_INFINITY : maxZ + deltaZ;
+            }
+        }
+
+        out[3] = x;
+        out[4] = y;
+        out[5] = z;
+        return false;
+    }
+
+    private static int floor(double value) {
+        final int i = (int) value;
+        return value < i ? i - 1 : i;
+    }
+
+    /**
+     * Finds the memo slot for a pair of points, clearing the memo at the start of a tick
+     *
+     * @return slot holding the pair or a free slot for it, -1 if none is available
+     */
+    private static int findSlot(World world, Location loc1, Location loc2) {
+        final long tick = SpatialIndex.getTick();
+        if (memoTick != tick) {
+            Arrays.fill(memoResults, (byte) 0);
+            Arrays.fill(memoWorlds, null);
+            memoTick = tick;
+        }
+
+        long hash = Double.hashCode(loc1.getX());
+        hash = hash * 31 + Double.hashCode(loc1.getY());
+        hash = hash * 31 + Double.hashCode(loc1.getZ());
+        hash = hash * 31 + Double.hashCode(loc2.getX());
+        hash = hash * 31 + Double.hashCode(loc2.getY());
+        hash = hash * 31 + Double.hashCode(loc2.getZ());
+        int index = (int) (hash ^ (hash >>> 32)) & (MEMO_SIZE - 1);
+
+        for (int probe = 0; probe < MEMO_PROBES; probe++) {
+            final int slot = (index + probe) & (MEMO_SIZE - 1);
+            if (memoResults[slot] == 0) {
+                return slot;
+            }
+            final int base = slot * 6;
+            if (memoWorlds[slot] == world
+                    && memoCoords[base] == loc1.getX()
+                    && memoCoords[base + 1] == loc1.getY()
+                    && memoCoords[base + 2] == loc1.getZ()
+                    && memoCoords[base + 3] == loc2.getX()
+                    && memoCoords[base + 4] == loc2.getY()
+                    && memoCoords[base + 5] == loc2.getZ()) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean computeSolid(Material mat) {
+        if (!mat.isSolid()) return false;
+        else return mat.isOccluding()
+                || mat.name().contains("GLASS")
+                || mat.name().contains("FENCE")
+                || mat.name().contains("LEAVES")
+                || mat.name().contains("SLAB")
+                || mat.name().contains("STAIR");
+    }
+}
@@ -1,5 +1,6 @@
 package studio.magemonkey.fabled.api.target;
 
+import studio.magemonkey.fabled.api.util.SpatialIndex;
 import studio.magemonkey.fabled.hook.DisguiseHook;
 import studio.magemonkey.fabled.hook.PluginChecker;
 import me.libraryaddict.disguise.DisguiseAPI;
@@ -8,6 +9,7 @@ import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
+import org.bukkit.util.BoundingBox;
 import org.bukkit.util.Vector;
 
 import java.util.ArrayList;
@@ -104,9 +106,17 @@ public abstract class TargetHelper {
      */
     public static List<LivingEntity> getConeTargets(LivingEntity source, double arc, double range, boolean resetY) {
         List<LivingEntity> targets = new ArrayList<>();
-        List<Entity>       list    = source.getNearbyEntities(range, range, range);
         if (arc <= 0) return targets;
 
+        // Same search area as Entity#getNearbyEntities, answered from the per-tick index
+        BoundingBox        box  = source.getBoundingBox().expand(range);
+        Location           loc  = source.getLocation();
+        List<LivingEntity> list = SpatialIndex.get(source.getWorld()).box(
+                box.getMinX(), box.getMinY(), box.getMinZ(),
+                box.getMaxX(), box.getMaxY(), box.getMaxZ(),
+                loc.getX(), loc.getY(), loc.getZ(),
+                source);
+
         // Initialize values
         Location sourceLocation = source.getEyeLocation();
         Vector   dir            = sourceLocation.getDirection();
@@ -115,27 +125,25 @@ public abstract class TargetHelper {
         double cosSq = cos * cos;
 
         // Get the targets in the cone
-        for (Entity entity : list) {
-            if (entity instanceof LivingEntity) {
-
-                // Greater than 360 degrees is all targets
-                if (arc >= 360) {
-                    targets.add((LivingEntity) entity);
-                }
-
-                // Otherwise, select targets based on dot product
-                else {
-                    Vector relative = entity.getLocation()
-                            .clone()
-                            .add(0, getHeight(entity) * 0.5, 0)
-                            .subtract(sourceLocation)
-                            .toVector();
-                    if (resetY) relative.setY(0);
-                    double dot   = relative.dot(dir);
-                    double value = dot * dot / relative.lengthSquared();
-                    if (arc < 180 && dot > 0 && value >= cosSq) targets.add((LivingEntity) entity);
-                    else if (arc >= 180 && (dot > 0 || dot <= cosSq)) targets.add((LivingEntity) entity);
-                }
+        for (LivingEntity entity : list) {
+
+            // Greater than 360 degrees is all targets
+            if (arc >= 360) {
+                targets.add(entity);
+            }
+
+            // Otherwise, select targets based on dot product
+            else {
+                Vector relative = entity.getLocation()
+                        .clone()
+                        .add(0, getHeight(entity) * 0.5, 0)
+                        .subtract(sourceLocation)
+                        .toVector();
+                if (resetY) relative.setY(0);
+                double dot   = relative.dot(dir);
+                double value = dot * dot / relative.lengthSquared();
+                if (arc < 180 && dot > 0 && value >= cosSq) targets.add(entity);
+                else if (arc >= 180 && (dot > 0 || dot <= cosSq)) targets.add(entity);
             }
         }
 
@@ -216,23 +224,11 @@ public abstract class TargetHelper {
      *
      * @param loc1 first location
      * @param loc2 second location
-     * @return the location of obstruction or null if not obstructed
+     * @return true if obstructed, false otherwise
+     * @see LineOfSight#isObstructed(Location, Location)
      */
     public static boolean isObstructed(Location loc1, Location loc2) {
-        if (loc1.getX() == loc2.getX() && loc1.getY() == loc2.getY() && loc1.getZ() == loc2.getZ()) {
-            return false;
-        }
-        Vector slope = loc2.clone().subtract(loc1).toVector();
-        int    steps = (int) (slope.length() * 4) + 1;
-        slope.multiply(1.0 / steps);
-        Location temp = loc1.clone();
-        for (int i = 0; i < steps; i++) {
-            temp.add(slope);
-            if (isSolid(temp.getBlock().getType())) {
-                return true;
-            }
-        }
-        return false;
+        return LineOfSight.isObstructed(loc1, loc2);
     }
 
     /**
@@ -242,59 +238,21 @@ public abstract class TargetHelper {
      * @param loc2        end location of the path
      * @param throughWall whether going through walls is allowed
      * @return the farthest open location along the path
+     * @see LineOfSight#getOpenLocation(Location, Location, boolean)
      */
     public static Location getOpenLocation(Location loc1, Location loc2, boolean throughWall) {
-        // Special case
-        if (loc1.getX() == loc2.getX() && loc1.getY() == loc2.getY() && loc1.getZ() == loc2.getZ()) {
-            return loc1;
-        }
-
-        // Common data
-        Vector slope = loc2.clone().subtract(loc1).toVector();
-        int    steps = (int) (slope.length() * 4) + 1;
-        slope.multiply(1.0 / steps);
-
-        // Going through walls starts at the end and traverses backwards
-        if (throughWall) {
-            Location temp = loc2.clone();
-            while (isSolid(temp.getBlock().getType()) && steps > 0) {
-                temp.subtract(slope);
-                steps--;
-            }
-            temp.setX(temp.getBlockX() + 0.5);
-            temp.setZ(temp.getBlockZ() + 0.5);
-            temp.setY(temp.getBlockY() + 1);
-            return temp;
-        }
-
-        // Not going through walls starts at the beginning and traverses forward
-        else {
-            Location temp = loc1.clone();
-            while (!isSolid(temp.getBlock().getType()) && steps > 0) {
-                temp.add(slope);
-                steps--;
-            }
-            temp.subtract(slope);
-            temp.setX(temp.getBlockX() + 0.5);
-            temp.setZ(temp.getBlockZ() + 0.5);
-            temp.setY(temp.getBlockY() + 1);
-            return temp;
-        }
+        return LineOfSight.getOpenLocation(loc1, loc2, throughWall);
     }
 
+    /**
+     * Checks whether a material blocks line of sight. Glass, fences, leaves,
+     * slabs and stairs count as solid along with occluding blocks.
+     *
+     * @param mat material to check
+     * @return true if solid
+     */
     public static boolean isSolid(Material mat) {
-        if (!mat.isSolid()) return false;
-        else return mat.isOccluding()
-                || mat.name().contains("GLASS")
-                || mat.name().contains("FENCE")
-                || mat.name().contains("LEAVES")
-                || mat.name().contains("SLAB")
-                || mat.name().contains("STAIR");
-
-        // Not going to worry about doors, slabs, trapdoors, etc that *could* be blocking the path of a projectile.
-        // We'll just assume that these are good to go.
-
-        // This is where we'd make special accommodations for things like doors or trapdoors if need be.
+        return LineOfSight.isSolid(mat);
     }
 
     public static AABB getAABB(Entity entity) {
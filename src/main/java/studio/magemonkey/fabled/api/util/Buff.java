@@ -26,8 +26,6 @@
  */
 package studio.magemonkey.fabled.api.util;
 
-import org.bukkit.scheduler.BukkitTask;
-
 /**
  * Represents a buff given to an entity
  */
@@ -36,8 +34,6 @@ public class Buff {
     private final boolean percent;
     private final String  key;
 
-    BukkitTask task;
-
     /**
      * Constructs a new buff
      *
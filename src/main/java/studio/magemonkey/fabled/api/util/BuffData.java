@@ -26,25 +26,35 @@
  */
 package studio.magemonkey.fabled.api.util;
 
-import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.event.BuffExpiredEvent;
 import studio.magemonkey.fabled.log.LogType;
 import studio.magemonkey.fabled.log.Logger;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.LivingEntity;
-import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.entity.Player;
 
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Represents buffs set on an entity
+ * Represents buffs set on an entity. Buffs are grouped by type and category, and each
+ * group keeps its combined multiplier and bonus up to date as buffs are added or expire,
+ * so applying buffs doesn't need to look at the individual buffs.
  */
 public class BuffData {
-    private final Map<String, Map<String, Buff>> buffs = new HashMap<>();
+    private static final Map<String, Integer> categoryIds    = new ConcurrentHashMap<>();
+    private static final AtomicInteger        nextCategoryId = new AtomicInteger(1);
 
-    private final LivingEntity entity;
+    private final EnumMap<BuffType, Stack[]> stacks = new EnumMap<>(BuffType.class);
+
+    private volatile LivingEntity entity;
+
+    private int size;
 
     /**
      * Initializes new buff data for the entity
@@ -56,15 +66,27 @@ public class BuffData {
     }
 
     public double getMultiplier(final BuffType buffType, final String category) {
-        return category == null || category.isEmpty()
-                ? getMultiplier(buffType.name())
-                : getMultiplier(buffType.name(), buffType.name() + category);
+        final Stack base  = getStack(buffType, 0);
+        final int   id    = getCategoryId(category);
+        final Stack extra = id > 0 ? getStack(buffType, id) : null;
+
+        double multiplier = 1;
+        if (base != null) multiplier *= base.multiplier;
+        if (extra != null) multiplier *= extra.multiplier;
+
+        // Negatives aren't well received by bukkit, so return 0 instead
+        return Math.max(0, multiplier);
     }
 
     public double getFlatBonus(final BuffType buffType, final String category) {
-        return category == null || category.isEmpty()
-                ? getFlatBonus(buffType.name())
-                : getFlatBonus(buffType.name(), buffType.name() + category);
+        final Stack base  = getStack(buffType, 0);
+        final int   id    = getCategoryId(category);
+        final Stack extra = id > 0 ? getStack(buffType, id) : null;
+
+        double bonus = 0;
+        if (base != null) bonus += base.bonus;
+        if (extra != null) bonus += extra.bonus;
+        return bonus;
     }
 
     /**
@@ -76,7 +98,7 @@ public class BuffData {
      * @param ticks how long to apply the buff for
      */
     public void addBuff(final BuffType type, final Buff buff, final int ticks) {
-        doAddBuff(type.name(), buff, ticks);
+        doAddBuff(type, 0, buff, ticks);
     }
 
     /**
@@ -89,17 +111,19 @@ public class BuffData {
      * @param ticks    how long to apply the buff for
      */
     public void addBuff(final BuffType type, final String category, final Buff buff, final int ticks) {
-        doAddBuff(type.name() + (category != null ? category : ""), buff, ticks);
+        doAddBuff(type, internCategory(category), buff, ticks);
     }
 
-    private void doAddBuff(final String type, final Buff buff, final int ticks) {
-        final Map<String, Buff> typeBuffs = buffs.computeIfAbsent(type, t -> new HashMap<>());
-        final Buff              conflict  = typeBuffs.remove(buff.getKey());
-        if (conflict != null)
-            conflict.task.cancel();
-
-        typeBuffs.put(buff.getKey(), buff);
-        buff.task = Fabled.schedule(new BuffTask(type, buff.getKey()), ticks);
+    private void doAddBuff(final BuffType type, final int category, final Buff buff, final int ticks) {
+        Stack[] typeStacks = stacks.get(type);
+        if (typeStacks == null || category >= typeStacks.length) {
+            typeStacks = typeStacks == null ? new Stack[category + 1] : Arrays.copyOf(typeStacks, category + 1);
+            stacks.put(type, typeStacks);
+        }
+        if (typeStacks[category] == null) {
+            typeStacks[category] = new Stack(type);
+        }
+        typeStacks[category].add(buff, ticks);
     }
 
     /**
@@ -142,12 +166,12 @@ public class BuffData {
      * @return value after all buff applications
      */
     public double apply(final BuffType type, final double value) {
-        return doApply(value, type.name());
+        return doApply(value, type, 0);
     }
 
     public boolean isActive(final BuffType type) {
-        final Map<String, Buff> typeBuffs = buffs.get(type.name());
-        return typeBuffs != null;
+        final Stack stack = getStack(type, 0);
+        return stack != null && !stack.buffs.isEmpty();
     }
 
     /**
@@ -156,13 +180,8 @@ public class BuffData {
      * @param type type of buff
      */
     public void clearByType(final BuffType type) {
-        Map<String, Buff> buffType = buffs.get(type.name());
-        if (buffType == null) return;
-        for (final Buff buff : buffType.values()) {
-            buff.task.cancel();
-        }
-        buffs.remove(type.name());
-
+        final Stack stack = getStack(type, 0);
+        if (stack != null) stack.clear();
     }
 
     /**
@@ -174,37 +193,34 @@ public class BuffData {
      * @return value after all buff applications
      */
     public double apply(final BuffType type, final String category, final double value) {
-        return category == null || category.length() == 0
-                ? doApply(value, type.name())
-                : doApply(value, type.name(), type.name() + category);
+        return doApply(value, type, getCategoryId(category));
     }
 
-    private double doApply(final double value, final String... types) {
+    private double doApply(final double value, final BuffType type, final int category) {
 
         // Ignore zeroed out values that shouldn't get buffs
         if (value <= 0) return value;
 
+        final Stack base  = getStack(type, 0);
+        final Stack extra = category > 0 ? getStack(type, category) : null;
+
         double multiplier = 1;
         double bonus      = 0;
-        Logger.log(LogType.BUFF, 1, "Buffs:");
-        for (final String type : types) {
-            final Map<String, Buff> typeBuffs = buffs.get(type);
-            if (typeBuffs == null) {
-                continue;
-            }
-
-            for (final Buff buff : typeBuffs.values()) {
-                if (buff.isPercent()) {
-                    Logger.log(LogType.BUFF, 1, "  - x" + buff.getValue());
-                    multiplier *= buff.getValue();
-                } else {
-                    Logger.log(LogType.BUFF, 1, "  - +" + buff.getValue());
-                    bonus += buff.getValue();
-                }
-            }
+        if (base != null) {
+            multiplier *= base.multiplier;
+            bonus += base.bonus;
+        }
+        if (extra != null) {
+            multiplier *= extra.multiplier;
+            bonus += extra.bonus;
         }
         double result = Math.max(0, value * multiplier + bonus);
-        Logger.log(LogType.BUFF, 1, "Result: x" + multiplier + ", +" + bonus + ", " + value + " -> " + result);
+        if (Logger.isLogging(LogType.BUFF, 1)) {
+            Logger.log(LogType.BUFF, 1, "Buffs:");
+            if (base != null) base.log();
+            if (extra != null) extra.log();
+            Logger.log(LogType.BUFF, 1, "Result: x" + multiplier + ", +" + bonus + ", " + value + " -> " + result);
+        }
 
         // Negatives aren't well received by bukkit, so return 0 instead
         if (multiplier <= 0) return 0;
@@ -212,30 +228,24 @@ public class BuffData {
         return result;
     }
 
-    private double getFlatBonus(final String... types) {
-        double bonus = 0;
-        for (final String type : types) {
-            for (final Buff buff : buffs.getOrDefault(type, Collections.emptyMap()).values()) {
-                if (!buff.isPercent()) {
-                    bonus += buff.getValue();
-                }
-            }
-        }
-        // Negatives aren't well received by bukkit, so return 0 instead
-        return bonus;
+    private Stack getStack(final BuffType type, final int category) {
+        if (category < 0) return null;
+        final Stack[] typeStacks = stacks.get(type);
+        return typeStacks == null || category >= typeStacks.length ? null : typeStacks[category];
     }
 
-    private double getMultiplier(final String... types) {
-        double multiplier = 1;
-        for (final String type : types) {
-            for (final Buff buff : buffs.getOrDefault(type, Collections.emptyMap()).values()) {
-                if (buff.isPercent()) {
-                    multiplier *= buff.getValue();
-                }
-            }
-        }
-        // Negatives aren't well received by bukkit, so return 0 instead
-        return Math.max(0, multiplier);
+    /**
+     * @param category category name
+     * @return id of the category, 0 for no category or -1 if no buff ever used it
+     */
+    private static int getCategoryId(final String category) {
+        if (category == null || category.isEmpty()) return 0;
+        return categoryIds.getOrDefault(category, -1);
+    }
+
+    private static int internCategory(final String category) {
+        if (category == null || category.isEmpty()) return 0;
+        return categoryIds.computeIfAbsent(category, c -> nextCategoryId.getAndIncrement());
     }
 
     /**
@@ -274,42 +284,120 @@ public class BuffData {
      * Clears all buffs on the entity and stops associated tasks.
      */
     public void clear() {
-        for (final Map<String, Buff> typeBuffs : buffs.values()) {
-            for (final Buff buff : typeBuffs.values()) {
-                buff.task.cancel();
+        cancel();
+        BuffManager.clearData(entity);
+    }
+
+    /**
+     * Drops all buffs and stops their tasks without detaching the data from the entity
+     */
+    void cancel() {
+        for (final Stack[] typeStacks : stacks.values()) {
+            for (final Stack stack : typeStacks) {
+                if (stack != null) stack.clear();
             }
         }
-        buffs.clear();
-        BuffManager.clearData(entity);
+        stacks.clear();
+    }
+
+    /**
+     * Moves the buffs over to the entity of a player who joined again
+     *
+     * @param player player the buffs belong to
+     */
+    void rebind(final Player player) {
+        this.entity = player;
+    }
+
+    private boolean isOffline() {
+        return entity instanceof Player && !((Player) entity).isOnline();
+    }
+
+    private void detach() {
+        // Buffs of a player who left are no longer attached to any entity record
+        if (isOffline()) {
+            EntityState.forgetQuitBuffs((Player) entity, this);
+        } else {
+            BuffManager.clearData(entity);
+        }
     }
 
-    private class BuffTask extends BukkitRunnable {
-        private final String type;
-        private final String key;
+    /**
+     * The buffs of one type and category along with their combined effect
+     */
+    final class Stack {
+        private final BuffType                            type;
+        private final Map<String, Buff>                   buffs  = new LinkedHashMap<>();
+        private final Map<String, FlagWheel.Timer<Stack>> timers = new HashMap<>();
+
+        private double multiplier = 1;
+        private double bonus;
 
-        BuffTask(final String type, final String key) {
+        private Stack(final BuffType type) {
             this.type = type;
-            this.key = key;
         }
 
-        @Override
-        public void run() {
-            if (!entity.isValid() || entity.isDead()) {
+        private void add(final Buff buff, final int ticks) {
+            if (buffs.put(buff.getKey(), buff) == null) size++;
+            BuffManager.cancel(timers.remove(buff.getKey()));
+            timers.put(buff.getKey(), BuffManager.schedule(this, buff.getKey(), ticks));
+            update();
+        }
+
+        private void clear() {
+            for (final FlagWheel.Timer<Stack> timer : timers.values()) {
+                BuffManager.cancel(timer);
+            }
+            timers.clear();
+            size -= buffs.size();
+            buffs.clear();
+            update();
+        }
+
+        /**
+         * Handles a buff running out
+         *
+         * @param key key of the buff that ran out
+         */
+        void expire(final String key) {
+            timers.remove(key);
+            final boolean offline = isOffline();
+            if (!offline && (!entity.isValid() || entity.isDead())) {
                 BuffManager.clearData(entity);
                 return;
             }
 
-            final Map<String, Buff> typeBuffs = buffs.get(type);
-            typeBuffs.remove(key);
+            final Buff buff = buffs.remove(key);
+            if (buff == null) return;
+            update();
+
             // Clean up buff data if the entity doesn't hold onto any buffs
-            if (typeBuffs.size() == 0) {
-                buffs.remove(type);
-                if (buffs.size() == 0) {
-                    BuffManager.clearData(entity);
+            if (--size == 0) {
+                detach();
+            }
+            if (!offline) {
+                Bukkit.getPluginManager().callEvent(new BuffExpiredEvent(entity, buff, type));
+            }
+        }
+
+        private void update() {
+            double multiplier = 1;
+            double bonus      = 0;
+            for (final Buff buff : buffs.values()) {
+                if (buff.isPercent()) {
+                    multiplier *= buff.getValue();
+                } else {
+                    bonus += buff.getValue();
                 }
             }
-            BuffExpiredEvent event = new BuffExpiredEvent(entity, typeBuffs.get(type), BuffType.valueOf(this.type));
-            Bukkit.getPluginManager().callEvent(event);
+            this.multiplier = multiplier;
+            this.bonus = bonus;
+        }
+
+        private void log() {
+            for (final Buff buff : buffs.values()) {
+                Logger.log(LogType.BUFF, 1, buff.isPercent() ? "  - x" + buff.getValue() : "  - +" + buff.getValue());
+            }
         }
     }
 }
@@ -26,16 +26,20 @@
  */
 package studio.magemonkey.fabled.api.util;
 
+import studio.magemonkey.fabled.Fabled;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.LivingEntity;
-
-import java.util.HashMap;
-import java.util.UUID;
+import org.bukkit.scheduler.BukkitTask;
 
 /**
- * The manager for temporary entity buff data
+ * The manager for temporary entity buff data, kept in each entity's {@link EntityState}.
+ * Buffs are expired by a single timing wheel ticked once per server tick rather
+ * than a task per buff.
  */
 public class BuffManager {
-    private static final HashMap<UUID, BuffData> data = new HashMap<>();
+    private static final FlagWheel<BuffData.Stack> wheel = new FlagWheel<>();
+
+    private static BukkitTask task;
 
     /**
      * Retrieves the buff data for an entity. This returns null if
@@ -60,10 +64,8 @@ public class BuffManager {
     public static BuffData getBuffData(final LivingEntity entity, final boolean create) {
         if (entity == null) return null;
 
-        if (!data.containsKey(entity.getUniqueId()) && create) {
-            data.put(entity.getUniqueId(), new BuffData(entity));
-        }
-        return data.get(entity.getUniqueId());
+        final EntityState state = create ? EntityState.of(entity) : EntityState.get(entity);
+        return state == null ? null : state.getBuffs(create);
     }
 
     /**
@@ -72,9 +74,8 @@ public class BuffManager {
      * @param entity entity to clear the buffs for
      */
     public static void clearData(final LivingEntity entity) {
-        if (entity == null) return;
-
-        final BuffData result = data.remove(entity.getUniqueId());
+        final EntityState state  = EntityState.get(entity);
+        final BuffData    result = state == null ? null : state.removeBuffs();
         if (result != null) {
             result.clear();
         }
@@ -206,4 +207,47 @@ public class BuffManager {
     public static double modifySkillTakenDefense(LivingEntity entity, double damage) {
         return apply(entity, BuffType.SKILL_DEFENSE, damage);
     }
+
+    /**
+     * Retrieves the number of buffs waiting to expire
+     *
+     * @return number of scheduled buff expiries
+     */
+    public static int getScheduledCount() {
+        return wheel.size();
+    }
+
+    /**
+     * Stops expiring buffs and drops all buff data without calling events.
+     * Used when the plugin is disabled.
+     */
+    public static void cleanUp() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        wheel.clear();
+        for (EntityState state : EntityState.getStates()) {
+            state.removeBuffs();
+        }
+    }
+
+    static FlagWheel.Timer<BuffData.Stack> schedule(BuffData.Stack stack, String key, int ticks) {
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(Fabled.inst(), BuffManager::tick, 1, 1);
+        }
+        return wheel.schedule(stack, key, ticks);
+    }
+
+    static void cancel(FlagWheel.Timer<BuffData.Stack> timer) {
+        wheel.cancel(timer);
+    }
+
+    private static void tick() {
+        for (FlagWheel.Timer<BuffData.Stack> timer : wheel.advance()) {
+            if (wheel.fire(timer)) {
+                timer.data.expire(timer.key);
+            }
+        }
+    }
 }
@@ -0,0 +1,386 @@
+/**
+ * Fabled
+ * studio.magemonkey.fabled.api.util.EntityMeta
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 MageMonkeyStudio
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package studio.magemonkey.fabled.api.util;
+
+import studio.magemonkey.fabled.Fabled;
+import studio.magemonkey.fabled.dynamic.TempEntity;
+import org.bukkit.entity.Entity;
+import org.bukkit.metadata.Metadatable;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Typed values Fabled attaches to entities, kept in each entity's {@link EntityState}.</p>
+ * <p>Every key is declared once through {@link #key(String)}, {@link #intKey(String)} or
+ * {@link #doubleKey(String)} and gets a fixed slot, so a lookup is a single map access
+ * followed by an array read rather than a walk through Bukkit's metadata store. Numeric
+ * keys are stored unboxed.</p>
+ * <p>Values are dropped along with the rest of the entity's state when it dies, leaves
+ * the server or is unloaded. Markers that must survive the entity being unloaded and
+ * loaded again belong in its persistent data container instead.</p>
+ */
+public class EntityMeta {
+    private static final Map<String, Key<?>> keys = new ConcurrentHashMap<>();
+
+    private static int objectSlots;
+    private static int numberSlots;
+
+    /**
+     * Declares a key holding objects. Declaring the same name again returns the existing key.
+     *
+     * @param name name of the key, also used by {@link Fabled#setMeta(Metadatable, String, Object)}
+     * @param <T>  type of the stored values
+     * @return the declared key
+     */
+    @SuppressWarnings("unchecked")
+    public static synchronized <T> Key<T> key(String name) {
+        Key<?> existing = keys.get(name);
+        if (existing == null) {
+            existing = new Key<>(name, objectSlots++);
+            keys.put(name, existing);
+        }
+        if (existing.getClass() != Key.class) throw alreadyDeclared(existing);
+        return (Key<T>) existing;
+    }
+
+    /**
+     * Declares a key holding ints. Declaring the same name again returns the existing key.
+     *
+     * @param name name of the key, also used by {@link Fabled#setMeta(Metadatable, String, Object)}
+     * @return the declared key
+     */
+    public static synchronized IntKey intKey(String name) {
+        Key<?> existing = keys.get(name);
+        if (existing == null) {
+            existing = new IntKey(name, nextNumberSlot());
+            keys.put(name, existing);
+        }
+        if (!(existing instanceof IntKey)) throw alreadyDeclared(existing);
+        return (IntKey) existing;
+    }
+
+    /**
+     * Declares a key holding doubles. Declaring the same name again returns the existing key.
+     *
+     * @param name name of the key, also used by {@link Fabled#setMeta(Metadatable, String, Object)}
+     * @return the declared key
+     */
+    public static synchronized DoubleKey doubleKey(String name) {
+        Key<?> existing = keys.get(name);
+        if (existing == null) {
+            existing = new DoubleKey(name, nextNumberSlot());
+            keys.put(name, existing);
+        }
+        if (!(existing instanceof DoubleKey)) throw alreadyDeclared(existing);
+        return (DoubleKey) existing;
+    }
+
+    /**
+     * Retrieves the key declared under a name
+     *
+     * @param name name of the key
+     * @return the declared key or null if there is none
+     */
+    public static Key<?> getKey(String name) {
+        return keys.get(name);
+    }
+
+    /**
+     * Checks whether values can be attached to the target. Targets that are
+     * not real entities, such as {@link TempEntity}, have to use Bukkit metadata instead.
+     *
+     * @param target target to check
+     * @return true if values can be attached to the target
+     */
+    public static boolean supports(Metadatable target) {
+        return target instanceof Entity && !(target instanceof TempEntity);
+    }
+
+    /**
+     * Stores a value for an entity, removing it when the value is null
+     *
+     * @param entity entity to store for
+     * @param key    key to store under
+     * @param value  value to store
+     * @param <T>    type of the value
+     */
+    public static <T> void set(Entity entity, Key<T> key, T value) {
+        setValue(entity, key, value);
+    }
+
+    /**
+     * Stores a value for an entity without checking its type against the key. Numeric
+     * keys accept any {@link Number}.
+     *
+     * @param entity entity to store for
+     * @param key    key to store under
+     * @param value  value to store
+     */
+    public static void setValue(Entity entity, Key<?> key, Object value) {
+        if (value == null) {
+            remove(entity, key);
+        } else if (supports(entity)) {
+            key.write(EntityState.of(entity), value);
+        }
+    }
+
+    /**
+     * Retrieves a value stored for an entity
+     *
+     * @param entity entity to retrieve for
+     * @param key    key the value was stored under
+     * @param <T>    type of the value
+     * @return the stored value or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T get(Entity entity, Key<T> key) {
+        EntityState stored = EntityState.get(entity);
+        return stored == null || !supports(entity) ? null : (T) key.read(stored);
+    }
+
+    /**
+     * Stores an int for an entity
+     *
+     * @param entity entity to store for
+     * @param key    key to store under
+     * @param value  value to store
+     */
+    public static void setInt(Entity entity, IntKey key, int value) {
+        if (supports(entity)) key.write(EntityState.of(entity), value);
+    }
+
+    /**
+     * Retrieves an int stored for an entity
+     *
+     * @param entity entity to retrieve for
+     * @param key    key the value was stored under
+     * @param def    value to use when nothing is stored
+     * @return the stored value or the default
+     */
+    public static int getInt(Entity entity, IntKey key, int def) {
+        EntityState stored = EntityState.get(entity);
+        return stored == null || !supports(entity) || !key.has(stored) ? def : (int) stored.numbers[key.slot];
+    }
+
+    /**
+     * Stores a double for an entity
+     *
+     * @param entity entity to store for
+     * @param key    key to store under
+     * @param value  value to store
+     */
+    public static void setDouble(Entity entity, DoubleKey key, double value) {
+        if (supports(entity)) key.write(EntityState.of(entity), value);
+    }
+
+    /**
+     * Retrieves a double stored for an entity
+     *
+     * @param entity entity to retrieve for
+     * @param key    key the value was stored under
+     * @param def    value to use when nothing is stored
+     * @return the stored value or the default
+     */
+    public static double getDouble(Entity entity, DoubleKey key, double def) {
+        EntityState stored = EntityState.get(entity);
+        return stored == null || !supports(entity) || !key.has(stored) ? def : stored.numbers[key.slot];
+    }
+
+    /**
+     * Checks whether a value is stored for an entity
+     *
+     * @param entity entity to check
+     * @param key    key to check
+     * @return true if a value is stored under the key
+     */
+    public static boolean has(Entity entity, Key<?> key) {
+        EntityState stored = EntityState.get(entity);
+        return stored != null && supports(entity) && key.has(stored);
+    }
+
+    /**
+     * Removes a value stored for an entity
+     *
+     * @param entity entity to remove from
+     * @param key    key the value was stored under
+     */
+    public static void remove(Entity entity, Key<?> key) {
+        if (!supports(entity)) return;
+
+        EntityState stored = EntityState.get(entity);
+        if (stored != null) {
+            key.erase(stored);
+        }
+    }
+
+    /**
+     * Removes all values stored for an entity
+     *
+     * @param entity entity to clear
+     */
+    public static void clear(Entity entity) {
+        EntityState stored = EntityState.get(entity);
+        if (stored != null && supports(entity)) stored.clearMeta();
+    }
+
+    /**
+     * @return number of entities with stored values
+     */
+    public static int size() {
+        int size = 0;
+        for (EntityState state : EntityState.getStates()) {
+            if (state.hasMeta()) size++;
+        }
+        return size;
+    }
+
+    private static int nextNumberSlot() {
+        if (numberSlots == Long.SIZE) {
+            throw new IllegalStateException("Cannot declare more than " + Long.SIZE + " numeric entity meta keys");
+        }
+        return numberSlots++;
+    }
+
+    private static IllegalArgumentException alreadyDeclared(Key<?> key) {
+        return new IllegalArgumentException("Entity meta key " + key.name + " is already declared as "
+                + key.getClass().getSimpleName());
+    }
+
+    /**
+     * A declared key holding objects
+     *
+     * @param <T> type of the stored values
+     */
+    public static class Key<T> {
+        final String name;
+        final int    slot;
+
+        private Key(String name, int slot) {
+            this.name = name;
+            this.slot = slot;
+        }
+
+        /**
+         * @return name the key was declared with
+         */
+        public String getName() {
+            return name;
+        }
+
+        boolean has(EntityState stored) {
+            return slot < stored.objects.length && stored.objects[slot] != null;
+        }
+
+        Object read(EntityState stored) {
+            return slot < stored.objects.length ? stored.objects[slot] : null;
+        }
+
+        void write(EntityState stored, Object value) {
+            if (slot >= stored.objects.length) stored.objects = Arrays.copyOf(stored.objects, slot + 1);
+            stored.objects[slot] = value;
+        }
+
+        void erase(EntityState stored) {
+            if (slot < stored.objects.length) stored.objects[slot] = null;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private abstract static class NumberKey<T extends Number> extends Key<T> {
+        private final long bit;
+
+        private NumberKey(String name, int slot) {
+            super(name, slot);
+            this.bit = 1L << slot;
+        }
+
+        abstract T box(double value);
+
+        @Override
+        boolean has(EntityState stored) {
+            return (stored.present & bit) != 0;
+        }
+
+        @Override
+        Object read(EntityState stored) {
+            return has(stored) ? box(stored.numbers[slot]) : null;
+        }
+
+        @Override
+        void write(EntityState stored, Object value) {
+            if (!(value instanceof Number)) {
+                throw new IllegalArgumentException("Entity meta key " + name + " only holds numbers");
+            }
+            write(stored, ((Number) value).doubleValue());
+        }
+
+        void write(EntityState stored, double value) {
+            if (slot >= stored.numbers.length) stored.numbers = Arrays.copyOf(stored.numbers, slot + 1);
+            stored.numbers[slot] = value;
+            stored.present |= bit;
+        }
+
+        @Override
+        void erase(EntityState stored) {
+            stored.present &= ~bit;
+        }
+    }
+
+    /**
+     * A declared key holding ints
+     */
+    public static final class IntKey extends NumberKey<Integer> {
+        private IntKey(String name, int slot) {
+            super(name, slot);
+        }
+
+        @Override
+        Integer box(double value) {
+            return (int) value;
+        }
+    }
+
+    /**
+     * A declared key holding doubles
+     */
+    public static final class DoubleKey extends NumberKey<Double> {
+        private DoubleKey(String name, int slot) {
+            super(name, slot);
+        }
+
+        @Override
+        Double box(double value) {
+            return value;
+        }
+    }
+}
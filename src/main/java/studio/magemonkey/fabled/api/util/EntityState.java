@@ -0,0 +1,521 @@
+/**
+ * Fabled
+ * studio.magemonkey.fabled.api.util.EntityState
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 MageMonkeyStudio
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package studio.magemonkey.fabled.api.util;
+
+import studio.magemonkey.fabled.Fabled;
+import studio.magemonkey.fabled.api.CastData;
+import studio.magemonkey.fabled.api.armorstand.ArmorStandData;
+import studio.magemonkey.fabled.api.particle.EffectData;
+import studio.magemonkey.fabled.api.particle.target.EffectTarget;
+import studio.magemonkey.codex.mccore.util.VersionManager;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>Everything Fabled tracks for a single entity: buffs, flags, skill cast data, particle
+ * effects, armor stands and {@link EntityMeta} values.</p>
+ * <p>Records live in one table keyed by entity id, so a manager resolves an entity with a
+ * single lookup, and the whole record is released at once when the entity dies, its chunk
+ * or world unloads, or the player leaves. A periodic {@link #sweep()} releases records of
+ * entities that went away without any of those events and counts what they held, which
+ * is reported by {@link #getSwept()} as a leak diagnostic.</p>
+ */
+public class EntityState {
+    private static final Map<Integer, EntityState> states    = new ConcurrentHashMap<>();
+    private static final Listener                  listener  = new LifecycleListener();
+    private static final AtomicLongArray           swept     = new AtomicLongArray(Component.values().length);
+    // Buffs of players who left, handed back when they join again
+    private static final Map<UUID, BuffData>       quitBuffs = new ConcurrentHashMap<>();
+
+    private static Listener unloadListener;
+    private static boolean  listening;
+
+    /**
+     * The kinds of state a record can hold
+     */
+    public enum Component {
+        BUFFS,
+        FLAGS,
+        CAST_DATA,
+        EFFECTS,
+        ARMOR_STANDS,
+        META
+    }
+
+    @Getter
+    private final Entity entity;
+
+    private volatile BuffData       buffs;
+    private volatile FlagData       flags;
+    private volatile CastData       castData;
+    private volatile EffectData     effects;
+    private volatile ArmorStandData armorStands;
+
+    // EntityMeta values, indexed by the slot of each declared key
+    Object[] objects = new Object[0];
+    double[] numbers = new double[0];
+    long     present;
+
+    private EntityState(Entity entity) {
+        this.entity = entity;
+    }
+
+    /**
+     * Starts releasing records when their entities die, unload or leave
+     */
+    public static void init() {
+        if (!listening) {
+            // Entities unload separately from their chunk since 1.17, and the event doesn't exist before
+            unloadListener = VersionManager.isVersionAtLeast(11700)
+                    ? new EntitiesUnloadListener()
+                    : new ChunkUnloadListener();
+            Bukkit.getPluginManager().registerEvents(listener, Fabled.inst());
+            Bukkit.getPluginManager().registerEvents(unloadListener, Fabled.inst());
+            listening = true;
+        }
+    }
+
+    /**
+     * Stops listening and drops every record without releasing its contents.
+     * Used when the plugin is disabled.
+     */
+    public static void cleanUp() {
+        if (listening) {
+            HandlerList.unregisterAll(listener);
+            HandlerList.unregisterAll(unloadListener);
+            unloadListener = null;
+            listening = false;
+        }
+        states.clear();
+        quitBuffs.clear();
+    }
+
+    /**
+     * Retrieves the record of an entity
+     *
+     * @param entity entity to get the record for
+     * @return the record or null if nothing is tracked for the entity
+     */
+    public static EntityState get(Entity entity) {
+        return entity == null ? null : states.get(entity.getEntityId());
+    }
+
+    /**
+     * Retrieves the record of an entity, creating it if needed
+     *
+     * @param entity entity to get the record for
+     * @return the record of the entity
+     */
+    public static EntityState of(Entity entity) {
+        return states.computeIfAbsent(entity.getEntityId(), id -> new EntityState(entity));
+    }
+
+    /**
+     * @return every record currently tracked
+     */
+    public static Collection<EntityState> getStates() {
+        return Collections.unmodifiableCollection(states.values());
+    }
+
+    /**
+     * @return number of tracked entities
+     */
+    public static int size() {
+        return states.size();
+    }
+
+    /**
+     * Releases everything tracked for an entity. Buffs and flags are cleared and armor
+     * stands are removed.
+     *
+     * @param entity entity to release
+     */
+    public static void release(Entity entity) {
+        EntityState state = get(entity);
+        if (state != null && states.remove(entity.getEntityId(), state)) {
+            state.release();
+        }
+    }
+
+    /**
+     * Releases the records of every entity that is no longer valid. These entities went
+     * away without dying or unloading, so their records are counted as leaks.
+     *
+     * @return number of records released
+     */
+    public static int sweep() {
+        int released = 0;
+        for (EntityState state : states.values()) {
+            if (!state.entity.isValid() && states.remove(state.entity.getEntityId(), state)) {
+                for (Component component : state.getComponents()) {
+                    swept.incrementAndGet(component.ordinal());
+                }
+                state.release();
+                released++;
+            }
+        }
+        return released;
+    }
+
+    /**
+     * Counts what is held by records of entities that are no longer valid but
+     * have not been swept yet
+     *
+     * @return number of orphaned records holding each component
+     */
+    public static Map<Component, Integer> countOrphans() {
+        Map<Component, Integer> counts = new EnumMap<>(Component.class);
+        for (Component component : Component.values()) {
+            counts.put(component, 0);
+        }
+        for (EntityState state : states.values()) {
+            if (!state.entity.isValid()) {
+                for (Component component : state.getComponents()) {
+                    counts.merge(component, 1, Integer::sum);
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * @return number of records released by {@link #sweep()} since startup that held each component
+     */
+    public static Map<Component, Long> getSwept() {
+        Map<Component, Long> counts = new EnumMap<>(Component.class);
+        for (Component component : Component.values()) {
+            counts.put(component, swept.get(component.ordinal()));
+        }
+        return counts;
+    }
+
+    /**
+     * Resets the counts returned by {@link #getSwept()}
+     */
+    public static void resetSwept() {
+        for (int i = 0; i < swept.length(); i++) {
+            swept.set(i, 0);
+        }
+    }
+
+    /**
+     * @return the kinds of state this record currently holds
+     */
+    public Set<Component> getComponents() {
+        Set<Component> components = EnumSet.noneOf(Component.class);
+        if (buffs != null) components.add(Component.BUFFS);
+        if (flags != null) components.add(Component.FLAGS);
+        if (castData != null) components.add(Component.CAST_DATA);
+        if (effects != null) components.add(Component.EFFECTS);
+        if (armorStands != null) components.add(Component.ARMOR_STANDS);
+        if (hasMeta()) components.add(Component.META);
+        return components;
+    }
+
+    /**
+     * Retrieves the buff data of the entity
+     *
+     * @param create whether to create the data if there is none
+     * @return the buff data or null if there is none and it wasn't created
+     */
+    public BuffData getBuffs(boolean create) {
+        if (buffs == null && create) {
+            synchronized (this) {
+                if (buffs == null) buffs = new BuffData((LivingEntity) entity);
+            }
+        }
+        return buffs;
+    }
+
+    /**
+     * Detaches the buff data from the entity
+     *
+     * @return the detached data or null if there was none
+     */
+    public synchronized BuffData removeBuffs() {
+        BuffData result = buffs;
+        buffs = null;
+        return result;
+    }
+
+    /**
+     * Keeps the buffs of a player who is leaving so they still apply when the player
+     * joins again, like they did when buffs were tracked by UUID. The rest of the
+     * record is released as usual.
+     *
+     * @param player player who is leaving
+     */
+    public static void quit(Player player) {
+        EntityState state = get(player);
+        BuffData    buffs = state == null ? null : state.removeBuffs();
+        if (buffs != null) quitBuffs.put(player.getUniqueId(), buffs);
+        release(player);
+    }
+
+    /**
+     * Hands the buffs a player had when leaving back to the player
+     *
+     * @param player player who joined
+     */
+    public static void join(Player player) {
+        BuffData buffs = quitBuffs.remove(player.getUniqueId());
+        if (buffs == null) return;
+
+        buffs.rebind(player);
+        EntityState state = of(player);
+        synchronized (state) {
+            if (state.buffs == null) {
+                state.buffs = buffs;
+                return;
+            }
+        }
+        // Buffs were added on join before these were handed back
+        buffs.cancel();
+    }
+
+    /**
+     * Drops the kept buffs of a player who is offline once none of them are left
+     *
+     * @param player player who left
+     * @param buffs  buffs that ran out
+     */
+    static void forgetQuitBuffs(Player player, BuffData buffs) {
+        quitBuffs.remove(player.getUniqueId(), buffs);
+    }
+
+    /**
+     * Retrieves the flag data of the entity
+     *
+     * @param create whether to create the data if there is none
+     * @return the flag data or null if there is none and it wasn't created
+     */
+    public FlagData getFlags(boolean create) {
+        if (flags == null && create) {
+            synchronized (this) {
+                if (flags == null) flags = new FlagData((LivingEntity) entity);
+            }
+        }
+        return flags;
+    }
+
+    /**
+     * Detaches the flag data from the entity
+     *
+     * @return the detached data or null if there was none
+     */
+    public synchronized FlagData removeFlags() {
+        FlagData result = flags;
+        flags = null;
+        return result;
+    }
+
+    /**
+     * Retrieves the skill cast data of the entity
+     *
+     * @param create whether to create the data if there is none
+     * @return the cast data or null if there is none and it wasn't created
+     */
+    public CastData getCastData(boolean create) {
+        if (castData == null && create) {
+            synchronized (this) {
+                if (castData == null) castData = new CastData((LivingEntity) entity);
+            }
+        }
+        return castData;
+    }
+
+    /**
+     * Detaches the skill cast data from the entity
+     *
+     * @return the detached data or null if there was none
+     */
+    public synchronized CastData removeCastData() {
+        CastData result = castData;
+        castData = null;
+        return result;
+    }
+
+    /**
+     * @return the particle effects played on the entity or null if there are none
+     */
+    public EffectData getEffects() {
+        return effects;
+    }
+
+    /**
+     * Retrieves the particle effects played on the entity, creating the data if needed
+     *
+     * @param target effect target following the entity
+     * @return the effect data
+     */
+    public EffectData getEffects(EffectTarget target) {
+        if (effects == null) {
+            synchronized (this) {
+                if (effects == null) effects = new EffectData(target);
+            }
+        }
+        return effects;
+    }
+
+    /**
+     * Detaches the particle effects from the entity if they are still the given data
+     *
+     * @param expected data to detach, or null to detach whatever is there
+     * @return the detached data or null if nothing was detached
+     */
+    public synchronized EffectData removeEffects(EffectData expected) {
+        EffectData result = effects;
+        if (expected != null && result != expected) return null;
+        effects = null;
+        return result;
+    }
+
+    /**
+     * Retrieves the armor stands attached to the entity
+     *
+     * @param create whether to create the data if there is none
+     * @return the armor stand data or null if there is none and it wasn't created
+     */
+    public ArmorStandData getArmorStands(boolean create) {
+        if (armorStands == null && create) {
+            synchronized (this) {
+                if (armorStands == null) armorStands = new ArmorStandData((LivingEntity) entity);
+            }
+        }
+        return armorStands;
+    }
+
+    /**
+     * Detaches the armor stands from the entity if they are still the given data
+     *
+     * @param expected data to detach, or null to detach whatever is there
+     * @return the detached data or null if nothing was detached
+     */
+    public synchronized ArmorStandData removeArmorStands(ArmorStandData expected) {
+        ArmorStandData result = armorStands;
+        if (expected != null && result != expected) return null;
+        armorStands = null;
+        return result;
+    }
+
+    boolean hasMeta() {
+        if (present != 0) return true;
+        for (Object value : objects) {
+            if (value != null) return true;
+        }
+        return false;
+    }
+
+    void clearMeta() {
+        objects = new Object[0];
+        numbers = new double[0];
+        present = 0;
+    }
+
+    private void release() {
+        BuffData buffData = removeBuffs();
+        if (buffData != null) buffData.clear();
+
+        FlagData flagData = removeFlags();
+        if (flagData != null) flagData.clear();
+
+        ArmorStandData armorStandData = removeArmorStands(null);
+        if (armorStandData != null) armorStandData.remove();
+
+        removeCastData();
+        removeEffects(null);
+        clearMeta();
+    }
+
+    private static void releaseUnloaded(Collection<Entity> entities) {
+        for (Entity entity : entities) {
+            if (!(entity instanceof Player)) release(entity);
+        }
+    }
+
+    private static void releaseAll(World world) {
+        for (EntityState state : states.values()) {
+            if (world.equals(state.entity.getWorld())) release(state.entity);
+        }
+    }
+
+    private static class LifecycleListener implements Listener {
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onDeath(EntityDeathEvent event) {
+            // Other death handlers still read the state, so it is released on the next tick
+            final Entity entity = event.getEntity();
+            Bukkit.getScheduler().runTask(Fabled.inst(), () -> release(entity));
+        }
+
+        @EventHandler(priority = EventPriority.LOWEST)
+        public void onJoin(PlayerJoinEvent event) {
+            join(event.getPlayer());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onQuit(PlayerQuitEvent event) {
+            quit(event.getPlayer());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onUnload(WorldUnloadEvent event) {
+            releaseAll(event.getWorld());
+        }
+    }
+
+    private static class EntitiesUnloadListener implements Listener {
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onUnload(EntitiesUnloadEvent event) {
+            releaseUnloaded(event.getEntities());
+        }
+    }
+
+    private static class ChunkUnloadListener implements Listener {
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onUnload(ChunkUnloadEvent event) {
+            releaseUnloaded(Arrays.asList(event.getChunk().getEntities()));
+        }
+    }
+}
@@ -26,14 +26,10 @@
  */
 package studio.magemonkey.fabled.api.util;
 
-import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.event.FlagApplyEvent;
 import studio.magemonkey.fabled.api.event.FlagExpireEvent;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.LivingEntity;
-import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -43,10 +39,9 @@ import java.util.Set;
  * Represents flags set on an entity
  */
 public class FlagData {
-    private final HashMap<String, Long>       flags = new HashMap<String, Long>();
-    private final HashMap<String, BukkitTask> tasks = new HashMap<String, BukkitTask>();
-    private final LivingEntity                entity;
-    private final Plugin                      plugin;
+    private final HashMap<String, Long>            flags  = new HashMap<String, Long>();
+    private final HashMap<String, FlagWheel.Timer<FlagData>> timers = new HashMap<String, FlagWheel.Timer<FlagData>>();
+    private final LivingEntity                     entity;
 
     /**
      * Initializes new flag data for the entity
@@ -54,7 +49,6 @@ public class FlagData {
      * @param entity entity to initialize for
      */
     public FlagData(LivingEntity entity) {
-        this.plugin = Fabled.inst();
         this.entity = entity;
     }
 
@@ -71,9 +65,7 @@ public class FlagData {
 
         // Permanent flag
         if (ticks < 0) {
-            BukkitTask task = tasks.remove(flag);
-            if (task != null)
-                task.cancel();
+            FlagManager.cancel(timers.remove(flag));
             flags.put(flag, Long.MAX_VALUE);
             return;
         }
@@ -83,13 +75,11 @@ public class FlagData {
             if (time > ticks * 50L + System.currentTimeMillis())
                 return;
             else {
-                BukkitTask task = tasks.remove(flag);
-                if (task != null)
-                    task.cancel();
+                FlagManager.cancel(timers.remove(flag));
             }
         }
         flags.put(flag, System.currentTimeMillis() + ticks * 50L);
-        tasks.put(flag, new FlagTask(flag).runTaskLater(plugin, ticks));
+        timers.put(flag, FlagManager.schedule(this, flag, ticks));
     }
 
     /**
@@ -110,9 +100,7 @@ public class FlagData {
     private void removeFlag(String flag, FlagExpireEvent.ExpireReason reason) {
         if (flags.containsKey(flag)) {
             flags.remove(flag);
-            BukkitTask task = tasks.remove(flag);
-            if (task != null)
-                task.cancel();
+            FlagManager.cancel(timers.remove(flag));
             Bukkit.getPluginManager().callEvent(new FlagExpireEvent(entity, flag, reason));
             if (flags.size() == 0) {
                 FlagManager.clearFlags(entity);
@@ -179,22 +167,17 @@ public class FlagData {
         return flags.keySet();
     }
 
-    private class FlagTask extends BukkitRunnable {
-        private final String flag;
-
-        public FlagTask(String flag) {
-            this.flag = flag;
-        }
-
-        @Override
-        public void run() {
-            if (!entity.isValid() || entity.isDead()) {
-                FlagManager.clearFlags(entity);
-                return;
-            }
-            removeFlag(flag, FlagExpireEvent.ExpireReason.TIME);
+    /**
+     * Handles a timed flag running out
+     *
+     * @param flag flag that ran out
+     */
+    void expire(String flag) {
+        timers.remove(flag);
+        if (!entity.isValid() || entity.isDead()) {
+            FlagManager.clearFlags(entity);
+            return;
         }
+        removeFlag(flag, FlagExpireEvent.ExpireReason.TIME);
     }
-
-
 }
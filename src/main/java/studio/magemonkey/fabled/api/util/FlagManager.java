@@ -26,16 +26,20 @@
  */
 package studio.magemonkey.fabled.api.util;
 
+import org.bukkit.Bukkit;
 import org.bukkit.entity.LivingEntity;
-
-import java.util.HashMap;
-import java.util.Map;
+import org.bukkit.scheduler.BukkitTask;
+import studio.magemonkey.fabled.Fabled;
 
 /**
- * The manager for temporary entity flag data
+ * The manager for temporary entity flag data, kept in each entity's {@link EntityState}.
+ * Timed flags are expired by a single timing wheel ticked once per server tick rather
+ * than a task per flag.
  */
 public class FlagManager {
-    private static final Map<Integer, FlagData> data = new HashMap<>();
+    private static final FlagWheel<FlagData> wheel = new FlagWheel<>();
+
+    private static BukkitTask task;
 
     /**
      * Retrieves the flag data for an entity. This creates new data if
@@ -61,10 +65,8 @@ public class FlagManager {
         if (entity == null) {
             return null;
         }
-        if (!data.containsKey(entity.getEntityId()) && create) {
-            data.put(entity.getEntityId(), new FlagData(entity));
-        }
-        return data.get(entity.getEntityId());
+        EntityState state = create ? EntityState.of(entity) : EntityState.get(entity);
+        return state == null ? null : state.getFlags(create);
     }
 
     /**
@@ -102,7 +104,8 @@ public class FlagManager {
      * @return true if the flag is active on the entity, false otherwise
      */
     public static boolean hasFlag(LivingEntity entity, String flag) {
-        return entity != null && data.containsKey(entity.getEntityId()) && getFlagData(entity, false).hasFlag(flag);
+        FlagData data = getFlagData(entity, false);
+        return data != null && data.hasFlag(flag);
     }
 
     /**
@@ -113,10 +116,8 @@ public class FlagManager {
      * @return time left on the flag in seconds for the entity
      */
     public static int getTimeLeft(LivingEntity entity, String flag) {
-        if (entity == null) {
-            return 0;
-        }
-        return data.containsKey(entity.getEntityId()) ? getFlagData(entity).getSecondsLeft(flag) : 0;
+        FlagData data = getFlagData(entity, false);
+        return data == null ? 0 : data.getSecondsLeft(flag);
     }
 
     /**
@@ -125,12 +126,53 @@ public class FlagManager {
      * @param entity entity to clear the flags for
      */
     public static void clearFlags(LivingEntity entity) {
-        if (entity == null) {
-            return;
-        }
-        FlagData result = data.remove(entity.getEntityId());
+        EntityState state  = EntityState.get(entity);
+        FlagData    result = state == null ? null : state.removeFlags();
         if (result != null) {
             result.clear();
         }
     }
+
+    /**
+     * Retrieves the number of timed flags waiting to expire
+     *
+     * @return number of scheduled flag expiries
+     */
+    public static int getScheduledCount() {
+        return wheel.size();
+    }
+
+    /**
+     * Stops expiring flags and drops all flag data without calling events.
+     * Used when the plugin is disabled.
+     */
+    public static void cleanUp() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        wheel.clear();
+        for (EntityState state : EntityState.getStates()) {
+            state.removeFlags();
+        }
+    }
+
+    static FlagWheel.Timer<FlagData> schedule(FlagData flagData, String flag, int ticks) {
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(Fabled.inst(), FlagManager::tick, 1, 1);
+        }
+        return wheel.schedule(flagData, flag, ticks);
+    }
+
+    static void cancel(FlagWheel.Timer<FlagData> timer) {
+        wheel.cancel(timer);
+    }
+
+    private static void tick() {
+        for (FlagWheel.Timer<FlagData> timer : wheel.advance()) {
+            if (wheel.fire(timer)) {
+                timer.data.expire(timer.key);
+            }
+        }
+    }
 }
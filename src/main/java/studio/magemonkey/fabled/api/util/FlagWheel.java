@@ -0,0 +1,226 @@
+/**
+ * Fabled
+ * studio.magemonkey.fabled.api.util.FlagWheel
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 MageMonkeyStudio
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package studio.magemonkey.fabled.api.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel holding the expiry times of timed flags and buffs. Adding,
+ * cancelling and expiring a timer are all constant time, and the wheel only
+ * does work for the slot matching the current tick plus an occasional cascade
+ * of a coarser slot into the finer levels.
+ *
+ * @param <T> type of the data owning the timed keys
+ */
+final class FlagWheel<T> {
+    private static final int  ROOT_BITS  = 8;
+    private static final int  LEVEL_BITS = 6;
+    private static final int  LEVELS     = 4;
+    private static final int  ROOT_SIZE  = 1 << ROOT_BITS;
+    private static final int  LEVEL_SIZE = 1 << LEVEL_BITS;
+    private static final long MAX_DELAY  = 1L << (ROOT_BITS + (LEVELS - 1) * LEVEL_BITS);
+
+    private final Timer<T>[][] slots;
+
+    private long tick;
+    private int  size;
+
+    @SuppressWarnings("unchecked")
+    FlagWheel() {
+        slots = new Timer[LEVELS][];
+        slots[0] = new Timer[ROOT_SIZE];
+        for (int i = 1; i < LEVELS; i++) {
+            slots[i] = new Timer[LEVEL_SIZE];
+        }
+    }
+
+    /**
+     * @return the last tick the wheel advanced to
+     */
+    long getTick() {
+        return tick;
+    }
+
+    /**
+     * @return number of timers currently scheduled
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Schedules a key to expire after the given number of ticks
+     *
+     * @param data  data owning the key
+     * @param key   key to expire
+     * @param ticks ticks until expiry, at least 1 is used
+     * @return the scheduled timer
+     */
+    Timer<T> schedule(T data, String key, long ticks) {
+        Timer<T> timer = new Timer<>(data, key, tick + Math.max(1, ticks));
+        insert(timer);
+        size++;
+        return timer;
+    }
+
+    /**
+     * Cancels a timer so it no longer expires
+     *
+     * @param timer timer to cancel
+     */
+    void cancel(Timer<T> timer) {
+        if (timer == null || !timer.active) return;
+        timer.active = false;
+        if (timer.level >= 0) unlink(timer);
+        size--;
+    }
+
+    /**
+     * Marks an expired timer as handled
+     *
+     * @param timer timer returned by {@link #advance()}
+     * @return true if the timer had not been cancelled in the meantime
+     */
+    boolean fire(Timer<T> timer) {
+        if (!timer.active) return false;
+        timer.active = false;
+        size--;
+        return true;
+    }
+
+    /**
+     * Advances the wheel by one tick. Each returned timer should be passed to
+     * {@link #fire(Timer)} before acting on it, since handling one timer may
+     * cancel another from the same tick.
+     *
+     * @return timers that expired on this tick, already removed from the wheel
+     */
+    List<Timer<T>> advance() {
+        tick++;
+
+        int index = (int) (tick & (ROOT_SIZE - 1));
+        for (int level = 1; level < LEVELS && index == 0; level++) {
+            index = (int) ((tick >> (ROOT_BITS + (level - 1) * LEVEL_BITS)) & (LEVEL_SIZE - 1));
+            cascade(level, index);
+        }
+
+        Timer<T> head = slots[0][(int) (tick & (ROOT_SIZE - 1))];
+        if (head == null) return Collections.emptyList();
+
+        slots[0][(int) (tick & (ROOT_SIZE - 1))] = null;
+        List<Timer<T>> expired = new ArrayList<>();
+        for (Timer<T> timer = head; timer != null; timer = timer.next) {
+            timer.level = -1;
+            expired.add(timer);
+        }
+        for (Timer<T> timer : expired) {
+            timer.prev = timer.next = null;
+        }
+        return expired;
+    }
+
+    /**
+     * Drops every timer without expiring them
+     */
+    void clear() {
+        for (Timer<T>[] level : slots) {
+            for (int i = 0; i < level.length; i++) {
+                for (Timer<T> timer = level[i]; timer != null; timer = timer.next) {
+                    timer.active = false;
+                    timer.level = -1;
+                }
+                level[i] = null;
+            }
+        }
+        size = 0;
+    }
+
+    private void cascade(int level, int index) {
+        Timer<T> timer = slots[level][index];
+        slots[level][index] = null;
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            timer.prev = timer.next = null;
+            insert(timer);
+            timer = next;
+        }
+    }
+
+    private void insert(Timer<T> timer) {
+        long deadline = Math.min(timer.deadline, tick + MAX_DELAY - 1);
+        long delay    = deadline - tick;
+
+        int level, index;
+        if (delay < ROOT_SIZE) {
+            level = 0;
+            index = (int) (deadline & (ROOT_SIZE - 1));
+        } else {
+            level = 1;
+            while (delay >= 1L << (ROOT_BITS + level * LEVEL_BITS)) level++;
+            index = (int) ((deadline >> (ROOT_BITS + (level - 1) * LEVEL_BITS)) & (LEVEL_SIZE - 1));
+        }
+
+        timer.level = level;
+        timer.index = index;
+        timer.prev = null;
+        timer.next = slots[level][index];
+        if (timer.next != null) timer.next.prev = timer;
+        slots[level][index] = timer;
+    }
+
+    private void unlink(Timer<T> timer) {
+        if (timer.prev != null) timer.prev.next = timer.next;
+        else slots[timer.level][timer.index] = timer.next;
+        if (timer.next != null) timer.next.prev = timer.prev;
+        timer.prev = timer.next = null;
+        timer.level = -1;
+    }
+
+    /**
+     * A scheduled expiry of a flag or buff
+     *
+     * @param <T> type of the data owning the key
+     */
+    static final class Timer<T> {
+        final T      data;
+        final String key;
+        final long   deadline;
+
+        private Timer<T> prev, next;
+        private int      level = -1;
+        private int      index;
+        private boolean  active = true;
+
+        private Timer(T data, String key, long deadline) {
+            this.data = data;
+            this.key = key;
+            this.deadline = deadline;
+        }
+    }
+}
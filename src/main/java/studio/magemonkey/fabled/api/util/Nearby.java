@@ -32,12 +32,14 @@ import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.util.BoundingBox;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * Fetches nearby entities by going through possible chunks
- * instead of all entities in a world
+ * instead of all entities in a world. Living entity queries
+ * are answered from the per-tick {@link SpatialIndex}.
  */
 public class Nearby {
     /**
@@ -93,61 +95,15 @@ public class Nearby {
                                                       Location loc,
                                                       double radius,
                                                       boolean includeCaster) {
-        List<LivingEntity> result    = new ArrayList<>();
-        Map<UUID, Double>  distances = new HashMap<>();
-
-        int minX = (int) (loc.getX() - radius) >> 4;
-        int maxX = (int) (loc.getX() + radius) >> 4;
-        int minZ = (int) (loc.getZ() - radius) >> 4;
-        int maxZ = (int) (loc.getZ() + radius) >> 4;
-
-        radius *= radius;
         World world = Objects.requireNonNull(loc.getWorld());
-
-        for (int i = minX; i <= maxX; i++)
-            for (int j = minZ; j <= maxZ; j++)
-                for (Entity entity : world.getChunkAt(i, j).getEntities())
-                    if ((includeCaster || entity != source)
-                            && entity instanceof LivingEntity
-                            && entity.getWorld() == loc.getWorld()
-                            && entity.getLocation().distanceSquared(loc) < radius) {
-                        result.add((LivingEntity) entity);
-                        distances.put(entity.getUniqueId(), entity.getLocation().distanceSquared(loc));
-                    }
-
-        return result.stream().sorted(
-                Comparator.comparingDouble(entity -> distances.get(entity.getUniqueId()))
-        ).collect(Collectors.toList());
+        return SpatialIndex.get(world).radius(loc, radius, includeCaster ? null : source);
     }
 
     private static List<LivingEntity> getLivingNearby(Entity source,
                                                       World world,
                                                       BoundingBox boundingBox,
                                                       boolean includeCaster) {
-        List<LivingEntity> result    = new ArrayList<>();
-        Map<UUID, Double>  distances = new HashMap<>();
-
-        int minX = (int) (boundingBox.getMinX()) >> 4;
-        int maxX = (int) (boundingBox.getMaxX()) >> 4;
-        int minZ = (int) (boundingBox.getMinZ()) >> 4;
-        int maxZ = (int) (boundingBox.getMaxZ()) >> 4;
-
-        Location loc = boundingBox.getCenter().toLocation(world);
-
-        for (int i = minX; i <= maxX; i++)
-            for (int j = minZ; j <= maxZ; j++)
-                for (Entity entity : world.getChunkAt(i, j).getEntities())
-                    if ((includeCaster || entity != source)
-                            && entity instanceof LivingEntity
-                            && entity.getWorld() == world
-                            && entity.getBoundingBox().overlaps(boundingBox)) {
-                        result.add((LivingEntity) entity);
-                        distances.put(entity.getUniqueId(), entity.getLocation().distanceSquared(loc));
-                    }
-
-        return result.stream().sorted(
-                Comparator.comparingDouble(entity -> distances.get(entity.getUniqueId()))
-        ).collect(Collectors.toList());
+        return SpatialIndex.get(world).box(boundingBox, includeCaster ? null : source);
     }
 
     /**
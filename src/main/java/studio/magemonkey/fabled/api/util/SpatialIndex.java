@@ -0,0 +1,482 @@
+/**
+ * Fabled
+ * studio.magemonkey.fabled.api.util.SpatialIndex
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 MageMonkeyStudio
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package studio.magemonkey.fabled.api.util;
+
+import studio.magemonkey.fabled.Fabled;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntitySpawnEvent;
+import org.bukkit.event.entity.EntityTeleportEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.util.BoundingBox;
+
+import java.util.*;
+
+/**
+ * <p>Per-world grid of living entities used for nearby-entity queries.</p>
+ * <p>A snapshot of each world is built lazily the first time it is queried in a
+ * tick and reused by every later query in that tick, so nested target components
+ * no longer walk chunks for every parent target. Living entities spawned mid-tick
+ * are added to the current snapshot, while teleports mark the affected world's
+ * snapshot as stale so moved entities are still found.</p>
+ * <p>Queries must be made from the main thread. Off-thread callers get a fresh,
+ * uncached snapshot.</p>
+ */
+public class SpatialIndex {
+    private static final int CELL_SHIFT = 4;
+
+    private static final Map<UUID, Snapshot> snapshots = new HashMap<>();
+    private static final Listener           listener  = new InvalidateListener();
+
+    private static BukkitTask task;
+    private static long       tick;
+    private static long       builds;
+
+    /**
+     * Starts tracking ticks and invalidating snapshots
+     */
+    public static void init() {
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(Fabled.inst(), () -> tick++, 1, 1);
+            Bukkit.getPluginManager().registerEvents(listener, Fabled.inst());
+        }
+    }
+
+    /**
+     * Stops tracking ticks and drops all snapshots
+     */
+    public static void cleanUp() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+            HandlerList.unregisterAll(listener);
+        }
+        snapshots.clear();
+    }
+
+    /**
+     * Gets the snapshot of a world for the current tick, building it if needed
+     *
+     * @param world world to get the snapshot for
+     * @return snapshot of living entities in the world
+     */
+    public static Snapshot get(World world) {
+        if (task == null || !Bukkit.isPrimaryThread()) {
+            return build(world);
+        }
+
+        Snapshot snapshot = snapshots.get(world.getUID());
+        if (snapshot == null || snapshot.tick != tick || snapshot.stale) {
+            snapshot = build(world);
+            snapshot.tick = tick;
+            snapshots.put(world.getUID(), snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Marks the snapshot of a world as stale so the next query rebuilds it
+     *
+     * @param world world to invalidate
+     */
+    public static void invalidate(World world) {
+        if (world == null) {
+            return;
+        }
+        Snapshot snapshot = snapshots.get(world.getUID());
+        if (snapshot != null) {
+            snapshot.stale = true;
+        }
+    }
+
+    /**
+     * Adds a living entity that spawned to the current snapshot of its world. Snapshots
+     * of earlier ticks are rebuilt on their next query anyway, so they are left alone.
+     *
+     * @param entity entity that spawned
+     */
+    private static void spawned(LivingEntity entity) {
+        Snapshot snapshot = snapshots.get(entity.getWorld().getUID());
+        if (snapshot != null && snapshot.tick == tick && !snapshot.stale) {
+            snapshot.add(entity);
+        }
+    }
+
+    /**
+     * Gets a counter that advances once per server tick, for other per-tick caches to key on
+     *
+     * @return ticks since the index started, or -1 if it is not running
+     */
+    public static long getTick() {
+        return task == null ? -1 : tick;
+    }
+
+    /**
+     * @return number of snapshots built since startup
+     */
+    public static long getBuildCount() {
+        return builds;
+    }
+
+    /**
+     * Builds a new snapshot of the living entities in a world
+     *
+     * @param world world to build the snapshot for
+     * @return built snapshot
+     */
+    public static Snapshot build(World world) {
+        builds++;
+        return new Snapshot(world.getLivingEntities());
+    }
+
+    private static long cellKey(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    private static int cell(double coordinate) {
+        return (int) Math.floor(coordinate) >> CELL_SHIFT;
+    }
+
+    /**
+     * Grid of the living entities in one world at the time it was built, along with
+     * the few entities that spawned after that
+     */
+    public static class Snapshot {
+        private final LivingEntity[]     entities;
+        private final double[]           x;
+        private final double[]           y;
+        private final double[]           z;
+        private final double[]           halfWidth;
+        private final double[]           height;
+        private final int[]              order;
+        private final Map<Long, int[]>   cells   = new HashMap<>();
+        private final List<LivingEntity> spawned = new ArrayList<>();
+
+        private long    tick;
+        private boolean stale;
+        private double  maxHalfWidth;
+        private int     candidateCount;
+
+        // Scratch space reused between queries to avoid per-call allocation
+        private int[]    candidates = new int[16];
+        private int[]    found      = new int[16];
+        private double[] distances  = new double[16];
+
+        private Snapshot(List<LivingEntity> living) {
+            final int size = living.size();
+            entities = living.toArray(new LivingEntity[0]);
+            x = new double[size];
+            y = new double[size];
+            z = new double[size];
+            halfWidth = new double[size];
+            height = new double[size];
+            order = new int[size];
+
+            final long[] keys = new long[size];
+            for (int i = 0; i < size; i++) {
+                final Location loc = entities[i].getLocation();
+                x[i] = loc.getX();
+                y[i] = loc.getY();
+                z[i] = loc.getZ();
+                halfWidth[i] = entities[i].getWidth() * 0.5;
+                maxHalfWidth = Math.max(maxHalfWidth, halfWidth[i]);
+                height[i] = entities[i].getHeight();
+                keys[i] = cellKey(cell(x[i]), cell(z[i]));
+
+                // {start, count, fill}
+                cells.computeIfAbsent(keys[i], key -> new int[3])[1]++;
+            }
+
+            int start = 0;
+            for (int[] range : cells.values()) {
+                range[0] = start;
+                range[2] = start;
+                start += range[1];
+            }
+            for (int i = 0; i < size; i++) {
+                order[cells.get(keys[i])[2]++] = i;
+            }
+        }
+
+        /**
+         * Adds an entity that spawned after the snapshot was built. These are
+         * checked one by one at their current location on every query.
+         *
+         * @param entity entity that spawned
+         */
+        void add(LivingEntity entity) {
+            spawned.add(entity);
+        }
+
+        /**
+         * @return number of living entities in the snapshot
+         */
+        public int size() {
+            return entities.length + spawned.size();
+        }
+
+        /**
+         * Gets living entities whose feet are within a radius of a location
+         *
+         * @param center  location to search around
+         * @param radius  radius to search within
+         * @param exclude entity to leave out of the results, or null
+         * @return entities within the radius, nearest first
+         */
+        public List<LivingEntity> radius(Location center, double radius, Entity exclude) {
+            final double cx = center.getX();
+            final double cy = center.getY();
+            final double cz = center.getZ();
+            final double r2 = radius * radius;
+
+            final boolean all = !gather(cx - radius, cz - radius, cx + radius, cz + radius);
+            final int     n   = all ? entities.length : candidateCount;
+
+            int count = 0;
+            for (int c = 0; c < n; c++) {
+                final int    i  = all ? c : candidates[c];
+                final double dx = x[i] - cx;
+                final double dy = y[i] - cy;
+                final double dz = z[i] - cz;
+                final double d2 = dx * dx + dy * dy + dz * dz;
+                if (d2 < r2 && entities[i] != exclude && entities[i].isValid()) {
+                    count = add(count, i, d2);
+                }
+            }
+            for (int s = 0; s < spawned.size(); s++) {
+                final LivingEntity entity = spawned.get(s);
+                if (entity == exclude || !entity.isValid()) {
+                    continue;
+                }
+                final double d2 = entity.getLocation().distanceSquared(center);
+                if (d2 < r2) {
+                    count = add(count, entities.length + s, d2);
+                }
+            }
+            return collect(count);
+        }
+
+        /**
+         * Gets living entities whose bounding box overlaps the given box
+         *
+         * @param box     box to search within
+         * @param exclude entity to leave out of the results, or null
+         * @return overlapping entities, nearest to the center of the box first
+         */
+        public List<LivingEntity> box(BoundingBox box, Entity exclude) {
+            return box(box.getMinX(), box.getMinY(), box.getMinZ(),
+                    box.getMaxX(), box.getMaxY(), box.getMaxZ(),
+                    box.getCenterX(), box.getCenterY(), box.getCenterZ(),
+                    exclude);
+        }
+
+        /**
+         * Gets living entities whose bounding box overlaps the given box
+         *
+         * @param minX    minimum X coordinate of the box
+         * @param minY    minimum Y coordinate of the box
+         * @param minZ    minimum Z coordinate of the box
+         * @param maxX    maximum X coordinate of the box
+         * @param maxY    maximum Y coordinate of the box
+         * @param maxZ    maximum Z coordinate of the box
+         * @param ox      X coordinate distances are sorted from
+         * @param oy      Y coordinate distances are sorted from
+         * @param oz      Z coordinate distances are sorted from
+         * @param exclude entity to leave out of the results, or null
+         * @return overlapping entities, nearest to the origin first
+         */
+        public List<LivingEntity> box(double minX, double minY, double minZ,
+                                      double maxX, double maxY, double maxZ,
+                                      double ox, double oy, double oz,
+                                      Entity exclude) {
+            // Entity boxes can stick out of their cell by half their width
+            final double  margin = maxHalfWidth;
+            final boolean all    = !gather(minX - margin, minZ - margin, maxX + margin, maxZ + margin);
+            final int     n      = all ? entities.length : candidateCount;
+
+            int count = 0;
+            for (int c = 0; c < n; c++) {
+                final int i = all ? c : candidates[c];
+                if (x[i] + halfWidth[i] <= minX || x[i] - halfWidth[i] >= maxX
+                        || z[i] + halfWidth[i] <= minZ || z[i] - halfWidth[i] >= maxZ
+                        || y[i] + height[i] <= minY || y[i] >= maxY
+                        || entities[i] == exclude || !entities[i].isValid()) {
+                    continue;
+                }
+                final double dx = x[i] - ox;
+                final double dy = y[i] - oy;
+                final double dz = z[i] - oz;
+                count = add(count, i, dx * dx + dy * dy + dz * dz);
+            }
+            for (int s = 0; s < spawned.size(); s++) {
+                final LivingEntity entity = spawned.get(s);
+                if (entity == exclude || !entity.isValid()) {
+                    continue;
+                }
+                final Location loc  = entity.getLocation();
+                final double   half = entity.getWidth() * 0.5;
+                if (loc.getX() + half <= minX || loc.getX() - half >= maxX
+                        || loc.getZ() + half <= minZ || loc.getZ() - half >= maxZ
+                        || loc.getY() + entity.getHeight() <= minY || loc.getY() >= maxY) {
+                    continue;
+                }
+                final double dx = loc.getX() - ox;
+                final double dy = loc.getY() - oy;
+                final double dz = loc.getZ() - oz;
+                count = add(count, entities.length + s, dx * dx + dy * dy + dz * dz);
+            }
+            return collect(count);
+        }
+
+        /**
+         * Collects the entities in the cells overlapping the area into the candidate buffer
+         *
+         * @return false if the area spans more cells than exist, meaning every entity is a candidate
+         */
+        private boolean gather(double minX, double minZ, double maxX, double maxZ) {
+            final int minCellX = cell(minX);
+            final int maxCellX = cell(maxX);
+            final int minCellZ = cell(minZ);
+            final int maxCellZ = cell(maxZ);
+            if (((long) maxCellX - minCellX + 1) * ((long) maxCellZ - minCellZ + 1) >= cells.size()) {
+                return false;
+            }
+
+            candidateCount = 0;
+            for (int cx = minCellX; cx <= maxCellX; cx++) {
+                for (int cz = minCellZ; cz <= maxCellZ; cz++) {
+                    final int[] bucket = cells.get(cellKey(cx, cz));
+                    if (bucket == null) {
+                        continue;
+                    }
+                    final int needed = candidateCount + bucket[1];
+                    if (needed > candidates.length) {
+                        candidates = Arrays.copyOf(candidates, Math.max(candidates.length * 2, needed));
+                    }
+                    System.arraycopy(order, bucket[0], candidates, candidateCount, bucket[1]);
+                    candidateCount += bucket[1];
+                }
+            }
+            return true;
+        }
+
+        private int add(int count, int index, double distanceSq) {
+            if (count == found.length) {
+                found = Arrays.copyOf(found, count * 2);
+                distances = Arrays.copyOf(distances, count * 2);
+            }
+            found[count] = index;
+            distances[count] = distanceSq;
+            return count + 1;
+        }
+
+        private List<LivingEntity> collect(int count) {
+            sort(0, count - 1);
+            final List<LivingEntity> result = new ArrayList<>(count);
+            for (int k = 0; k < count; k++) {
+                final int i = found[k];
+                result.add(i < entities.length ? entities[i] : spawned.get(i - entities.length));
+            }
+            return result;
+        }
+
+        private void sort(int lo, int hi) {
+            while (hi - lo > 12) {
+                final double pivot = distances[(lo + hi) >>> 1];
+                int          i     = lo;
+                int          j     = hi;
+                while (i <= j) {
+                    while (distances[i] < pivot) i++;
+                    while (distances[j] > pivot) j--;
+                    if (i <= j) swap(i++, j--);
+                }
+                // Recurse into the smaller half to bound the stack depth
+                if (j - lo < hi - i) {
+                    sort(lo, j);
+                    lo = i;
+                } else {
+                    sort(i, hi);
+                    hi = j;
+                }
+            }
+            for (int i = lo + 1; i <= hi; i++) {
+                for (int j = i; j > lo && distances[j - 1] > distances[j]; j--) {
+                    swap(j, j - 1);
+                }
+            }
+        }
+
+        private void swap(int a, int b) {
+            final double d = distances[a];
+            distances[a] = distances[b];
+            distances[b] = d;
+            final int f = found[a];
+            found[a] = found[b];
+            found[b] = f;
+        }
+    }
+
+    private static class InvalidateListener implements Listener {
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onSpawn(EntitySpawnEvent event) {
+            // Items, orbs and projectiles are never in the index
+            if (event.getEntity() instanceof LivingEntity) spawned((LivingEntity) event.getEntity());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onTeleport(EntityTeleportEvent event) {
+            invalidate(event.getFrom().getWorld());
+            if (event.getTo() != null) invalidate(event.getTo().getWorld());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onTeleport(PlayerTeleportEvent event) {
+            invalidate(event.getFrom().getWorld());
+            if (event.getTo() != null) invalidate(event.getTo().getWorld());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onJoin(PlayerJoinEvent event) {
+            invalidate(event.getPlayer().getWorld());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onRespawn(PlayerRespawnEvent event) {
+            invalidate(event.getRespawnLocation().getWorld());
+        }
+    }
+}
@@ -400,6 +400,7 @@ public class PlayerCastBars implements InventoryHolder {
      * @param slot  slot to set to
      */
     private void add(HashMap<Integer, String> bar, String skill, int slot) {
+        player.markDirty();
         bar.put(slot, skill);
     }
 
@@ -408,6 +409,7 @@ public class PlayerCastBars implements InventoryHolder {
      * with all available skills
      */
     public void reset() {
+        player.markDirty();
         instantBar.clear();
         hoverBar.clear();
     }
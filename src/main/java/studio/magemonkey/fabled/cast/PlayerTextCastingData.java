@@ -84,6 +84,7 @@ public class PlayerTextCastingData {
         if (slot == Fabled.getSettings().getCastSlot()) return;
         remove(skillName);
         skills[slot] = skillName;
+        player.markDirty();
     }
 
     private boolean isValid(@Nullable String skillName) {
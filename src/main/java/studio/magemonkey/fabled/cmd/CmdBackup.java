@@ -29,7 +29,6 @@ package studio.magemonkey.fabled.cmd;
 import studio.magemonkey.codex.mccore.commands.ConfigurableCommand;
 import studio.magemonkey.codex.mccore.commands.IFunction;
 import studio.magemonkey.codex.mccore.config.Filter;
-import studio.magemonkey.codex.mccore.config.parse.YAMLParser;
 import studio.magemonkey.codex.mccore.sql.direct.SQLDatabase;
 import studio.magemonkey.codex.mccore.sql.direct.SQLTable;
 import studio.magemonkey.fabled.Fabled;
@@ -105,7 +104,7 @@ public class CmdBackup implements IFunction {
                 // Go through every entry, saving it to disk
                 while (query.next()) {
                     String sqlYaml = query.getString(SQLIO.DATA);
-                    String yaml    = new YAMLParser().parseText(sqlYaml).toString();
+                    String yaml    = SQLIO.parseStored(sqlYaml).toString();
                     String name    = query.getString("Name");
 
                     FileOutputStream out   = new FileOutputStream(new File(file, name + ".yml"));
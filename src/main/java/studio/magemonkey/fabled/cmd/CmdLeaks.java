@@ -0,0 +1,79 @@
+/**
+ * Fabled
+ * studio.magemonkey.fabled.cmd.CmdLeaks
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 MageMonkeyStudio
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package studio.magemonkey.fabled.cmd;
+
+import studio.magemonkey.codex.mccore.commands.ConfigurableCommand;
+import studio.magemonkey.codex.mccore.commands.IFunction;
+import studio.magemonkey.fabled.api.util.EntityState;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Map;
+
+/**
+ * Reports per-entity state that outlived its entity
+ */
+public class CmdLeaks implements IFunction {
+    private static final String TITLE     = "title";
+    private static final String TRACKED   = "tracked";
+    private static final String COMPONENT = "component";
+    private static final String RESET     = "reset";
+    private static final String END       = "end";
+
+    /**
+     * Executes the command
+     *
+     * @param command owning command
+     * @param plugin  plugin reference
+     * @param sender  sender of the command
+     * @param args    arguments
+     */
+    @Override
+    public void execute(ConfigurableCommand command, Plugin plugin, CommandSender sender, String[] args) {
+        if (args.length > 0 && args[0].equalsIgnoreCase("reset")) {
+            EntityState.resetSwept();
+            command.sendMessage(sender, RESET, "&2Leak counters have been reset");
+            return;
+        }
+
+        command.sendMessage(sender, TITLE, "&8-- &2Entity State &8-----------");
+        sender.sendMessage(command.getMessage(TRACKED, "&6Tracked entities&7: {count}")
+                .replace("{count}", EntityState.size() + ""));
+
+        Map<EntityState.Component, Integer> orphans = EntityState.countOrphans();
+        Map<EntityState.Component, Long>    swept   = EntityState.getSwept();
+
+        String componentLine = command.getMessage(COMPONENT, "&6{component}&7: {orphans} orphaned, {swept} swept");
+        for (EntityState.Component component : EntityState.Component.values()) {
+            sender.sendMessage(componentLine
+                    .replace("{component}", component.name().toLowerCase().replace('_', ' '))
+                    .replace("{orphans}", orphans.get(component) + "")
+                    .replace("{swept}", swept.get(component) + ""));
+        }
+        command.sendMessage(sender, END, "&8----------------------------");
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Fabled
+ * studio.magemonkey.fabled.cmd.CmdMigrate
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 MageMonkeyStudio
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package studio.magemonkey.fabled.cmd;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.Plugin;
+import studio.magemonkey.codex.mccore.commands.ConfigurableCommand;
+import studio.magemonkey.codex.mccore.commands.IFunction;
+import studio.magemonkey.codex.mccore.config.Filter;
+import studio.magemonkey.codex.mccore.util.VersionManager;
+import studio.magemonkey.fabled.Fabled;
+
+import java.io.IOException;
+
+/**
+ * Converts all stored player data to the format selected in the config
+ */
+public class CmdMigrate implements IFunction {
+    private static final String ONLINE  = "online";
+    private static final String STARTED = "started";
+    private static final String FAILED  = "failed";
+    private static final String DONE    = "done";
+
+    /**
+     * Executes the command
+     *
+     * @param command owning command
+     * @param plugin  plugin reference
+     * @param sender  sender of the command
+     * @param args    arguments
+     */
+    @Override
+    public void execute(ConfigurableCommand command, Plugin plugin, CommandSender sender, String[] args) {
+        // Online players keep saving, which would hold up the autosave until the conversion is done
+        if (!VersionManager.getOnlinePlayers().isEmpty()) {
+            command.sendMessage(sender, ONLINE, "&4Player data can only be converted while no players are online");
+            return;
+        }
+
+        final boolean binary = Fabled.getSettings().isBinarySave();
+        command.sendMessage(sender, STARTED, "&2Converting player data asynchronously...");
+
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                int count = Fabled.getIOManager().migrate(binary);
+                command.sendMessage(sender, DONE, "&2Converted {amount} player data entries",
+                        Filter.AMOUNT.setReplacement(count + ""));
+            } catch (IOException ex) {
+                command.sendMessage(sender, FAILED, "&4Player data conversion failed - see console for details");
+                ex.printStackTrace();
+            }
+        });
+    }
+}
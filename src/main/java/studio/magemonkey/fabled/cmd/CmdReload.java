@@ -29,17 +29,23 @@ package studio.magemonkey.fabled.cmd;
 import studio.magemonkey.codex.mccore.commands.ConfigurableCommand;
 import studio.magemonkey.codex.mccore.commands.IFunction;
 import studio.magemonkey.fabled.Fabled;
+import studio.magemonkey.fabled.language.RPGFilter;
 import org.bukkit.command.CommandSender;
 import org.bukkit.plugin.Plugin;
 
+import java.util.concurrent.CompletionException;
+
 /**
  * A command that allows a player to profess through classes
  */
 public class CmdReload implements IFunction {
-    private static final String DONE = "done";
+    private static final String DONE    = "done";
+    private static final String CHANGED = "changed";
+    private static final String FAILED  = "failed";
 
     /**
-     * Runs the command
+     * Runs the command. "changed" only reloads the dynamic skill and class files
+     * that were edited instead of the whole plugin.
      *
      * @param cmd    command that was executed
      * @param plugin plugin reference
@@ -48,6 +54,20 @@ public class CmdReload implements IFunction {
      */
     @Override
     public void execute(ConfigurableCommand cmd, Plugin plugin, CommandSender sender, String[] args) {
+        if (args.length > 0 && args[0].equalsIgnoreCase(CHANGED)) {
+            Fabled.getRegistrationManager().reloadChanged().whenComplete((reloaded, error) -> {
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    cmd.sendMessage(sender, FAILED, "&4Failed to reload the changed files: &c{list}",
+                            RPGFilter.LIST.setReplacement(String.valueOf(cause.getMessage())));
+                } else {
+                    cmd.sendMessage(sender, CHANGED, "&2Reloaded the changed skills and classes: &6{list}",
+                            RPGFilter.LIST.setReplacement(String.join(", ", reloaded)));
+                }
+            });
+            return;
+        }
+
         Fabled.reload();
         cmd.sendMessage(sender, DONE, "&2Fabled has been reloaded");
     }
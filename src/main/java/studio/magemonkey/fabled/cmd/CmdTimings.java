@@ -0,0 +1,141 @@
+/**
+ * Fabled
+ * studio.magemonkey.fabled.cmd.CmdTimings
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 MageMonkeyStudio
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package studio.magemonkey.fabled.cmd;
+
+import studio.magemonkey.codex.mccore.commands.ConfigurableCommand;
+import studio.magemonkey.codex.mccore.commands.IFunction;
+import studio.magemonkey.fabled.api.particle.FrameCache;
+import studio.magemonkey.fabled.api.particle.ParticleSink;
+import studio.magemonkey.fabled.thread.TickExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Displays how long Fabled's repeating tasks take each tick, along with
+ * how many particles were sent and how well effect frames are cached
+ */
+public class CmdTimings implements IFunction {
+    private static final String TITLE     = "title";
+    private static final String PHASE     = "phase";
+    private static final String TASK      = "task";
+    private static final String NONE      = "none";
+    private static final String PARTICLES = "particles";
+    private static final String VIEWER    = "viewer";
+    private static final String CACHE     = "cache";
+    private static final String EFFECT    = "effect";
+    private static final String RESET     = "reset";
+    private static final String END       = "end";
+
+    /**
+     * Executes the command
+     *
+     * @param command owning command
+     * @param plugin  plugin reference
+     * @param sender  sender of the command
+     * @param args    arguments
+     */
+    @Override
+    public void execute(ConfigurableCommand command, Plugin plugin, CommandSender sender, String[] args) {
+        if (args.length > 0 && args[0].equalsIgnoreCase("reset")) {
+            TickExecutor.resetTimings();
+            command.sendMessage(sender, RESET, "&2Task timings have been reset");
+            return;
+        }
+
+        command.sendMessage(sender, TITLE, "&8-- &2Task Timings &8-----------");
+
+        String phaseLine = command.getMessage(PHASE,
+                "&6{phase}&7: {avg}ms avg, {max}ms max, {jitter}ms late, {overruns} overruns, {skipped} skipped");
+        for (TickExecutor.PhaseTiming phase : new TickExecutor.PhaseTiming[]{
+                TickExecutor.getAsyncPhase(), TickExecutor.getMainPhase()}) {
+            sender.sendMessage(phaseLine
+                    .replace("{phase}", phase.getName())
+                    .replace("{avg}", format(phase.getAverageMillis()))
+                    .replace("{max}", format(phase.getMaxNanos() / 1e6))
+                    .replace("{jitter}", format(phase.getAverageJitterMillis()))
+                    .replace("{overruns}", phase.getOverruns() + "")
+                    .replace("{skipped}", phase.getSkipped() + ""));
+        }
+
+        List<TickExecutor.TaskTiming> timings = TickExecutor.getTimings();
+        if (timings.isEmpty()) {
+            command.sendMessage(sender, NONE, "&7No tasks have run yet");
+        }
+
+        String taskLine = command.getMessage(TASK,
+                "&6{task} &7({thread}, every {period}t): {avg}ms avg, {max}ms max, {jitter}ms late, "
+                        + "{overruns} overruns");
+        for (TickExecutor.TaskTiming timing : timings) {
+            sender.sendMessage(taskLine
+                    .replace("{task}", timing.getName())
+                    .replace("{thread}", timing.isMainThread() ? "main" : "async")
+                    .replace("{period}", timing.getPeriod() + "")
+                    .replace("{avg}", format(timing.getAverageMillis()))
+                    .replace("{max}", format(timing.getMaxNanos() / 1e6))
+                    .replace("{jitter}", format(timing.getAverageJitterMillis()))
+                    .replace("{overruns}", timing.getOverruns() + ""));
+        }
+
+        sender.sendMessage(command.getMessage(PARTICLES,
+                        "&6Particles&7: {sent} sent, {culled} culled, {merged} merged, {dropped} over budget")
+                .replace("{sent}", ParticleSink.getTotalSent() + "")
+                .replace("{culled}", ParticleSink.getTotalCulled() + "")
+                .replace("{merged}", ParticleSink.getTotalMerged() + "")
+                .replace("{dropped}", ParticleSink.getTotalDropped() + ""));
+        ParticleSink.ViewerStats viewer = sender instanceof Player ? ParticleSink.getStats((Player) sender) : null;
+        if (viewer != null) {
+            sender.sendMessage(command.getMessage(VIEWER,
+                            "&6Sent to you&7: {sent} sent, {culled} culled, {merged} merged, {dropped} over budget, "
+                                    + "{last} last tick")
+                    .replace("{sent}", viewer.getSent() + "")
+                    .replace("{culled}", viewer.getCulled() + "")
+                    .replace("{merged}", viewer.getMerged() + "")
+                    .replace("{dropped}", viewer.getDropped() + "")
+                    .replace("{last}", viewer.getLastSent() + ""));
+        }
+
+        sender.sendMessage(command.getMessage(CACHE, "&6Frame cache&7: {frames} frames, {size} of {capacity} KB")
+                .replace("{frames}", FrameCache.size() + "")
+                .replace("{size}", format(FrameCache.getBytes() / 1024.0))
+                .replace("{capacity}", format(FrameCache.getCapacity() / 1024.0)));
+        String effectLine = command.getMessage(EFFECT, "&6{effect}&7: {stats}");
+        for (Map.Entry<String, FrameCache.EffectStats> entry : FrameCache.getStats().entrySet()) {
+            sender.sendMessage(effectLine
+                    .replace("{effect}", entry.getKey())
+                    .replace("{stats}", entry.getValue().toString()));
+        }
+        command.sendMessage(sender, END, "&8----------------------------");
+    }
+
+    private static String format(double millis) {
+        return String.format("%.2f", millis);
+    }
+}
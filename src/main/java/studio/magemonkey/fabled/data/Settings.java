@@ -99,6 +99,10 @@ public class Settings {
             SAVE_BASE              = "Saving.",
             SAVE_AUTO              = SAVE_BASE + "auto-save",
             SAVE_MINS              = SAVE_BASE + "minutes",
+            SAVE_BUDGET            = SAVE_BASE + "accounts-per-tick",
+            SAVE_BINARY            = SAVE_BASE + "binary-format",
+            SAVE_CACHE_SIZE        = SAVE_BASE + "cache-size",
+            SAVE_CACHE_SECONDS     = SAVE_BASE + "cache-seconds",
             SAVE_SQL               = SAVE_BASE + "sql-database",
             SAVE_SQLD              = SAVE_BASE + "sql-details",
             CLASS_BASE             = "Classes.",
@@ -119,6 +123,11 @@ public class Settings {
             SKILL_BLOCKS           = SKILL_BASE + "block-filter",
             SKILL_KNOCKBACK        = SKILL_BASE + "knockback-no-damage",
             SKILL_REFUND_ON_CHANGE = SKILL_BASE + "refund-on-change",
+            SKILL_PROJ_BUDGET      = SKILL_BASE + "projectile-tick-budget",
+            SKILL_PARTICLE_BUDGET  = SKILL_BASE + "particle-budget",
+            SKILL_PARTICLE_CULL    = SKILL_BASE + "particle-cull-behind",
+            SKILL_PARTICLE_DEDUPE  = SKILL_BASE + "particle-merge-distance",
+            SKILL_PARTICLE_FRAMES  = SKILL_BASE + "particle-frame-cache",
             ITEM_BASE              = "Items.",
             ITEM_LORE              = ITEM_BASE + "lore-requirements",
             ITEM_DROP              = ITEM_BASE + "drop-weapon",
@@ -227,6 +236,34 @@ public class Settings {
     private boolean             auto;
     private boolean             useSql;
     private int                 minutes;
+    /**
+     * Retrieves how many changed accounts an auto-save writes per tick
+     *
+     * @return accounts written per tick, or 0 or less to write all at once
+     */
+    @Getter
+    private int                 saveBudget;
+    /**
+     * Checks whether player data is saved in the compact binary format instead of YAML
+     *
+     * @return true if saving as binary
+     */
+    @Getter
+    private boolean             binarySave;
+    /**
+     * Retrieves how many players who left are kept in memory to speed up their next login
+     *
+     * @return max number of cached players, 0 to disable the cache
+     */
+    @Getter
+    private int                 cacheSize;
+    /**
+     * Retrieves how long players who left are kept in memory to speed up their next login
+     *
+     * @return time to keep cached players in seconds
+     */
+    @Getter
+    private int                 cacheSeconds;
     private int                 sqlDelay;
     /**
      * Retrieves the host IP for the database
@@ -251,6 +288,13 @@ public class Settings {
     private String              sqlDatabase;
     private String              sqlUser;
     private String              sqlPass;
+    /**
+     * Retrieves the maximum number of open connections to the SQL database
+     *
+     * @return SQL connection pool size
+     */
+    @Getter
+    private int                 sqlPoolSize;
     private boolean             modifyHealth;
     private int                 defaultHealth;
     private boolean             showAutoSkills;
@@ -312,6 +356,43 @@ public class Settings {
      */
     @Getter
     private int                 messageRadius;
+    /**
+     * Gets the time in milliseconds projectiles may take each tick before
+     * the rest are deferred to the next tick, 0 if unlimited
+     *
+     * @return projectile tick budget in milliseconds
+     */
+    @Getter
+    private double              projectileTickBudget;
+    /**
+     * Gets the most particles sent to a single player each tick, 0 if unlimited
+     *
+     * @return particle budget per player per tick
+     */
+    @Getter
+    private int                 particleBudget;
+    /**
+     * Checks whether particles far behind a player are skipped
+     *
+     * @return true if culling is enabled
+     */
+    @Getter
+    private boolean             particleCullBehind;
+    /**
+     * Gets the distance within which identical particles sent to the same
+     * player in a tick are merged, 0 if disabled
+     *
+     * @return merge distance in blocks
+     */
+    @Getter
+    private double              particleDedupe;
+    /**
+     * Gets the memory in kilobytes precomputed effect frames may use, 0 if disabled
+     *
+     * @return frame cache size in kilobytes
+     */
+    @Getter
+    private int                 particleFrameCache;
     private boolean             skillModelData;
     /**
      * Checks whether lore requirements are enabled
@@ -993,6 +1074,10 @@ public class Settings {
     private void loadSaveSettings() {
         auto = config.getBoolean(SAVE_AUTO);
         minutes = config.getInt(SAVE_MINS);
+        saveBudget = config.getInt(SAVE_BUDGET, 0);
+        binarySave = config.getBoolean(SAVE_BINARY, false);
+        cacheSize = config.getInt(SAVE_CACHE_SIZE, 100);
+        cacheSeconds = config.getInt(SAVE_CACHE_SECONDS, 300);
         useSql = config.getBoolean(SAVE_SQL);
 
         DataSection details = config.getSection(SAVE_SQLD);
@@ -1004,6 +1089,7 @@ public class Settings {
             sqlDatabase = details.getString("database");
             sqlUser = details.getString("username");
             sqlPass = details.getString("password");
+            sqlPoolSize = details.getInt("pool-size", 4);
         }
     }
 
@@ -1084,6 +1170,11 @@ public class Settings {
         messageRadius = config.getInt(SKILL_RADIUS);
         knockback = config.getBoolean(SKILL_KNOCKBACK);
         refundOnClassChange = config.getBoolean(SKILL_REFUND_ON_CHANGE);
+        projectileTickBudget = config.getDouble(SKILL_PROJ_BUDGET, 0);
+        particleBudget = config.getInt(SKILL_PARTICLE_BUDGET, 0);
+        particleCullBehind = config.getBoolean(SKILL_PARTICLE_CULL, false);
+        particleDedupe = config.getDouble(SKILL_PARTICLE_DEDUPE, 0.05);
+        particleFrameCache = config.getInt(SKILL_PARTICLE_FRAMES, 4096);
 
         filteredBlocks = new ArrayList<>();
         List<String> list = config.getList(SKILL_BLOCKS);
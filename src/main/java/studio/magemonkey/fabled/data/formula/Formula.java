@@ -32,17 +32,20 @@ import studio.magemonkey.fabled.data.formula.value.CustomValue;
 import studio.magemonkey.fabled.data.formula.value.ValueNum;
 import studio.magemonkey.fabled.log.Logger;
 import lombok.Getter;
-import studio.magemonkey.fabled.data.formula.func.*;
-import studio.magemonkey.fabled.data.formula.operator.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Represents a basic math equation read from left to right, ignoring
  * order of operations. Currently this only supports addition, subtraction,
  * multiplication, and division.
+ * <p>
+ * Formulas are compiled on first use. The fixed-arity {@code compute}
+ * overloads evaluate the compiled form without allocating an input array.
  */
 public class Formula implements IValue {
     public static final double DEG_TO_RAD = Math.PI / 180;
@@ -87,6 +90,18 @@ public class Formula implements IValue {
     private boolean     valid;
     private boolean     negative;
     private String      equation;
+    private String      inputs;
+
+    private FormulaCompiler.Node compiled;
+    private boolean              uncompilable;
+
+    /**
+     * Drops the compiled trees shared between formulas, used when skills and
+     * classes are reloaded or the plugin is disabled
+     */
+    public static void cleanUp() {
+        FormulaCompiler.cleanUp();
+    }
 
     /**
      * Creates a new formula from a config string
@@ -99,6 +114,7 @@ public class Formula implements IValue {
             value.setIndex(i++);
 
         negative = false;
+        inputs = Arrays.stream(defined).map(CustomValue::getToken).collect(Collectors.joining(","));
 
         // Empty formulas
         if (equation == null || equation.isEmpty()) {
@@ -239,6 +255,8 @@ public class Formula implements IValue {
      */
     public Formula negate() {
         negative = !negative;
+        compiled = null;
+        uncompilable = false;
         return this;
     }
 
@@ -271,6 +289,92 @@ public class Formula implements IValue {
      * @return computed value
      */
     public double compute(double... input) {
+        FormulaCompiler.Node node = compiled();
+        if (node == null || input.length > FormulaCompiler.MAX_INPUTS) {
+            return interpret(input);
+        }
+
+        double[] in = input.length == FormulaCompiler.MAX_INPUTS
+                ? input
+                : Arrays.copyOf(input, FormulaCompiler.MAX_INPUTS);
+        return node.eval(in[0], in[1], in[2], in[3], in[4], in[5], in[6], in[7]);
+    }
+
+    /**
+     * Calculates the formula with a single input
+     *
+     * @param a first input
+     * @return computed value
+     */
+    public double compute(double a) {
+        FormulaCompiler.Node node = compiled();
+        return node != null ? node.eval(a, 0, 0, 0, 0, 0, 0, 0) : interpret(a);
+    }
+
+    /**
+     * Calculates the formula with two inputs
+     *
+     * @param a first input
+     * @param b second input
+     * @return computed value
+     */
+    public double compute(double a, double b) {
+        FormulaCompiler.Node node = compiled();
+        return node != null ? node.eval(a, b, 0, 0, 0, 0, 0, 0) : interpret(a, b);
+    }
+
+    /**
+     * Calculates the formula with three inputs
+     *
+     * @param a first input
+     * @param b second input
+     * @param c third input
+     * @return computed value
+     */
+    public double compute(double a, double b, double c) {
+        FormulaCompiler.Node node = compiled();
+        return node != null ? node.eval(a, b, c, 0, 0, 0, 0, 0) : interpret(a, b, c);
+    }
+
+    /**
+     * Calculates the formula with four inputs
+     *
+     * @param a first input
+     * @param b second input
+     * @param c third input
+     * @param d fourth input
+     * @return computed value
+     */
+    public double compute(double a, double b, double c, double d) {
+        FormulaCompiler.Node node = compiled();
+        return node != null ? node.eval(a, b, c, d, 0, 0, 0, 0) : interpret(a, b, c, d);
+    }
+
+    /**
+     * Calculates the formula with eight inputs, as used by particle effects
+     *
+     * @param a first input
+     * @param b second input
+     * @param c third input
+     * @param d fourth input
+     * @param e fifth input
+     * @param f sixth input
+     * @param g seventh input
+     * @param h eighth input
+     * @return computed value
+     */
+    public double compute(double a, double b, double c, double d, double e, double f, double g, double h) {
+        FormulaCompiler.Node node = compiled();
+        return node != null ? node.eval(a, b, c, d, e, f, g, h) : interpret(a, b, c, d, e, f, g, h);
+    }
+
+    /**
+     * Calculates the formula by walking the parsed values without compiling them
+     *
+     * @param input the input data
+     * @return computed value
+     */
+    double interpret(double... input) {
         double result = values[0].compute(input);
         int    i;
         for (i = 1; i < values.length; i++) {
@@ -282,6 +386,29 @@ public class Formula implements IValue {
         return result;
     }
 
+    /**
+     * @return compiled form of this formula, or null if it cannot be compiled
+     */
+    private FormulaCompiler.Node compiled() {
+        FormulaCompiler.Node node = compiled;
+        if (node == null && !uncompilable) {
+            String key = valid ? equation + '|' + inputs + '|' + negative : null;
+            node = FormulaCompiler.compile(key, values, operations, negative);
+            compiled = node;
+            uncompilable = node == null;
+        }
+        return node;
+    }
+
+    /**
+     * Compiles this formula as part of an enclosing one
+     *
+     * @return compiled node or null if it cannot be compiled
+     */
+    FormulaCompiler.Node toNode() {
+        return FormulaCompiler.compile(null, values, operations, negative);
+    }
+
     /**
      * Returns the equation string for toString
      *
@@ -0,0 +1,331 @@
+/**
+ * Fabled
+ * studio.magemonkey.fabled.data.formula.FormulaCompiler
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 MageMonkeyStudio
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package studio.magemonkey.fabled.data.formula;
+
+import studio.magemonkey.fabled.data.formula.operator.Addition;
+import studio.magemonkey.fabled.data.formula.operator.Division;
+import studio.magemonkey.fabled.data.formula.operator.Multiplication;
+import studio.magemonkey.fabled.data.formula.operator.Subtraction;
+import studio.magemonkey.fabled.data.formula.value.CustomValue;
+import studio.magemonkey.fabled.data.formula.value.ValueNum;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Compiles parsed formulas into trees of specialized nodes that take their
+ * inputs as fixed primitive arguments instead of a varargs array.</p>
+ * <p>Evaluation order is unchanged: values are still combined strictly left to
+ * right with the same operator implementations, so compiled results match the
+ * interpreter bit for bit. Only a leading run of constants is folded, since
+ * folding anywhere else would reorder floating point operations.</p>
+ * <p>Compiled trees are immutable and interned by equation and input tokens so
+ * formulas that appear in many skills or effects share one tree.</p>
+ */
+final class FormulaCompiler {
+    /**
+     * Highest number of inputs a compiled formula can read
+     */
+    static final int MAX_INPUTS = 8;
+
+    private static final Map<String, Node> interned = new ConcurrentHashMap<>();
+
+    private FormulaCompiler() {}
+
+    /**
+     * Compiles a formula, reusing a previous tree for the same equation
+     *
+     * @param key      intern key identifying the equation and inputs, or null to skip interning
+     * @param values   values of the formula
+     * @param ops      operators between the values
+     * @param negative whether the result is negated
+     * @return compiled tree or null if the formula reads more than {@link #MAX_INPUTS} inputs
+     */
+    static Node compile(String key, IValue[] values, IOperator[] ops, boolean negative) {
+        if (key == null) {
+            return chain(values, ops, negative);
+        }
+
+        Node node = interned.get(key);
+        if (node == null) {
+            node = chain(values, ops, negative);
+            if (node != null) {
+                Node existing = interned.putIfAbsent(key, node);
+                if (existing != null) node = existing;
+            }
+        }
+        return node;
+    }
+
+    /**
+     * @return number of distinct compiled formulas
+     */
+    static int getInternedCount() {
+        return interned.size();
+    }
+
+    /**
+     * Drops the interned trees. Formulas keep the trees they already
+     * compiled, new formulas just stop sharing them.
+     */
+    static void cleanUp() {
+        interned.clear();
+    }
+
+    private static Node chain(IValue[] values, IOperator[] ops, boolean negative) {
+        Node result = node(values[0]);
+        if (result == null) return null;
+
+        int i = 1;
+        // Fold the leading constants, keeping the interpreter's evaluation order
+        while (result instanceof Const && i < values.length) {
+            Node next = node(values[i]);
+            if (!(next instanceof Const)) break;
+            result = new Const(ops[i - 1].compute(((Const) result).value, ((Const) next).value));
+            i++;
+        }
+
+        for (; i < values.length; i++) {
+            Node next = node(values[i]);
+            if (next == null) return null;
+            result = op(result, ops[i - 1], next);
+        }
+
+        if (!negative) {
+            return result;
+        }
+        return result instanceof Const ? new Const(-((Const) result).value) : new Negate(result);
+    }
+
+    private static Node node(IValue value) {
+        if (value instanceof Formula) {
+            return ((Formula) value).toNode();
+        } else if (value instanceof ValueNum) {
+            return new Const(value.compute());
+        } else if (value instanceof CustomValue) {
+            int index = ((CustomValue) value).getIndex();
+            return index < MAX_INPUTS ? new Input(index) : null;
+        } else if (value instanceof IFunction) {
+            IFunction function = (IFunction) value;
+            Node      argument = node(function.getArgument());
+            if (argument == null) return null;
+            if (argument instanceof Const) {
+                return new Const(function.apply(((Const) argument).value));
+            }
+            return new Function(function, argument);
+        } else {
+            return new Interpreted(value);
+        }
+    }
+
+    private static Node op(Node left, IOperator op, Node right) {
+        if (op instanceof Addition) {
+            return new Add(left, right);
+        } else if (op instanceof Subtraction) {
+            return new Subtract(left, right);
+        } else if (op instanceof Multiplication) {
+            return new Multiply(left, right);
+        } else if (op instanceof Division) {
+            return new Divide(left, right);
+        } else {
+            return new Operation(left, op, right);
+        }
+    }
+
+    /**
+     * A compiled piece of a formula
+     */
+    abstract static class Node {
+        abstract double eval(double a, double b, double c, double d, double e, double f, double g, double h);
+    }
+
+    private static final class Const extends Node {
+        private final double value;
+
+        private Const(double value) {
+            this.value = value;
+        }
+
+        @Override
+        double eval(double a, double b, double c, double d, double e, double f, double g, double h) {
+            return value;
+        }
+    }
+
+    private static final class Input extends Node {
+        private final int index;
+
+        private Input(int index) {
+            this.index = index;
+        }
+
+        @Override
+        double eval(double a, double b, double c, double d, double e, double f, double g, double h) {
+            switch (index) {
+                case 0:
+                    return a;
+                case 1:
+                    return b;
+                case 2:
+                    return c;
+                case 3:
+                    return d;
+                case 4:
+                    return e;
+                case 5:
+                    return f;
+                case 6:
+                    return g;
+                default:
+                    return h;
+            }
+        }
+    }
+
+    private static final class Negate extends Node {
+        private final Node value;
+
+        private Negate(Node value) {
+            this.value = value;
+        }
+
+        @Override
+        double eval(double a, double b, double c, double d, double e, double f, double g, double h) {
+            return -value.eval(a, b, c, d, e, f, g, h);
+        }
+    }
+
+    private static final class Function extends Node {
+        private final IFunction function;
+        private final Node      argument;
+
+        private Function(IFunction function, Node argument) {
+            this.function = function;
+            this.argument = argument;
+        }
+
+        @Override
+        double eval(double a, double b, double c, double d, double e, double f, double g, double h) {
+            return function.apply(argument.eval(a, b, c, d, e, f, g, h));
+        }
+    }
+
+    private static final class Add extends Node {
+        private final Node left;
+        private final Node right;
+
+        private Add(Node left, Node right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        double eval(double a, double b, double c, double d, double e, double f, double g, double h) {
+            return left.eval(a, b, c, d, e, f, g, h) + right.eval(a, b, c, d, e, f, g, h);
+        }
+    }
+
+    private static final class Subtract extends Node {
+        private final Node left;
+        private final Node right;
+
+        private Subtract(Node left, Node right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        double eval(double a, double b, double c, double d, double e, double f, double g, double h) {
+            return left.eval(a, b, c, d, e, f, g, h) - right.eval(a, b, c, d, e, f, g, h);
+        }
+    }
+
+    private static final class Multiply extends Node {
+        private final Node left;
+        private final Node right;
+
+        private Multiply(Node left, Node right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        double eval(double a, double b, double c, double d, double e, double f, double g, double h) {
+            return left.eval(a, b, c, d, e, f, g, h) * right.eval(a, b, c, d, e, f, g, h);
+        }
+    }
+
+    private static final class Divide extends Node {
+        private final Node left;
+        private final Node right;
+
+        private Divide(Node left, Node right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        double eval(double a, double b, double c, double d, double e, double f, double g, double h) {
+            double numerator   = left.eval(a, b, c, d, e, f, g, h);
+            double denominator = right.eval(a, b, c, d, e, f, g, h);
+            return denominator == 0 ? 0 : numerator / denominator;
+        }
+    }
+
+    private static final class Operation extends Node {
+        private final Node      left;
+        private final IOperator op;
+        private final Node      right;
+
+        private Operation(Node left, IOperator op, Node right) {
+            this.left = left;
+            this.op = op;
+            this.right = right;
+        }
+
+        @Override
+        double eval(double a, double b, double c, double d, double e, double f, double g, double h) {
+            return op.compute(left.eval(a, b, c, d, e, f, g, h), right.eval(a, b, c, d, e, f, g, h));
+        }
+    }
+
+    /**
+     * Falls back to the interpreter for values the compiler does not know about
+     */
+    private static final class Interpreted extends Node {
+        private final IValue value;
+
+        private Interpreted(IValue value) {
+            this.value = value;
+        }
+
+        @Override
+        double eval(double a, double b, double c, double d, double e, double f, double g, double h) {
+            return value.compute(a, b, c, d, e, f, g, h);
+        }
+    }
+}
@@ -26,9 +26,10 @@
  */
 package studio.magemonkey.fabled.data.formula.func;
 
+import studio.magemonkey.fabled.data.formula.IFunction;
 import studio.magemonkey.fabled.data.formula.IValue;
 
-public class Abs implements IValue {
+public class Abs implements IFunction {
     private IValue formula;
 
     /**
@@ -46,6 +47,22 @@ public class Abs implements IValue {
      */
     @Override
     public double compute(double... input) {
-        return Math.abs(formula.compute(input));
+        return apply(formula.compute(input));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IValue getArgument() {
+        return formula;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double apply(double val) {
+        return Math.abs(val);
     }
 }
@@ -27,12 +27,13 @@
 package studio.magemonkey.fabled.data.formula.func;
 
 import studio.magemonkey.fabled.data.formula.Formula;
+import studio.magemonkey.fabled.data.formula.IFunction;
 import studio.magemonkey.fabled.data.formula.IValue;
 
 /**
  * Cosine function
  */
-public class Cos implements IValue {
+public class Cos implements IFunction {
     private IValue value;
 
     /**
@@ -50,6 +51,22 @@ public class Cos implements IValue {
      */
     @Override
     public double compute(double... input) {
-        return Math.cos(value.compute(input) * Formula.DEG_TO_RAD);
+        return apply(value.compute(input));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IValue getArgument() {
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double apply(double val) {
+        return Math.cos(val * Formula.DEG_TO_RAD);
     }
 }
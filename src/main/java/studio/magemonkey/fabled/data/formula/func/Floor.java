@@ -26,12 +26,13 @@
  */
 package studio.magemonkey.fabled.data.formula.func;
 
+import studio.magemonkey.fabled.data.formula.IFunction;
 import studio.magemonkey.fabled.data.formula.IValue;
 
 /**
  * Floors a number
  */
-public class Floor implements IValue {
+public class Floor implements IFunction {
     private IValue formula;
 
     /**
@@ -49,6 +50,22 @@ public class Floor implements IValue {
      */
     @Override
     public double compute(double... input) {
-        return Math.floor(formula.compute(input));
+        return apply(formula.compute(input));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IValue getArgument() {
+        return formula;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double apply(double val) {
+        return Math.floor(val);
     }
 }
@@ -26,12 +26,13 @@
  */
 package studio.magemonkey.fabled.data.formula.func;
 
+import studio.magemonkey.fabled.data.formula.IFunction;
 import studio.magemonkey.fabled.data.formula.IValue;
 
 /**
  * Square root of a number
  */
-public class Root implements IValue {
+public class Root implements IFunction {
     private IValue formula;
 
     /**
@@ -49,6 +50,22 @@ public class Root implements IValue {
      */
     @Override
     public double compute(double... input) {
-        return Math.sqrt(formula.compute(input));
+        return apply(formula.compute(input));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IValue getArgument() {
+        return formula;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double apply(double val) {
+        return Math.sqrt(val);
     }
 }
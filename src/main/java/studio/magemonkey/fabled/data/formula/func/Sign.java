@@ -26,12 +26,13 @@
  */
 package studio.magemonkey.fabled.data.formula.func;
 
+import studio.magemonkey.fabled.data.formula.IFunction;
 import studio.magemonkey.fabled.data.formula.IValue;
 
 /**
  * Sign function
  */
-public class Sign implements IValue {
+public class Sign implements IFunction {
     private IValue formula;
 
     /**
@@ -49,7 +50,22 @@ public class Sign implements IValue {
      */
     @Override
     public double compute(double... input) {
-        double val = formula.compute(input);
+        return apply(formula.compute(input));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IValue getArgument() {
+        return formula;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double apply(double val) {
         if (val == 0)
             return 0.0;
         else if (val < 0)
@@ -27,12 +27,13 @@
 package studio.magemonkey.fabled.data.formula.func;
 
 import studio.magemonkey.fabled.data.formula.Formula;
+import studio.magemonkey.fabled.data.formula.IFunction;
 import studio.magemonkey.fabled.data.formula.IValue;
 
 /**
  * Sine function
  */
-public class Sin implements IValue {
+public class Sin implements IFunction {
     private IValue formula;
 
     /**
@@ -50,6 +51,22 @@ public class Sin implements IValue {
      */
     @Override
     public double compute(double... input) {
-        return Math.sin(formula.compute(input) * Formula.DEG_TO_RAD);
+        return apply(formula.compute(input));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IValue getArgument() {
+        return formula;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double apply(double val) {
+        return Math.sin(val * Formula.DEG_TO_RAD);
     }
 }
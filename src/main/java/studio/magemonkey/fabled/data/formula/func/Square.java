@@ -26,12 +26,13 @@
  */
 package studio.magemonkey.fabled.data.formula.func;
 
+import studio.magemonkey.fabled.data.formula.IFunction;
 import studio.magemonkey.fabled.data.formula.IValue;
 
 /**
  * Squares a number
  */
-public class Square implements IValue {
+public class Square implements IFunction {
     private IValue formula;
 
     /**
@@ -49,7 +50,22 @@ public class Square implements IValue {
      */
     @Override
     public double compute(double... input) {
-        double val = formula.compute(input);
+        return apply(formula.compute(input));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IValue getArgument() {
+        return formula;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double apply(double val) {
         return val * val;
     }
 }
@@ -46,6 +46,7 @@ public class CustomValue implements IValue {
      *
      * @param index argument index
      */
+    @Getter
     @Setter
     private       int    index;
 
@@ -0,0 +1,283 @@
+/**
+ * Fabled
+ * studio.magemonkey.fabled.data.io.BinaryDataCodec
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 MageMonkeyStudio
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package studio.magemonkey.fabled.data.io;
+
+import studio.magemonkey.codex.mccore.config.parse.DataSection;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Compact binary encoding for the player data documents produced by
+ * {@link IOManager}. Each document stores every distinct key once in a key
+ * table and refers to it by index afterwards, and values keep their type so
+ * loading needs no text parsing.
+ * <p>
+ * The format is versioned. Since documents are keyed trees, new fields can be
+ * added without changing the version and older readers simply ignore them; the
+ * version only needs to go up when the encoding itself changes.
+ */
+public final class BinaryDataCodec {
+    /**
+     * Current version of the encoding
+     */
+    public static final int VERSION = 1;
+
+    private static final int MAGIC = 0xFAB1;
+
+    private static final int
+            SECTION = 0,
+            STRING  = 1,
+            INT     = 2,
+            LONG    = 3,
+            DOUBLE  = 4,
+            FALSE   = 5,
+            TRUE    = 6,
+            LIST    = 7;
+
+    private BinaryDataCodec() {}
+
+    /**
+     * Checks whether the bytes start like a binary document
+     *
+     * @param bytes bytes to check
+     * @return true if the bytes look like a binary document
+     */
+    public static boolean isBinary(byte[] bytes) {
+        return bytes.length >= 3 && ((bytes[0] & 0xFF) << 8 | (bytes[1] & 0xFF)) == MAGIC;
+    }
+
+    /**
+     * Encodes a document
+     *
+     * @param section document to encode
+     * @return encoded bytes
+     */
+    public static byte[] encode(DataSection section) {
+        Map<String, Integer> keys = new LinkedHashMap<>();
+        collectKeys(section, keys);
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream      out   = new DataOutputStream(bytes);
+            out.writeShort(MAGIC);
+            out.writeByte(VERSION);
+            writeVarInt(out, keys.size());
+            for (String key : keys.keySet()) {
+                out.writeUTF(key);
+            }
+            writeSection(out, section, keys);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            // Writing to memory doesn't fail
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Decodes a document
+     *
+     * @param bytes encoded bytes
+     * @return decoded document
+     * @throws IOException if the bytes are not a valid document or were written by a newer version
+     */
+    public static DataSection decode(byte[] bytes) throws IOException {
+        if (!isBinary(bytes)) throw new IOException("Not a binary player data document");
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        in.readUnsignedShort();
+        int version = in.readUnsignedByte();
+        if (version > VERSION) {
+            throw new IOException("Player data was saved in format v" + version
+                    + " but this version only supports up to v" + VERSION);
+        }
+
+        String[] keys = new String[readVarInt(in)];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = in.readUTF();
+        }
+
+        DataSection section = new DataSection();
+        readSection(in, section, keys);
+        return section;
+    }
+
+    private static void collectKeys(DataSection section, Map<String, Integer> keys) {
+        for (String key : section.keys()) {
+            keys.putIfAbsent(key, keys.size());
+            Object value = section.get(key);
+            if (value instanceof DataSection) collectKeys((DataSection) value, keys);
+        }
+    }
+
+    private static void writeSection(DataOutputStream out, DataSection section, Map<String, Integer> keys)
+            throws IOException {
+        List<String> present = new ArrayList<>();
+        for (String key : section.keys()) {
+            if (section.get(key) != null) present.add(key);
+        }
+
+        writeVarInt(out, present.size());
+        for (String key : present) {
+            writeVarInt(out, keys.get(key));
+            writeValue(out, section.get(key), keys);
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, Object value, Map<String, Integer> keys)
+            throws IOException {
+        if (value instanceof DataSection) {
+            out.writeByte(SECTION);
+            writeSection(out, (DataSection) value, keys);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte(INT);
+            writeVarLong(out, ((Number) value).longValue());
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            writeVarLong(out, (Long) value);
+        } else if (value instanceof Number) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            out.writeByte((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Collection) {
+            Collection<?> list = (Collection<?>) value;
+            out.writeByte(LIST);
+            writeVarInt(out, list.size());
+            for (Object entry : list) {
+                writeValue(out, entry == null ? "" : entry, keys);
+            }
+        } else {
+            out.writeByte(STRING);
+            writeString(out, value.toString());
+        }
+    }
+
+    private static void readSection(DataInputStream in, DataSection section, String[] keys) throws IOException {
+        int size = readVarInt(in);
+        for (int i = 0; i < size; i++) {
+            String key = key(keys, readVarInt(in));
+            int    tag = in.readUnsignedByte();
+            if (tag == SECTION) {
+                readSection(in, section.createSection(key), keys);
+            } else {
+                section.set(key, readValue(in, tag, keys));
+            }
+        }
+    }
+
+    private static Object readValue(DataInputStream in, int tag, String[] keys) throws IOException {
+        switch (tag) {
+            case SECTION:
+                DataSection section = new DataSection();
+                readSection(in, section, keys);
+                return section;
+            case STRING:
+                return readString(in);
+            case INT:
+                return (int) readVarLong(in);
+            case LONG:
+                return readVarLong(in);
+            case DOUBLE:
+                return in.readDouble();
+            case FALSE:
+                return false;
+            case TRUE:
+                return true;
+            case LIST:
+                int size = readVarInt(in);
+                List<Object> list = new ArrayList<>(Math.min(size, 64));
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in, in.readUnsignedByte(), keys));
+                }
+                return list;
+            default:
+                throw new IOException("Unknown value type " + tag);
+        }
+    }
+
+    private static String key(String[] keys, int index) throws IOException {
+        if (index < 0 || index >= keys.length) throw new IOException("Invalid key index " + index);
+        return keys[index];
+    }
+
+    // writeUTF is limited to 64KB, so longer values use an explicit length
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[readVarInt(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) throw new IOException("Malformed varint");
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    // Zig-zag encoded so small negative numbers stay small
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.writeByte((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        out.writeByte((int) zigzag);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long zigzag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+        throw new IOException("Malformed varlong");
+    }
+}
@@ -35,14 +35,21 @@ import studio.magemonkey.codex.mccore.util.VersionManager;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 
-import java.util.ArrayList;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 /**
- * IO manager that saves/loads to a .yml configuration file
+ * IO manager that saves/loads to a .yml configuration file, or a
+ * binary .dat file when binary saving is enabled
  */
 public class ConfigIO extends IOManager {
+    static final String BINARY_EXTENSION = ".dat";
+
     /**
      * Initializes a new .yml config manager
      *
@@ -52,10 +59,10 @@ public class ConfigIO extends IOManager {
         super(plugin);
     }
 
-    public HashMap<String, PlayerAccounts> loadAll() {
-        HashMap<String, PlayerAccounts> result = new HashMap<String, PlayerAccounts>();
+    public Map<UUID, PlayerAccounts> loadAll() {
+        Map<UUID, PlayerAccounts> result = new HashMap<>();
         for (Player player : VersionManager.getOnlinePlayers()) {
-            result.put(player.getUniqueId().toString().toLowerCase(), loadData(player));
+            result.put(player.getUniqueId(), loadData(player));
         }
         return result;
     }
@@ -68,7 +75,17 @@ public class ConfigIO extends IOManager {
      */
     @Override
     public PlayerAccounts loadData(OfflinePlayer player) {
-        String          playerKey  = player.getUniqueId().toString().toLowerCase();
+        String playerKey = player.getUniqueId().toString().toLowerCase();
+        File   binary    = getBinaryFile(playerKey);
+        if (binary.exists()) {
+            try {
+                return load(player, readBinary(binary));
+            } catch (IOException ex) {
+                Logger.bug("Failed to load binary data for " + player.getName() + " - " + ex.getMessage());
+                return null;
+            }
+        }
+
         CommentedConfig config     = new CommentedConfig(api, "players/" + playerKey);
         CommentedConfig nameConfig = new CommentedConfig(api, "players/" + player.getName());
         if (!playerKey.equals(player.getName()) && nameConfig.getConfigFile().exists()) {
@@ -91,28 +108,72 @@ public class ConfigIO extends IOManager {
     public void saveData(PlayerAccounts data) {
         if (!data.isLoaded()) return;
 
+        saveLock.readLock().lock();
         try {
-            CommentedConfig config = new CommentedConfig(api,
-                    "players/" + data.getOfflinePlayer().getUniqueId().toString().toLowerCase());
-            config.clear();
+            String      playerKey  = data.getOfflinePlayer().getUniqueId().toString().toLowerCase();
+            long        generation = data.getGeneration();
+            DataSection file       = save(data);
 
-            DataSection file = save(data);
-            config.getConfig().applyDefaults(file);
-
-            config.save();
+            if (Fabled.getSettings().isBinarySave()) {
+                writeBinary(getBinaryFile(playerKey), file);
+                getYamlFile(playerKey).delete();
+            } else {
+                CommentedConfig config = new CommentedConfig(api, "players/" + playerKey);
+                config.clear();
+                config.getConfig().applyDefaults(file);
+                config.save();
+                getBinaryFile(playerKey).delete();
+            }
+            data.markSaved(generation);
         } catch (Exception ex) {
             Logger.bug("Failed to save data for invalid player");
+        } finally {
+            saveLock.readLock().unlock();
         }
     }
 
     /**
-     * Saves all player data to the config
+     * Converts every player file to the given format
+     *
+     * @param binary true to convert to binary, false to convert to YAML
+     * @return number of files converted
      */
     @Override
-    public void saveAll() {
-        Map<String, PlayerAccounts> data = Fabled.getPlayerAccountData();
-        ArrayList<String>           keys = new ArrayList<String>(data.keySet());
-        for (String key : keys)
-            saveData(data.get(key));
+    protected int convert(boolean binary) {
+        return DataMigration.migrateFiles(new File(api.getDataFolder(), "players"), binary);
+    }
+
+    private File getBinaryFile(String playerKey) {
+        return new File(api.getDataFolder(), "players/" + playerKey + BINARY_EXTENSION);
+    }
+
+    private File getYamlFile(String playerKey) {
+        return new File(api.getDataFolder(), "players/" + playerKey + ".yml");
+    }
+
+    /**
+     * Reads a binary player data file
+     *
+     * @param file file to read
+     * @return decoded data
+     * @throws IOException if the file couldn't be read or isn't valid
+     */
+    static DataSection readBinary(File file) throws IOException {
+        return BinaryDataCodec.decode(Files.readAllBytes(file.toPath()));
+    }
+
+    /**
+     * Writes a binary player data file, replacing the old file only once the
+     * new one has been fully written
+     *
+     * @param file file to write to
+     * @param data data to write
+     * @throws IOException if the file couldn't be written
+     */
+    static void writeBinary(File file, DataSection data) throws IOException {
+        file.getParentFile().mkdirs();
+        File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+        Files.write(temp.toPath(), BinaryDataCodec.encode(data));
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
     }
 }
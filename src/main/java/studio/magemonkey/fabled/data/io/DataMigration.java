@@ -0,0 +1,116 @@
+/**
+ * Fabled
+ * studio.magemonkey.fabled.data.io.DataMigration
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 MageMonkeyStudio
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package studio.magemonkey.fabled.data.io;
+
+import studio.magemonkey.codex.mccore.config.parse.DataSection;
+import studio.magemonkey.codex.mccore.config.parse.YAMLParser;
+import studio.magemonkey.fabled.log.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts stored player data between the YAML and binary formats
+ */
+public final class DataMigration {
+    private static final int SQL_CHUNK = 200;
+
+    private DataMigration() {}
+
+    /**
+     * Converts every player file in the folder to the target format. Files
+     * already in that format are left alone.
+     *
+     * @param folder players folder
+     * @param binary true to convert to binary, false to convert to YAML
+     * @return number of files converted
+     */
+    public static int migrateFiles(File folder, boolean binary) {
+        File[] files = folder.listFiles();
+        if (files == null) return 0;
+
+        String from  = binary ? ".yml" : ConfigIO.BINARY_EXTENSION;
+        int    count = 0;
+        for (File file : files) {
+            if (!file.isFile() || !file.getName().endsWith(from)) continue;
+
+            String name = file.getName().substring(0, file.getName().length() - from.length());
+            try {
+                if (binary) {
+                    String      text = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+                    DataSection data = new YAMLParser().parseText(text);
+                    ConfigIO.writeBinary(new File(folder, name + ConfigIO.BINARY_EXTENSION), data);
+                } else {
+                    DataSection data = ConfigIO.readBinary(file);
+                    Files.write(new File(folder, name + ".yml").toPath(),
+                            data.toString().getBytes(StandardCharsets.UTF_8));
+                }
+                Files.delete(file.toPath());
+                count++;
+            } catch (IOException | RuntimeException ex) {
+                Logger.bug("Failed to migrate player data file " + file.getName() + " - " + ex.getMessage());
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Converts every stored row in the SQL table to the target format
+     *
+     * @param table  player table
+     * @param binary true to convert to binary, false to convert to YAML
+     * @return number of rows converted
+     * @throws SQLException if the database couldn't be read or written
+     */
+    public static int migrateSql(SQLPlayerTable table, boolean binary) throws SQLException {
+        List<String> keys  = table.keys();
+        int          count = 0;
+        for (int i = 0; i < keys.size(); i += SQL_CHUNK) {
+            Map<String, String> stored    = table.loadAll(keys.subList(i, Math.min(keys.size(), i + SQL_CHUNK)));
+            Map<String, String> converted = new HashMap<>();
+            for (Map.Entry<String, String> entry : stored.entrySet()) {
+                boolean isBinary = entry.getValue().startsWith(SQLIO.BINARY_PREFIX);
+                if (isBinary == binary) continue;
+                try {
+                    DataSection data = SQLIO.parseStored(entry.getValue());
+                    converted.put(entry.getKey(), SQLIO.toStored(data, binary));
+                } catch (IOException | RuntimeException ex) {
+                    Logger.bug("Failed to migrate player data for " + entry.getKey() + " - " + ex.getMessage());
+                }
+            }
+            table.saveAll(converted);
+            count += converted.size();
+        }
+        return count;
+    }
+}
@@ -26,6 +26,7 @@
  */
 package studio.magemonkey.fabled.data.io;
 
+import lombok.Getter;
 import org.bukkit.Material;
 import org.bukkit.OfflinePlayer;
 import studio.magemonkey.codex.mccore.config.parse.DataSection;
@@ -35,13 +36,20 @@ import studio.magemonkey.fabled.api.player.*;
 import studio.magemonkey.fabled.api.skills.Skill;
 import studio.magemonkey.fabled.cast.CastMode;
 import studio.magemonkey.fabled.listener.MainListener;
+import studio.magemonkey.fabled.log.LogType;
 import studio.magemonkey.fabled.log.Logger;
 import studio.magemonkey.fabled.manager.ComboManager;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Base class for managers that handle saving and loading player data
@@ -81,6 +89,25 @@ public abstract class IOManager {
      */
     protected final Fabled api;
 
+    /**
+     * Held for reading while writing player data and for writing while converting
+     * stored data, so saves made during a conversion land after it
+     */
+    protected final ReadWriteLock saveLock = new ReentrantReadWriteLock();
+
+    private final Queue<PlayerAccounts> autosaveQueue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Number of accounts written by the most recent save
+     */
+    @Getter
+    private volatile int lastWritten;
+    /**
+     * Number of accounts skipped by the most recent save because they had no changes
+     */
+    @Getter
+    private volatile int lastSkipped;
+
     /**
      * Initializes a new IO manager
      *
@@ -95,7 +122,7 @@ public abstract class IOManager {
      *
      * @return loaded player data
      */
-    public abstract HashMap<String, PlayerAccounts> loadAll();
+    public abstract Map<UUID, PlayerAccounts> loadAll();
 
     /**
      * Loads data for the player
@@ -113,16 +140,117 @@ public abstract class IOManager {
     public abstract void saveData(PlayerAccounts data);
 
     /**
-     * Saves all player data
+     * Saves all player data that changed since it was last loaded or saved
      */
     public void saveAll() {
-        for (PlayerAccounts data : Fabled.getPlayerAccountData().values()) {
-            if (data.isLoaded() && !MainListener.loadingPlayers.containsKey(data.getOfflinePlayer().getUniqueId())) {
-                saveData(data);
+        List<PlayerAccounts> dirty = collectDirty();
+        saveBatch(dirty);
+        lastWritten = dirty.size();
+        Logger.log(LogType.SAVE, 1, "Saved " + lastWritten + " accounts, skipped " + lastSkipped + " unchanged");
+    }
+
+    /**
+     * Queues every changed account to be written by {@link #saveQueued(int)}.
+     * Accounts already waiting in the queue are not added again.
+     *
+     * @return number of accounts queued
+     */
+    public int queueAutosave() {
+        List<PlayerAccounts> dirty = collectDirty();
+        for (PlayerAccounts data : dirty) {
+            if (!autosaveQueue.contains(data)) autosaveQueue.add(data);
+        }
+        lastWritten = 0;
+        return dirty.size();
+    }
+
+    /**
+     * Writes up to the given number of queued accounts
+     *
+     * @param limit max number of accounts to write, or 0 or less for all of them
+     * @return number of accounts written
+     */
+    public int saveQueued(int limit) {
+        List<PlayerAccounts> batch = new ArrayList<>();
+        PlayerAccounts       data;
+        while ((limit <= 0 || batch.size() < limit) && (data = autosaveQueue.poll()) != null) {
+            if (data.isLoaded() && data.isDirty()) batch.add(data);
+        }
+        if (batch.isEmpty()) return 0;
+
+        saveBatch(batch);
+        lastWritten += batch.size();
+        if (autosaveQueue.isEmpty()) {
+            Logger.log(LogType.SAVE, 1, "Autosaved " + lastWritten + " accounts, skipped " + lastSkipped + " unchanged");
+        }
+        return batch.size();
+    }
+
+    /**
+     * @return number of accounts waiting to be autosaved
+     */
+    public int getQueuedCount() {
+        return autosaveQueue.size();
+    }
+
+    /**
+     * Writes a group of accounts. Implementations that can write several
+     * accounts at once more cheaply than one at a time should override this.
+     *
+     * @param batch accounts to write
+     */
+    protected void saveBatch(List<PlayerAccounts> batch) {
+        for (PlayerAccounts data : batch) {
+            saveData(data);
+        }
+    }
+
+    private List<PlayerAccounts> collectDirty() {
+        List<PlayerAccounts> dirty   = new ArrayList<>();
+        int                  skipped = 0;
+        for (PlayerAccounts data : Fabled.getPlayerAccounts().values()) {
+            if (!data.isLoaded() || MainListener.loadingPlayers.containsKey(data.getOfflinePlayer().getUniqueId())) {
+                continue;
             }
+            if (data.isDirty()) dirty.add(data);
+            else skipped++;
         }
+        lastSkipped = skipped;
+        return dirty;
     }
 
+    /**
+     * Releases any resources held by the manager, such as database connections
+     */
+    public void close() {
+    }
+
+    /**
+     * Converts all stored player data to the given format. Saves wait until
+     * the conversion finished.
+     *
+     * @param binary true to convert to binary, false to convert to YAML
+     * @return number of entries converted
+     * @throws IOException if the stored data couldn't be accessed
+     */
+    public int migrate(boolean binary) throws IOException {
+        saveLock.writeLock().lock();
+        try {
+            return convert(binary);
+        } finally {
+            saveLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Converts all stored player data to the given format
+     *
+     * @param binary true to convert to binary, false to convert to YAML
+     * @return number of entries converted
+     * @throws IOException if the stored data couldn't be accessed
+     */
+    protected abstract int convert(boolean binary) throws IOException;
+
     /**
      * Loads data from the DataSection for the given player
      *
@@ -245,6 +373,7 @@ public abstract class IOManager {
                         acc.getAttributeStageData().put(key, attrstages.getInt(key));
                     }
                 }
+                acc.invalidateAttributeCache();
             }
 
             // Load cast bars
@@ -281,6 +410,7 @@ public abstract class IOManager {
         data.getActiveData().setLastHealth(file.getDouble(HEALTH));
         data.getActiveData().setMana(file.getDouble(MANA, data.getActiveData().getMana()));
         data.isLoaded(true);
+        data.markSaved(data.getGeneration());
 
         return data;
     }
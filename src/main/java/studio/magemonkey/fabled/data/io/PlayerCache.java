@@ -0,0 +1,279 @@
+/**
+ * Fabled
+ * studio.magemonkey.fabled.data.io.PlayerCache
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 MageMonkeyStudio
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package studio.magemonkey.fabled.data.io;
+
+import org.bukkit.OfflinePlayer;
+import studio.magemonkey.fabled.Fabled;
+import studio.magemonkey.fabled.api.player.PlayerAccounts;
+import studio.magemonkey.fabled.log.LogType;
+import studio.magemonkey.fabled.log.Logger;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Keeps the accounts of players who recently left in memory so they can be
+ * handed back without touching the disk or database when they log in again.</p>
+ * <p>Accounts are written behind on an async thread as soon as they are released
+ * and only leave the cache once that write finished, either after they expire or
+ * when the cache is over its size. Loading a player whose accounts are still being
+ * written waits for the write instead of reading back stale data, and loads of the
+ * same player that overlap share a single read.</p>
+ * <p>Accounts handed back from the cache are claimed first, so a write behind that
+ * is still running finishes before the player can change them again and one that
+ * hasn't started yet is skipped.</p>
+ */
+public class PlayerCache {
+    private final Fabled                                       plugin;
+    private final IOManager                                    io;
+    private final int                                          maxSize;
+    private final long                                         ttl;
+    private final Map<UUID, Entry>                             warm    = new LinkedHashMap<>();
+    private final Map<UUID, CompletableFuture<PlayerAccounts>> loading = new ConcurrentHashMap<>();
+    private final AtomicInteger                                hits    = new AtomicInteger();
+    private final AtomicInteger                                misses  = new AtomicInteger();
+
+    /**
+     * @param plugin  Fabled reference
+     * @param io      manager to read and write accounts with
+     * @param maxSize max number of written accounts to keep, or 0 to only keep them while writing
+     * @param ttl     time in milliseconds to keep written accounts
+     */
+    public PlayerCache(Fabled plugin, IOManager io, int maxSize, long ttl) {
+        this.plugin = plugin;
+        this.io = io;
+        this.maxSize = Math.max(0, maxSize);
+        this.ttl = ttl;
+    }
+
+    /**
+     * Loads the accounts of a player, taking them from the cache if they are still
+     * in it. When the cache is disabled or the cached accounts were invalidated, a
+     * pending write is finished before the accounts are read back.
+     *
+     * @param player player to load for
+     * @return loaded accounts
+     */
+    public PlayerAccounts load(OfflinePlayer player) {
+        UUID  id = player.getUniqueId();
+        Entry entry;
+        synchronized (warm) {
+            entry = warm.remove(id);
+        }
+        if (entry != null) {
+            if (maxSize > 0 && !entry.stale) {
+                entry.claim();
+                hits.incrementAndGet();
+                return entry.accounts;
+            }
+            entry.write();
+        }
+
+        misses.incrementAndGet();
+        CompletableFuture<PlayerAccounts> read     = new CompletableFuture<>();
+        CompletableFuture<PlayerAccounts> existing = loading.putIfAbsent(id, read);
+        if (existing != null) {
+            return existing.join();
+        }
+
+        try {
+            PlayerAccounts accounts = io.loadData(player);
+            read.complete(accounts);
+            return accounts;
+        } catch (RuntimeException ex) {
+            read.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            loading.remove(id, read);
+        }
+    }
+
+    /**
+     * Moves the accounts of a player who left into the cache and starts writing
+     * them on an async thread
+     *
+     * @param player   player who left
+     * @param accounts accounts of the player
+     */
+    public void release(OfflinePlayer player, PlayerAccounts accounts) {
+        Entry entry = new Entry(accounts);
+        Entry previous;
+        synchronized (warm) {
+            previous = warm.put(player.getUniqueId(), entry);
+        }
+        if (previous != null && previous.accounts != accounts) previous.write();
+
+        entry.pending = writeBehind(entry);
+        entry.pending.whenComplete((ignored, error) -> {
+            if (error != null) {
+                Logger.bug("Failed to save player data for " + player.getName() + " - " + error.getMessage());
+            }
+            evict();
+        });
+        evict();
+    }
+
+    /**
+     * Drops written accounts that expired or no longer fit in the cache, oldest
+     * first. Accounts are only dropped once their write finished.
+     */
+    public void evict() {
+        long        expired = System.currentTimeMillis() - ttl;
+        List<Entry> retry   = new ArrayList<>();
+        synchronized (warm) {
+            int             excess = warm.size() - maxSize;
+            Iterator<Entry> it     = warm.values().iterator();
+            while (it.hasNext()) {
+                Entry entry = it.next();
+                if (excess <= 0 && entry.released > expired) {
+                    break;
+                }
+                if (!entry.isWritten()) {
+                    if (entry.pending != null && entry.pending.isDone()) retry.add(entry);
+                    continue;
+                }
+                it.remove();
+                excess--;
+            }
+        }
+
+        // Writes that failed keep the accounts changed, so try them again
+        for (Entry entry : retry) {
+            entry.pending = writeBehind(entry);
+        }
+    }
+
+    /**
+     * Stops handing out the cached accounts, e.g. after skills or classes were
+     * reloaded and the cached accounts still point at the old ones. Accounts that
+     * were written are dropped right away, the others are read back once written.
+     */
+    public void invalidate() {
+        synchronized (warm) {
+            Iterator<Entry> it = warm.values().iterator();
+            while (it.hasNext()) {
+                Entry entry = it.next();
+                if (entry.isWritten()) {
+                    it.remove();
+                } else {
+                    entry.stale = true;
+                }
+            }
+        }
+    }
+
+    private CompletableFuture<Void> writeBehind(Entry entry) {
+        return CompletableFuture.runAsync(entry::write,
+                task -> plugin.getServer().getScheduler().runTaskAsynchronously(plugin, task));
+    }
+
+    /**
+     * Finishes writing every cached account and empties the cache. This blocks
+     * until everything is written.
+     */
+    public void close() {
+        List<Entry> entries;
+        synchronized (warm) {
+            entries = new ArrayList<>(warm.values());
+            warm.clear();
+        }
+        for (Entry entry : entries) {
+            entry.write();
+        }
+        Logger.log(LogType.SAVE, 1, "Wrote " + entries.size() + " cached accounts, " + hits.get() + " cache hits, "
+                + misses.get() + " misses");
+    }
+
+    /**
+     * @return number of accounts currently cached
+     */
+    public int size() {
+        synchronized (warm) {
+            return warm.size();
+        }
+    }
+
+    /**
+     * @return number of loads served from the cache
+     */
+    public int getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of loads that had to read the accounts
+     */
+    public int getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Accounts of a player who left along with the state of their write
+     */
+    private class Entry {
+        private final    PlayerAccounts          accounts;
+        private final    long                    released = System.currentTimeMillis();
+        private volatile CompletableFuture<Void> pending;
+        private volatile boolean                 written;
+        private volatile boolean                 stale;
+        private          boolean                 claimed;
+
+        private Entry(PlayerAccounts accounts) {
+            this.accounts = accounts;
+        }
+
+        /**
+         * Writes the accounts unless they were already written and haven't changed
+         * since or were handed back to the player. Concurrent calls wait for the
+         * write in progress.
+         */
+        private synchronized void write() {
+            if (claimed || (written && !accounts.isDirty())) return;
+            io.saveData(accounts);
+            written = true;
+        }
+
+        /**
+         * Hands the accounts back, waiting for a write in progress and skipping
+         * any write that didn't start yet
+         */
+        private synchronized void claim() {
+            claimed = true;
+        }
+
+        private boolean isWritten() {
+            return written && !accounts.isDirty();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/**
+ * Fabled
+ * studio.magemonkey.fabled.data.io.SQLConnectionPool
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 MageMonkeyStudio
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package studio.magemonkey.fabled.data.io;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A small bounded pool of JDBC connections. Connections are kept open between
+ * uses and only re-validated when they have been idle for a while.
+ */
+public class SQLConnectionPool implements AutoCloseable {
+    private static final long VALIDATE_AFTER = TimeUnit.SECONDS.toMillis(30);
+    private static final long ACQUIRE_WAIT   = TimeUnit.SECONDS.toMillis(30);
+
+    private final String                              url;
+    private final String                              user;
+    private final String                              pass;
+    private final Semaphore                           permits;
+    private final LinkedBlockingDeque<IdleConnection> idle = new LinkedBlockingDeque<>();
+
+    private volatile boolean closed;
+
+    /**
+     * @param url  JDBC url to connect to
+     * @param user database username, or null if not required
+     * @param pass database password, or null if not required
+     * @param size maximum number of connections open at once
+     */
+    public SQLConnectionPool(String url, String user, String pass, int size) {
+        this.url = url;
+        this.user = user;
+        this.pass = pass;
+        this.permits = new Semaphore(Math.max(1, size), true);
+    }
+
+    /**
+     * Takes a connection from the pool, opening a new one if none are idle.
+     * Every acquired connection must be handed back with {@link #release(Connection)}.
+     *
+     * @return an open connection
+     * @throws SQLException if no connection could be obtained
+     */
+    public Connection acquire() throws SQLException {
+        if (closed) throw new SQLException("Connection pool is closed");
+
+        try {
+            if (!permits.tryAcquire(ACQUIRE_WAIT, TimeUnit.MILLISECONDS))
+                throw new SQLException("Timed out waiting for a database connection");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            IdleConnection entry;
+            while ((entry = idle.pollFirst()) != null) {
+                if (isUsable(entry)) return entry.connection;
+                closeQuietly(entry.connection);
+            }
+            return user == null
+                    ? DriverManager.getConnection(url)
+                    : DriverManager.getConnection(url, user, pass);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a connection to the pool
+     *
+     * @param connection connection obtained from {@link #acquire()}
+     */
+    public void release(Connection connection) {
+        if (connection == null) return;
+
+        try {
+            if (closed || connection.isClosed() || !connection.getAutoCommit()) {
+                closeQuietly(connection);
+            } else {
+                idle.offerFirst(new IdleConnection(connection, System.currentTimeMillis()));
+            }
+        } catch (SQLException e) {
+            closeQuietly(connection);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * @return number of connections currently sitting idle in the pool
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Closes all idle connections and refuses further requests
+     */
+    @Override
+    public void close() {
+        closed = true;
+        IdleConnection entry;
+        while ((entry = idle.pollFirst()) != null) {
+            closeQuietly(entry.connection);
+        }
+    }
+
+    private boolean isUsable(IdleConnection entry) throws SQLException {
+        if (entry.connection.isClosed()) return false;
+        return System.currentTimeMillis() - entry.since < VALIDATE_AFTER || entry.connection.isValid(2);
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            // Already unusable, nothing more to do
+        }
+    }
+
+    private static class IdleConnection {
+        private final Connection connection;
+        private final long       since;
+
+        private IdleConnection(Connection connection, long since) {
+            this.connection = connection;
+            this.since = since;
+        }
+    }
+}
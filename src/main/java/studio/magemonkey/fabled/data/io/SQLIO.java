@@ -30,25 +30,36 @@ import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import studio.magemonkey.codex.mccore.config.parse.DataSection;
 import studio.magemonkey.codex.mccore.config.parse.YAMLParser;
-import studio.magemonkey.codex.mccore.sql.ColumnType;
-import studio.magemonkey.codex.mccore.sql.direct.SQLDatabase;
-import studio.magemonkey.codex.mccore.sql.direct.SQLTable;
 import studio.magemonkey.codex.mccore.util.VersionManager;
 import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.player.PlayerAccounts;
 import studio.magemonkey.fabled.data.Settings;
 import studio.magemonkey.fabled.log.Logger;
 
+import java.io.IOException;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Loads player data from the SQL Database
  */
 public class SQLIO extends IOManager {
-    public static final String ID   = "id";
-    public static final String DATA = "data";
+    public static final String ID            = "id";
+    public static final String DATA          = "data";
+    /**
+     * Prefix marking a stored value as a Base64 encoded binary document
+     */
+    public static final String BINARY_PREFIX = "bin:";
+
+    private final SQLConnectionPool pool;
+    private final SQLPlayerTable    table;
 
     /**
      * Initializes the SQL IO Manager
@@ -57,33 +68,52 @@ public class SQLIO extends IOManager {
      */
     public SQLIO(Fabled api) {
         super(api);
-    }
-
-    private SQLConnection openConnection() {
-        SQLConnection connection = new SQLConnection();
 
         Settings settings = Fabled.getSettings();
-        connection.database = new SQLDatabase(api, settings.getSqlHost(), settings.getSqlPort(),
-                settings.getSqlDatabase(), settings.getSqlUser(), settings.getSqlPass());
-        connection.database.openConnection();
-        connection.table = connection.database.createTable(api, "players");
-
-        connection.table.createColumn(ID, ColumnType.INCREMENT);
-        connection.table.createColumn(DATA, ColumnType.MEDIUM_TEXT);
-        return connection;
+        loadDriver();
+        pool = new SQLConnectionPool("jdbc:mysql://" + settings.getSqlHost() + ":" + settings.getSqlPort() + "/"
+                + settings.getSqlDatabase() + "?rewriteBatchedStatements=true&cachePrepStmts=true",
+                settings.getSqlUser(), settings.getSqlPass(), settings.getSqlPoolSize());
+        table = new SQLPlayerTable(pool);
+
+        try {
+            table.ensureSchema();
+        } catch (SQLException ex) {
+            Logger.bug("Failed to set up the SQL Database - " + ex.getMessage());
+        }
     }
 
-    @Override
-    public HashMap<String, PlayerAccounts> loadAll() {
-        SQLConnection connection = openConnection();
+    private static void loadDriver() {
+        for (String driver : new String[]{"com.mysql.cj.jdbc.Driver", "com.mysql.jdbc.Driver"}) {
+            try {
+                Class.forName(driver);
+                return;
+            } catch (ClassNotFoundException ignored) {
+                // Try the next one
+            }
+        }
+    }
 
-        HashMap<String, PlayerAccounts> result = new HashMap<String, PlayerAccounts>();
-        for (Player player : VersionManager.getOnlinePlayers()) {
-            result.put(player.getUniqueId().toString().toLowerCase(), load(connection, player));
+    @Override
+    public Map<UUID, PlayerAccounts> loadAll() {
+        List<Player>              players = new ArrayList<>(VersionManager.getOnlinePlayers());
+        List<String>              keys    = new ArrayList<>(players.size());
+        Map<UUID, PlayerAccounts> result  = new HashMap<>();
+        for (Player player : players) {
+            keys.add(player.getUniqueId().toString().toLowerCase());
         }
 
-        connection.database.closeConnection();
+        Map<String, String> stored;
+        try {
+            stored = table.loadAll(keys);
+        } catch (SQLException ex) {
+            Logger.bug("Failed to load data from the SQL Database - " + ex.getMessage());
+            return result;
+        }
 
+        for (int i = 0; i < players.size(); i++) {
+            result.put(players.get(i).getUniqueId(), parse(players.get(i), stored.get(keys.get(i))));
+        }
         return result;
     }
 
@@ -91,40 +121,105 @@ public class SQLIO extends IOManager {
     public PlayerAccounts loadData(OfflinePlayer player) {
         if (player == null) return null;
 
-        SQLConnection connection = openConnection();
-
-        PlayerAccounts result = load(connection, player);
-
-        connection.database.closeConnection();
-
-        return result;
+        try {
+            return parse(player, table.load(player.getUniqueId().toString().toLowerCase()));
+        } catch (SQLException ex) {
+            Logger.bug("Failed to load data from the SQL Database - " + ex.getMessage());
+            return null;
+        }
     }
 
     @Override
     public void saveData(PlayerAccounts data) {
         if (!data.isLoaded()) return;
 
-        SQLConnection connection = openConnection();
-        saveSingle(connection, data);
-        connection.database.closeConnection();
+        saveBatch(Collections.singletonList(data));
     }
 
+    /**
+     * Writes all the accounts in a single transaction
+     *
+     * @param batch accounts to write
+     */
     @Override
-    public void saveAll() {
-        SQLConnection               connection = openConnection();
-        Map<String, PlayerAccounts> data       = Fabled.getPlayerAccountData();
-        ArrayList<String>           keys       = new ArrayList<String>(data.keySet());
-        for (String key : keys) {
-            saveSingle(connection, data.get(key));
+    protected void saveBatch(List<PlayerAccounts> batch) {
+        Map<String, String>       serialized  = new LinkedHashMap<>();
+        Map<PlayerAccounts, Long> generations = new HashMap<>();
+        for (PlayerAccounts data : batch) {
+            long generation = data.getGeneration();
+            if (serialize(serialized, data)) generations.put(data, generation);
         }
-        connection.database.closeConnection();
+
+        saveLock.readLock().lock();
+        try {
+            table.saveAll(serialized);
+            generations.forEach(PlayerAccounts::markSaved);
+        } catch (SQLException ex) {
+            Logger.bug("Failed to save data to the SQL Database - " + ex.getMessage());
+        } finally {
+            saveLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Converts every stored row to the given format
+     *
+     * @param binary true to convert to binary, false to convert to YAML
+     * @return number of rows converted
+     * @throws IOException if the database couldn't be read or written
+     */
+    @Override
+    protected int convert(boolean binary) throws IOException {
+        try {
+            return DataMigration.migrateSql(table, binary);
+        } catch (SQLException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    /**
+     * Closes the pooled database connections
+     */
+    @Override
+    public void close() {
+        pool.close();
     }
 
-    private PlayerAccounts load(SQLConnection connection, OfflinePlayer player) {
+    /**
+     * Parses a stored player document, which may be either YAML or binary
+     *
+     * @param text stored value
+     * @return parsed document
+     * @throws IOException if a binary document is invalid
+     */
+    public static DataSection parseStored(String text) throws IOException {
+        if (text == null) return new DataSection();
+        if (text.startsWith(BINARY_PREFIX)) {
+            try {
+                return BinaryDataCodec.decode(Base64.getDecoder().decode(text.substring(BINARY_PREFIX.length())));
+            } catch (IllegalArgumentException ex) {
+                throw new IOException("Invalid Base64 data", ex);
+            }
+        }
+        return new YAMLParser().parseText(text);
+    }
+
+    /**
+     * Converts a player document into the value to store
+     *
+     * @param data   document to store
+     * @param binary whether to use the binary format
+     * @return value to store
+     */
+    public static String toStored(DataSection data, boolean binary) {
+        return binary
+                ? BINARY_PREFIX + Base64.getEncoder().encodeToString(BinaryDataCodec.encode(data))
+                : data.toString();
+    }
+
+    private PlayerAccounts parse(OfflinePlayer player, String text) {
         try {
-            String playerKey = player.getUniqueId().toString().toLowerCase();
-            DataSection file =
-                    new YAMLParser().parseText(connection.table.createEntry(playerKey).getString(DATA));
+            DataSection file = parseStored(text);
             return load(player, file);
         } catch (Exception ex) {
             Logger.bug("Failed to load data from the SQL Database - " + ex.getMessage());
@@ -132,19 +227,14 @@ public class SQLIO extends IOManager {
         }
     }
 
-    private void saveSingle(SQLConnection connection, PlayerAccounts data) {
-        DataSection file = save(data);
-
+    private boolean serialize(Map<String, String> batch, PlayerAccounts data) {
         try {
             String playerKey = data.getOfflinePlayer().getUniqueId().toString().toLowerCase();
-            connection.table.createEntry(playerKey).set(DATA, file.toString());
+            batch.put(playerKey, toStored(save(data), Fabled.getSettings().isBinarySave()));
+            return true;
         } catch (Exception ex) {
             Logger.bug("Failed to save data for invalid player");
+            return false;
         }
     }
-
-    private class SQLConnection {
-        private SQLDatabase database;
-        private SQLTable    table;
-    }
 }
@@ -0,0 +1,226 @@
+/**
+ * Fabled
+ * studio.magemonkey.fabled.data.io.SQLPlayerTable
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 MageMonkeyStudio
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package studio.magemonkey.fabled.data.io;
+
+import java.sql.*;
+import java.util.*;
+
+/**
+ * Reads and writes serialized player documents in the "players" table. The
+ * layout matches the table previously managed through the codex SQL helpers
+ * (an auto-increment id, the player key in "Name" and the document in "data"),
+ * so existing databases keep working.
+ */
+public class SQLPlayerTable {
+    static final String TABLE = "players";
+    static final String NAME  = "Name";
+
+    private static final String SELECT = "SELECT " + SQLIO.DATA + " FROM " + TABLE + " WHERE " + NAME + " = ?";
+    private static final String EXISTS = "SELECT 1 FROM " + TABLE + " WHERE " + NAME + " = ?";
+    private static final String UPDATE = "UPDATE " + TABLE + " SET " + SQLIO.DATA + " = ? WHERE " + NAME + " = ?";
+    private static final String INSERT = "INSERT INTO " + TABLE + " (" + NAME + ", " + SQLIO.DATA + ") VALUES (?, ?)";
+
+    private final SQLConnectionPool pool;
+
+    /**
+     * @param pool pool to take connections from
+     */
+    public SQLPlayerTable(SQLConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Creates the table and any missing columns. Only needs to be done once
+     * when the plugin starts up.
+     *
+     * @throws SQLException if the schema could not be checked or updated
+     */
+    public void ensureSchema() throws SQLException {
+        Connection connection = pool.acquire();
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("CREATE TABLE IF NOT EXISTS " + TABLE + " ("
+                    + SQLIO.ID + " INT NOT NULL AUTO_INCREMENT PRIMARY KEY, "
+                    + NAME + " VARCHAR(64), "
+                    + SQLIO.DATA + " MEDIUMTEXT)");
+
+            Set<String> columns = new HashSet<>();
+            try (ResultSet rs = statement.executeQuery("SELECT * FROM " + TABLE + " WHERE 1 = 0")) {
+                ResultSetMetaData meta = rs.getMetaData();
+                for (int i = 1; i <= meta.getColumnCount(); i++) {
+                    columns.add(meta.getColumnName(i).toLowerCase());
+                }
+            }
+            if (!columns.contains(NAME.toLowerCase()))
+                statement.executeUpdate("ALTER TABLE " + TABLE + " ADD " + NAME + " VARCHAR(64)");
+            if (!columns.contains(SQLIO.DATA))
+                statement.executeUpdate("ALTER TABLE " + TABLE + " ADD " + SQLIO.DATA + " MEDIUMTEXT");
+        } finally {
+            pool.release(connection);
+        }
+    }
+
+    /**
+     * Loads the stored document for a single player
+     *
+     * @param key player key
+     * @return stored document or null if there is none
+     * @throws SQLException if the query failed
+     */
+    public String load(String key) throws SQLException {
+        return loadAll(Collections.singletonList(key)).get(key);
+    }
+
+    /**
+     * Loads the stored documents for several players using a single connection
+     *
+     * @param keys player keys
+     * @return stored documents by player key, players without data are left out
+     * @throws SQLException if the query failed
+     */
+    public Map<String, String> loadAll(Collection<String> keys) throws SQLException {
+        Map<String, String> result     = new HashMap<>();
+        Connection          connection = pool.acquire();
+        try (PreparedStatement statement = connection.prepareStatement(SELECT)) {
+            for (String key : keys) {
+                statement.setString(1, key);
+                try (ResultSet rs = statement.executeQuery()) {
+                    if (rs.next()) {
+                        String data = rs.getString(1);
+                        if (data != null) result.put(key, data);
+                    }
+                }
+            }
+        } finally {
+            pool.release(connection);
+        }
+        return result;
+    }
+
+    /**
+     * Lists the keys of every player with stored data
+     *
+     * @return stored player keys
+     * @throws SQLException if the query failed
+     */
+    public List<String> keys() throws SQLException {
+        List<String> keys       = new ArrayList<>();
+        Connection   connection = pool.acquire();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT " + NAME + " FROM " + TABLE)) {
+            while (rs.next()) {
+                String key = rs.getString(1);
+                if (key != null) keys.add(key);
+            }
+        } finally {
+            pool.release(connection);
+        }
+        return keys;
+    }
+
+    /**
+     * Saves a single player document
+     *
+     * @param key  player key
+     * @param data serialized document
+     * @throws SQLException if the write failed, in which case nothing is written
+     */
+    public void save(String key, String data) throws SQLException {
+        saveAll(Collections.singletonMap(key, data));
+    }
+
+    /**
+     * Saves several player documents in one transaction. Existing rows are
+     * updated in one batch and any players that had no row yet are inserted
+     * in a second batch. Drivers that rewrite batches only report
+     * {@link Statement#SUCCESS_NO_INFO} for the updates, in which case the
+     * rows are looked up to find the players without one.
+     *
+     * @param data serialized documents by player key
+     * @throws SQLException if the write failed, in which case nothing is written
+     */
+    public void saveAll(Map<String, String> data) throws SQLException {
+        if (data.isEmpty()) return;
+
+        List<String> keys       = new ArrayList<>(data.keySet());
+        Connection   connection = pool.acquire();
+        try {
+            connection.setAutoCommit(false);
+
+            int[] updated;
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE)) {
+                for (String key : keys) {
+                    statement.setString(1, data.get(key));
+                    statement.setString(2, key);
+                    statement.addBatch();
+                }
+                updated = statement.executeBatch();
+            }
+
+            List<String> missing = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement(EXISTS)) {
+                for (int i = 0; i < keys.size(); i++) {
+                    if (updated[i] > 0 || updated[i] < 0 && exists(statement, keys.get(i))) continue;
+                    missing.add(keys.get(i));
+                }
+            }
+
+            if (!missing.isEmpty()) {
+                try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                    for (String key : missing) {
+                        statement.setString(1, key);
+                        statement.setString(2, data.get(key));
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+            }
+
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException rollback) {
+                e.addSuppressed(rollback);
+            }
+            throw e;
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException ignored) {
+                // The pool will discard the connection
+            }
+            pool.release(connection);
+        }
+    }
+
+    private static boolean exists(PreparedStatement statement, String key) throws SQLException {
+        statement.setString(1, key);
+        try (ResultSet rs = statement.executeQuery()) {
+            return rs.next();
+        }
+    }
+}
@@ -0,0 +1,352 @@
+/**
+ * Fabled
+ * studio.magemonkey.fabled.dynamic.CompiledSettings
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 MageMonkeyStudio
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package studio.magemonkey.fabled.dynamic;
+
+import org.bukkit.entity.LivingEntity;
+import studio.magemonkey.fabled.api.CastData;
+import studio.magemonkey.fabled.api.PlayerDataConsumer;
+import studio.magemonkey.fabled.api.Settings;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>A frozen, pre-parsed view of a component's {@link Settings}. Numbers are parsed,
+ * base/scale pairs are resolved and values that reference cast data are detected
+ * once when the view is compiled so executing a component does not have to parse
+ * or concatenate strings. The view remembers the settings version it was built
+ * from, so owners can recompile it if the settings are changed afterwards.</p>
+ * <p>Setting keys are interned into slots shared by every view, so components can
+ * resolve the keys they read once with {@link #slot(String)} and look values up
+ * by slot without hashing the key on every read.</p>
+ */
+public final class CompiledSettings {
+    private static final String BASE  = "-base";
+    private static final String SCALE = "-scale";
+
+    private static final    Map<String, Integer> slots = new ConcurrentHashMap<>();
+    private static volatile String[]             names = new String[64];
+    private static          int                  slotCount;
+
+    private final int      version;
+    // Sorted slots of the set values and the scaled names, with their values at the same index
+    private final int[]    valueSlots;
+    private final Value[]  values;
+    private final String[] strings;
+    private final int[]    scaledSlots;
+    private final Scaled[] scaled;
+
+    private CompiledSettings(final Settings settings) {
+        this.version = settings.getVersion();
+
+        final Map<Integer, Value>  values  = new HashMap<>();
+        final Map<Integer, String> strings = new HashMap<>();
+        final Map<String, Value>   byKey   = new HashMap<>();
+        for (final Map.Entry<String, Object> entry : settings.getRaw().entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            final String text  = entry.getValue().toString();
+            final Value  value = compileValue(text);
+            final int    slot  = slot(entry.getKey());
+            strings.put(slot, text);
+            values.put(slot, value);
+            byKey.put(entry.getKey(), value);
+        }
+
+        final Map<Integer, Scaled> scaled = new HashMap<>();
+        for (final String key : byKey.keySet()) {
+            if (key.endsWith(BASE)) {
+                final String name = key.substring(0, key.length() - BASE.length());
+                scaled.put(slot(name), new Scaled(byKey.get(key), byKey.get(name + SCALE)));
+            }
+        }
+        for (final String key : byKey.keySet()) {
+            if (key.endsWith(SCALE)) {
+                final String name = key.substring(0, key.length() - SCALE.length());
+                scaled.putIfAbsent(slot(name), new Scaled(null, byKey.get(key)));
+            }
+        }
+
+        this.valueSlots = sortedKeys(values);
+        this.values = new Value[valueSlots.length];
+        this.strings = new String[valueSlots.length];
+        for (int i = 0; i < valueSlots.length; i++) {
+            this.values[i] = values.get(valueSlots[i]);
+            this.strings[i] = strings.get(valueSlots[i]);
+        }
+        this.scaledSlots = sortedKeys(scaled);
+        this.scaled = new Scaled[scaledSlots.length];
+        for (int i = 0; i < scaledSlots.length; i++) {
+            this.scaled[i] = scaled.get(scaledSlots[i]);
+        }
+    }
+
+    private static int[] sortedKeys(final Map<Integer, ?> map) {
+        final int[] keys = new int[map.size()];
+        int         i    = 0;
+        for (final int key : map.keySet()) {
+            keys[i++] = key;
+        }
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    /**
+     * Compiles the current state of the settings
+     *
+     * @param settings settings to compile
+     * @return compiled view of the settings
+     */
+    public static CompiledSettings compile(final Settings settings) {
+        return new CompiledSettings(settings);
+    }
+
+    /**
+     * Gets the slot of a setting key, assigning a new one the first time a key is seen.
+     * Components should resolve the keys they read once and keep the slots.
+     *
+     * @param key setting key
+     * @return slot of the key
+     */
+    public static int slot(final String key) {
+        final Integer slot = slots.get(key);
+        return slot != null ? slot : intern(key);
+    }
+
+    /**
+     * Gets the slot of a setting key without assigning one
+     *
+     * @param key setting key
+     * @return slot of the key or -1 if no settings ever used it
+     */
+    public static int find(final String key) {
+        final Integer slot = slots.get(key);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * @param slot slot of a setting key
+     * @return the setting key in the slot
+     */
+    public static String getName(final int slot) {
+        return names[slot];
+    }
+
+    private static synchronized int intern(final String key) {
+        final Integer slot = slots.get(key);
+        if (slot != null) return slot;
+
+        if (slotCount == names.length) names = Arrays.copyOf(names, slotCount * 2);
+        names[slotCount] = key;
+        // The name is stored before the slot is published, so anyone holding a slot can read its name
+        slots.put(key, slotCount);
+        return slotCount++;
+    }
+
+    /**
+     * Checks whether the compiled view still matches the settings
+     *
+     * @param settings settings the view was compiled from
+     * @return true if nothing changed since compiling, false otherwise
+     */
+    public boolean isCurrent(final Settings settings) {
+        return settings.getVersion() == version;
+    }
+
+    /**
+     * Retrieves the string form of a setting
+     *
+     * @param key          setting key
+     * @param defaultValue value to use if the setting is not set
+     * @return setting value or the default value
+     */
+    public String getString(final String key, final String defaultValue) {
+        return getString(find(key), defaultValue);
+    }
+
+    /**
+     * Retrieves the string form of a setting
+     *
+     * @param slot         slot of the setting key
+     * @param defaultValue value to use if the setting is not set
+     * @return setting value or the default value
+     */
+    public String getString(final int slot, final String defaultValue) {
+        final int index = Arrays.binarySearch(valueSlots, slot);
+        return index < 0 ? defaultValue : strings[index];
+    }
+
+    /**
+     * Retrieves a numerical value with the same semantics as
+     * {@link EffectComponent#getNum(LivingEntity, String, double)}
+     *
+     * @param caster   caster of the skill, used for cast data values
+     * @param key      setting key
+     * @param fallback value to use if the setting is not set
+     * @return numerical value
+     */
+    public double getNum(final LivingEntity caster, final String key, final double fallback) {
+        return getNum(caster, find(key), fallback);
+    }
+
+    /**
+     * Retrieves a numerical value with the same semantics as
+     * {@link EffectComponent#getNum(LivingEntity, String, double)}
+     *
+     * @param caster   caster of the skill, used for cast data values
+     * @param slot     slot of the setting key
+     * @param fallback value to use if the setting is not set
+     * @return numerical value
+     */
+    public double getNum(final LivingEntity caster, final int slot, final double fallback) {
+        final int index = Arrays.binarySearch(valueSlots, slot);
+        return index < 0 ? fallback : values[index].get(caster);
+    }
+
+    /**
+     * Retrieves a scaling value for the given level. A missing base uses the
+     * fallback value and a missing scale counts as 0.
+     *
+     * @param caster   caster of the skill, used for cast data values
+     * @param key      scaling setting name without the base/scale suffix
+     * @param level    level to scale to
+     * @param fallback base value to use if the base is not set
+     * @return scaled value
+     */
+    public double getScaled(final LivingEntity caster, final String key, final int level, final double fallback) {
+        return getScaled(caster, find(key), level, fallback);
+    }
+
+    /**
+     * Retrieves a scaling value for the given level. A missing base uses the
+     * fallback value and a missing scale counts as 0.
+     *
+     * @param caster   caster of the skill, used for cast data values
+     * @param slot     slot of the scaling setting name without the base/scale suffix
+     * @param level    level to scale to
+     * @param fallback base value to use if the base is not set
+     * @return scaled value
+     */
+    public double getScaled(final LivingEntity caster, final int slot, final int level, final double fallback) {
+        final int index = Arrays.binarySearch(scaledSlots, slot);
+        if (index < 0) {
+            return fallback;
+        }
+        final Scaled value = scaled[index];
+        final double base  = value.base == null ? fallback : value.base.get(caster);
+        final double scale = value.scale == null ? 0 : value.scale.get(caster);
+        return base + (level - 1) * scale;
+    }
+
+    private static Value compileValue(final String text) {
+        try {
+            return new Constant(Double.parseDouble(text));
+        } catch (Exception ex) { /* Not a number */ }
+
+        double  min   = 0;
+        double  max   = 0;
+        boolean range = false;
+        try {
+            final int mid = text.indexOf('-', 1);
+            min = Double.parseDouble(text.substring(0, mid));
+            max = Double.parseDouble(text.substring(mid + 1));
+            range = true;
+        } catch (Exception ex) { /* Not a range */ }
+
+        return new CastValue(text, range, min, max);
+    }
+
+    private interface Value {
+        double get(LivingEntity caster);
+    }
+
+    private static final class Constant implements Value {
+        private final double value;
+
+        private Constant(final double value) {
+            this.value = value;
+        }
+
+        @Override
+        public double get(final LivingEntity caster) {
+            return value;
+        }
+    }
+
+    /**
+     * A value that names a cast data entry, optionally falling back
+     * to a random range when the entry is not a number
+     */
+    private static final class CastValue implements Value {
+        private final int     slot;
+        private final boolean range;
+        private final double  min;
+        private final double  max;
+
+        private CastValue(final String key, final boolean range, final double min, final double max) {
+            this.slot = CastData.slot(key);
+            this.range = range;
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public double get(final LivingEntity caster) {
+            final CastData castData = DynamicSkill.getCastData(caster);
+            if (castData != null && castData.isNumber(slot)) {
+                return castData.getDouble(slot);
+            }
+            if (castData != null && castData.contains(slot)) {
+                Object raw = castData.getRaw(slot);
+                if (raw instanceof PlayerDataConsumer) {
+                    raw = ((PlayerDataConsumer) raw).consume();
+                }
+                if (raw instanceof Double || raw instanceof Integer || raw instanceof Long) {
+                    return ((Number) raw).doubleValue();
+                }
+                try {
+                    // Entities are read by name, anything else was already consumed above
+                    return Double.parseDouble(raw instanceof LivingEntity ? castData.get(slot) : String.valueOf(raw));
+                } catch (Exception ex) { /* Not a number */ }
+            }
+            return range ? Math.random() * (max - min) + min : 0;
+        }
+    }
+
+    private static final class Scaled {
+        private final Value base;
+        private final Value scale;
+
+        private Scaled(final Value base, final Value scale) {
+            this.base = base;
+            this.scale = scale;
+        }
+    }
+}
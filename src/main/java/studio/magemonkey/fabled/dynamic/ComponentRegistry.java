@@ -33,6 +33,7 @@ public class ComponentRegistry {
     static final Map<ComponentType, Map<String, Class<?>>> COMPONENTS = new EnumMap<>(ComponentType.class);
 
     static final         Map<String, Trigger<?>>        TRIGGERS  = new HashMap<>();
+    @Deprecated
     private static final Map<Trigger<?>, EventExecutor> EXECUTORS = new HashMap<>();
 
     static {
@@ -234,6 +235,11 @@ public class ComponentRegistry {
         return Collections.unmodifiableMap(TRIGGERS);
     }
 
+    /**
+     * @deprecated triggers are routed by {@link TriggerDispatcher}, which doesn't use these executors.
+     * They are only kept for plugins that still register trigger listeners themselves.
+     */
+    @Deprecated
     public static Map<Trigger<?>, EventExecutor> getExecutors() {
         return Collections.unmodifiableMap(EXECUTORS);
     }
@@ -254,10 +260,6 @@ public class ComponentRegistry {
         }
     }
 
-    static EventExecutor getExecutor(final Trigger<?> trigger) {
-        return EXECUTORS.get(trigger);
-    }
-
     @SuppressWarnings("unchecked")
     public static <T extends Event> void register(final Trigger<T> trigger) {
         String key = trigger.getKey().toUpperCase(Locale.US).replace(' ', '_');
@@ -34,6 +34,7 @@ import studio.magemonkey.fabled.api.player.PlayerData;
 import studio.magemonkey.fabled.api.skills.PassiveSkill;
 import studio.magemonkey.fabled.api.skills.Skill;
 import studio.magemonkey.fabled.api.skills.SkillShot;
+import studio.magemonkey.fabled.api.util.EntityState;
 import studio.magemonkey.fabled.dynamic.trigger.TriggerComponent;
 import studio.magemonkey.fabled.log.Logger;
 import studio.magemonkey.codex.mccore.config.parse.DataSection;
@@ -53,8 +54,8 @@ import java.util.Map;
  * A skill implementation for the Dynamic system
  */
 public class DynamicSkill extends Skill implements SkillShot, PassiveSkill, Listener {
-    private static final Map<Integer, CastData>       castData           = new HashMap<>();
     private final        List<TriggerHandler>         triggers           = new ArrayList<>();
+    private final        List<TriggerHandler>         componentTriggers  = new ArrayList<>();
     private final        Map<String, EffectComponent> attribKeys         = new HashMap<>();
     private final        Map<Integer, Integer>        active             = new HashMap<>();
     private final        List<Integer>          forced             = new ArrayList<>();
@@ -65,6 +66,7 @@ public class DynamicSkill extends Skill implements SkillShot, PassiveSkill, List
     private boolean cancel     = false;
     private double  multiplier = 1;
     private double  bonus      = 0;
+    private boolean registered = false;
 
     /**
      * Initializes a new dynamic skill
@@ -85,12 +87,7 @@ public class DynamicSkill extends Skill implements SkillShot, PassiveSkill, List
         if (caster == null) {
             return null;
         }
-        CastData entCastData = castData.get(caster.getEntityId());
-        if (entCastData == null) {
-            entCastData = new CastData(caster);
-            castData.put(caster.getEntityId(), entCastData);
-        }
-        return entCastData;
+        return EntityState.of(caster).getCastData(true);
     }
 
     /**
@@ -99,7 +96,8 @@ public class DynamicSkill extends Skill implements SkillShot, PassiveSkill, List
      * @param entity entity to clear cast data for
      */
     public static void clearCastData(final LivingEntity entity) {
-        castData.remove(entity.getEntityId());
+        final EntityState state = EntityState.get(entity);
+        if (state != null) state.removeCastData();
     }
 
     /**
@@ -182,9 +180,42 @@ public class DynamicSkill extends Skill implements SkillShot, PassiveSkill, List
      * @param plugin plugin reference
      */
     public void registerEvents(final Fabled plugin) {
+        registered = true;
         for (final TriggerHandler triggerHandler : triggers) {
             triggerHandler.register(plugin);
         }
+        for (final TriggerHandler triggerHandler : componentTriggers) {
+            triggerHandler.register(plugin);
+        }
+    }
+
+    /**
+     * Stops all triggers of the skill from firing again, used when a reloaded
+     * copy of the skill replaces this one
+     */
+    public void unregisterEvents() {
+        registered = false;
+        for (final TriggerHandler triggerHandler : triggers) {
+            triggerHandler.unregister();
+        }
+        for (final TriggerHandler triggerHandler : componentTriggers) {
+            triggerHandler.unregister();
+        }
+        active.clear();
+    }
+
+    /**
+     * Adds a trigger handler owned by one of the skill's components. Skills can be
+     * loaded off the main thread, so the handler is only registered along with the
+     * skill's own triggers, or right away if those already are.
+     *
+     * @param triggerHandler handler to register
+     */
+    public void addComponentTrigger(final TriggerHandler triggerHandler) {
+        componentTriggers.add(triggerHandler);
+        if (registered) {
+            triggerHandler.register(Fabled.inst());
+        }
     }
 
     /**
@@ -408,6 +439,7 @@ public class DynamicSkill extends Skill implements SkillShot, PassiveSkill, List
     private TriggerComponent loadComponent(final DataSection data) {
         final TriggerComponent component = new TriggerComponent();
         component.load(this, data);
+        component.compile();
         return component;
     }
 
@@ -72,6 +72,10 @@ public abstract class EffectComponent {
      */
     protected            DynamicSkill               skill;
     private              String                     instanceKey;
+    /**
+     * Pre-parsed view of the settings, rebuilt when the settings change
+     */
+    private              CompiledSettings           compiled;
 
     private static String filterSpecialChars(String string) {
         int           i       = 0;
@@ -148,9 +152,7 @@ public abstract class EffectComponent {
      * @return the value with attribute modifications if applicable
      */
     protected double parseValues(LivingEntity caster, String key, int level, double fallback) {
-        double base  = getNum(caster, key + "-base", fallback);
-        double scale = getNum(caster, key + "-scale", 0);
-        double value = base + (level - 1) * scale;
+        double value = getCompiled().getScaled(caster, key, level, fallback);
 
         // Apply global modifiers
         if (Fabled.getSettings().isAttributesEnabled() && caster instanceof Player) {
@@ -161,6 +163,28 @@ public abstract class EffectComponent {
         return value;
     }
 
+    /**
+     * Retrieves an attribute value while applying attribute
+     * data if enabled and a player is using the skill
+     *
+     * @param caster   caster of the skill
+     * @param slot     slot of the value to grab, see {@link CompiledSettings#slot(String)}
+     * @param level    level of the skill
+     * @param fallback default value for the attribute
+     * @return the value with attribute modifications if applicable
+     */
+    protected double parseValues(LivingEntity caster, int slot, int level, double fallback) {
+        double value = getCompiled().getScaled(caster, slot, level, fallback);
+
+        // Apply global modifiers
+        if (Fabled.getSettings().isAttributesEnabled() && caster instanceof Player) {
+            PlayerData data = Fabled.getPlayerData((Player) caster);
+            value = data.scaleDynamic(this, CompiledSettings.getName(slot), value);
+        }
+
+        return value;
+    }
+
     /**
      * Retrieves a numerical value while using non-numerical values as
      * keys for the cast data. If the value doesn't exist, this will
@@ -174,31 +198,41 @@ public abstract class EffectComponent {
      * @return the settings value or, if not a number, the cast data value
      */
     protected double getNum(LivingEntity caster, String key, double fallback) {
-        String val = settings.getString(key);
-        if (val == null) {
-            return fallback;
-        }
+        return getCompiled().getNum(caster, key, fallback);
+    }
 
-        try {
-            return Double.parseDouble(val);
-        } catch (Exception ex) { /* Not a number */ }
+    /**
+     * Retrieves a numerical value the same way as {@link #getNum(LivingEntity, String, double)}
+     *
+     * @param caster   the caster of the skill
+     * @param slot     slot of the value, see {@link CompiledSettings#slot(String)}
+     * @param fallback fallback value in case the settings don't have it
+     * @return the settings value or, if not a number, the cast data value
+     */
+    protected double getNum(LivingEntity caster, int slot, double fallback) {
+        return getCompiled().getNum(caster, slot, fallback);
+    }
 
-        final CastData castData = DynamicSkill.getCastData(caster);
-        if (castData.contains(val)) {
-            final String mapVal = castData.get(val);
-            try {
-                return Double.parseDouble(mapVal);
-            } catch (Exception ex) { /* Not a number */ }
+    /**
+     * Retrieves the pre-parsed settings of the component, recompiling them
+     * if the settings were modified since they were last compiled
+     *
+     * @return compiled settings
+     */
+    protected CompiledSettings getCompiled() {
+        if (compiled == null || !compiled.isCurrent(settings)) {
+            compiled = CompiledSettings.compile(settings);
         }
+        return compiled;
+    }
 
-        try {
-            final int    mid = val.indexOf('-', 1);
-            final double min = Double.parseDouble(val.substring(0, mid));
-            final double max = Double.parseDouble(val.substring(mid + 1));
-            return Math.random() * (max - min) + min;
-        } catch (Exception ex) { /* Not a range */ }
-
-        return 0;
+    /**
+     * Compiles the settings of the component and its children so
+     * executing them does not need to parse any values
+     */
+    public void compile() {
+        compiled = CompiledSettings.compile(settings);
+        children.forEach(EffectComponent::compile);
     }
 
     /**
@@ -226,14 +260,21 @@ public abstract class EffectComponent {
 
         boolean worked = false;
         for (EffectComponent child : children) {
-            boolean counts = !child.settings.getString(COUNTS_KEY, "true").equalsIgnoreCase("false");
+            boolean counts = !child.getCompiled().getString(COUNTS_KEY, "true").equalsIgnoreCase("false");
             passed = child.execute(caster, level, targets, force);
             worked = (passed && counts) || worked;
         }
         return worked;
     }
 
+    /**
+     * Stops everything the component and its children are still doing for the caster,
+     * including work they scheduled through the {@link SkillScheduler}
+     *
+     * @param caster caster to clean up for
+     */
     public void cleanUp(final LivingEntity caster) {
+        SkillScheduler.cancel(this, caster);
         doCleanUp(caster);
         children.forEach(child -> child.cleanUp(caster));
     }
@@ -272,9 +313,10 @@ public abstract class EffectComponent {
 
         int k = 0;
         while (i >= 0 && j > i) {
-            String key = text.substring(i + 1, j);
-            if (data.contains(key)) {
-                String obj = data.get(key);
+            String key  = text.substring(i + 1, j);
+            int    slot = CastData.find(key);
+            if (data.contains(slot)) {
+                String obj = data.get(slot);
                 builder.append(text, k, i);
                 builder.append(obj);
 
@@ -58,6 +58,8 @@ public class ItemChecker {
     private static final String NAME              = "name";
     private static final String AMOUNT            = "amount";
 
+    private static final int AMOUNT_SLOT = CompiledSettings.slot(AMOUNT);
+
     /**
      * Checks the player inventory for items matching the settings
      *
@@ -70,7 +72,7 @@ public class ItemChecker {
     public static boolean check(Player player, int level, EffectComponent component, boolean remove) {
         final Settings settings = component.getSettings();
 
-        int count = (int) component.parseValues(player, AMOUNT, level, 1);
+        int count = (int) component.parseValues(player, AMOUNT_SLOT, level, 1);
 
         // Checks to do
         boolean mat         = settings.getBool(CHECK_MAT, true);
@@ -0,0 +1,339 @@
+/**
+ * Fabled
+ * studio.magemonkey.fabled.dynamic.SkillScheduler
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 MageMonkeyStudio
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package studio.magemonkey.fabled.dynamic;
+
+import studio.magemonkey.fabled.Fabled;
+import studio.magemonkey.fabled.log.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.*;
+import java.util.function.BooleanSupplier;
+
+/**
+ * <p>Runs deferred work for dynamic skill components from a single repeating task.</p>
+ * <p>Mechanics such as delays, repeats and timed buffs queue their work here instead
+ * of creating a scheduler entry per cast. Pending work is tracked per caster and per
+ * skill so it can be cancelled when a component is cleaned up and inspected while
+ * the server is running.</p>
+ */
+public class SkillScheduler {
+    private static final PriorityQueue<Task>    queue    = new PriorityQueue<>();
+    private static final Map<Integer, Set<Task>> byCaster = new HashMap<>();
+    private static final Map<String, Integer>    bySkill  = new HashMap<>();
+
+    private static BukkitTask task;
+    private static long       tick;
+    private static long       sequence;
+    private static int        pending;
+    private static int        cancelledInQueue;
+    private static long       lastRun;
+
+    /**
+     * Starts ticking deferred skill work
+     */
+    public static void init() {
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(Fabled.inst(), SkillScheduler::tick, 1, 1);
+        }
+    }
+
+    /**
+     * Stops ticking and drops all pending work without running it
+     */
+    public static void cleanUp() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        for (Task queued : queue) {
+            queued.state = Task.DONE;
+        }
+        queue.clear();
+        byCaster.clear();
+        bySkill.clear();
+        pending = 0;
+        cancelledInQueue = 0;
+    }
+
+    /**
+     * Runs the action once after the given delay
+     *
+     * @param owner  component scheduling the work
+     * @param caster caster the work belongs to
+     * @param delay  delay in ticks, values below 1 run on the next tick
+     * @param action work to run
+     * @return handle for the scheduled work
+     */
+    public static Task runLater(EffectComponent owner, LivingEntity caster, long delay, Runnable action) {
+        return schedule(owner, caster, delay, 0, () -> {
+            action.run();
+            return false;
+        });
+    }
+
+    /**
+     * Runs the action repeatedly until it returns false or the task is cancelled
+     *
+     * @param owner  component scheduling the work
+     * @param caster caster the work belongs to
+     * @param delay  delay before the first run in ticks, values below 1 run on the next tick
+     * @param period ticks between runs, values below 1 run every tick
+     * @param action work to run, returning true to keep repeating
+     * @return handle for the scheduled work
+     */
+    public static Task runTimer(EffectComponent owner,
+                                LivingEntity caster,
+                                long delay,
+                                long period,
+                                BooleanSupplier action) {
+        return schedule(owner, caster, delay, Math.max(1, period), action);
+    }
+
+    /**
+     * Cancels all pending work the component scheduled for the caster
+     *
+     * @param owner  component that scheduled the work
+     * @param caster caster the work belongs to
+     * @return number of cancelled tasks
+     */
+    public static int cancel(EffectComponent owner, LivingEntity caster) {
+        final Set<Task> tasks = byCaster.get(caster.getEntityId());
+        if (tasks == null) {
+            return 0;
+        }
+
+        int cancelled = 0;
+        for (Task queued : new ArrayList<>(tasks)) {
+            if (queued.owner == owner) {
+                queued.cancel();
+                cancelled++;
+            }
+        }
+        return cancelled;
+    }
+
+    /**
+     * Cancels all pending work belonging to the caster
+     *
+     * @param caster caster the work belongs to
+     * @return number of cancelled tasks
+     */
+    public static int cancelAll(LivingEntity caster) {
+        final Set<Task> tasks = byCaster.get(caster.getEntityId());
+        if (tasks == null) {
+            return 0;
+        }
+
+        final List<Task> copy = new ArrayList<>(tasks);
+        copy.forEach(Task::cancel);
+        return copy.size();
+    }
+
+    /**
+     * @return total number of pending tasks
+     */
+    public static int getPendingCount() {
+        return pending;
+    }
+
+    /**
+     * @param caster caster to check
+     * @return number of pending tasks belonging to the caster
+     */
+    public static int getPendingCount(LivingEntity caster) {
+        final Set<Task> tasks = byCaster.get(caster.getEntityId());
+        return tasks == null ? 0 : tasks.size();
+    }
+
+    /**
+     * @param skill name of the skill to check
+     * @return number of pending tasks scheduled by the skill's components
+     */
+    public static int getPendingCount(String skill) {
+        return bySkill.getOrDefault(skill.toLowerCase(), 0);
+    }
+
+    /**
+     * @return pending task counts keyed by lower case skill name
+     */
+    public static Map<String, Integer> getPendingBySkill() {
+        return new HashMap<>(bySkill);
+    }
+
+    /**
+     * @return number of tasks run on the last tick
+     */
+    public static long getLastRunCount() {
+        return lastRun;
+    }
+
+    /**
+     * @return number of ticks processed since the scheduler started
+     */
+    public static long getTick() {
+        return tick;
+    }
+
+    private static Task schedule(EffectComponent owner,
+                                 LivingEntity caster,
+                                 long delay,
+                                 long period,
+                                 BooleanSupplier action) {
+        final String skill = owner.skill == null ? "" : owner.skill.getName().toLowerCase();
+        final Task   queued = new Task(owner, caster.getEntityId(), skill, period, action);
+        queued.due = tick + Math.max(1, delay);
+        queued.seq = sequence++;
+        queue.add(queued);
+
+        byCaster.computeIfAbsent(queued.casterId, id -> new HashSet<>()).add(queued);
+        bySkill.merge(skill, 1, Integer::sum);
+        pending++;
+        return queued;
+    }
+
+    private static void release(Task queued) {
+        final Set<Task> tasks = byCaster.get(queued.casterId);
+        if (tasks != null && tasks.remove(queued) && tasks.isEmpty()) {
+            byCaster.remove(queued.casterId);
+        }
+        bySkill.computeIfPresent(queued.skill, (key, count) -> count <= 1 ? null : count - 1);
+        pending--;
+    }
+
+    static void tick() {
+        tick++;
+        long ran = 0;
+        while (!queue.isEmpty() && queue.peek().due <= tick) {
+            final Task next = queue.poll();
+            if (next.state == Task.CANCELLED) {
+                next.state = Task.DONE;
+                cancelledInQueue--;
+                continue;
+            }
+
+            next.state = Task.RUNNING;
+            boolean again = false;
+            try {
+                again = next.action.getAsBoolean() && next.period > 0;
+            } catch (Exception ex) {
+                Logger.bug("Failed to run deferred work for skill \"" + next.skill + "\"");
+                ex.printStackTrace();
+            }
+            ran++;
+
+            if (next.state == Task.CANCELLED) {
+                // Cancelled itself while running, accounting was already released
+                next.state = Task.DONE;
+            } else if (again) {
+                next.state = Task.QUEUED;
+                next.due = tick + next.period;
+                next.seq = sequence++;
+                queue.add(next);
+            } else {
+                next.state = Task.DONE;
+                release(next);
+            }
+        }
+        lastRun = ran;
+
+        // Drop cancelled entries once they make up most of the queue
+        if (cancelledInQueue > 64 && cancelledInQueue > queue.size() / 2) {
+            queue.removeIf(queued -> queued.state == Task.CANCELLED);
+            cancelledInQueue = 0;
+        }
+    }
+
+    /**
+     * Handle for deferred work queued in the {@link SkillScheduler}
+     */
+    public static final class Task implements Comparable<Task> {
+        private static final int QUEUED    = 0;
+        private static final int RUNNING   = 1;
+        private static final int CANCELLED = 2;
+        private static final int DONE      = 3;
+
+        private final EffectComponent owner;
+        private final int             casterId;
+        private final String          skill;
+        private final long            period;
+        private final BooleanSupplier action;
+
+        private long due;
+        private long seq;
+        private int  state = QUEUED;
+
+        private Task(EffectComponent owner, int casterId, String skill, long period, BooleanSupplier action) {
+            this.owner = owner;
+            this.casterId = casterId;
+            this.skill = skill;
+            this.period = period;
+            this.action = action;
+        }
+
+        /**
+         * Stops the work from running again. Does nothing if it already finished.
+         */
+        public void cancel() {
+            if (state == QUEUED) {
+                cancelledInQueue++;
+            } else if (state != RUNNING) {
+                return;
+            }
+            state = CANCELLED;
+            release(this);
+        }
+
+        /**
+         * @return true if the work will still run
+         */
+        public boolean isPending() {
+            return state == QUEUED || state == RUNNING;
+        }
+
+        /**
+         * @return entity ID of the caster the work belongs to
+         */
+        public int getCasterId() {
+            return casterId;
+        }
+
+        /**
+         * @return lower case name of the skill that scheduled the work
+         */
+        public String getSkill() {
+            return skill;
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            int result = Long.compare(due, other.due);
+            return result != 0 ? result : Long.compare(seq, other.seq);
+        }
+    }
+}
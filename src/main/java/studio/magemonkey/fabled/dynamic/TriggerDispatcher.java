@@ -0,0 +1,213 @@
+/**
+ * Fabled
+ * studio.magemonkey.fabled.dynamic.TriggerDispatcher
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 MageMonkeyStudio
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package studio.magemonkey.fabled.dynamic;
+
+import studio.magemonkey.fabled.Fabled;
+import studio.magemonkey.fabled.dynamic.trigger.Trigger;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * <p>Routes a single Bukkit event class to the {@link TriggerHandler}s that
+ * listen for it.</p>
+ * <p>Only one listener is registered per event class. Handlers are indexed by
+ * the entity id of every caster they are active for, so an event is only passed
+ * to the handlers that can actually fire for the caster the trigger resolves.</p>
+ * <p>Once a handler cancels the event, later handlers are skipped, except for
+ * interact and swap events which are cancelled by default.</p>
+ */
+public class TriggerDispatcher implements Listener {
+    private static final Map<Class<? extends Event>, TriggerDispatcher> DISPATCHERS = new HashMap<>();
+
+    private final List<TriggerIndex<?>> indexes = new CopyOnWriteArrayList<>();
+    private final boolean               ignoreCancelled;
+
+    private TriggerDispatcher(final boolean ignoreCancelled) {
+        this.ignoreCancelled = ignoreCancelled;
+    }
+
+    /**
+     * Registers a handler, hooking up the listener for its event class if needed
+     *
+     * @param plugin  plugin reference
+     * @param handler handler to register
+     */
+    static void register(final Fabled plugin, final TriggerHandler handler) {
+        final Class<? extends Event> eventClass = handler.getTrigger().getEvent();
+        TriggerDispatcher            dispatcher = DISPATCHERS.get(eventClass);
+        if (dispatcher == null) {
+            // Interact and swap events are cancelled by default when nothing happens, so still listen to those
+            final boolean ignoreCancelled =
+                    !eventClass.getTypeName().equals("org.bukkit.event.player.PlayerInteractEvent")
+                            && !eventClass.getTypeName().contains("PlayerSwapHandItemsEvent");
+            dispatcher = new TriggerDispatcher(ignoreCancelled);
+            DISPATCHERS.put(eventClass, dispatcher);
+
+            final TriggerDispatcher listener = dispatcher;
+            plugin.getServer()
+                    .getPluginManager()
+                    .registerEvent(eventClass,
+                            listener,
+                            EventPriority.HIGHEST,
+                            (l, event) -> listener.dispatch(event),
+                            plugin,
+                            ignoreCancelled);
+        }
+        dispatcher.getIndex(handler.getTrigger());
+    }
+
+    /**
+     * Marks a handler as active for the given caster
+     *
+     * @param handler  handler that became active
+     * @param casterId entity id of the caster
+     */
+    static void activate(final TriggerHandler handler, final int casterId) {
+        final TriggerDispatcher dispatcher = DISPATCHERS.get(handler.getTrigger().getEvent());
+        if (dispatcher != null) {
+            dispatcher.getIndex(handler.getTrigger()).add(casterId, handler);
+        }
+    }
+
+    /**
+     * Marks a handler as no longer active for the given caster
+     *
+     * @param handler  handler that is no longer active
+     * @param casterId entity id of the caster
+     */
+    static void deactivate(final TriggerHandler handler, final int casterId) {
+        final TriggerDispatcher dispatcher = DISPATCHERS.get(handler.getTrigger().getEvent());
+        if (dispatcher != null) {
+            dispatcher.getIndex(handler.getTrigger()).remove(casterId, handler);
+        }
+    }
+
+    /**
+     * Drops all dispatchers. Their listeners are unregistered along with
+     * the rest of Fabled's listeners when the plugin is disabled.
+     */
+    public static void clear() {
+        DISPATCHERS.clear();
+    }
+
+    /**
+     * @return number of event classes with a registered dispatcher
+     */
+    public static int getDispatcherCount() {
+        return DISPATCHERS.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Event> TriggerIndex<T> getIndex(final Trigger<T> trigger) {
+        for (final TriggerIndex<?> index : indexes) {
+            if (index.trigger == trigger) {
+                return (TriggerIndex<T>) index;
+            }
+        }
+        final TriggerIndex<T> index = new TriggerIndex<>(trigger);
+        indexes.add(index);
+        return index;
+    }
+
+    private void dispatch(final Event event) {
+        for (final TriggerIndex<?> index : indexes) {
+            if (!index.dispatch(event)) {
+                return;
+            }
+        }
+    }
+
+    private boolean isCancelled(final Event event) {
+        return ignoreCancelled && event instanceof Cancellable && ((Cancellable) event).isCancelled();
+    }
+
+    /**
+     * Handlers of a single trigger keyed by the caster they are active for
+     */
+    private class TriggerIndex<T extends Event> {
+        private final Trigger<T>                         trigger;
+        private final Map<Integer, List<TriggerHandler>> byCaster = new ConcurrentHashMap<>();
+
+        private TriggerIndex(final Trigger<T> trigger) {
+            this.trigger = trigger;
+        }
+
+        private void add(final int casterId, final TriggerHandler handler) {
+            final List<TriggerHandler> handlers =
+                    byCaster.computeIfAbsent(casterId, id -> new CopyOnWriteArrayList<>());
+            if (!handlers.contains(handler)) {
+                handlers.add(handler);
+            }
+        }
+
+        private void remove(final int casterId, final TriggerHandler handler) {
+            byCaster.computeIfPresent(casterId, (id, handlers) -> {
+                handlers.remove(handler);
+                return handlers.isEmpty() ? null : handlers;
+            });
+        }
+
+        /**
+         * Passes the event to the handlers active for its caster
+         *
+         * @param event event to dispatch
+         * @return false if the event was cancelled and should not reach further handlers
+         */
+        private boolean dispatch(final Event event) {
+            if (byCaster.isEmpty() || !trigger.getEvent().isInstance(event)) {
+                return true;
+            }
+
+            final T            typed  = trigger.getEvent().cast(event);
+            final LivingEntity caster = trigger.getCaster(typed);
+            if (caster == null) {
+                return true;
+            }
+
+            final List<TriggerHandler> handlers = byCaster.get(caster.getEntityId());
+            if (handlers == null) {
+                return true;
+            }
+            for (final TriggerHandler handler : handlers) {
+                if (isCancelled(event)) {
+                    return false;
+                }
+                handler.apply(typed, trigger, caster);
+            }
+            return !isCancelled(event);
+        }
+    }
+}
@@ -13,15 +13,12 @@ import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Cancellable;
 import org.bukkit.event.Event;
-import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 
-import static studio.magemonkey.fabled.dynamic.ComponentRegistry.getExecutor;
-
 /**
  * Fabled © 2024
  * studio.magemonkey.fabled.dynamic.TriggerHandler
@@ -34,6 +31,7 @@ public class TriggerHandler implements Listener {
     private final String           key;
     private final Trigger<?>       trigger;
     private final TriggerComponent component;
+    private       boolean          registered;
 
     public TriggerHandler(final DynamicSkill skill,
                           final String key,
@@ -65,10 +63,16 @@ public class TriggerHandler implements Listener {
 
     public void init(final LivingEntity entity, final int level) {
         active.put(entity.getEntityId(), level);
+        if (registered) {
+            TriggerDispatcher.activate(this, entity.getEntityId());
+        }
     }
 
     public void cleanup(final LivingEntity entity) {
         active.remove(entity.getEntityId());
+        if (registered) {
+            TriggerDispatcher.deactivate(this, entity.getEntityId());
+        }
         component.cleanUp(entity);
     }
 
@@ -78,34 +82,36 @@ public class TriggerHandler implements Listener {
      * @param plugin plugin reference
      */
     public void register(final Fabled plugin) {
-
-        if (trigger.getEvent().getTypeName().equals("org.bukkit.event.player.PlayerInteractEvent") || trigger.getEvent()
-                .getTypeName()
-                .contains("PlayerSwapHandItemsEvent")) {
-            plugin.getServer()
-                    .getPluginManager()
-                    .registerEvent(trigger.getEvent(),
-                            this,
-                            EventPriority.HIGHEST,
-                            getExecutor(trigger),
-                            plugin,
-                            false);
-        } else {
-            plugin.getServer()
-                    .getPluginManager()
-                    .registerEvent(trigger.getEvent(), this, EventPriority.HIGHEST, getExecutor(trigger), plugin, true);
+        TriggerDispatcher.register(plugin, this);
+        registered = true;
+        for (final Integer casterId : active.keySet()) {
+            TriggerDispatcher.activate(this, casterId);
         }
+    }
 
+    /**
+     * Stops routing events to this handler for every caster it is active for
+     */
+    public void unregister() {
+        if (registered) {
+            for (final Integer casterId : active.keySet()) {
+                TriggerDispatcher.deactivate(this, casterId);
+            }
+        }
+        registered = false;
+        active.clear();
     }
 
     <T extends Event> void apply(final T event, final Trigger<T> trigger) {
+        apply(event, trigger, trigger.getCaster(event));
+    }
 
-        final LivingEntity caster = trigger.getCaster(event);
-        if (caster == null || !active.containsKey(caster.getEntityId())) {
+    <T extends Event> void apply(final T event, final Trigger<T> trigger, final LivingEntity caster) {
+        final Integer level = caster == null ? null : active.get(caster.getEntityId());
+        if (level == null) {
             return;
         }
 
-        final int level = active.get(caster.getEntityId());
         if (!trigger.shouldTrigger(event, level, component.settings)) {
             return;
         }
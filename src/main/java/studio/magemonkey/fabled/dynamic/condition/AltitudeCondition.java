@@ -1,5 +1,6 @@
 package studio.magemonkey.fabled.dynamic.condition;
 
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.entity.LivingEntity;
 
 public class AltitudeCondition extends ConditionComponent {
@@ -7,10 +8,13 @@ public class AltitudeCondition extends ConditionComponent {
     private static final String MIN = "min";
     private static final String MAX = "max";
 
+    private static final int MIN_SLOT = CompiledSettings.slot(MIN);
+    private static final int MAX_SLOT = CompiledSettings.slot(MAX);
+
     @Override
     boolean test(LivingEntity caster, int level, LivingEntity target) {
-        double min = parseValues(target, MIN, level, settings.getInt(MIN, 0));
-        double max = parseValues(target, MAX, level, settings.getInt(MAX, 0));
+        double min = parseValues(target, MIN_SLOT, level, settings.getInt(MIN, 0));
+        double max = parseValues(target, MAX_SLOT, level, settings.getInt(MAX, 0));
         return target.getLocation().getY() >= min && target.getLocation().getY() <= max;
     }
 
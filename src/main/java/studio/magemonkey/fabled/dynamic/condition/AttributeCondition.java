@@ -28,6 +28,7 @@ package studio.magemonkey.fabled.dynamic.condition;
 
 import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.player.PlayerData;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 
@@ -36,13 +37,16 @@ public class AttributeCondition extends ConditionComponent {
     private static final String MIN  = "min";
     private static final String MAX  = "max";
 
+    private static final int MIN_SLOT = CompiledSettings.slot(MIN);
+    private static final int MAX_SLOT = CompiledSettings.slot(MAX);
+
     @Override
     boolean test(final LivingEntity caster, final int level, final LivingEntity target) {
         if (!(target instanceof Player)) return false;
 
         final String attr = settings.getString(ATTR, null);
-        final int    min  = (int) parseValues(caster, MIN, level, 0);
-        final int    max  = (int) parseValues(caster, MAX, level, 999);
+        final int    min  = (int) parseValues(caster, MIN_SLOT, level, 0);
+        final int    max  = (int) parseValues(caster, MAX_SLOT, level, 999);
 
         final PlayerData data  = Fabled.getPlayerData((Player) target);
         final int        value = data.getAttribute(attr);
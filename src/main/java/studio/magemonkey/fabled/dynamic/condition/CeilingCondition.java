@@ -1,5 +1,6 @@
 package studio.magemonkey.fabled.dynamic.condition;
 
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.block.Block;
 import org.bukkit.entity.LivingEntity;
 
@@ -7,10 +8,12 @@ public class CeilingCondition extends ConditionComponent {
     private static final String DISTANCE = "distance";
     private static final String AT_LEAST = "at-least";
 
+    private static final int DISTANCE_SLOT = CompiledSettings.slot(DISTANCE);
+
     @Override
     boolean test(final LivingEntity caster, final int level, final LivingEntity target) {
         final boolean atLeast  = settings.getBool(AT_LEAST, true);
-        final int     distance = (int) parseValues(caster, DISTANCE, level, 5);
+        final int     distance = (int) parseValues(caster, DISTANCE_SLOT, level, 5);
 
         final Block block   = target.getLocation().getBlock();
         boolean     ceiling = false;
@@ -27,14 +27,17 @@
 package studio.magemonkey.fabled.dynamic.condition;
 
 import studio.magemonkey.fabled.Fabled;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.entity.LivingEntity;
 
 public class ChanceCondition extends ConditionComponent {
     private static final String CHANCE = "chance";
 
+    private static final int CHANCE_SLOT = CompiledSettings.slot(CHANCE);
+
     @Override
     boolean test(final LivingEntity caster, final int level, final LivingEntity target) {
-        final double chance = parseValues(caster, CHANCE, level, 25) / 100.0;
+        final double chance = parseValues(caster, CHANCE_SLOT, level, 25) / 100.0;
         return Fabled.RANDOM.nextDouble() < chance;
     }
 
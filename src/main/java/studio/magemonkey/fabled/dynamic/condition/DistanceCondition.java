@@ -26,6 +26,7 @@
  */
 package studio.magemonkey.fabled.dynamic.condition;
 
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.entity.LivingEntity;
 
 /**
@@ -35,6 +36,9 @@ public class DistanceCondition extends ConditionComponent {
     private static final String MIN = "min-value";
     private static final String MAX = "max-value";
 
+    private static final int MIN_SLOT = CompiledSettings.slot(MIN);
+    private static final int MAX_SLOT = CompiledSettings.slot(MAX);
+
     @Override
     public String getKey() {
         return "distance";
@@ -42,8 +46,8 @@ public class DistanceCondition extends ConditionComponent {
 
     @Override
     boolean test(final LivingEntity caster, final int level, final LivingEntity target) {
-        double min = parseValues(caster, MIN, level, 0);
-        double max = parseValues(caster, MAX, level, 50);
+        double min = parseValues(caster, MIN_SLOT, level, 0);
+        double max = parseValues(caster, MAX_SLOT, level, 50);
         // Square values, so distanceSquared can be used to decrease load
         min = min * min;
         max = max * max;
@@ -26,6 +26,7 @@
  */
 package studio.magemonkey.fabled.dynamic.condition;
 
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.entity.LivingEntity;
 
 import java.util.ArrayList;
@@ -39,6 +40,9 @@ public class ElevationCondition extends ConditionComponent {
     private static final String MIN  = "min-value";
     private static final String MAX  = "max-value";
 
+    private static final int MIN_SLOT = CompiledSettings.slot(MIN);
+    private static final int MAX_SLOT = CompiledSettings.slot(MAX);
+
     @Override
     public String getKey() {
         return "elevation";
@@ -56,8 +60,8 @@ public class ElevationCondition extends ConditionComponent {
     @Override
     public boolean execute(LivingEntity caster, int level, List<LivingEntity> targets, boolean force) {
         String type = settings.getString(TYPE).toLowerCase();
-        double min  = parseValues(caster, MIN, level, 0);
-        double max  = parseValues(caster, MAX, level, 255);
+        double min  = parseValues(caster, MIN_SLOT, level, 0);
+        double max  = parseValues(caster, MAX_SLOT, level, 255);
 
         ArrayList<LivingEntity> list = new ArrayList<LivingEntity>();
         for (LivingEntity target : targets) {
@@ -77,8 +81,8 @@ public class ElevationCondition extends ConditionComponent {
     @Override
     boolean test(final LivingEntity caster, final int level, final LivingEntity target) {
         final String type = settings.getString(TYPE);
-        final double min  = parseValues(caster, MIN, level, 0);
-        final double max  = parseValues(caster, MAX, level, 255);
+        final double min  = parseValues(caster, MIN_SLOT, level, 0);
+        final double max  = parseValues(caster, MAX_SLOT, level, 255);
 
         double value;
         if (type.equalsIgnoreCase("difference")) {
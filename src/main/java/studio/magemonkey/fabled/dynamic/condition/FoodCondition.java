@@ -1,5 +1,6 @@
 package studio.magemonkey.fabled.dynamic.condition;
 
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 
@@ -8,6 +9,9 @@ public class FoodCondition extends ConditionComponent {
     private static final String MIN  = "min-value";
     private static final String MAX  = "max-value";
 
+    private static final int MIN_SLOT = CompiledSettings.slot(MIN);
+    private static final int MAX_SLOT = CompiledSettings.slot(MAX);
+
     @Override
     boolean test(final LivingEntity caster, final int level, final LivingEntity target) {
         if (!(target instanceof Player)) {
@@ -15,8 +19,8 @@ public class FoodCondition extends ConditionComponent {
         }
 
         final String type = settings.getString(TYPE).toLowerCase();
-        final double min  = parseValues(caster, MIN, level, 0);
-        final double max  = parseValues(caster, MAX, level, 999);
+        final double min  = parseValues(caster, MIN_SLOT, level, 0);
+        final double max  = parseValues(caster, MAX_SLOT, level, 999);
 
         double value;
         switch (type) {
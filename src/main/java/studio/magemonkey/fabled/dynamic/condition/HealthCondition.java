@@ -26,6 +26,7 @@
  */
 package studio.magemonkey.fabled.dynamic.condition;
 
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.entity.LivingEntity;
 
 /**
@@ -36,11 +37,14 @@ public class HealthCondition extends ConditionComponent {
     private static final String MIN  = "min-value";
     private static final String MAX  = "max-value";
 
+    private static final int MIN_SLOT = CompiledSettings.slot(MIN);
+    private static final int MAX_SLOT = CompiledSettings.slot(MAX);
+
     @Override
     boolean test(final LivingEntity caster, final int level, final LivingEntity target) {
         final String type = settings.getString(TYPE).toLowerCase();
-        final double min  = parseValues(caster, MIN, level, 0);
-        final double max  = parseValues(caster, MAX, level, 999);
+        final double min  = parseValues(caster, MIN_SLOT, level, 0);
+        final double max  = parseValues(caster, MAX_SLOT, level, 999);
 
         double value;
         switch (type) {
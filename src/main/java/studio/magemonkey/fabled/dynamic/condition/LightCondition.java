@@ -26,6 +26,7 @@
  */
 package studio.magemonkey.fabled.dynamic.condition;
 
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.entity.LivingEntity;
 
 /**
@@ -35,10 +36,13 @@ public class LightCondition extends ConditionComponent {
     private static final String MIN = "min-light";
     private static final String MAX = "max-light";
 
+    private static final int MIN_SLOT = CompiledSettings.slot(MIN);
+    private static final int MAX_SLOT = CompiledSettings.slot(MAX);
+
     @Override
     boolean test(final LivingEntity caster, final int level, final LivingEntity target) {
-        final double min   = parseValues(caster, MIN, level, 0);
-        final double max   = parseValues(caster, MAX, level, 0);
+        final double min   = parseValues(caster, MIN_SLOT, level, 0);
+        final double max   = parseValues(caster, MAX_SLOT, level, 0);
         final double light = target.getLocation().getBlock().getLightLevel();
         return light >= min && light <= max;
     }
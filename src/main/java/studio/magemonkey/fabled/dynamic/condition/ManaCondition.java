@@ -29,6 +29,7 @@ package studio.magemonkey.fabled.dynamic.condition;
 import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.player.PlayerData;
 import studio.magemonkey.fabled.api.player.PlayerSkill;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 
@@ -37,6 +38,9 @@ public class ManaCondition extends ConditionComponent {
     private static final String MIN  = "min-value";
     private static final String MAX  = "max-value";
 
+    private static final int MIN_SLOT = CompiledSettings.slot(MIN);
+    private static final int MAX_SLOT = CompiledSettings.slot(MAX);
+
     @Override
     boolean test(final LivingEntity caster, final int level, final LivingEntity target) {
         if (!(target instanceof Player)) {
@@ -44,8 +48,8 @@ public class ManaCondition extends ConditionComponent {
         }
 
         final String      type  = settings.getString(TYPE).toLowerCase();
-        final double      min   = parseValues(caster, MIN, level, 0);
-        final double      max   = parseValues(caster, MAX, level, 99);
+        final double      min   = parseValues(caster, MIN_SLOT, level, 0);
+        final double      max   = parseValues(caster, MAX_SLOT, level, 99);
         final PlayerData  data  = Fabled.getPlayerData((Player) target);
         final PlayerSkill skill = getSkillData(caster);
         final double      mana  = data.getMana();
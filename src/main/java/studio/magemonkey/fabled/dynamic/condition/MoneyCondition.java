@@ -26,6 +26,7 @@
  */
 package studio.magemonkey.fabled.dynamic.condition;
 
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.hook.VaultHook;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
@@ -40,6 +41,9 @@ public class MoneyCondition extends ConditionComponent {
     private static final String MIN_VALUE = "min-value";
     private static final String MAX_VALUE = "max-value";
 
+    private static final int MIN_VALUE_SLOT = CompiledSettings.slot(MIN_VALUE);
+    private static final int MAX_VALUE_SLOT = CompiledSettings.slot(MAX_VALUE);
+
     private enum CompareType {
         MIN, MAX, BETWEEN
     }
@@ -60,14 +64,14 @@ public class MoneyCondition extends ConditionComponent {
         boolean result  = false;
         switch (type) {
             case MIN:
-                result = balance >= parseValues(caster, MIN_VALUE, level, 0);
+                result = balance >= parseValues(caster, MIN_VALUE_SLOT, level, 0);
                 break;
             case MAX:
-                result = balance <= parseValues(caster, MAX_VALUE, level, 0);
+                result = balance <= parseValues(caster, MAX_VALUE_SLOT, level, 0);
                 break;
             case BETWEEN:
-                result = balance >= parseValues(caster, MIN_VALUE, level, 0)
-                        && balance <= parseValues(caster, MAX_VALUE, level, 0);
+                result = balance >= parseValues(caster, MIN_VALUE_SLOT, level, 0)
+                        && balance <= parseValues(caster, MAX_VALUE_SLOT, level, 0);
         }
         return result;
     }
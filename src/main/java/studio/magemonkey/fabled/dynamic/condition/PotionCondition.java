@@ -26,6 +26,7 @@
  */
 package studio.magemonkey.fabled.dynamic.condition;
 
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.codex.mccore.util.VersionManager;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.potion.PotionEffect;
@@ -43,6 +44,9 @@ public class PotionCondition extends ConditionComponent {
     private static final String MIN_RANK = "min-rank";
     private static final String MAX_RANK = "max-rank";
 
+    private static final int MIN_RANK_SLOT = CompiledSettings.slot(MIN_RANK);
+    private static final int MAX_RANK_SLOT = CompiledSettings.slot(MAX_RANK);
+
     @Override
     boolean test(final LivingEntity caster, final int level, final LivingEntity target) {
         final boolean                  active  = !settings.getString(TYPE, "active").equalsIgnoreCase("not active");
@@ -50,8 +54,8 @@ public class PotionCondition extends ConditionComponent {
         if (effects.isEmpty()) return !active;
 
         final String potion  = settings.getString(POTION, "").toUpperCase(Locale.US).replace(' ', '_');
-        final int    minRank = (int) parseValues(caster, MIN_RANK, level, 0);
-        final int    maxRank = (int) parseValues(caster, MAX_RANK, level, 999);
+        final int    minRank = (int) parseValues(caster, MIN_RANK_SLOT, level, 0);
+        final int    maxRank = (int) parseValues(caster, MAX_RANK_SLOT, level, 999);
         try {
             final PotionEffectType type = PotionEffectType.getByName(potion);
             return has(target, type, minRank, maxRank) == active;
@@ -27,6 +27,7 @@
 package studio.magemonkey.fabled.dynamic.condition;
 
 import studio.magemonkey.fabled.api.CastData;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.dynamic.DynamicSkill;
 import org.bukkit.entity.LivingEntity;
 
@@ -37,6 +38,9 @@ public class ValueCondition extends ConditionComponent {
     private static final String MIN = "min-value";
     private static final String MAX = "max-value";
 
+    private static final int MIN_SLOT = CompiledSettings.slot(MIN);
+    private static final int MAX_SLOT = CompiledSettings.slot(MAX);
+
     @Override
     public String getKey() {
         return "value";
@@ -50,8 +54,8 @@ public class ValueCondition extends ConditionComponent {
     @Override
     boolean test(final LivingEntity caster, final int level, final LivingEntity target) {
         final String key  = settings.getString(KEY);
-        final double min  = parseValues(caster, MIN, level, 1);
-        final double max  = parseValues(caster, MAX, level, 999);
+        final double min  = parseValues(caster, MIN_SLOT, level, 1);
+        final double max  = parseValues(caster, MAX_SLOT, level, 999);
         CastData     data = DynamicSkill.getCastData(caster);
         if (!data.contains(key)) return false;
 
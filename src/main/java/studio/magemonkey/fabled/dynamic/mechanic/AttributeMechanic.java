@@ -30,11 +30,10 @@ import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.enums.Operation;
 import studio.magemonkey.fabled.api.player.PlayerAttributeModifier;
 import studio.magemonkey.fabled.api.player.PlayerData;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
+import studio.magemonkey.fabled.dynamic.SkillScheduler;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
-import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.HashMap;
 import java.util.List;
@@ -50,6 +49,9 @@ public class AttributeMechanic extends MechanicComponent {
     private static final String SECONDS   = "seconds";
     private static final String STACKABLE = "stackable";
 
+    private static final int AMOUNT_SLOT  = CompiledSettings.slot(AMOUNT);
+    private static final int SECONDS_SLOT = CompiledSettings.slot(SECONDS);
+
     private final Map<Integer, Map<String, AttribTask>> tasks = new HashMap<>();
 
     @Override
@@ -82,8 +84,8 @@ public class AttributeMechanic extends MechanicComponent {
         }
 
         final Map<String, AttribTask> casterTasks = tasks.computeIfAbsent(caster.getEntityId(), HashMap::new);
-        final double                  amount      = parseValues(caster, AMOUNT, level, 5);
-        final double                  seconds     = parseValues(caster, SECONDS, level, 3.0);
+        final double                  amount      = parseValues(caster, AMOUNT_SLOT, level, 5);
+        final double                  seconds     = parseValues(caster, SECONDS_SLOT, level, 3.0);
         final boolean                 stackable   = settings.getString(STACKABLE, "false").equalsIgnoreCase("true");
         final int                     ticks       = (int) (seconds * 20);
         final String                  operation   = settings.getString(OPERATION, "ADD_NUMBER");
@@ -113,19 +115,19 @@ public class AttributeMechanic extends MechanicComponent {
                 final AttribTask task = new AttribTask(caster.getEntityId(), data, modifier);
                 casterTasks.put(data.getPlayerName(), task);
                 if (ticks >= 0) {
-                    Fabled.schedule(task, ticks);
+                    task.handle = SkillScheduler.runLater(this, caster, ticks, task);
                 }
             }
         }
         return worked;
     }
 
-    private class AttribTask extends BukkitRunnable {
+    private class AttribTask implements Runnable {
 
         private final PlayerData              data;
         private final PlayerAttributeModifier modifier;
         private final int                     id;
-        private       boolean                 running = false;
+        private       SkillScheduler.Task     handle;
         private       boolean                 stopped = false;
 
         AttribTask(int id, PlayerData data, PlayerAttributeModifier modifier) {
@@ -138,16 +140,14 @@ public class AttributeMechanic extends MechanicComponent {
             if (!stopped) {
                 stopped = true;
                 run();
-                if (running) {
-                    cancel();
-                }
+                cancel();
             }
         }
 
-        @Override
-        public BukkitTask runTaskLater(final Plugin plugin, final long delay) {
-            running = true;
-            return super.runTaskLater(plugin, delay);
+        public void cancel() {
+            if (handle != null) {
+                handle.cancel();
+            }
         }
 
         @Override
@@ -156,7 +156,6 @@ public class AttributeMechanic extends MechanicComponent {
             if (tasks.containsKey(id)) {
                 tasks.get(id).remove(data.getPlayerName());
             }
-            running = false;
         }
     }
 }
@@ -28,6 +28,9 @@ package studio.magemonkey.fabled.dynamic.mechanic;
 
 import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.particle.ParticleHelper;
+import studio.magemonkey.fabled.api.target.LineOfSight;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
+import studio.magemonkey.fabled.dynamic.SkillScheduler;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
@@ -64,6 +67,15 @@ public class BlockMechanic extends MechanicComponent {
     private static final String RIGHT     = "right";
     private static final String RESET_YAW = "reset-yaw";
 
+    private static final int FORWARD_SLOT = CompiledSettings.slot(FORWARD);
+    private static final int UPWARD_SLOT  = CompiledSettings.slot(UPWARD);
+    private static final int RIGHT_SLOT   = CompiledSettings.slot(RIGHT);
+    private static final int RADIUS_SLOT  = CompiledSettings.slot(RADIUS);
+    private static final int WIDTH_SLOT   = CompiledSettings.slot(WIDTH);
+    private static final int HEIGHT_SLOT  = CompiledSettings.slot(HEIGHT);
+    private static final int DEPTH_SLOT   = CompiledSettings.slot(DEPTH);
+    private static final int SECONDS_SLOT = CompiledSettings.slot(SECONDS);
+
     private static final HashMap<Location, Integer>    pending  = new HashMap<Location, Integer>();
     private static final HashMap<Location, BlockState> original = new HashMap<Location, BlockState>();
 
@@ -90,7 +102,7 @@ public class BlockMechanic extends MechanicComponent {
         if (casterTasks != null) {
             casterTasks.forEach(task -> {
                 task.revert();
-                task.cancel();
+                task.handle.cancel();
             });
         }
     }
@@ -98,9 +110,9 @@ public class BlockMechanic extends MechanicComponent {
     private Location getLocation(LivingEntity caster, int level, LivingEntity target) {
         // Get the location with offsets included
 
-        double  forward  = parseValues(caster, FORWARD, level, 0);
-        double  upward   = parseValues(caster, UPWARD, level, 0);
-        double  right    = parseValues(caster, RIGHT, level, 0);
+        double  forward  = parseValues(caster, FORWARD_SLOT, level, 0);
+        double  upward   = parseValues(caster, UPWARD_SLOT, level, 0);
+        double  right    = parseValues(caster, RIGHT_SLOT, level, 0);
         boolean resetYaw = settings.getBool(RESET_YAW, false);
 
         Location loc    = target.getLocation();
@@ -129,7 +141,7 @@ public class BlockMechanic extends MechanicComponent {
 
         // Grab blocks in a sphere
         if (sphere) {
-            double radius = parseValues(caster, RADIUS, level, 3);
+            double radius = parseValues(caster, RADIUS_SLOT, level, 3);
             double x, y, z, dx, dy, dz;
             double rSq    = radius * radius;
             for (LivingEntity t : targets) {
@@ -163,9 +175,9 @@ public class BlockMechanic extends MechanicComponent {
         // Grab blocks in a cuboid
         else {
             // Cuboid options
-            double width  = (parseValues(caster, WIDTH, level, 5) - 1) / 2;
-            double height = (parseValues(caster, HEIGHT, level, 5) - 1) / 2;
-            double depth  = (parseValues(caster, DEPTH, level, 5) - 1) / 2;
+            double width  = (parseValues(caster, WIDTH_SLOT, level, 5) - 1) / 2;
+            double height = (parseValues(caster, HEIGHT_SLOT, level, 5) - 1) / 2;
+            double depth  = (parseValues(caster, DEPTH_SLOT, level, 5) - 1) / 2;
             double x, y, z;
 
             for (LivingEntity t : targets) {
@@ -221,7 +233,7 @@ public class BlockMechanic extends MechanicComponent {
         } catch (Exception ex) {
             // Use default
         }
-        int  ticks = (int) (20 * parseValues(caster, SECONDS, level, 5));
+        int  ticks = (int) (20 * parseValues(caster, SECONDS_SLOT, level, 5));
         byte data  = (byte) settings.getInt(DATA, 0);
 
         // Change blocks
@@ -243,10 +255,11 @@ public class BlockMechanic extends MechanicComponent {
                 state.setData(new MaterialData(block, data));
             state.update(true, false);
         }
+        LineOfSight.invalidate();
 
         // Revert after duration
         final RevertTask task = new RevertTask(caster, states);
-        task.runTaskLater(Fabled.inst(), ticks);
+        task.handle = SkillScheduler.runLater(this, caster, ticks, task);
         tasks.computeIfAbsent(caster.getEntityId(), ArrayList::new).add(task);
 
         return true;
@@ -282,9 +295,10 @@ public class BlockMechanic extends MechanicComponent {
     /**
      * Reverts block changes after a duration
      */
-    private class RevertTask extends BukkitRunnable {
+    private class RevertTask implements Runnable {
         private final ArrayList<Location> locs;
         private final LivingEntity        caster;
+        private       SkillScheduler.Task handle;
 
         RevertTask(final LivingEntity caster, final ArrayList<Location> locs) {
             this.caster = caster;
@@ -307,6 +321,7 @@ public class BlockMechanic extends MechanicComponent {
                     pending.put(loc, count - 1);
                 }
             }
+            LineOfSight.invalidate();
         }
     }
 }
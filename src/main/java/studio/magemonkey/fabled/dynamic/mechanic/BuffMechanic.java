@@ -3,6 +3,7 @@ package studio.magemonkey.fabled.dynamic.mechanic;
 import studio.magemonkey.fabled.api.util.Buff;
 import studio.magemonkey.fabled.api.util.BuffManager;
 import studio.magemonkey.fabled.api.util.BuffType;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.entity.LivingEntity;
 
 import java.util.List;
@@ -19,6 +20,9 @@ public class BuffMechanic extends MechanicComponent {
     private static final String SECONDS   = "seconds";
     private static final String IMMEDIATE = "immediate";
 
+    private static final int VALUE_SLOT   = CompiledSettings.slot(VALUE);
+    private static final int SECONDS_SLOT = CompiledSettings.slot(SECONDS);
+
     @Override
     public String getKey() {
         return "buff";
@@ -38,7 +42,7 @@ public class BuffMechanic extends MechanicComponent {
         if (targets.size() == 0) return false;
 
         boolean immediate = settings.getString(IMMEDIATE, "false").equalsIgnoreCase("true");
-        double  value     = parseValues(caster, VALUE, level, 1.0);
+        double  value     = parseValues(caster, VALUE_SLOT, level, 1.0);
         boolean percent   = settings.getString(MODIFIER, "flat").equalsIgnoreCase("multiplier");
 
         if (immediate) {
@@ -47,7 +51,7 @@ public class BuffMechanic extends MechanicComponent {
         }
 
         BuffType buffType = BuffType.valueOf(settings.getString(TYPE, "DAMAGE"));
-        double   seconds  = parseValues(caster, SECONDS, level, 3.0);
+        double   seconds  = parseValues(caster, SECONDS_SLOT, level, 3.0);
         String   category = settings.getString(CATEGORY, null);
         int      ticks    = (int) (seconds * 20);
         for (LivingEntity target : targets) {
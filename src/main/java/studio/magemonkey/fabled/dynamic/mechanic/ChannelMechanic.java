@@ -26,10 +26,10 @@
  */
 package studio.magemonkey.fabled.dynamic.mechanic;
 
-import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.util.FlagManager;
 import studio.magemonkey.fabled.api.util.StatusFlag;
-import org.bukkit.Bukkit;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
+import studio.magemonkey.fabled.dynamic.SkillScheduler;
 import org.bukkit.entity.LivingEntity;
 
 import java.util.List;
@@ -41,6 +41,8 @@ public class ChannelMechanic extends MechanicComponent {
     private static final String SECONDS = "time";
     private static final String STILL   = "still";
 
+    private static final int SECONDS_SLOT = CompiledSettings.slot(SECONDS);
+
     @Override
     public String getKey() {
         return "channel";
@@ -64,19 +66,17 @@ public class ChannelMechanic extends MechanicComponent {
             return false;
         }
         boolean still = settings.getBool(STILL);
-        int     ticks = (int) (20 * parseValues(caster, SECONDS, level, 2.0));
+        int     ticks = (int) (20 * parseValues(caster, SECONDS_SLOT, level, 2.0));
         if (still) {
             FlagManager.addFlag(caster, StatusFlag.CHANNELING, ticks + 2);
         }
-        Bukkit.getScheduler().runTaskLater(
-                Fabled.inst(), () -> {
-                    if (FlagManager.hasFlag(caster, StatusFlag.CHANNEL)) {
-                        FlagManager.removeFlag(caster, StatusFlag.CHANNEL);
-                        FlagManager.removeFlag(caster, StatusFlag.CHANNELING);
-                        executeChildren(caster, level, targets, force);
-                    }
-                }, ticks
-        );
+        SkillScheduler.runLater(this, caster, ticks, () -> {
+            if (FlagManager.hasFlag(caster, StatusFlag.CHANNEL)) {
+                FlagManager.removeFlag(caster, StatusFlag.CHANNEL);
+                FlagManager.removeFlag(caster, StatusFlag.CHANNELING);
+                executeChildren(caster, level, targets, force);
+            }
+        });
         FlagManager.addFlag(caster, StatusFlag.CHANNEL, ticks + 2);
         return true;
     }
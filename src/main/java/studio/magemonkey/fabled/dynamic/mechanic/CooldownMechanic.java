@@ -29,7 +29,8 @@ package studio.magemonkey.fabled.dynamic.mechanic;
 import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.player.PlayerData;
 import studio.magemonkey.fabled.api.player.PlayerSkill;
-import org.bukkit.Bukkit;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
+import studio.magemonkey.fabled.dynamic.SkillScheduler;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 
@@ -43,6 +44,8 @@ public class CooldownMechanic extends MechanicComponent {
     private static final String TYPE  = "type";
     private static final String VALUE = "value";
 
+    private static final int VALUE_SLOT = CompiledSettings.slot(VALUE);
+
     @Override
     public String getKey() {
         return "cooldown";
@@ -65,7 +68,7 @@ public class CooldownMechanic extends MechanicComponent {
 
         String skill = settings.getString(SKILL, "");
         String type  = settings.getString(TYPE, "all").toLowerCase();
-        double value = parseValues(caster, VALUE, level, 0);
+        double value = parseValues(caster, VALUE_SLOT, level, 0);
 
         PlayerData playerData = Fabled.getPlayerData((Player) caster);
 
@@ -76,20 +79,20 @@ public class CooldownMechanic extends MechanicComponent {
         boolean worked = false;
         if (skill.equals("all")) {
             for (PlayerSkill data : playerData.getSkills()) {
-                subtractCooldown(type, data, value);
+                subtractCooldown(caster, type, data, value);
                 worked = true;
             }
         } else if (skillData != null) {
-            subtractCooldown(type, skillData, value);
+            subtractCooldown(caster, type, skillData, value);
             worked = true;
         }
         return worked;
     }
 
-    private void subtractCooldown(String type, PlayerSkill data, double value) {
-        Bukkit.getScheduler().runTaskLater(Fabled.inst(), () -> {
+    private void subtractCooldown(LivingEntity caster, String type, PlayerSkill data, double value) {
+        SkillScheduler.runLater(this, caster, 1L, () -> {
             if (type.equals("percent")) data.subtractCooldown(value * data.getCooldownLeft() / 100);
             else data.subtractCooldown(value);
-        }, 1L);
+        });
     }
 }
@@ -26,6 +26,7 @@
  */
 package studio.magemonkey.fabled.dynamic.mechanic;
 
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.codex.mccore.config.parse.NumberParser;
 import studio.magemonkey.codex.mccore.util.VersionManager;
 import org.bukkit.ChatColor;
@@ -50,6 +51,8 @@ public class DamageLoreMechanic extends MechanicComponent {
     private static final String KNOCKBACK  = "knockback";
     private static final String CAUSE      = "cause";
 
+    private static final int MULTIPLIER_SLOT = CompiledSettings.slot(MULTIPLIER);
+
     @Override
     public String getKey() {
         return "damage lore";
@@ -69,7 +72,7 @@ public class DamageLoreMechanic extends MechanicComponent {
         String regex = settings.getString(REGEX, "Damage: {value}");
         regex = regex.replace("{value}", "([0-9]+)");
         Pattern pattern = Pattern.compile(regex);
-        double  m       = parseValues(caster, MULTIPLIER, level, 1.0);
+        double  m       = parseValues(caster, MULTIPLIER_SLOT, level, 1.0);
         boolean worked  = false;
         boolean offhand = VersionManager.isVersionAtLeast(VersionManager.V1_9_0)
                 && settings.getString(HAND).equalsIgnoreCase("offhand");
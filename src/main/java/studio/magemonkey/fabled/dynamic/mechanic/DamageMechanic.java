@@ -26,6 +26,7 @@
  */
 package studio.magemonkey.fabled.dynamic.mechanic;
 
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.event.entity.EntityDamageEvent;
 
@@ -43,6 +44,8 @@ public class DamageMechanic extends MechanicComponent {
     private static final String KNOCKBACK  = "knockback";
     private static final String CAUSE      = "cause";
 
+    private static final int DAMAGE_SLOT = CompiledSettings.slot(DAMAGE);
+
     @Override
     public String getKey() {
         return "damage";
@@ -64,7 +67,7 @@ public class DamageMechanic extends MechanicComponent {
         boolean missing        = pString.equals("percent missing");
         boolean left           = pString.equals("percent left");
         boolean trueDmg        = settings.getBool(TRUE, false);
-        double  damage         = parseValues(caster, DAMAGE, level, 1.0);
+        double  damage         = parseValues(caster, DAMAGE_SLOT, level, 1.0);
         boolean knockback      = settings.getBool(KNOCKBACK, true);
         String  classification = settings.getString(CLASSIFIER, "default");
         if (damage < 0) {
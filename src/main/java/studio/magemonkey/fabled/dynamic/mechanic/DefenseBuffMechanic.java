@@ -29,6 +29,7 @@ package studio.magemonkey.fabled.dynamic.mechanic;
 import studio.magemonkey.fabled.api.util.Buff;
 import studio.magemonkey.fabled.api.util.BuffManager;
 import studio.magemonkey.fabled.api.util.BuffType;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.entity.LivingEntity;
 
 import java.util.List;
@@ -42,6 +43,9 @@ public class DefenseBuffMechanic extends MechanicComponent {
     private static final String VALUE   = "value";
     private static final String SECONDS = "seconds";
 
+    private static final int VALUE_SLOT   = CompiledSettings.slot(VALUE);
+    private static final int SECONDS_SLOT = CompiledSettings.slot(SECONDS);
+
     @Override
     public String getKey() {
         return "defense buff";
@@ -64,8 +68,8 @@ public class DefenseBuffMechanic extends MechanicComponent {
 
         boolean skill   = settings.getString(SKILL, "false").equalsIgnoreCase("true");
         boolean percent = settings.getString(TYPE, "flat").toLowerCase().equals("multiplier");
-        double  value   = parseValues(caster, VALUE, level, 1.0);
-        double  seconds = parseValues(caster, SECONDS, level, 3.0);
+        double  value   = parseValues(caster, VALUE_SLOT, level, 1.0);
+        double  seconds = parseValues(caster, SECONDS_SLOT, level, 3.0);
         int     ticks   = (int) (seconds * 20);
         for (LivingEntity target : targets) {
             BuffManager.addBuff(
@@ -26,8 +26,8 @@
  */
 package studio.magemonkey.fabled.dynamic.mechanic;
 
-import studio.magemonkey.fabled.Fabled;
-import org.bukkit.Bukkit;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
+import studio.magemonkey.fabled.dynamic.SkillScheduler;
 import org.bukkit.entity.LivingEntity;
 
 import java.util.List;
@@ -38,6 +38,8 @@ import java.util.List;
 public class DelayMechanic extends MechanicComponent {
     private static final String SECONDS = "delay";
 
+    private static final int SECONDS_SLOT = CompiledSettings.slot(SECONDS);
+
     @Override
     public String getKey() {
         return "delay";
@@ -60,12 +62,9 @@ public class DelayMechanic extends MechanicComponent {
         if (targets.size() == 0) {
             return false;
         }
-        double seconds = parseValues(caster, SECONDS, level, 2.0);
-        Bukkit.getScheduler().runTaskLater(
-                Fabled.inst(),
-                () -> executeChildren(caster, level, targets, force),
-                (long) (seconds * 20)
-        );
+        double seconds = parseValues(caster, SECONDS_SLOT, level, 2.0);
+        SkillScheduler.runLater(this, caster, (long) (seconds * 20),
+                () -> executeChildren(caster, level, targets, force));
         return true;
     }
 }
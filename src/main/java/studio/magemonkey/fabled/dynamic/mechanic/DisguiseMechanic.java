@@ -27,6 +27,7 @@
 package studio.magemonkey.fabled.dynamic.mechanic;
 
 import studio.magemonkey.fabled.api.util.FlagManager;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.dynamic.TempEntity;
 import studio.magemonkey.fabled.hook.DisguiseHook;
 import studio.magemonkey.fabled.hook.PluginChecker;
@@ -50,6 +51,8 @@ public class DisguiseMechanic extends MechanicComponent {
     private static final String MATERIAL = "mat";
     private static final String DURATION = "duration";
 
+    private static final int DURATION_SLOT = CompiledSettings.slot(DURATION);
+
     @Override
     public String getKey() {
         return "disguise";
@@ -115,7 +118,7 @@ public class DisguiseMechanic extends MechanicComponent {
         }
 
         // Apply Flag duration
-        int ticks = (int) (parseValues(caster, DURATION, level, -1) * 20);
+        int ticks = (int) (parseValues(caster, DURATION_SLOT, level, -1) * 20);
         for (LivingEntity target : targets) {
             if (!(target instanceof TempEntity)) {
                 FlagManager.addFlag(target, MechanicListener.DISGUISE_KEY, ticks);
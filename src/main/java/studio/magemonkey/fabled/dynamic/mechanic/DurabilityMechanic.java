@@ -1,5 +1,6 @@
 package studio.magemonkey.fabled.dynamic.mechanic;
 
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.Sound;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
@@ -18,6 +19,8 @@ public class DurabilityMechanic extends MechanicComponent {
     private static final String AMOUNT  = "amount";
     private static final String OFFHAND = "offhand";
 
+    private static final int AMOUNT_SLOT = CompiledSettings.slot(AMOUNT);
+
     @Override
     public String getKey() {
         return "durability";
@@ -32,7 +35,7 @@ public class DurabilityMechanic extends MechanicComponent {
 
         final Player  player  = (Player) caster;
         final boolean offhand = settings.getBool(OFFHAND, false);
-        final short   amount  = (short) (parseValues(caster, AMOUNT, level, 1) * targets.size());
+        final short   amount  = (short) (parseValues(caster, AMOUNT_SLOT, level, 1) * targets.size());
 
         final ItemStack item;
         if (offhand && VersionManager.isVersionAtLeast(VersionManager.V1_9_0)) {
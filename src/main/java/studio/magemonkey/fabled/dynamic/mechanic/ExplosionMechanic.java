@@ -26,6 +26,7 @@
  */
 package studio.magemonkey.fabled.dynamic.mechanic;
 
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.Location;
 import org.bukkit.entity.LivingEntity;
 
@@ -39,6 +40,8 @@ public class ExplosionMechanic extends MechanicComponent {
     private static final String DAMAGE = "damage";
     private static final String FIRE   = "fire";
 
+    private static final int POWER_SLOT = CompiledSettings.slot(POWER);
+
     @Override
     public String getKey() {
         return "explosion";
@@ -58,7 +61,7 @@ public class ExplosionMechanic extends MechanicComponent {
         if (targets.size() == 0) {
             return false;
         }
-        double  power  = parseValues(caster, POWER, level, 4);
+        double  power  = parseValues(caster, POWER_SLOT, level, 4);
         boolean fire   = settings.getBool(FIRE, false);
         boolean damage = settings.getBool(DAMAGE, false);
         for (LivingEntity target : targets) {
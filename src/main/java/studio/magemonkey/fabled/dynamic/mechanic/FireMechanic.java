@@ -26,8 +26,9 @@
  */
 package studio.magemonkey.fabled.dynamic.mechanic;
 
-import studio.magemonkey.fabled.Fabled;
-import org.bukkit.Bukkit;
+import studio.magemonkey.fabled.api.util.EntityMeta;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
+import studio.magemonkey.fabled.dynamic.SkillScheduler;
 import org.bukkit.entity.LivingEntity;
 
 import java.util.List;
@@ -36,9 +37,13 @@ import java.util.List;
  * Executes child components after a delay
  */
 public class FireMechanic extends MechanicComponent {
-    public static final  String META_KEY = "fireMechanic";
-    private static final String SECONDS  = "seconds";
-    private static final String DAMAGE   = "damage";
+    public static final  String               META_KEY = "fireMechanic";
+    public static final  EntityMeta.DoubleKey META     = EntityMeta.doubleKey(META_KEY);
+    private static final String               SECONDS  = "seconds";
+    private static final String               DAMAGE   = "damage";
+
+    private static final int SECONDS_SLOT = CompiledSettings.slot(SECONDS);
+    private static final int DAMAGE_SLOT  = CompiledSettings.slot(DAMAGE);
 
     @Override
     public String getKey() {
@@ -58,18 +63,15 @@ public class FireMechanic extends MechanicComponent {
     public boolean execute(LivingEntity caster, int level, List<LivingEntity> targets, boolean force) {
         if (targets.size() == 0) return false;
 
-        double seconds = parseValues(caster, SECONDS, level, 3.0);
-        double damage  = parseValues(caster, DAMAGE, level, 1);
+        double seconds = parseValues(caster, SECONDS_SLOT, level, 3.0);
+        double damage  = parseValues(caster, DAMAGE_SLOT, level, 1);
         int    ticks   = (int) (seconds * 20);
         targets.forEach(target -> {
             int newTicks = ticks <= 0 ? 0 : Math.max(ticks, target.getFireTicks());
             target.setFireTicks(newTicks);
-            Fabled.setMeta(target, META_KEY, damage);
-            Bukkit.getScheduler().runTaskLater(Fabled.inst(),
-                    () -> {
-                        if (target.hasMetadata(META_KEY)) Fabled.removeMeta(target, META_KEY);
-                    },
-                    newTicks);
+            EntityMeta.setDouble(target, META, damage);
+            // Keyed to the target so the fire damage is still reset when the caster is cleaned up
+            SkillScheduler.runLater(this, target, newTicks, () -> EntityMeta.remove(target, META));
         });
         return targets.size() > 0;
     }
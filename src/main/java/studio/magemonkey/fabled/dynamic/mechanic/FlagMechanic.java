@@ -27,6 +27,7 @@
 package studio.magemonkey.fabled.dynamic.mechanic;
 
 import studio.magemonkey.fabled.api.util.FlagManager;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.entity.LivingEntity;
 
 import java.util.List;
@@ -38,6 +39,8 @@ public class FlagMechanic extends MechanicComponent {
     private static final String KEY     = "key";
     private static final String SECONDS = "seconds";
 
+    private static final int SECONDS_SLOT = CompiledSettings.slot(SECONDS);
+
     @Override
     public String getKey() {
         return "flag";
@@ -59,7 +62,7 @@ public class FlagMechanic extends MechanicComponent {
         }
 
         String key     = settings.getString(KEY);
-        double seconds = parseValues(caster, SECONDS, level, 3.0);
+        double seconds = parseValues(caster, SECONDS_SLOT, level, 3.0);
         int    ticks   = (int) (seconds * 20);
         for (LivingEntity target : targets) {
             FlagManager.addFlag(target, key, ticks);
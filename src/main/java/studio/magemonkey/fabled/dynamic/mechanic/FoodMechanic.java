@@ -1,5 +1,6 @@
 package studio.magemonkey.fabled.dynamic.mechanic;
 
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 
@@ -13,6 +14,9 @@ public class FoodMechanic extends MechanicComponent {
     private static final String FOOD       = "food";
     private static final String SATURATION = "saturation";
 
+    private static final int FOOD_SLOT       = CompiledSettings.slot(FOOD);
+    private static final int SATURATION_SLOT = CompiledSettings.slot(SATURATION);
+
     @Override
     public String getKey() {
         return "food";
@@ -29,8 +33,8 @@ public class FoodMechanic extends MechanicComponent {
      */
     @Override
     public boolean execute(LivingEntity caster, int level, List<LivingEntity> targets, boolean force) {
-        double food       = parseValues(caster, FOOD, level, 1.0);
-        double saturation = parseValues(caster, SATURATION, level, 1.0);
+        double food       = parseValues(caster, FOOD_SLOT, level, 1.0);
+        double saturation = parseValues(caster, SATURATION_SLOT, level, 1.0);
         for (LivingEntity target : targets) {
             if (target instanceof Player) {
                 Player player = (Player) target;
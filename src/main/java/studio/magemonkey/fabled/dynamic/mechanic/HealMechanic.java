@@ -27,6 +27,7 @@
 package studio.magemonkey.fabled.dynamic.mechanic;
 
 import studio.magemonkey.fabled.api.event.SkillHealEvent;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.codex.mccore.util.VersionManager;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.LivingEntity;
@@ -40,6 +41,8 @@ public class HealMechanic extends MechanicComponent {
     private static final String TYPE  = "type";
     private static final String VALUE = "value";
 
+    private static final int VALUE_SLOT = CompiledSettings.slot(VALUE);
+
     @Override
     public String getKey() {
         return "heal";
@@ -57,7 +60,7 @@ public class HealMechanic extends MechanicComponent {
     @Override
     public boolean execute(LivingEntity caster, int level, List<LivingEntity> targets, boolean force) {
         boolean percent = settings.getString(TYPE, "health").toLowerCase().equals("percent");
-        double  value   = parseValues(caster, VALUE, level, 1.0);
+        double  value   = parseValues(caster, VALUE_SLOT, level, 1.0);
         if (value < 0) {
             return false;
         }
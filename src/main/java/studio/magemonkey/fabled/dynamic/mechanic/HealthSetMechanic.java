@@ -1,5 +1,6 @@
 package studio.magemonkey.fabled.dynamic.mechanic;
 
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.entity.LivingEntity;
 
 import java.util.List;
@@ -12,6 +13,8 @@ public class HealthSetMechanic extends MechanicComponent {
 
     private static final String HEALTH = "health";
 
+    private static final int HEALTH_SLOT = CompiledSettings.slot(HEALTH);
+
     @Override
     public String getKey() {
         return "health set";
@@ -22,7 +25,7 @@ public class HealthSetMechanic extends MechanicComponent {
                            final int level,
                            final List<LivingEntity> targets,
                            boolean force) {
-        final double health = Math.max(1, parseValues(caster, HEALTH, level, 1));
+        final double health = Math.max(1, parseValues(caster, HEALTH_SLOT, level, 1));
 
         for (final LivingEntity target : targets) {
             target.setHealth(Math.min(health, target.getMaxHealth()));
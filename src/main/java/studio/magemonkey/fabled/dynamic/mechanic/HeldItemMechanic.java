@@ -27,6 +27,7 @@
 package studio.magemonkey.fabled.dynamic.mechanic;
 
 import studio.magemonkey.fabled.Fabled;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 
@@ -35,6 +36,8 @@ import java.util.List;
 public class HeldItemMechanic extends MechanicComponent {
     private static final String SLOT = "slot";
 
+    private static final int SLOT_SLOT = CompiledSettings.slot(SLOT);
+
     @Override
     public String getKey() {
         return "held item";
@@ -51,7 +54,7 @@ public class HeldItemMechanic extends MechanicComponent {
      */
     @Override
     public boolean execute(LivingEntity caster, int level, List<LivingEntity> targets, boolean force) {
-        int slot = (int) parseValues(caster, SLOT, level, 0);
+        int slot = (int) parseValues(caster, SLOT_SLOT, level, 0);
 
         boolean worked = false;
         for (LivingEntity target : targets) {
@@ -26,8 +26,9 @@
  */
 package studio.magemonkey.fabled.dynamic.mechanic;
 
-import studio.magemonkey.fabled.Fabled;
+import studio.magemonkey.fabled.api.util.EntityMeta;
 import studio.magemonkey.fabled.api.util.FlagManager;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.entity.LivingEntity;
 
 import java.util.List;
@@ -37,12 +38,16 @@ import java.util.Locale;
  * Applies a damage immunity flag to each target
  */
 public class ImmunityMechanic extends MechanicComponent {
-    public static final String META_KEY = "sapi_immunity";
+    public static final String               META_KEY = "sapi_immunity";
+    public static final EntityMeta.DoubleKey META     = EntityMeta.doubleKey(META_KEY);
 
     private static final String TYPE       = "type";
     private static final String SECONDS    = "seconds";
     private static final String MULTIPLIER = "multiplier";
 
+    private static final int SECONDS_SLOT    = CompiledSettings.slot(SECONDS);
+    private static final int MULTIPLIER_SLOT = CompiledSettings.slot(MULTIPLIER);
+
     @Override
     public String getKey() {
         return "immunity";
@@ -64,12 +69,12 @@ public class ImmunityMechanic extends MechanicComponent {
         }
 
         String key        = settings.getString(TYPE);
-        double seconds    = parseValues(caster, SECONDS, level, 3.0);
-        double multiplier = parseValues(caster, MULTIPLIER, level, 0);
+        double seconds    = parseValues(caster, SECONDS_SLOT, level, 3.0);
+        double multiplier = parseValues(caster, MULTIPLIER_SLOT, level, 0);
         int    ticks      = (int) (seconds * 20);
         for (LivingEntity target : targets) {
             FlagManager.addFlag(target, "immune:" + key.toUpperCase(Locale.US).replace(" ", "_"), ticks);
-            Fabled.setMeta(target, META_KEY, multiplier);
+            EntityMeta.setDouble(target, META, multiplier);
         }
         return targets.size() > 0;
     }
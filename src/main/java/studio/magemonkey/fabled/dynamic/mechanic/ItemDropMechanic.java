@@ -1,6 +1,7 @@
 package studio.magemonkey.fabled.dynamic.mechanic;
 
 import studio.magemonkey.fabled.api.util.ItemStackReader;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.Location;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.inventory.ItemStack;
@@ -21,6 +22,12 @@ public class ItemDropMechanic extends MechanicComponent {
     private static final String PICKUP_DELAY = "pickup_delay";
     private static final String DURATION     = "duration";
 
+    private static final int FORWARD_SLOT      = CompiledSettings.slot(FORWARD);
+    private static final int UPWARD_SLOT       = CompiledSettings.slot(UPWARD);
+    private static final int RIGHT_SLOT        = CompiledSettings.slot(RIGHT);
+    private static final int PICKUP_DELAY_SLOT = CompiledSettings.slot(PICKUP_DELAY);
+    private static final int DURATION_SLOT     = CompiledSettings.slot(DURATION);
+
     @Override
     public String getKey() {
         return "item drop";
@@ -39,11 +46,11 @@ public class ItemDropMechanic extends MechanicComponent {
     public boolean execute(LivingEntity caster, int level, List<LivingEntity> targets, boolean force) {
         ItemStack item = ItemStackReader.read(settings);
 
-        double forward  = parseValues(caster, FORWARD, level, 0);
-        double upward   = parseValues(caster, UPWARD, level, 0);
-        double right    = parseValues(caster, RIGHT, level, 0);
-        int    delay    = (int) parseValues(caster, PICKUP_DELAY, level, 0);
-        int    duration = (int) parseValues(caster, DURATION, level, 0);
+        double forward  = parseValues(caster, FORWARD_SLOT, level, 0);
+        double upward   = parseValues(caster, UPWARD_SLOT, level, 0);
+        double right    = parseValues(caster, RIGHT_SLOT, level, 0);
+        int    delay    = (int) parseValues(caster, PICKUP_DELAY_SLOT, level, 0);
+        int    duration = (int) parseValues(caster, DURATION_SLOT, level, 0);
 
         for (LivingEntity target : targets) {
             Location loc  = target.getLocation();
@@ -37,6 +37,7 @@ import studio.magemonkey.fabled.api.projectile.ItemProjectile;
 import studio.magemonkey.fabled.api.projectile.ParticleProjectile;
 import studio.magemonkey.fabled.api.projectile.ProjectileCallback;
 import studio.magemonkey.fabled.api.util.ItemStackReader;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.dynamic.TempEntity;
 import org.bukkit.Location;
 import org.bukkit.entity.LivingEntity;
@@ -75,6 +76,16 @@ public class ItemProjectileMechanic extends MechanicComponent implements Project
     private static final String USE_EFFECT = "use-effect";
     private static final String EFFECT_KEY = "effect-key";
 
+    private static final int VELOCITY_SLOT = CompiledSettings.slot(VELOCITY);
+    private static final int AMOUNT_SLOT   = CompiledSettings.slot(AMOUNT);
+    private static final int LIFESPAN_SLOT = CompiledSettings.slot(LIFESPAN);
+    private static final int FORWARD_SLOT  = CompiledSettings.slot(FORWARD);
+    private static final int RIGHT_SLOT    = CompiledSettings.slot(RIGHT);
+    private static final int UPWARD_SLOT   = CompiledSettings.slot(UPWARD);
+    private static final int RADIUS_SLOT   = CompiledSettings.slot(RADIUS);
+    private static final int HEIGHT_SLOT   = CompiledSettings.slot(HEIGHT);
+    private static final int ANGLE_SLOT    = CompiledSettings.slot(ANGLE);
+
     @Override
     public String getKey() {
         return "item projectile";
@@ -94,12 +105,12 @@ public class ItemProjectileMechanic extends MechanicComponent implements Project
         ItemStack item = ItemStackReader.read(settings);
 
         // Get other common values
-        double  speed    = parseValues(caster, VELOCITY, level, 3.0);
-        int     amount   = (int) parseValues(caster, AMOUNT, level, 1.0);
+        double  speed    = parseValues(caster, VELOCITY_SLOT, level, 3.0);
+        int     amount   = (int) parseValues(caster, AMOUNT_SLOT, level, 1.0);
         String  spread   = settings.getString(SPREAD, "cone").toLowerCase();
         boolean ally     = settings.getString(ALLY, "enemy").equalsIgnoreCase("ally");
         boolean walls    = settings.getBool(WALLS, true);
-        int     lifespan = (int) (parseValues(caster, LIFESPAN, level, 9999) * 20);
+        int     lifespan = (int) (parseValues(caster, LIFESPAN_SLOT, level, 9999) * 20);
 
         final Settings copy = new Settings(settings);
         copy.set(ParticleProjectile.SPEED, parseValues(caster, ParticleProjectile.SPEED, level, 1), 0);
@@ -112,9 +123,9 @@ public class ItemProjectileMechanic extends MechanicComponent implements Project
         for (LivingEntity target : targets) {
             Location location = target.getEyeLocation();
             Vector   offset   = location.getDirection().setY(0).normalize();
-            offset.multiply(parseValues(caster, FORWARD, level, 0))
-                    .add(offset.clone().crossProduct(UP).multiply(parseValues(caster, RIGHT, level, 0)));
-            location.add(offset).add(0, parseValues(caster, UPWARD, level, 0), 0);
+            offset.multiply(parseValues(caster, FORWARD_SLOT, level, 0))
+                    .add(offset.clone().crossProduct(UP).multiply(parseValues(caster, RIGHT_SLOT, level, 0)));
+            location.add(offset).add(0, parseValues(caster, UPWARD_SLOT, level, 0), 0);
 
             // Apply the spread type
             List<ItemProjectile> list;
@@ -124,8 +135,8 @@ public class ItemProjectileMechanic extends MechanicComponent implements Project
                         location,
                         copy,
                         item,
-                        parseValues(caster, RADIUS, level, 2.0),
-                        parseValues(caster, HEIGHT, level, 8.0),
+                        parseValues(caster, RADIUS_SLOT, level, 2.0),
+                        parseValues(caster, HEIGHT_SLOT, level, 8.0),
                         speed,
                         amount,
                         this,
@@ -138,7 +149,7 @@ public class ItemProjectileMechanic extends MechanicComponent implements Project
                     dir.normalize();
                 }
                 dir.multiply(speed);
-                double angle = parseValues(caster, ANGLE, level, 30.0);
+                double angle = parseValues(caster, ANGLE_SLOT, level, 30.0);
                 list = ItemProjectile.spread(
                         caster,
                         level,
@@ -211,10 +222,10 @@ public class ItemProjectileMechanic extends MechanicComponent implements Project
             public void run() {
                 targets.clear();
 
-                int     amount   = (int) parseValues(caster, AMOUNT, level, 1.0);
+                int     amount   = (int) parseValues(caster, AMOUNT_SLOT, level, 1.0);
                 String  spread   = settings.getString(SPREAD, "cone").toLowerCase();
                 boolean ally     = settings.getString(ALLY, "enemy").equalsIgnoreCase("ally");
-                int     lifespan = (int) (parseValues(caster, LIFESPAN, level, 9999) * 20);
+                int     lifespan = (int) (parseValues(caster, LIFESPAN_SLOT, level, 9999) * 20);
 
                 final Settings copy = new Settings(settings);
                 copy.set(ParticleProjectile.SPEED, parseValues(caster, ParticleProjectile.SPEED, level, 1), 0);
@@ -241,9 +252,9 @@ public class ItemProjectileMechanic extends MechanicComponent implements Project
                 for (LivingEntity target : targetSupplier.get()) {
                     Location location = target.getEyeLocation();
                     Vector   offset   = location.getDirection().setY(0).normalize();
-                    offset.multiply(parseValues(caster, FORWARD, level, 0))
-                            .add(offset.clone().crossProduct(UP).multiply(parseValues(caster, RIGHT, level, 0)));
-                    location.add(offset).add(0, parseValues(caster, UPWARD, level, 0), 0);
+                    offset.multiply(parseValues(caster, FORWARD_SLOT, level, 0))
+                            .add(offset.clone().crossProduct(UP).multiply(parseValues(caster, RIGHT_SLOT, level, 0)));
+                    location.add(offset).add(0, parseValues(caster, UPWARD_SLOT, level, 0), 0);
 
                     // Apply the spread type
                     if (spread.equals("rain")) {
@@ -251,8 +262,8 @@ public class ItemProjectileMechanic extends MechanicComponent implements Project
                                 level,
                                 location,
                                 copy,
-                                parseValues(caster, RADIUS, level, 2.0),
-                                parseValues(caster, HEIGHT, level, 8.0),
+                                parseValues(caster, RADIUS_SLOT, level, 2.0),
+                                parseValues(caster, HEIGHT_SLOT, level, 8.0),
                                 amount,
                                 callback,
                                 lifespan));
@@ -268,7 +279,7 @@ public class ItemProjectileMechanic extends MechanicComponent implements Project
                                 dir,
                                 location,
                                 copy,
-                                parseValues(caster, ANGLE, level, 30.0),
+                                parseValues(caster, ANGLE_SLOT, level, 30.0),
                                 amount,
                                 callback,
                                 lifespan
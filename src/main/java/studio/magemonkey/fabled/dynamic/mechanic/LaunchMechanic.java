@@ -26,6 +26,7 @@
  */
 package studio.magemonkey.fabled.dynamic.mechanic;
 
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.util.Vector;
 
@@ -42,6 +43,10 @@ public class LaunchMechanic extends MechanicComponent {
     private static final String RESET_Y  = "reset-y";
     private              Vector up       = new Vector(0, 1, 0);
 
+    private static final int FORWARD_SLOT = CompiledSettings.slot(FORWARD);
+    private static final int UPWARD_SLOT  = CompiledSettings.slot(UPWARD);
+    private static final int RIGHT_SLOT   = CompiledSettings.slot(RIGHT);
+
     @Override
     public String getKey() {
         return "launch";
@@ -63,9 +68,9 @@ public class LaunchMechanic extends MechanicComponent {
         }
 
         boolean resetY   = settings.getBool(RESET_Y, true);
-        double  forward  = parseValues(caster, FORWARD, level, 0);
-        double  upward   = parseValues(caster, UPWARD, level, 0);
-        double  right    = parseValues(caster, RIGHT, level, 0);
+        double  forward  = parseValues(caster, FORWARD_SLOT, level, 0);
+        double  upward   = parseValues(caster, UPWARD_SLOT, level, 0);
+        double  right    = parseValues(caster, RIGHT_SLOT, level, 0);
         String  relative = settings.getString(RELATIVE, "target").toLowerCase();
         for (LivingEntity target : targets) {
             final Vector dir;
@@ -27,6 +27,8 @@
 package studio.magemonkey.fabled.dynamic.mechanic;
 
 import studio.magemonkey.fabled.Fabled;
+import studio.magemonkey.fabled.api.util.EntityMeta;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.listener.MechanicListener;
 import org.bukkit.Location;
 import org.bukkit.entity.LightningStrike;
@@ -51,6 +53,10 @@ public class LightningMechanic extends MechanicComponent {
     private static final String RIGHT   = "right";
     private static final String FIRE    = "fire";
 
+    private static final int FORWARD_SLOT = CompiledSettings.slot(FORWARD);
+    private static final int RIGHT_SLOT   = CompiledSettings.slot(RIGHT);
+    private static final int DAMAGE_SLOT  = CompiledSettings.slot(DAMAGE);
+
     @Override
     public String getKey() {
         return "lightning";
@@ -70,18 +76,18 @@ public class LightningMechanic extends MechanicComponent {
         if (targets.size() == 0) {
             return false;
         }
-        double  forward    = parseValues(caster, FORWARD, level, 0);
-        double  right      = parseValues(caster, RIGHT, level, 0);
+        double  forward    = parseValues(caster, FORWARD_SLOT, level, 0);
+        double  right      = parseValues(caster, RIGHT_SLOT, level, 0);
         boolean startFires = settings.getBool(FIRE, true);
         for (LivingEntity target : targets) {
             Vector          dir       = target.getLocation().getDirection().setY(0).normalize();
             Vector          nor       = dir.clone().crossProduct(up);
             Location        loc       = target.getLocation().add(dir.multiply(forward).add(nor.multiply(right)));
             LightningStrike lightning = target.getWorld().strikeLightning(loc);
-            Fabled.setMeta(lightning, MechanicListener.P_CALL, new Callback(caster, level, force));
+            EntityMeta.set(lightning, MechanicListener.P_CALL_META, new Callback(caster, level, force));
 
             if (!startFires) {
-                Fabled.setMeta(lightning, MechanicListener.NO_FIRE, "valNotUsed");
+                EntityMeta.set(lightning, MechanicListener.NO_FIRE_META, true);
             }
         }
         return targets.size() > 0;
@@ -139,7 +145,7 @@ public class LightningMechanic extends MechanicComponent {
             if (canTarget) {
                 executeChildren(caster, level, Collections.singletonList(entity), force);
                 struckEntities.add(entity);
-                return parseValues(caster, DAMAGE, level, 5);
+                return parseValues(caster, DAMAGE_SLOT, level, 5);
             } else {
                 return -1;
             }
@@ -30,6 +30,7 @@ import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.enums.ManaCost;
 import studio.magemonkey.fabled.api.enums.ManaSource;
 import studio.magemonkey.fabled.api.player.PlayerData;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 
@@ -42,6 +43,8 @@ public class ManaMechanic extends MechanicComponent {
     private static final String TYPE  = "type";
     private static final String VALUE = "value";
 
+    private static final int VALUE_SLOT = CompiledSettings.slot(VALUE);
+
     @Override
     public String getKey() {
         return "mana";
@@ -59,7 +62,7 @@ public class ManaMechanic extends MechanicComponent {
     @Override
     public boolean execute(LivingEntity caster, int level, List<LivingEntity> targets, boolean force) {
         boolean percent = settings.getString(TYPE, "mana").toLowerCase().equals("percent");
-        double  value   = parseValues(caster, VALUE, level, 1.0);
+        double  value   = parseValues(caster, VALUE_SLOT, level, 1.0);
 
         boolean worked = false;
         for (LivingEntity target : targets) {
@@ -29,6 +29,7 @@ package studio.magemonkey.fabled.dynamic.mechanic;
 
 import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.particle.ParticleHelper;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
@@ -64,15 +65,23 @@ public class MineMechanic extends MechanicComponent {
     private static final String UPWARD    = "upward";
     private static final String RIGHT     = "right";
 
+    private static final int FORWARD_SLOT = CompiledSettings.slot(FORWARD);
+    private static final int UPWARD_SLOT  = CompiledSettings.slot(UPWARD);
+    private static final int RIGHT_SLOT   = CompiledSettings.slot(RIGHT);
+    private static final int RADIUS_SLOT  = CompiledSettings.slot(RADIUS);
+    private static final int WIDTH_SLOT   = CompiledSettings.slot(WIDTH);
+    private static final int HEIGHT_SLOT  = CompiledSettings.slot(HEIGHT);
+    private static final int DEPTH_SLOT   = CompiledSettings.slot(DEPTH);
+
     @Override
     public String getKey() {
         return "mine";
     }
 
     private Location getLocation(LivingEntity caster, int level, LivingEntity target) {
-        double   forward = parseValues(caster, FORWARD, level, 0);
-        double   upward  = parseValues(caster, UPWARD, level, 0);
-        double   right   = parseValues(caster, RIGHT, level, 0);
+        double   forward = parseValues(caster, FORWARD_SLOT, level, 0);
+        double   upward  = parseValues(caster, UPWARD_SLOT, level, 0);
+        double   right   = parseValues(caster, RIGHT_SLOT, level, 0);
         Location loc     = target.getLocation();
         Vector   dir     = target.getLocation().getDirection().setY(0).normalize();
         Vector   nor     = dir.clone().crossProduct(UP);
@@ -105,7 +114,7 @@ public class MineMechanic extends MechanicComponent {
 
         // Determine blocks to be mined
         if (sphere) {
-            double radius = parseValues(caster, RADIUS, level, 2);
+            double radius = parseValues(caster, RADIUS_SLOT, level, 2);
             double x, y, z, dx, dy, dz;
             double rSq    = radius * radius;
             for (LivingEntity t : targets) {
@@ -139,9 +148,9 @@ public class MineMechanic extends MechanicComponent {
                 }
             }
         } else {
-            double width  = (parseValues(caster, WIDTH, level, 5) - 1) / 2;
-            double height = (parseValues(caster, HEIGHT, level, 5) - 1) / 2;
-            double depth  = (parseValues(caster, DEPTH, level, 5) - 1) / 2;
+            double width  = (parseValues(caster, WIDTH_SLOT, level, 5) - 1) / 2;
+            double height = (parseValues(caster, HEIGHT_SLOT, level, 5) - 1) / 2;
+            double depth  = (parseValues(caster, DEPTH_SLOT, level, 5) - 1) / 2;
             double x, y, z;
 
             for (LivingEntity t : targets) {
@@ -26,6 +26,7 @@
  */
 package studio.magemonkey.fabled.dynamic.mechanic;
 
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.hook.VaultHook;
 import net.milkbowl.vault.economy.EconomyResponse;
 import org.bukkit.entity.LivingEntity;
@@ -41,6 +42,8 @@ public class MoneyMechanic extends MechanicComponent {
     private static final String AMOUNT          = "amount";
     private static final String ALLOWS_NEGATIVE = "allows_negative";
 
+    private static final int AMOUNT_SLOT = CompiledSettings.slot(AMOUNT);
+
     @Override
     public String getKey() {
         return "money";
@@ -63,7 +66,7 @@ public class MoneyMechanic extends MechanicComponent {
 
         boolean multiply = settings.getString(TYPE, "add").equalsIgnoreCase("multiply");
 
-        double  amount         = parseValues(caster, AMOUNT, level, 1);
+        double  amount         = parseValues(caster, AMOUNT_SLOT, level, 1);
         boolean allowsNegative = settings.getBool(ALLOWS_NEGATIVE, false);
 
         boolean worked = false;
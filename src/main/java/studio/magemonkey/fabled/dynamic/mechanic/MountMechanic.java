@@ -26,6 +26,7 @@
  */
 package studio.magemonkey.fabled.dynamic.mechanic;
 
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 
@@ -38,6 +39,8 @@ public class MountMechanic extends MechanicComponent {
     private static final String TYPE = "type";
     private static final String MAX  = "max";
 
+    private static final int MAX_SLOT = CompiledSettings.slot(MAX);
+
     @Override
     public String getKey() {
         return "mount";
@@ -59,7 +62,7 @@ public class MountMechanic extends MechanicComponent {
         }
 
         final String type = settings.getString(TYPE, "caster->target");
-        final int    max  = (int) parseValues(caster, MAX, level, 1.0);
+        final int    max  = (int) parseValues(caster, MAX_SLOT, level, 1.0);
 
         if (type.equalsIgnoreCase("caster->target")) {
 
@@ -31,6 +31,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
 import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.player.PlayerSkill;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -43,6 +44,8 @@ import java.util.Map;
 public class PassiveMechanic extends MechanicComponent {
     private static final String PERIOD = "seconds";
 
+    private static final int PERIOD_SLOT = CompiledSettings.slot(PERIOD);
+
     private final Map<Integer, PassiveTask> tasks = new HashMap<>();
 
     /**
@@ -58,7 +61,7 @@ public class PassiveMechanic extends MechanicComponent {
     public boolean execute(LivingEntity caster, int level, List<LivingEntity> targets, boolean force) {
         if (tasks.containsKey(caster.getEntityId()) || targets.isEmpty()) return false;
 
-        final int         period = (int) (parseValues(caster, PERIOD, level, 1.0) * 20);
+        final int         period = (int) (parseValues(caster, PERIOD_SLOT, level, 1.0) * 20);
         final PassiveTask task   = new PassiveTask(caster, level, targets, period);
         tasks.put(caster.getEntityId(), task);
 
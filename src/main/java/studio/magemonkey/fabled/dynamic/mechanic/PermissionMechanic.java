@@ -27,6 +27,7 @@
 package studio.magemonkey.fabled.dynamic.mechanic;
 
 import studio.magemonkey.fabled.api.util.FlagManager;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.hook.PluginChecker;
 import org.bukkit.entity.LivingEntity;
 
@@ -39,6 +40,8 @@ public class PermissionMechanic extends MechanicComponent {
     private static final String PERM    = "perm";
     private static final String SECONDS = "seconds";
 
+    private static final int SECONDS_SLOT = CompiledSettings.slot(SECONDS);
+
     @Override
     public String getKey() {
         return "permission";
@@ -60,7 +63,7 @@ public class PermissionMechanic extends MechanicComponent {
         }
 
         String key     = settings.getString(PERM);
-        double seconds = parseValues(caster, SECONDS, level, 3.0);
+        double seconds = parseValues(caster, SECONDS_SLOT, level, 3.0);
         int    ticks   = (int) (seconds * 20);
         for (LivingEntity target : targets) {
             if (!target.hasPermission(key)) {
@@ -26,6 +26,7 @@
  */
 package studio.magemonkey.fabled.dynamic.mechanic;
 
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
@@ -42,6 +43,9 @@ public class PotionMechanic extends MechanicComponent {
     private static final String TIER    = "tier";
     private static final String SECONDS = "seconds";
 
+    private static final int TIER_SLOT    = CompiledSettings.slot(TIER);
+    private static final int SECONDS_SLOT = CompiledSettings.slot(SECONDS);
+
     @Override
     public String getKey() {
         return "potion";
@@ -66,8 +70,8 @@ public class PotionMechanic extends MechanicComponent {
             PotionEffectType potion = PotionEffectType.getByName(settings.getString(POTION, "Absorption")
                     .toUpperCase(Locale.US)
                     .replace(' ', '_'));
-            int     tier    = (int) parseValues(caster, TIER, level, 1) - 1;
-            double  seconds = parseValues(caster, SECONDS, level, 3.0);
+            int     tier    = (int) parseValues(caster, TIER_SLOT, level, 1) - 1;
+            double  seconds = parseValues(caster, SECONDS_SLOT, level, 3.0);
             boolean ambient = settings.getBool(AMBIENT, true);
             int     ticks   = (int) (seconds * 20);
             for (LivingEntity target : targets) {
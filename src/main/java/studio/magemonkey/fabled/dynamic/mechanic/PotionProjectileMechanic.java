@@ -36,7 +36,9 @@ import studio.magemonkey.fabled.api.projectile.CustomProjectile;
 import studio.magemonkey.fabled.api.projectile.ParticleProjectile;
 import studio.magemonkey.fabled.api.projectile.ProjectileCallback;
 import studio.magemonkey.fabled.api.target.TargetHelper;
+import studio.magemonkey.fabled.api.util.EntityMeta;
 import studio.magemonkey.fabled.api.util.Nearby;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.dynamic.DynamicSkill;
 import studio.magemonkey.fabled.dynamic.TempEntity;
 import studio.magemonkey.fabled.task.RemoveTask;
@@ -101,6 +103,17 @@ public class PotionProjectileMechanic extends MechanicComponent {
     public static final String RADIUS_PER_TICK = "radius-per-tick";
     public static final String CLOUD_PREFIX    = "cloud-";
 
+    private static final int AMOUNT_SLOT      = CompiledSettings.slot(AMOUNT);
+    private static final int VELOCITY_SLOT    = CompiledSettings.slot(VELOCITY);
+    private static final int FORWARD_SLOT     = CompiledSettings.slot(FORWARD);
+    private static final int RIGHT_SLOT       = CompiledSettings.slot(RIGHT);
+    private static final int UPWARD_SLOT      = CompiledSettings.slot(UPWARD);
+    private static final int RAIN_RADIUS_SLOT = CompiledSettings.slot(RAIN_RADIUS);
+    private static final int HEIGHT_SLOT      = CompiledSettings.slot(HEIGHT);
+    private static final int ANGLE_SLOT       = CompiledSettings.slot(ANGLE);
+    private static final int LIFESPAN_SLOT    = CompiledSettings.slot(LIFESPAN);
+    private static final int RADIUS_SLOT      = CompiledSettings.slot(RADIUS);
+
     @Override
     public String getKey() {
         return "potion projectile";
@@ -118,8 +131,8 @@ public class PotionProjectileMechanic extends MechanicComponent {
     @Override
     public boolean execute(LivingEntity caster, int level, List<LivingEntity> targets, boolean force) {
         // Get common values
-        int     amount  = (int) parseValues(caster, AMOUNT, level, 1.0);
-        double  speed   = parseValues(caster, VELOCITY, level, 2.0);
+        int     amount  = (int) parseValues(caster, AMOUNT_SLOT, level, 1.0);
+        double  speed   = parseValues(caster, VELOCITY_SLOT, level, 2.0);
         boolean flaming = settings.getString(FLAMING, "false").equalsIgnoreCase("true");
         String  spread  = settings.getString(SPREAD, "cone").toLowerCase();
 
@@ -128,17 +141,17 @@ public class PotionProjectileMechanic extends MechanicComponent {
         for (LivingEntity target : targets) {
             Location location = target.getEyeLocation();
             Vector   offset   = location.getDirection().setY(0).normalize();
-            offset.multiply(parseValues(caster, FORWARD, level, 0))
-                    .add(offset.clone().crossProduct(UP).multiply(parseValues(caster, RIGHT, level, 0)));
-            location.add(offset).add(0, parseValues(caster, UPWARD, level, 0), 0);
+            offset.multiply(parseValues(caster, FORWARD_SLOT, level, 0))
+                    .add(offset.clone().crossProduct(UP).multiply(parseValues(caster, RIGHT_SLOT, level, 0)));
+            location.add(offset).add(0, parseValues(caster, UPWARD_SLOT, level, 0), 0);
 
             // Apply the spread type
             if (spread.equals("rain")) {
                 Vector dir = new Vector(0, speed, 0);
                 for (Location loc : CustomProjectile.calcRain(
                         location,
-                        parseValues(caster, RAIN_RADIUS, level, 2.0),
-                        parseValues(caster, HEIGHT, level, 8.0),
+                        parseValues(caster, RAIN_RADIUS_SLOT, level, 2.0),
+                        parseValues(caster, HEIGHT_SLOT, level, 8.0),
                         amount)) {
                     ThrownPotion p = caster.launchProjectile(ThrownPotion.class);
                     p.setVelocity(dir);
@@ -151,7 +164,8 @@ public class PotionProjectileMechanic extends MechanicComponent {
                     dir.setY(0);
                     dir.normalize();
                 }
-                List<Vector> dirs = CustomProjectile.calcSpread(dir, parseValues(caster, ANGLE, level, 30.0), amount);
+                List<Vector> dirs =
+                        CustomProjectile.calcSpread(dir, parseValues(caster, ANGLE_SLOT, level, 30.0), amount);
                 for (Vector d : dirs) {
                     ThrownPotion p = caster.launchProjectile(ThrownPotion.class);
                     p.teleport(location);
@@ -181,9 +195,9 @@ public class PotionProjectileMechanic extends MechanicComponent {
         for (ThrownPotion potion : projectiles) {
             potion.setItem(itemStack);
             if (flaming) potion.setFireTicks(Integer.MAX_VALUE);
-            Fabled.setMeta(potion, POTION_PROJECTILE, this);
-            Fabled.setMeta(potion, SKILL_LEVEL, level);
-            Fabled.setMeta(potion, SKILL_CASTER, caster);
+            EntityMeta.set(potion, POTION_PROJECTILE_META, this);
+            EntityMeta.setInt(potion, SKILL_LEVEL_META, level);
+            EntityMeta.set(potion, SKILL_CASTER_META, caster);
         }
 
         if (settings.getBool(USE_EFFECT, false)) {
@@ -244,7 +258,7 @@ public class PotionProjectileMechanic extends MechanicComponent {
         }
 
         new RepeatingEntityTask<>(projectiles, proj -> ParticleHelper.play(proj.getLocation(), settings));
-        new RemoveTask(projectiles, (int) parseValues(caster, LIFESPAN, level, 9999) * 20) {
+        new RemoveTask(projectiles, (int) parseValues(caster, LIFESPAN_SLOT, level, 9999) * 20) {
             @Override
             public void run() {
                 super.run();
@@ -270,8 +284,8 @@ public class PotionProjectileMechanic extends MechanicComponent {
         String             group   = settings.getString(ALLY, "enemy").toLowerCase();
         boolean            both    = group.equals("both");
         boolean            ally    = group.equals("ally");
-        LivingEntity       caster  = (LivingEntity) Fabled.getMeta(entity, SKILL_CASTER);
-        int                level   = Fabled.getMetaInt(entity, SKILL_LEVEL);
+        LivingEntity       caster  = EntityMeta.get(entity, SKILL_CASTER_META);
+        int                level   = EntityMeta.getInt(entity, SKILL_LEVEL_META, 0);
         Location           loc     = entity.getLocation();
         for (int i = 0; i < targets.size(); i++) {
             if (!both && Fabled.getSettings().canAttack(caster, targets.get(i)) == ally) {
@@ -301,9 +315,9 @@ public class PotionProjectileMechanic extends MechanicComponent {
             public void run() {
                 targets.clear();
 
-                int    amount   = (int) parseValues(caster, AMOUNT, level, 1.0);
+                int    amount   = (int) parseValues(caster, AMOUNT_SLOT, level, 1.0);
                 String spread   = settings.getString(SPREAD, "cone").toLowerCase();
-                int    lifespan = (int) (parseValues(caster, LIFESPAN, level, 9999) * 20);
+                int    lifespan = (int) (parseValues(caster, LIFESPAN_SLOT, level, 9999) * 20);
 
                 final Settings copy = new Settings(settings);
                 copy.set(ParticleProjectile.SPEED, parseValues(caster, ParticleProjectile.SPEED, level, 1), 0);
@@ -320,7 +334,7 @@ public class PotionProjectileMechanic extends MechanicComponent {
                     }
                     List<LivingEntity> hitTargets = new ArrayList<>();
                     if (settings.getBool(LINGER, false)) {
-                        double   radius = parseValues(caster, RADIUS, level, 3);
+                        double   radius = parseValues(caster, RADIUS_SLOT, level, 3);
                         Location loc    = projectile.getLocation();
                         hitTargets.addAll(Nearby.getLivingNearby(projectile.getLocation().getWorld(), new BoundingBox(
                                 loc.getX() - radius,
@@ -348,9 +362,9 @@ public class PotionProjectileMechanic extends MechanicComponent {
                 for (LivingEntity target : targetSupplier.get()) {
                     Location location = target.getEyeLocation();
                     Vector   offset   = location.getDirection().setY(0).normalize();
-                    offset.multiply(parseValues(caster, FORWARD, level, 0))
-                            .add(offset.clone().crossProduct(UP).multiply(parseValues(caster, RIGHT, level, 0)));
-                    location.add(offset).add(0, parseValues(caster, UPWARD, level, 0), 0);
+                    offset.multiply(parseValues(caster, FORWARD_SLOT, level, 0))
+                            .add(offset.clone().crossProduct(UP).multiply(parseValues(caster, RIGHT_SLOT, level, 0)));
+                    location.add(offset).add(0, parseValues(caster, UPWARD_SLOT, level, 0), 0);
 
                     // Apply the spread type
                     if (spread.equals("rain")) {
@@ -358,8 +372,8 @@ public class PotionProjectileMechanic extends MechanicComponent {
                                 level,
                                 location,
                                 copy,
-                                parseValues(caster, RAIN_RADIUS, level, 2.0),
-                                parseValues(caster, HEIGHT, level, 8.0),
+                                parseValues(caster, RAIN_RADIUS_SLOT, level, 2.0),
+                                parseValues(caster, HEIGHT_SLOT, level, 8.0),
                                 amount,
                                 callback,
                                 lifespan));
@@ -375,7 +389,7 @@ public class PotionProjectileMechanic extends MechanicComponent {
                                 dir,
                                 location,
                                 copy,
-                                parseValues(caster, ANGLE, level, 30.0),
+                                parseValues(caster, ANGLE_SLOT, level, 30.0),
                                 amount,
                                 callback,
                                 lifespan
@@ -47,7 +47,9 @@ import studio.magemonkey.fabled.api.projectile.CustomProjectile;
 import studio.magemonkey.fabled.api.projectile.ParticleProjectile;
 import studio.magemonkey.fabled.api.projectile.ProjectileCallback;
 import studio.magemonkey.fabled.api.target.TargetHelper;
+import studio.magemonkey.fabled.api.util.EntityMeta;
 import studio.magemonkey.fabled.api.util.Nearby;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.dynamic.DynamicSkill;
 import studio.magemonkey.fabled.dynamic.TempEntity;
 import studio.magemonkey.fabled.listener.MechanicListener;
@@ -106,6 +108,16 @@ public class ProjectileMechanic extends MechanicComponent {
                 put("snowball", snowBall());
             }};
 
+    private static final int AMOUNT_SLOT   = CompiledSettings.slot(AMOUNT);
+    private static final int VELOCITY_SLOT = CompiledSettings.slot(VELOCITY);
+    private static final int FORWARD_SLOT  = CompiledSettings.slot(FORWARD);
+    private static final int RIGHT_SLOT    = CompiledSettings.slot(RIGHT);
+    private static final int UPWARD_SLOT   = CompiledSettings.slot(UPWARD);
+    private static final int RADIUS_SLOT   = CompiledSettings.slot(RADIUS);
+    private static final int HEIGHT_SLOT   = CompiledSettings.slot(HEIGHT);
+    private static final int ANGLE_SLOT    = CompiledSettings.slot(ANGLE);
+    private static final int LIFESPAN_SLOT = CompiledSettings.slot(LIFESPAN);
+
     @SuppressWarnings("unchecked")
     private static Class<? extends Projectile> getProjectileClass(String projectileName) {
         StringBuilder conditionedName = new StringBuilder();
@@ -145,8 +157,8 @@ public class ProjectileMechanic extends MechanicComponent {
     @Override
     public boolean execute(LivingEntity caster, int level, List<LivingEntity> targets, boolean force) {
         // Get common values
-        int                         amount     = (int) parseValues(caster, AMOUNT, level, 1.0);
-        double                      speed      = parseValues(caster, VELOCITY, level, 2.0);
+        int                         amount     = (int) parseValues(caster, AMOUNT_SLOT, level, 1.0);
+        double                      speed      = parseValues(caster, VELOCITY_SLOT, level, 2.0);
         boolean                     flaming    = settings.getString(FLAMING, "false").equalsIgnoreCase("true");
         String                      spread     = settings.getString(SPREAD, "cone").toLowerCase();
         String                      projectile = settings.getString(PROJECTILE, "arrow").toLowerCase();
@@ -177,17 +189,17 @@ public class ProjectileMechanic extends MechanicComponent {
         for (LivingEntity target : targets) {
             Location location = target.getEyeLocation();
             Vector   offset   = location.getDirection().setY(0).normalize();
-            offset.multiply(parseValues(caster, FORWARD, level, 0))
-                    .add(offset.clone().crossProduct(UP).multiply(parseValues(caster, RIGHT, level, 0)));
-            location.add(offset).add(0, parseValues(caster, UPWARD, level, 0), 0);
+            offset.multiply(parseValues(caster, FORWARD_SLOT, level, 0))
+                    .add(offset.clone().crossProduct(UP).multiply(parseValues(caster, RIGHT_SLOT, level, 0)));
+            location.add(offset).add(0, parseValues(caster, UPWARD_SLOT, level, 0), 0);
 
             // Apply the spread type
             if (spread.equals("rain")) {
                 Vector vel = new Vector(0, speed, 0);
                 for (Location loc : CustomProjectile.calcRain(
                         location,
-                        parseValues(caster, RADIUS, level, 2.0),
-                        parseValues(caster, HEIGHT, level, 8.0),
+                        parseValues(caster, RADIUS_SLOT, level, 2.0),
+                        parseValues(caster, HEIGHT_SLOT, level, 8.0),
                         amount)) {
                     Projectile p = caster.launchProjectile(type);
                     p.teleport(loc);
@@ -200,7 +212,8 @@ public class ProjectileMechanic extends MechanicComponent {
                     dir.setY(0);
                     dir.normalize();
                 }
-                List<Vector> dirs = CustomProjectile.calcSpread(dir, parseValues(caster, ANGLE, level, 30.0), amount);
+                List<Vector> dirs =
+                        CustomProjectile.calcSpread(dir, parseValues(caster, ANGLE_SLOT, level, 30.0), amount);
                 for (Vector d : dirs) {
                     Projectile p = caster.launchProjectile(type);
                     p.teleport(location);
@@ -233,8 +246,8 @@ public class ProjectileMechanic extends MechanicComponent {
                          IllegalAccessException | InvocationTargetException ignored) {
                 }
             }
-            Fabled.setMeta(p, MechanicListener.SKILL_LEVEL, level);
-            Fabled.setMeta(p, MechanicListener.P_CALL, this);
+            EntityMeta.setInt(p, MechanicListener.SKILL_LEVEL_META, level);
+            EntityMeta.set(p, MechanicListener.P_CALL_META, this);
         }
 
         if (settings.getBool(OVERRIDE_ITEM)) {
@@ -318,7 +331,7 @@ public class ProjectileMechanic extends MechanicComponent {
         }
 
         new RepeatingEntityTask<>(projectiles, proj -> ParticleHelper.play(proj.getLocation(), settings));
-        new RemoveTask(projectiles, (int) parseValues(caster, LIFESPAN, level, 9999) * 20) {
+        new RemoveTask(projectiles, (int) parseValues(caster, LIFESPAN_SLOT, level, 9999) * 20) {
             @Override
             public void run() {
                 super.run();
@@ -348,10 +361,10 @@ public class ProjectileMechanic extends MechanicComponent {
             targets.add(finalHit);
             if (projectile.getShooter() != null)
                 executeChildren((LivingEntity) projectile.getShooter(),
-                        Fabled.getMetaInt(projectile, MechanicListener.SKILL_LEVEL),
+                        EntityMeta.getInt(projectile, MechanicListener.SKILL_LEVEL_META, 0),
                         targets,
                         skill.isForced((LivingEntity) projectile.getShooter()));
-            Fabled.removeMeta(projectile, MechanicListener.P_CALL);
+            EntityMeta.remove(projectile, MechanicListener.P_CALL_META);
             projectile.remove();
         }, 1L);
     }
@@ -371,9 +384,9 @@ public class ProjectileMechanic extends MechanicComponent {
             public void run() {
                 targets.clear();
 
-                int    amount   = (int) parseValues(caster, AMOUNT, level, 1.0);
+                int    amount   = (int) parseValues(caster, AMOUNT_SLOT, level, 1.0);
                 String spread   = settings.getString(SPREAD, "cone").toLowerCase();
-                int    lifespan = (int) (parseValues(caster, LIFESPAN, level, 9999) * 20);
+                int    lifespan = (int) (parseValues(caster, LIFESPAN_SLOT, level, 9999) * 20);
                 String type     = settings.getString(PROJECTILE, "arrow").toLowerCase();
                 double gravity;
                 double drag;
@@ -429,9 +442,9 @@ public class ProjectileMechanic extends MechanicComponent {
                 for (LivingEntity target : targetSupplier.get()) {
                     Location location = target.getEyeLocation();
                     Vector   offset   = location.getDirection().setY(0).normalize();
-                    offset.multiply(parseValues(caster, FORWARD, level, 0))
-                            .add(offset.clone().crossProduct(UP).multiply(parseValues(caster, RIGHT, level, 0)));
-                    location.add(offset).add(0, parseValues(caster, UPWARD, level, 0), 0);
+                    offset.multiply(parseValues(caster, FORWARD_SLOT, level, 0))
+                            .add(offset.clone().crossProduct(UP).multiply(parseValues(caster, RIGHT_SLOT, level, 0)));
+                    location.add(offset).add(0, parseValues(caster, UPWARD_SLOT, level, 0), 0);
 
                     // Apply the spread type
                     if (spread.equals("rain")) {
@@ -439,8 +452,8 @@ public class ProjectileMechanic extends MechanicComponent {
                                 level,
                                 location,
                                 copy,
-                                parseValues(caster, RADIUS, level, 2.0),
-                                parseValues(caster, HEIGHT, level, 8.0),
+                                parseValues(caster, RADIUS_SLOT, level, 2.0),
+                                parseValues(caster, HEIGHT_SLOT, level, 8.0),
                                 amount,
                                 callback,
                                 lifespan));
@@ -456,7 +469,7 @@ public class ProjectileMechanic extends MechanicComponent {
                                 dir,
                                 location,
                                 copy,
-                                parseValues(caster, ANGLE, level, 30.0),
+                                parseValues(caster, ANGLE_SLOT, level, 30.0),
                                 amount,
                                 callback,
                                 lifespan
@@ -27,6 +27,7 @@
 package studio.magemonkey.fabled.dynamic.mechanic;
 
 import studio.magemonkey.fabled.api.event.SkillPushEvent;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.dynamic.target.RememberTarget;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -42,6 +43,8 @@ public class PushMechanic extends MechanicComponent {
     private static final String SPEED  = "speed";
     private static final String SOURCE = "source";
 
+    private static final int SPEED_SLOT = CompiledSettings.slot(SPEED);
+
     @Override
     public String getKey() {
         return "push";
@@ -62,7 +65,7 @@ public class PushMechanic extends MechanicComponent {
             return false;
         }
 
-        final double speed = parseValues(caster, SPEED, level, 3.0);
+        final double speed = parseValues(caster, SPEED_SLOT, level, 3.0);
         final String type  = settings.getString("type", "scaled").toLowerCase();
 
         final List<LivingEntity> sources = RememberTarget.remember(caster, settings.getString(SOURCE, "_none"));
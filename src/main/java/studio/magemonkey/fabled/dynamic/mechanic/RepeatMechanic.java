@@ -26,14 +26,13 @@
  */
 package studio.magemonkey.fabled.dynamic.mechanic;
 
-import studio.magemonkey.fabled.Fabled;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
+import studio.magemonkey.fabled.dynamic.SkillScheduler;
 import org.bukkit.entity.LivingEntity;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.function.BooleanSupplier;
 
 /**
  * Executes child components multiple times
@@ -44,7 +43,7 @@ public class RepeatMechanic extends MechanicComponent {
     private static final String PERIOD       = "period";
     private static final String STOP_ON_FAIL = "stop-on-fail";
 
-    private final Map<Integer, List<RepeatTask>> tasks = new HashMap<>();
+    private static final int REPETITIONS_SLOT = CompiledSettings.slot(REPETITIONS);
 
     /**
      * Executes the component
@@ -58,7 +57,7 @@ public class RepeatMechanic extends MechanicComponent {
     @Override
     public boolean execute(LivingEntity caster, int level, List<LivingEntity> targets, boolean force) {
         if (targets.size() > 0) {
-            int count = (int) parseValues(caster, REPETITIONS, level, 3.0);
+            int count = (int) parseValues(caster, REPETITIONS_SLOT, level, 3.0);
             if (count <= 0) {
                 return false;
             }
@@ -72,8 +71,8 @@ public class RepeatMechanic extends MechanicComponent {
                     count = execute(caster, targets, count, stopOnFail, force);
                 }
             } else {
-                final RepeatTask task = new RepeatTask(caster, targets, count, delay, period, stopOnFail, force);
-                tasks.computeIfAbsent(caster.getEntityId(), ArrayList::new).add(task);
+                final RepeatTask task = new RepeatTask(caster, targets, count, stopOnFail, force);
+                SkillScheduler.runTimer(this, caster, delay, period, task);
             }
             return true;
         }
@@ -109,15 +108,7 @@ public class RepeatMechanic extends MechanicComponent {
         return "repeat";
     }
 
-    @Override
-    protected void doCleanUp(final LivingEntity caster) {
-        final List<RepeatTask> casterTasks = tasks.remove(caster.getEntityId());
-        if (casterTasks != null) {
-            casterTasks.forEach(RepeatTask::cancel);
-        }
-    }
-
-    private class RepeatTask extends BukkitRunnable {
+    private class RepeatTask implements BooleanSupplier {
         private final List<LivingEntity> targets;
         private final LivingEntity       caster;
         private final boolean            stopOnFail;
@@ -125,38 +116,18 @@ public class RepeatMechanic extends MechanicComponent {
 
         private int count;
 
-        RepeatTask(
-                LivingEntity caster,
-                List<LivingEntity> targets,
-                int count,
-                int delay,
-                int period,
-                boolean stopOnFail,
-                boolean force) {
+        RepeatTask(LivingEntity caster, List<LivingEntity> targets, int count, boolean stopOnFail, boolean force) {
             this.targets = new ArrayList<>(targets);
             this.caster = caster;
             this.count = count;
             this.stopOnFail = stopOnFail;
             this.force = force;
-
-            Fabled.schedule(this, delay, period);
         }
 
         @Override
-        public void cancel() {
-            super.cancel();
-            final List<RepeatTask> casterTasks = tasks.get(caster.getEntityId());
-            if (casterTasks != null) {
-                casterTasks.remove(this);
-            }
-        }
-
-        @Override
-        public void run() {
+        public boolean getAsBoolean() {
             count = execute(caster, targets, count, stopOnFail, force);
-            if (count <= 0) {
-                cancel();
-            }
+            return count > 0;
         }
     }
 }
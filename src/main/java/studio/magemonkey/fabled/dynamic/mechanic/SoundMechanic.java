@@ -26,6 +26,7 @@
  */
 package studio.magemonkey.fabled.dynamic.mechanic;
 
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.log.Logger;
 import org.bukkit.Sound;
 import org.bukkit.entity.LivingEntity;
@@ -43,6 +44,9 @@ public class SoundMechanic extends MechanicComponent {
     private static final String VOLUME = "volume";
     private static final String PITCH  = "pitch";
 
+    private static final int VOLUME_SLOT = CompiledSettings.slot(VOLUME);
+    private static final int PITCH_SLOT  = CompiledSettings.slot(PITCH);
+
     @Override
     public String getKey() {
         return "sound";
@@ -68,8 +72,8 @@ public class SoundMechanic extends MechanicComponent {
         try {
             String sound =
                     type.equals("CUSTOM") ? settings.getString(CUSTOM, "") : Sound.valueOf(type).getKey().toString();
-            float volume = (float) parseValues(caster, VOLUME, level, 100.0) / 100;
-            float pitch  = (float) parseValues(caster, PITCH, level, 0.0);
+            float volume = (float) parseValues(caster, VOLUME_SLOT, level, 100.0) / 100;
+            float pitch  = (float) parseValues(caster, PITCH_SLOT, level, 0.0);
 
             volume = Math.max(0, volume);
             pitch = Math.min(2, Math.max(0.5f, pitch));
@@ -30,11 +30,10 @@ import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.enums.Operation;
 import studio.magemonkey.fabled.api.player.PlayerData;
 import studio.magemonkey.fabled.api.player.PlayerStatModifier;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
+import studio.magemonkey.fabled.dynamic.SkillScheduler;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
-import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.HashMap;
 import java.util.List;
@@ -50,6 +49,9 @@ public class StatMechanic extends MechanicComponent {
     private static final String SECONDS   = "seconds";
     private static final String STACKABLE = "stackable";
 
+    private static final int AMOUNT_SLOT  = CompiledSettings.slot(AMOUNT);
+    private static final int SECONDS_SLOT = CompiledSettings.slot(SECONDS);
+
     private final Map<Integer, Map<String, StatTask>> tasks = new HashMap<>();
 
     @Override
@@ -82,8 +84,8 @@ public class StatMechanic extends MechanicComponent {
         }
 
         final Map<String, StatTask> casterTasks = tasks.computeIfAbsent(caster.getEntityId(), HashMap::new);
-        final double                amount      = parseValues(caster, AMOUNT, level, 5);
-        final double                seconds     = parseValues(caster, SECONDS, level, 3.0);
+        final double                amount      = parseValues(caster, AMOUNT_SLOT, level, 5);
+        final double                seconds     = parseValues(caster, SECONDS_SLOT, level, 3.0);
         final boolean               stackable   = settings.getBool(STACKABLE, false);
         final int                   ticks       = (int) (seconds * 20);
         final String                operation   = settings.getString(OPERATION, "MULTIPLY_PERCENTAGE");
@@ -111,20 +113,20 @@ public class StatMechanic extends MechanicComponent {
                 final StatTask task = new StatTask(caster.getEntityId(), data, modifier);
                 casterTasks.put(data.getPlayerName(), task);
                 if (ticks >= 0) {
-                    Fabled.schedule(task, ticks);
+                    task.handle = SkillScheduler.runLater(this, caster, ticks, task);
                 }
             }
         }
         return worked;
     }
 
-    private class StatTask extends BukkitRunnable {
+    private class StatTask implements Runnable {
 
-        private final PlayerData         data;
-        private final PlayerStatModifier modifier;
-        private final int                id;
-        private       boolean            running = false;
-        private       boolean            stopped = false;
+        private final PlayerData          data;
+        private final PlayerStatModifier  modifier;
+        private final int                 id;
+        private       SkillScheduler.Task handle;
+        private       boolean             stopped = false;
 
         StatTask(int id, PlayerData data, PlayerStatModifier modifier) {
             this.id = id;
@@ -136,16 +138,14 @@ public class StatMechanic extends MechanicComponent {
             if (!stopped) {
                 stopped = true;
                 run();
-                if (running) {
-                    cancel();
-                }
+                cancel();
             }
         }
 
-        @Override
-        public BukkitTask runTaskLater(final Plugin plugin, final long delay) {
-            running = true;
-            return super.runTaskLater(plugin, delay);
+        public void cancel() {
+            if (handle != null) {
+                handle.cancel();
+            }
         }
 
         @Override
@@ -154,7 +154,6 @@ public class StatMechanic extends MechanicComponent {
             if (tasks.containsKey(id)) {
                 tasks.get(id).remove(data.getPlayerName());
             }
-            running = false;
         }
     }
 }
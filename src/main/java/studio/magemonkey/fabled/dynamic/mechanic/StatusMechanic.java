@@ -27,6 +27,7 @@
 package studio.magemonkey.fabled.dynamic.mechanic;
 
 import studio.magemonkey.fabled.api.util.FlagManager;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.entity.LivingEntity;
 
 import java.util.List;
@@ -38,6 +39,8 @@ public class StatusMechanic extends MechanicComponent {
     private static final String KEY      = "status";
     private static final String DURATION = "duration";
 
+    private static final int DURATION_SLOT = CompiledSettings.slot(DURATION);
+
     @Override
     public String getKey() {
         return "status";
@@ -59,7 +62,7 @@ public class StatusMechanic extends MechanicComponent {
         }
 
         String key     = settings.getString(KEY, "stun").toLowerCase();
-        double seconds = parseValues(caster, DURATION, level, 3.0);
+        double seconds = parseValues(caster, DURATION_SLOT, level, 3.0);
         int    ticks   = (int) (seconds * 20);
         for (LivingEntity target : targets) {
             FlagManager.addFlag(target, key, ticks);
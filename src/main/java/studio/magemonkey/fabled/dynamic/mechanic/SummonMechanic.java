@@ -26,6 +26,7 @@
  */
 package studio.magemonkey.fabled.dynamic.mechanic;
 
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.dynamic.DynamicSkill;
 import studio.magemonkey.codex.mccore.util.TextFormatter;
 import org.bukkit.entity.Entity;
@@ -44,6 +45,9 @@ public class SummonMechanic extends MechanicComponent {
     private static final String NAME   = "name";
     private static final String AMOUNT = "amount";
 
+    private static final int HEALTH_SLOT = CompiledSettings.slot(HEALTH);
+    private static final int AMOUNT_SLOT = CompiledSettings.slot(AMOUNT);
+
     /**
      * Executes the component
      *
@@ -59,13 +63,13 @@ public class SummonMechanic extends MechanicComponent {
 
         final Player player = (Player) caster;
 
-        double health = parseValues(player, HEALTH, level, 10.0);
+        double health = parseValues(player, HEALTH_SLOT, level, 10.0);
         String type   = settings.getString(TYPE, "Zombie");
         String name =
                 TextFormatter.colorString(filter(caster,
                         null,
                         settings.getString(NAME, "").replace("{player}", player.getName())));
-        double amount = parseValues(player, AMOUNT, level, 1.0);
+        double amount = parseValues(player, AMOUNT_SLOT, level, 1.0);
 
         EntityType entType = EntityType.valueOf(type.replace(" ", "_").toUpperCase(Locale.US));
 
@@ -26,6 +26,7 @@
  */
 package studio.magemonkey.fabled.dynamic.mechanic;
 
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.hook.MythicMobsHook;
 import studio.magemonkey.fabled.hook.PluginChecker;
 import org.bukkit.entity.Creature;
@@ -39,6 +40,8 @@ import java.util.List;
 public class TauntMechanic extends MechanicComponent {
     private static final String AMOUNT = "amount";
 
+    private static final int AMOUNT_SLOT = CompiledSettings.slot(AMOUNT);
+
     @Override
     public String getKey() {
         return "taunt";
@@ -55,7 +58,7 @@ public class TauntMechanic extends MechanicComponent {
      */
     @Override
     public boolean execute(LivingEntity caster, int level, List<LivingEntity> targets, boolean force) {
-        double  amount  = parseValues(caster, AMOUNT, level, 1);
+        double  amount  = parseValues(caster, AMOUNT_SLOT, level, 1);
         boolean taunted = false;
         for (LivingEntity entity : targets) {
             if (entity instanceof Creature && entity != caster) {
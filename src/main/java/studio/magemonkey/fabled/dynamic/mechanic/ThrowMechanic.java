@@ -26,6 +26,7 @@
  */
 package studio.magemonkey.fabled.dynamic.mechanic;
 
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.util.Vector;
@@ -41,6 +42,8 @@ public class ThrowMechanic extends MechanicComponent {
     private static final String RELATIVE = "relative";
     private              Vector up       = new Vector(0, 1, 0);
 
+    private static final int SPEED_SLOT = CompiledSettings.slot(SPEED);
+
     @Override
     public String getKey() {
         return "throw";
@@ -61,7 +64,7 @@ public class ThrowMechanic extends MechanicComponent {
             return false;
         }
 
-        double speed    = parseValues(caster, SPEED, level, 0);
+        double speed    = parseValues(caster, SPEED_SLOT, level, 0);
         String relative = settings.getString(RELATIVE, "target").toLowerCase();
 
         List<LivingEntity> thrown = new ArrayList<>();
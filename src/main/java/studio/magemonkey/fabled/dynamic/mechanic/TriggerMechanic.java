@@ -2,6 +2,7 @@ package studio.magemonkey.fabled.dynamic.mechanic;
 
 import com.google.common.base.Objects;
 import studio.magemonkey.fabled.Fabled;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.dynamic.ComponentRegistry;
 import studio.magemonkey.fabled.dynamic.DynamicSkill;
 import studio.magemonkey.fabled.dynamic.TriggerHandler;
@@ -26,6 +27,8 @@ public class TriggerMechanic extends MechanicComponent {
     private static final String STACKABLE = "stackable";
     private static final String ONCE      = "once";
 
+    private static final int DURATION_SLOT = CompiledSettings.slot(DURATION);
+
     private final Map<Integer, List<Context>> CASTER_MAP = new HashMap<>();
 
     private TriggerHandler triggerHandler;
@@ -44,7 +47,7 @@ public class TriggerMechanic extends MechanicComponent {
 
         final Receiver receiver = new Receiver();
         triggerHandler = new TriggerHandler(skill, "fake", trigger, receiver);
-        triggerHandler.register(Fabled.inst());
+        skill.addComponentTrigger(triggerHandler);
         once = settings.getBool(ONCE, true);
         stackable = settings.getBool(STACKABLE, true);
     }
@@ -58,7 +61,7 @@ public class TriggerMechanic extends MechanicComponent {
     public boolean execute(
             final LivingEntity caster, final int level, final List<LivingEntity> targets, boolean force) {
 
-        final int ticks = (int) (20 * parseValues(caster, DURATION, level, 5));
+        final int ticks = (int) (20 * parseValues(caster, DURATION_SLOT, level, 5));
 
         boolean worked = false;
         for (final LivingEntity target : targets) {
@@ -29,6 +29,8 @@ package studio.magemonkey.fabled.dynamic.mechanic;
 import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.skills.PassiveSkill;
 import studio.magemonkey.fabled.api.skills.Skill;
+import studio.magemonkey.fabled.api.util.EntityMeta;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.dynamic.DynamicSkill;
 import studio.magemonkey.fabled.listener.MechanicListener;
 import studio.magemonkey.fabled.task.RemoveTask;
@@ -55,6 +57,14 @@ public class WolfMechanic extends MechanicComponent {
     private static final String AMOUNT     = "amount";
     private static final String SITTING    = "sitting";
 
+    private static final int HEALTH_SLOT  = CompiledSettings.slot(HEALTH);
+    private static final int DAMAGE_SLOT  = CompiledSettings.slot(DAMAGE);
+    private static final int AMOUNT_SLOT  = CompiledSettings.slot(AMOUNT);
+    private static final int SECONDS_SLOT = CompiledSettings.slot(SECONDS);
+
+    public static final EntityMeta.Key<List<String>> SKILLS_META = EntityMeta.key(SKILL_META);
+    public static final EntityMeta.IntKey            LEVEL_META  = EntityMeta.intKey(LEVEL);
+
     private final Map<Integer, RemoveTask> tasks = new HashMap<>();
 
     /**
@@ -77,13 +87,13 @@ public class WolfMechanic extends MechanicComponent {
         final Player player = (Player) caster;
 
         String color  = settings.getString(COLOR);
-        double health = parseValues(player, HEALTH, level, 10.0);
+        double health = parseValues(player, HEALTH_SLOT, level, 10.0);
         String name =
                 TextFormatter.colorString(filter(caster,
                         null,
                         settings.getString(NAME, "").replace("{player}", player.getName())));
-        double       damage  = parseValues(player, DAMAGE, level, 3.0);
-        double       amount  = parseValues(player, AMOUNT, level, 1.0);
+        double       damage  = parseValues(player, DAMAGE_SLOT, level, 3.0);
+        double       amount  = parseValues(player, AMOUNT_SLOT, level, 1.0);
         boolean      sitting = settings.getString(SITTING, "false").equalsIgnoreCase("true");
         List<String> skills  = settings.getStringList(SKILLS);
 
@@ -94,7 +104,7 @@ public class WolfMechanic extends MechanicComponent {
             } catch (Exception ex) { /* Invalid color */ }
         }
 
-        double             seconds = parseValues(player, SECONDS, level, 10.0);
+        double             seconds = parseValues(player, SECONDS_SLOT, level, 10.0);
         int                ticks   = (int) (seconds * 20);
         List<LivingEntity> wolves  = new ArrayList<>();
         for (LivingEntity target : targets) {
@@ -104,7 +114,7 @@ public class WolfMechanic extends MechanicComponent {
                 wolf.setMaxHealth(health);
                 wolf.setHealth(health);
                 wolf.setSitting(sitting);
-                Fabled.setMeta(wolf, MechanicListener.SUMMON_DAMAGE, damage);
+                EntityMeta.setDouble(wolf, MechanicListener.SUMMON_DAMAGE_META, damage);
 
                 List<LivingEntity> owner = new ArrayList<>(1);
                 owner.add(player);
@@ -125,8 +135,8 @@ public class WolfMechanic extends MechanicComponent {
                         ((PassiveSkill) skill).initialize(wolf, level);
                     }
                 }
-                Fabled.setMeta(wolf, SKILL_META, skills);
-                Fabled.setMeta(wolf, LEVEL, level);
+                EntityMeta.set(wolf, SKILLS_META, skills);
+                EntityMeta.setInt(wolf, LEVEL_META, level);
 
                 wolves.add(wolf);
             }
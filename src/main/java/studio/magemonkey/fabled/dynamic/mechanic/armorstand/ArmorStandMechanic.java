@@ -1,8 +1,9 @@
 package studio.magemonkey.fabled.dynamic.mechanic.armorstand;
 
-import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.armorstand.ArmorStandInstance;
 import studio.magemonkey.fabled.api.armorstand.ArmorStandManager;
+import studio.magemonkey.fabled.api.util.EntityMeta;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.dynamic.TempEntity;
 import studio.magemonkey.fabled.dynamic.mechanic.MechanicComponent;
 import studio.magemonkey.fabled.listener.MechanicListener;
@@ -39,6 +40,11 @@ public class ArmorStandMechanic extends MechanicComponent {
     private static final String UPWARD       = "upward";
     private static final String RIGHT        = "right";
 
+    private static final int DURATION_SLOT = CompiledSettings.slot(DURATION);
+    private static final int FORWARD_SLOT  = CompiledSettings.slot(FORWARD);
+    private static final int UPWARD_SLOT   = CompiledSettings.slot(UPWARD);
+    private static final int RIGHT_SLOT    = CompiledSettings.slot(RIGHT);
+
     @Override
     public String getKey() {
         return "armor stand";
@@ -47,7 +53,7 @@ public class ArmorStandMechanic extends MechanicComponent {
     @Override
     public boolean execute(LivingEntity caster, int level, List<LivingEntity> targets, boolean force) {
         String  key         = settings.getString(KEY, skill.getName());
-        int     duration    = (int) (20 * parseValues(caster, DURATION, level, 5));
+        int     duration    = (int) (20 * parseValues(caster, DURATION_SLOT, level, 5));
         String  name        = settings.getString(NAME, "Armor Stand");
         boolean nameVisible = settings.getBool(NAME_VISIBLE, false);
         boolean follow      = settings.getBool(FOLLOW, false);
@@ -57,9 +63,9 @@ public class ArmorStandMechanic extends MechanicComponent {
         boolean base        = settings.getBool(BASE, false);
         boolean visible     = settings.getBool(VISIBLE, true);
         boolean marker      = settings.getBool(MARKER, false);
-        double  forward     = parseValues(caster, FORWARD, level, 0);
-        double  upward      = parseValues(caster, UPWARD, level, 0);
-        double  right       = parseValues(caster, RIGHT, level, 0);
+        double  forward     = parseValues(caster, FORWARD_SLOT, level, 0);
+        double  upward      = parseValues(caster, UPWARD_SLOT, level, 0);
+        double  right       = parseValues(caster, RIGHT_SLOT, level, 0);
 
         List<LivingEntity> armorStands = new ArrayList<>();
         for (LivingEntity target : targets) {
@@ -97,7 +103,7 @@ public class ArmorStandMechanic extends MechanicComponent {
                 as = target.getWorld().spawn(loc, ArmorStand.class);
                 onSpawn.accept(as);
             }
-            Fabled.setMeta(as, MechanicListener.ARMOR_STAND, true);
+            EntityMeta.set(as, MechanicListener.ARMOR_STAND_META, true);
             armorStands.add(as);
 
             ArmorStandInstance instance;
@@ -121,9 +127,9 @@ public class ArmorStandMechanic extends MechanicComponent {
                             Player caster,
                             int level,
                             Supplier<List<LivingEntity>> targetSupplier) {
-        double forward = parseValues(caster, FORWARD, level, 0);
-        double upward  = parseValues(caster, UPWARD, level, 0);
-        double right   = parseValues(caster, RIGHT, level, 0);
+        double forward = parseValues(caster, FORWARD_SLOT, level, 0);
+        double upward  = parseValues(caster, UPWARD_SLOT, level, 0);
+        double right   = parseValues(caster, RIGHT_SLOT, level, 0);
         super.playPreview(onPreviewStop, caster, level, () -> {
             List<LivingEntity> newTargets = new ArrayList<>();
             for (LivingEntity target : targetSupplier.get()) {
@@ -29,6 +29,7 @@ package studio.magemonkey.fabled.dynamic.mechanic.particle;
 import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.Settings;
 import studio.magemonkey.fabled.api.particle.ParticleHelper;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.dynamic.mechanic.MechanicComponent;
 import org.bukkit.Location;
 import org.bukkit.entity.LivingEntity;
@@ -55,6 +56,19 @@ public class ParticleAnimationMechanic extends MechanicComponent {
     private static final String H_CYCLES      = "h-cycles";
     private static final String V_CYCLES      = "v-cycles";
 
+    private static final int FORWARD_SLOT  = CompiledSettings.slot(FORWARD);
+    private static final int UPWARD_SLOT   = CompiledSettings.slot(UPWARD);
+    private static final int RIGHT_SLOT    = CompiledSettings.slot(RIGHT);
+    private static final int STEPS_SLOT    = CompiledSettings.slot(STEPS);
+    private static final int FREQ_SLOT     = CompiledSettings.slot(FREQ);
+    private static final int ANGLE_SLOT    = CompiledSettings.slot(ANGLE);
+    private static final int START_SLOT    = CompiledSettings.slot(START);
+    private static final int DURATION_SLOT = CompiledSettings.slot(DURATION);
+    private static final int H_TRANS_SLOT  = CompiledSettings.slot(H_TRANS);
+    private static final int V_TRANS_SLOT  = CompiledSettings.slot(V_TRANS);
+    private static final int H_CYCLES_SLOT = CompiledSettings.slot(H_CYCLES);
+    private static final int V_CYCLES_SLOT = CompiledSettings.slot(V_CYCLES);
+
     @Override
     public String getKey() {
         return "particle animation";
@@ -106,20 +120,20 @@ public class ParticleAnimationMechanic extends MechanicComponent {
             this.targets = targets;
             this.settings = settings;
 
-            double forward = getNum(caster, FORWARD, 0);
-            this.upward = getNum(caster, UPWARD, 0);
-            double right = getNum(caster, RIGHT, 0);
+            double forward = getNum(caster, FORWARD_SLOT, 0);
+            this.upward = getNum(caster, UPWARD_SLOT, 0);
+            double right = getNum(caster, RIGHT_SLOT, 0);
 
-            this.steps = (int) getNum(caster, STEPS, 1);
-            int freq       = (int) (getNum(caster, FREQ, 1.0) * 20);
-            int angle      = (int) getNum(caster, ANGLE, 0);
-            int startAngle = (int) getNum(caster, START, 0);
-            this.duration = steps * (int) (20 * parseValues(caster, DURATION, level, 3.0));
+            this.steps = (int) getNum(caster, STEPS_SLOT, 1);
+            int freq       = (int) (getNum(caster, FREQ_SLOT, 1.0) * 20);
+            int angle      = (int) getNum(caster, ANGLE_SLOT, 0);
+            int startAngle = (int) getNum(caster, START_SLOT, 0);
+            this.duration = steps * (int) (20 * parseValues(caster, DURATION_SLOT, level, 3.0));
             this.life = 0;
-            this.ht = parseValues(caster, H_TRANS, level, 0);
-            this.vt = parseValues(caster, V_TRANS, level, 0);
-            int hc = (int) getNum(caster, H_CYCLES, 1);
-            int vc = (int) getNum(caster, V_CYCLES, 1);
+            this.ht = parseValues(caster, H_TRANS_SLOT, level, 0);
+            this.vt = parseValues(caster, V_TRANS_SLOT, level, 0);
+            int hc = (int) getNum(caster, H_CYCLES_SLOT, 1);
+            int vc = (int) getNum(caster, V_CYCLES_SLOT, 1);
             this.hl = duration / hc;
             this.vl = duration / vc;
             this.withRotation = settings.getBool(WITH_ROTATION);
@@ -28,6 +28,7 @@ package studio.magemonkey.fabled.dynamic.mechanic.particle;
 
 import studio.magemonkey.fabled.api.particle.EffectPlayer;
 import studio.magemonkey.fabled.api.particle.target.EntityTarget;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.dynamic.mechanic.MechanicComponent;
 import org.bukkit.entity.LivingEntity;
 
@@ -37,6 +38,8 @@ public class ParticleEffectMechanic extends MechanicComponent {
     private static final String DURATION = "duration";
     private static final String KEY      = "effect-key";
 
+    private static final int DURATION_SLOT = CompiledSettings.slot(DURATION);
+
     @Override
     public String getKey() {
         return "particle effect";
@@ -45,7 +48,7 @@ public class ParticleEffectMechanic extends MechanicComponent {
     @Override
     public boolean execute(LivingEntity caster, int level, List<LivingEntity> targets, boolean force) {
         String key      = settings.getString(KEY, skill.getName());
-        int    duration = (int) (20 * parseValues(caster, DURATION, level, 5));
+        int    duration = (int) (20 * parseValues(caster, DURATION_SLOT, level, 5));
 
         EffectPlayer player = new EffectPlayer(settings);
         for (LivingEntity target : targets)
@@ -2,6 +2,7 @@ package studio.magemonkey.fabled.dynamic.mechanic.particle;
 
 import studio.magemonkey.fabled.api.particle.EffectImage;
 import studio.magemonkey.fabled.api.particle.target.EntityTarget;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.dynamic.mechanic.MechanicComponent;
 import org.bukkit.entity.LivingEntity;
 
@@ -11,6 +12,8 @@ public class ParticleImageMechanic extends MechanicComponent {
     private static final String DURATION = "duration";
     private static final String KEY      = "effect-key";
 
+    private static final int DURATION_SLOT = CompiledSettings.slot(DURATION);
+
     @Override
     public String getKey() {
         return "particle image";
@@ -19,7 +22,7 @@ public class ParticleImageMechanic extends MechanicComponent {
     @Override
     public boolean execute(LivingEntity caster, int level, List<LivingEntity> targets, boolean force) {
         String key      = settings.getString(KEY, skill.getName());
-        int    duration = (int) (20 * parseValues(caster, DURATION, level, 5));
+        int    duration = (int) (20 * parseValues(caster, DURATION_SLOT, level, 5));
 
         EffectImage image = new EffectImage(settings);
         for (LivingEntity target : targets)
@@ -35,6 +35,7 @@ import studio.magemonkey.fabled.api.particle.target.FollowTarget;
 import studio.magemonkey.fabled.api.projectile.CustomProjectile;
 import studio.magemonkey.fabled.api.projectile.ParticleProjectile;
 import studio.magemonkey.fabled.api.projectile.ProjectileCallback;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.dynamic.TempEntity;
 import studio.magemonkey.fabled.dynamic.mechanic.MechanicComponent;
 import org.bukkit.Location;
@@ -71,6 +72,15 @@ public class ParticleProjectileMechanic extends MechanicComponent implements Pro
     private static final String USE_EFFECT = "use-effect";
     private static final String EFFECT_KEY = "effect-key";
 
+    private static final int AMOUNT_SLOT   = CompiledSettings.slot(AMOUNT);
+    private static final int LIFESPAN_SLOT = CompiledSettings.slot(LIFESPAN);
+    private static final int FORWARD_SLOT  = CompiledSettings.slot(FORWARD);
+    private static final int RIGHT_SLOT    = CompiledSettings.slot(RIGHT);
+    private static final int UPWARD_SLOT   = CompiledSettings.slot(UPWARD);
+    private static final int RADIUS_SLOT   = CompiledSettings.slot(RADIUS);
+    private static final int HEIGHT_SLOT   = CompiledSettings.slot(HEIGHT);
+    private static final int ANGLE_SLOT    = CompiledSettings.slot(ANGLE);
+
     @Override
     public String getKey() {
         return "particle projectile";
@@ -88,11 +98,11 @@ public class ParticleProjectileMechanic extends MechanicComponent implements Pro
     @Override
     public boolean execute(LivingEntity caster, int level, List<LivingEntity> targets, boolean force) {
         // Get common values
-        int     amount = (int) parseValues(caster, AMOUNT, level, 1.0);
+        int     amount = (int) parseValues(caster, AMOUNT_SLOT, level, 1.0);
         String  spread = settings.getString(SPREAD, "cone").toLowerCase();
         boolean ally   = settings.getString(GROUP, "enemy").equalsIgnoreCase("ally");
         settings.set("level", level);
-        int life = (int) (parseValues(caster, LIFESPAN, level, settings.getDouble(LIFESPAN, 2)) * 20);
+        int life = (int) (parseValues(caster, LIFESPAN_SLOT, level, settings.getDouble(LIFESPAN, 2)) * 20);
 
         final Settings copy = new Settings(settings);
         copy.set(ParticleProjectile.RADIUS, parseValues(caster, ParticleProjectile.RADIUS, level, 1.5), 0);
@@ -108,9 +118,9 @@ public class ParticleProjectileMechanic extends MechanicComponent implements Pro
         for (LivingEntity target : targets) {
             Location location = target.getEyeLocation();
             Vector   offset   = location.getDirection().setY(0).normalize();
-            offset.multiply(parseValues(caster, FORWARD, level, 0))
-                    .add(offset.clone().crossProduct(UP).multiply(parseValues(caster, RIGHT, level, 0)));
-            location.add(offset).add(0, parseValues(caster, UPWARD, level, 0), 0);
+            offset.multiply(parseValues(caster, FORWARD_SLOT, level, 0))
+                    .add(offset.clone().crossProduct(UP).multiply(parseValues(caster, RIGHT_SLOT, level, 0)));
+            location.add(offset).add(0, parseValues(caster, UPWARD_SLOT, level, 0), 0);
 
             // Apply the spread type
             List<ParticleProjectile> list;
@@ -120,8 +130,8 @@ public class ParticleProjectileMechanic extends MechanicComponent implements Pro
                         level,
                         location,
                         copy,
-                        parseValues(caster, RADIUS, level, 2.0),
-                        parseValues(caster, HEIGHT, level, 8.0),
+                        parseValues(caster, RADIUS_SLOT, level, 2.0),
+                        parseValues(caster, HEIGHT_SLOT, level, 8.0),
                         amount,
                         this,
                         life);
@@ -137,7 +147,7 @@ public class ParticleProjectileMechanic extends MechanicComponent implements Pro
                         dir,
                         location,
                         copy,
-                        parseValues(caster, ANGLE, level, 30.0),
+                        parseValues(caster, ANGLE_SLOT, level, 30.0),
                         amount,
                         this,
                         life
@@ -200,10 +210,11 @@ public class ParticleProjectileMechanic extends MechanicComponent implements Pro
             public void run() {
                 targets.clear();
 
-                int     amount = (int) parseValues(caster, AMOUNT, level, 1.0);
+                int     amount = (int) parseValues(caster, AMOUNT_SLOT, level, 1.0);
                 String  spread = settings.getString(SPREAD, "cone").toLowerCase();
                 boolean ally   = settings.getString(GROUP, "enemy").equalsIgnoreCase("ally");
-                int     life   = (int) (parseValues(caster, LIFESPAN, level, settings.getDouble(LIFESPAN, 2)) * 20);
+                int     life   =
+                        (int) (parseValues(caster, LIFESPAN_SLOT, level, settings.getDouble(LIFESPAN, 2)) * 20);
 
                 final Settings copy = new Settings(settings);
                 copy.set(ParticleProjectile.RADIUS, parseValues(caster, ParticleProjectile.RADIUS, level, 1.5));
@@ -232,9 +243,9 @@ public class ParticleProjectileMechanic extends MechanicComponent implements Pro
                 for (LivingEntity target : targetSupplier.get()) {
                     Location location = target.getEyeLocation();
                     Vector   offset   = location.getDirection().setY(0).normalize();
-                    offset.multiply(parseValues(caster, FORWARD, level, 0))
-                            .add(offset.clone().crossProduct(UP).multiply(parseValues(caster, RIGHT, level, 0)));
-                    location.add(offset).add(0, parseValues(caster, UPWARD, level, 0), 0);
+                    offset.multiply(parseValues(caster, FORWARD_SLOT, level, 0))
+                            .add(offset.clone().crossProduct(UP).multiply(parseValues(caster, RIGHT_SLOT, level, 0)));
+                    location.add(offset).add(0, parseValues(caster, UPWARD_SLOT, level, 0), 0);
 
                     // Apply the spread type
                     if (spread.equals("rain")) {
@@ -242,8 +253,8 @@ public class ParticleProjectileMechanic extends MechanicComponent implements Pro
                                 level,
                                 location,
                                 copy,
-                                parseValues(caster, RADIUS, level, 2.0),
-                                parseValues(caster, HEIGHT, level, 8.0),
+                                parseValues(caster, RADIUS_SLOT, level, 2.0),
+                                parseValues(caster, HEIGHT_SLOT, level, 8.0),
                                 amount,
                                 callback,
                                 life));
@@ -259,7 +270,7 @@ public class ParticleProjectileMechanic extends MechanicComponent implements Pro
                                 dir,
                                 location,
                                 copy,
-                                parseValues(caster, ANGLE, level, 30.0),
+                                parseValues(caster, ANGLE_SLOT, level, 30.0),
                                 amount,
                                 callback,
                                 life
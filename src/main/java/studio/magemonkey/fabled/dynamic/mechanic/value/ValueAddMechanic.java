@@ -28,8 +28,10 @@ package studio.magemonkey.fabled.dynamic.mechanic.value;
 
 import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.CastData;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.dynamic.DynamicSkill;
 import studio.magemonkey.fabled.dynamic.mechanic.MechanicComponent;
+import studio.magemonkey.codex.mccore.config.parse.DataSection;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.LivingEntity;
 
@@ -43,11 +45,21 @@ public class ValueAddMechanic extends MechanicComponent {
     private static final String AMOUNT = "amount";
     private static final String SAVE   = "save";
 
+    private static final int AMOUNT_SLOT = CompiledSettings.slot(AMOUNT);
+
+    private int slot = -1;
+
     @Override
     public String getKey() {
         return "value add";
     }
 
+    @Override
+    public void load(DynamicSkill skill, DataSection config) {
+        super.load(skill, config);
+        slot = settings.has(KEY) ? CastData.slot(settings.getString(KEY)) : -1;
+    }
+
     /**
      * Executes the component
      *
@@ -63,16 +75,15 @@ public class ValueAddMechanic extends MechanicComponent {
             return false;
         }
 
-        String   key    = settings.getString(KEY);
-        double   amount = parseValues(caster, AMOUNT, level, 1) * targets.size();
+        double   amount = parseValues(caster, AMOUNT_SLOT, level, 1) * targets.size();
         CastData data   = DynamicSkill.getCastData(caster);
-        if (!data.contains(key)) {
-            data.put(key, amount);
+        if (!data.contains(slot)) {
+            data.putDouble(slot, amount);
         } else {
-            data.put(key, amount + data.getDouble(key));
+            data.putDouble(slot, amount + data.getDouble(slot));
         }
         if (settings.getBool(SAVE, false))
-            Fabled.getPlayerData((OfflinePlayer) caster).setPersistentData(key, data.getRaw(key));
+            Fabled.getPlayerData((OfflinePlayer) caster).setPersistentData(settings.getString(KEY), data.getRaw(slot));
         return true;
     }
 }
@@ -26,6 +26,7 @@
  */
 package studio.magemonkey.fabled.dynamic.mechanic.value;
 
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.dynamic.ItemChecker;
 import studio.magemonkey.fabled.dynamic.mechanic.MechanicComponent;
 import studio.magemonkey.codex.mccore.util.VersionManager;
@@ -44,6 +45,8 @@ public class ValueLoreMechanic extends MechanicComponent {
     private static final String HAND       = "hand";
     private static final String SAVE       = "save";
 
+    private static final int MULTIPLIER_SLOT = CompiledSettings.slot(MULTIPLIER);
+
     @Override
     public String getKey() {
         return "value lore";
@@ -65,7 +68,7 @@ public class ValueLoreMechanic extends MechanicComponent {
         }
 
         String  key        = settings.getString(KEY);
-        double  multiplier = parseValues(caster, MULTIPLIER, level, 1);
+        double  multiplier = parseValues(caster, MULTIPLIER_SLOT, level, 1);
         boolean offhand    = settings.getString(HAND, "").equalsIgnoreCase("offhand");
         String  regex      = settings.getString(REGEX, "Damage: {value}");
 
@@ -26,6 +26,7 @@
  */
 package studio.magemonkey.fabled.dynamic.mechanic.value;
 
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.dynamic.ItemChecker;
 import studio.magemonkey.fabled.dynamic.mechanic.MechanicComponent;
 import org.bukkit.entity.LivingEntity;
@@ -41,6 +42,8 @@ public class ValueLoreSlotMechanic extends MechanicComponent {
     private static final String SLOT       = "slot";
     private static final String SAVE       = "save";
 
+    private static final int MULTIPLIER_SLOT = CompiledSettings.slot(MULTIPLIER);
+
     @Override
     public String getKey() {
         return "value lore slot";
@@ -62,7 +65,7 @@ public class ValueLoreSlotMechanic extends MechanicComponent {
         }
 
         String key        = settings.getString(KEY);
-        double multiplier = parseValues(caster, MULTIPLIER, level, 1);
+        double multiplier = parseValues(caster, MULTIPLIER_SLOT, level, 1);
         int    slot       = settings.getInt(SLOT);
         String regex      = settings.getString(REGEX, "Damage: {value}");
 
@@ -28,6 +28,7 @@ package studio.magemonkey.fabled.dynamic.mechanic.value;
 
 import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.CastData;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.dynamic.DynamicSkill;
 import studio.magemonkey.fabled.dynamic.mechanic.MechanicComponent;
 import org.bukkit.OfflinePlayer;
@@ -46,6 +47,9 @@ public class ValueRandomMechanic extends MechanicComponent {
     private static final String INT  = "integer";
     private static final String SAVE = "save";
 
+    private static final int MIN_SLOT = CompiledSettings.slot(MIN);
+    private static final int MAX_SLOT = CompiledSettings.slot(MAX);
+
     @Override
     public String getKey() {
         return "value random";
@@ -71,16 +75,16 @@ public class ValueRandomMechanic extends MechanicComponent {
 
         CastData data = DynamicSkill.getCastData(caster);
         if (settings.getBool(INT, false)) {
-            int min = (int) Math.ceil(parseValues(caster, MIN, level, 1));
-            int max = (int) Math.floor(parseValues(caster, MAX, level, 1));
+            int min = (int) Math.ceil(parseValues(caster, MIN_SLOT, level, 1));
+            int max = (int) Math.floor(parseValues(caster, MAX_SLOT, level, 1));
             if (triangular) {
                 int middle = Fabled.RANDOM.nextInt(max - min + 1) + min + Fabled.RANDOM.nextInt(max - min + 1) + min;
                 middle = middle / 2 + (middle % 2 == 1 ? (Math.random() < 0.5 ? 1 : 0) : 0);
                 data.put(key, middle);
             } else data.put(key, Fabled.RANDOM.nextInt(max - min + 1) + min);
         } else {
-            double min  = parseValues(caster, MIN, level, 1);
-            double max  = parseValues(caster, MAX, level, 1);
+            double min  = parseValues(caster, MIN_SLOT, level, 1);
+            double max  = parseValues(caster, MAX_SLOT, level, 1);
             double rand = triangular ? 0.5 * (Math.random() + Math.random()) : Math.random();
             data.put(key, rand * (max - min) + min);
         }
@@ -30,6 +30,7 @@ import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.CastData;
 import studio.magemonkey.fabled.dynamic.DynamicSkill;
 import studio.magemonkey.fabled.dynamic.mechanic.MechanicComponent;
+import studio.magemonkey.codex.mccore.config.parse.DataSection;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.LivingEntity;
 
@@ -44,11 +45,19 @@ public class ValueRoundMechanic extends MechanicComponent {
     private static final String TYPE = "type";
     private static final String SAVE = "save";
 
+    private int slot = -1;
+
     @Override
     public String getKey() {
         return "value round";
     }
 
+    @Override
+    public void load(DynamicSkill skill, DataSection config) {
+        super.load(skill, config);
+        slot = settings.has(KEY) ? CastData.slot(settings.getString(KEY)) : -1;
+    }
+
     /**
      * Executes the component
      *
@@ -64,11 +73,10 @@ public class ValueRoundMechanic extends MechanicComponent {
             return false;
         }
 
-        String   key  = settings.getString(KEY);
         String   type = settings.getString(TYPE).toUpperCase(Locale.US);
         CastData data = DynamicSkill.getCastData(caster);
-        if (data.contains(key)) {
-            double value = data.getDouble(key);
+        if (data.contains(slot)) {
+            double value = data.getDouble(slot);
             switch (type) {
                 case "ROUND":
                     value = Math.round(value);
@@ -81,10 +89,10 @@ public class ValueRoundMechanic extends MechanicComponent {
                     break;
             }
 
-            data.put(key, value);
+            data.putDouble(slot, value);
         }
         if (settings.getBool(SAVE, false))
-            Fabled.getPlayerData((OfflinePlayer) caster).setPersistentData(key, data.getRaw(key));
+            Fabled.getPlayerData((OfflinePlayer) caster).setPersistentData(settings.getString(KEY), data.getRaw(slot));
         return true;
     }
 }
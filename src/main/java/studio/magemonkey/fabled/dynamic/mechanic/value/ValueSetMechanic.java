@@ -28,8 +28,10 @@ package studio.magemonkey.fabled.dynamic.mechanic.value;
 
 import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.CastData;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.dynamic.DynamicSkill;
 import studio.magemonkey.fabled.dynamic.mechanic.MechanicComponent;
+import studio.magemonkey.codex.mccore.config.parse.DataSection;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.LivingEntity;
 
@@ -43,11 +45,21 @@ public class ValueSetMechanic extends MechanicComponent {
     private static final String VALUE = "value";
     private static final String SAVE  = "save";
 
+    private static final int VALUE_SLOT = CompiledSettings.slot(VALUE);
+
+    private int slot = -1;
+
     @Override
     public String getKey() {
         return "value set";
     }
 
+    @Override
+    public void load(DynamicSkill skill, DataSection config) {
+        super.load(skill, config);
+        slot = settings.has(KEY) ? CastData.slot(settings.getString(KEY)) : -1;
+    }
+
     /**
      * Executes the component
      *
@@ -63,12 +75,11 @@ public class ValueSetMechanic extends MechanicComponent {
             return false;
         }
 
-        String   key   = settings.getString(KEY);
-        double   value = parseValues(caster, VALUE, level, 1);
+        double   value = parseValues(caster, VALUE_SLOT, level, 1);
         CastData data  = DynamicSkill.getCastData(caster);
-        data.put(key, value);
+        data.putDouble(slot, value);
         if (settings.getBool(SAVE, false))
-            Fabled.getPlayerData((OfflinePlayer) caster).setPersistentData(key, data.getRaw(key));
+            Fabled.getPlayerData((OfflinePlayer) caster).setPersistentData(settings.getString(KEY), data.getRaw(slot));
         return true;
     }
 }
@@ -26,6 +26,7 @@
  */
 package studio.magemonkey.fabled.dynamic.mechanic.warp;
 
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.dynamic.mechanic.MechanicComponent;
 import org.bukkit.Location;
 import org.bukkit.entity.LivingEntity;
@@ -38,6 +39,9 @@ abstract class AbstractWarpingMechanic extends MechanicComponent {
     protected static final String YAW       = "yaw";
     protected static final String PITCH     = "pitch";
 
+    private static final int YAW_SLOT   = CompiledSettings.slot(YAW);
+    private static final int PITCH_SLOT = CompiledSettings.slot(PITCH);
+
     public boolean preserveVelocity() {
         return settings.getBool(PRESERVE, false);
     }
@@ -61,7 +65,7 @@ abstract class AbstractWarpingMechanic extends MechanicComponent {
     public void warp(LivingEntity target, LivingEntity caster, Location location, int level) {
         if (setYaw()) {
             boolean relative = relativeYaw();
-            float yaw = (float) parseValues(caster, YAW, level, 0);
+            float yaw = (float) parseValues(caster, YAW_SLOT, level, 0);
             if (relative) {
                 yaw += target.getLocation().getYaw();
             }
@@ -69,7 +73,7 @@ abstract class AbstractWarpingMechanic extends MechanicComponent {
         }
         if (setPitch()) {
             boolean relative = relativePitch();
-            float pitch = (float) parseValues(caster, PITCH, level, 0);
+            float pitch = (float) parseValues(caster, PITCH_SLOT, level, 0);
             if (relative) {
                 pitch += target.getLocation().getPitch();
             }
@@ -29,6 +29,7 @@ package studio.magemonkey.fabled.dynamic.mechanic.warp;
 import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.particle.ParticleHelper;
 import studio.magemonkey.fabled.api.target.TargetHelper;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.Location;
 import org.bukkit.block.BlockFace;
 import org.bukkit.entity.LivingEntity;
@@ -53,6 +54,10 @@ public class WarpMechanic extends AbstractWarpingMechanic {
     private static final String UPWARD  = "upward";
     private static final String RIGHT   = "right";
 
+    private static final int FORWARD_SLOT = CompiledSettings.slot(FORWARD);
+    private static final int UPWARD_SLOT  = CompiledSettings.slot(UPWARD);
+    private static final int RIGHT_SLOT   = CompiledSettings.slot(RIGHT);
+
     @Override
     public String getKey() {
         return "warp";
@@ -61,9 +66,9 @@ public class WarpMechanic extends AbstractWarpingMechanic {
     private Location getLocation(LivingEntity caster, int level, LivingEntity target) {
         boolean throughWalls = settings.getBool(WALL, false);
         boolean openOnly     = settings.getBool(OPEN, true);
-        double  forward      = parseValues(caster, FORWARD, level, 0.0);
-        double  upward       = parseValues(caster, UPWARD, level, 0.0);
-        double  right        = parseValues(caster, RIGHT, level, 0.0);
+        double  forward      = parseValues(caster, FORWARD_SLOT, level, 0.0);
+        double  upward       = parseValues(caster, UPWARD_SLOT, level, 0.0);
+        double  right        = parseValues(caster, RIGHT_SLOT, level, 0.0);
 
         Vector   dir  = target.getLocation().getDirection();
         Vector   side = dir.clone().crossProduct(UP).multiply(right);
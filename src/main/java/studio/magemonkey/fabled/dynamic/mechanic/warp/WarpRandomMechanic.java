@@ -28,6 +28,7 @@ package studio.magemonkey.fabled.dynamic.mechanic.warp;
 
 import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.target.TargetHelper;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.Location;
 import org.bukkit.block.BlockFace;
 import org.bukkit.entity.LivingEntity;
@@ -42,6 +43,8 @@ public class WarpRandomMechanic extends AbstractWarpingMechanic {
     private static final String HORIZONTAL = "horizontal";
     private static final String DISTANCE   = "distance";
 
+    private static final int DISTANCE_SLOT = CompiledSettings.slot(DISTANCE);
+
     @Override
     public String getKey() {
         return "warp random";
@@ -65,7 +68,7 @@ public class WarpRandomMechanic extends AbstractWarpingMechanic {
         // Get the world
         boolean throughWalls = settings.getString(WALL, "false").toLowerCase().equals("true");
         boolean horizontal   = !settings.getString(HORIZONTAL, "true").toLowerCase().equals("false");
-        double  distance     = parseValues(caster, DISTANCE, level, 3.0);
+        double  distance     = parseValues(caster, DISTANCE_SLOT, level, 3.0);
 
         for (LivingEntity target : targets) {
             Location loc;
@@ -29,6 +29,7 @@ package studio.magemonkey.fabled.dynamic.target;
 import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.particle.ParticleSettings;
 import studio.magemonkey.fabled.api.util.Nearby;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.Location;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
@@ -48,6 +49,8 @@ public class AreaTarget extends TargetComponent {
     private static final String RADIUS = "radius";
     private static final String RANDOM = "random";
 
+    private static final int RADIUS_SLOT = CompiledSettings.slot(RADIUS);
+
     /**
      * {@inheritDoc}
      */
@@ -55,7 +58,7 @@ public class AreaTarget extends TargetComponent {
     List<LivingEntity> getTargets(
             final LivingEntity caster, final int level, final List<LivingEntity> targets) {
 
-        final double  radius = parseValues(caster, RADIUS, level, 3.0);
+        final double  radius = parseValues(caster, RADIUS_SLOT, level, 3.0);
         final boolean random = settings.getBool(RANDOM, false);
         return determineTargets(caster, level, targets, t -> shuffle(Nearby.getLivingNearby(t, radius, true), random));
     }
@@ -75,7 +78,7 @@ public class AreaTarget extends TargetComponent {
                 @Override
                 public void run() {
                     ParticleSettings particleSettings = new ParticleSettings(preview, "circle-");
-                    double           radius           = parseValues(caster, RADIUS, level, 3.0);
+                    double           radius           = parseValues(caster, RADIUS_SLOT, level, 3.0);
                     double           density          = preview.getDouble("circle-density", 1);
                     double           angle            = 1 / radius / density;
                     double           halfPi           = Math.PI / 2;
@@ -114,7 +117,7 @@ public class AreaTarget extends TargetComponent {
                 public void run() {
                     ParticleSettings particleSettings = new ParticleSettings(preview, "sphere-");
 
-                    double radius  = parseValues(caster, RADIUS, level, 3.0);
+                    double radius  = parseValues(caster, RADIUS_SLOT, level, 3.0);
                     double density = preview.getDouble("sphere-density", 1);
                     double zAngle  = 1 / radius / density;
                     double halfPi  = Math.PI / 2;
@@ -29,6 +29,7 @@ package studio.magemonkey.fabled.dynamic.target;
 import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.particle.ParticleSettings;
 import studio.magemonkey.fabled.api.target.TargetHelper;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.Location;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
@@ -48,6 +49,9 @@ public class ConeTarget extends TargetComponent {
     private static final String RANGE   = "range";
     private static final String RESET_Y = "reset-y";
 
+    private static final int ANGLE_SLOT = CompiledSettings.slot(ANGLE);
+    private static final int RANGE_SLOT = CompiledSettings.slot(RANGE);
+
 
     /**
      * {@inheritDoc}
@@ -65,8 +69,8 @@ public class ConeTarget extends TargetComponent {
                 public void run() {
                     ParticleSettings particleSettings = new ParticleSettings(preview, "triangle-");
                     double angle =
-                            parseValues(caster, ANGLE, level, 90.0) * Math.PI / 360; // Intentional division by 2
-                    double range   = parseValues(caster, RANGE, level, 5.0);
+                            parseValues(caster, ANGLE_SLOT, level, 90.0) * Math.PI / 360; // Intentional division by 2
+                    double range   = parseValues(caster, RANGE_SLOT, level, 5.0);
                     double density = preview.getDouble("triangle-" + "density", 1);
 
                     double rStep = 1 / range / density;
@@ -108,8 +112,8 @@ public class ConeTarget extends TargetComponent {
                 public void run() {
                     ParticleSettings particleSettings = new ParticleSettings(preview, "cone-");
                     double angle =
-                            parseValues(caster, ANGLE, level, 90.0) * Math.PI / 360; // Intentional division by 2
-                    double range   = parseValues(caster, RANGE, level, 5.0);
+                            parseValues(caster, ANGLE_SLOT, level, 90.0) * Math.PI / 360; // Intentional division by 2
+                    double range   = parseValues(caster, RANGE_SLOT, level, 5.0);
                     double density = preview.getDouble("cone-" + "density", 1);
 
                     double rStep = 1 / range / density;
@@ -156,8 +160,8 @@ public class ConeTarget extends TargetComponent {
      */
     @Override
     List<LivingEntity> getTargets(LivingEntity caster, int level, List<LivingEntity> targets) {
-        double range = parseValues(caster, RANGE, level, 3.0);
-        double angle = parseValues(caster, ANGLE, level, 90.0);
+        double range = parseValues(caster, RANGE_SLOT, level, 3.0);
+        double angle = parseValues(caster, ANGLE_SLOT, level, 90.0);
         return determineTargets(caster,
                 level,
                 targets,
@@ -29,6 +29,7 @@ package studio.magemonkey.fabled.dynamic.target;
 import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.particle.ParticleSettings;
 import studio.magemonkey.fabled.api.target.TargetHelper;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.Location;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
@@ -47,14 +48,17 @@ public class LinearTarget extends TargetComponent {
     private static final String RANGE     = "range";
     private static final String TOLERANCE = "tolerance";
 
+    private static final int TOLERANCE_SLOT = CompiledSettings.slot(TOLERANCE);
+    private static final int RANGE_SLOT     = CompiledSettings.slot(RANGE);
+
     /**
      * {@inheritDoc}
      */
     @Override
     List<LivingEntity> getTargets(
             final LivingEntity caster, final int level, final List<LivingEntity> targets) {
-        final double tolerance = parseValues(caster, TOLERANCE, level, 4.0);
-        final double range     = parseValues(caster, RANGE, level, 5.0);
+        final double tolerance = parseValues(caster, TOLERANCE_SLOT, level, 4.0);
+        final double range     = parseValues(caster, RANGE_SLOT, level, 5.0);
         return determineTargets(caster, level, targets, t -> TargetHelper.getLivingTargets(t, range, tolerance));
     }
 
@@ -73,7 +77,7 @@ public class LinearTarget extends TargetComponent {
                 @Override
                 public void run() {
                     ParticleSettings particleSettings = new ParticleSettings(preview, "line-");
-                    double           range            = parseValues(caster, RANGE, level, 5.0);
+                    double           range            = parseValues(caster, RANGE_SLOT, level, 5.0);
                     double           density          = preview.getDouble("line-" + "density", 1);
 
                     double rStep = 1 / range / density;
@@ -100,8 +104,8 @@ public class LinearTarget extends TargetComponent {
                 @Override
                 public void run() {
                     ParticleSettings particleSettings = new ParticleSettings(preview, "cylinder-");
-                    double           range            = parseValues(caster, RANGE, level, 5.0);
-                    double           radius           = parseValues(caster, TOLERANCE, level, 0);
+                    double           range            = parseValues(caster, RANGE_SLOT, level, 5.0);
+                    double           radius           = parseValues(caster, TOLERANCE_SLOT, level, 0);
                     double           density          = preview.getDouble("cylinder-" + "density", 1);
 
                     double rStep     = 1 / range / density;
@@ -27,6 +27,7 @@
 package studio.magemonkey.fabled.dynamic.target;
 
 import com.google.common.collect.ImmutableList;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.dynamic.TempEntity;
 import org.bukkit.FluidCollisionMode;
 import org.bukkit.Location;
@@ -51,13 +52,15 @@ public class LocationTarget extends TargetComponent {
     //LEGACY
     private static final String GROUND = "ground";
 
+    private static final int RANGE_SLOT = CompiledSettings.slot(RANGE);
+
     /**
      * {@inheritDoc}
      */
     @Override
     List<LivingEntity> getTargets(
             final LivingEntity caster, final int level, final List<LivingEntity> targets) {
-        final double  range    = parseValues(caster, RANGE, level, 5.0);
+        final double  range    = parseValues(caster, RANGE_SLOT, level, 5.0);
         final boolean entities = settings.getBool(ENTITIES, true);
         final boolean fluids   = settings.getBool(FLUIDS, false);
         final boolean passable = settings.has(PASSABLE) ? settings.getBool(PASSABLE) : settings.getBool(GROUND, true);
@@ -29,6 +29,7 @@ package studio.magemonkey.fabled.dynamic.target;
 import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.particle.ParticleSettings;
 import studio.magemonkey.fabled.api.util.Nearby;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.entity.LivingEntity;
@@ -38,7 +39,6 @@ import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.Vector;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.function.Supplier;
 
@@ -49,6 +49,8 @@ import java.util.function.Supplier;
 public class NearestTarget extends TargetComponent {
     private static final String RADIUS = "radius";
 
+    private static final int RADIUS_SLOT = CompiledSettings.slot(RADIUS);
+
     /**
      * {@inheritDoc}
      */
@@ -56,19 +58,18 @@ public class NearestTarget extends TargetComponent {
     List<LivingEntity> getTargets(
             final LivingEntity caster, final int level, final List<LivingEntity> targets) {
 
-        final double             radius = parseValues(caster, RADIUS, level, 3.0);
+        final double             radius = parseValues(caster, RADIUS_SLOT, level, 3.0);
         final List<LivingEntity> result = new ArrayList<>();
         for (LivingEntity target : targets) {
-            final Comparator<LivingEntity> comparator = new DistanceComparator(target.getLocation());
-            Nearby.getLivingNearby(target, radius).stream()
-                    .min(comparator)
-                    .ifPresent(e -> {
-                        GameMode gm = e instanceof Player ? ((Player) e).getGameMode() : GameMode.SURVIVAL;
-                        if (gm == GameMode.SPECTATOR || gm == GameMode.CREATIVE) return;
+            // Nearby results are sorted by distance, so the first one is the closest
+            final List<LivingEntity> nearby = Nearby.getLivingNearby(target, radius);
+            if (nearby.isEmpty()) continue;
 
-                        result.add(e);
-                    });
+            final LivingEntity e  = nearby.get(0);
+            GameMode           gm = e instanceof Player ? ((Player) e).getGameMode() : GameMode.SURVIVAL;
+            if (gm == GameMode.SPECTATOR || gm == GameMode.CREATIVE) continue;
 
+            result.add(e);
         }
         return result;
     }
@@ -88,7 +89,7 @@ public class NearestTarget extends TargetComponent {
                 @Override
                 public void run() {
                     ParticleSettings particleSettings = new ParticleSettings(preview, "circle-");
-                    double           radius           = parseValues(caster, RADIUS, level, 3.0);
+                    double           radius           = parseValues(caster, RADIUS_SLOT, level, 3.0);
                     double           density          = preview.getDouble("circle-density", 1);
                     double           angle            = 1 / radius / density;
                     double           halfPi           = Math.PI / 2;
@@ -127,7 +128,7 @@ public class NearestTarget extends TargetComponent {
                 public void run() {
                     ParticleSettings particleSettings = new ParticleSettings(preview, "sphere-");
 
-                    double radius  = parseValues(caster, RADIUS, level, 3.0);
+                    double radius  = parseValues(caster, RADIUS_SLOT, level, 3.0);
                     double density = preview.getDouble("sphere-density", 1);
                     double zAngle  = 1 / radius / density;
                     double halfPi  = Math.PI / 2;
@@ -185,17 +186,4 @@ public class NearestTarget extends TargetComponent {
     public String getKey() {
         return "nearest";
     }
-
-    private static class DistanceComparator implements Comparator<LivingEntity> {
-        private Location loc;
-
-        private DistanceComparator(final Location loc) {
-            this.loc = loc;
-        }
-
-        @Override
-        public int compare(final LivingEntity o1, final LivingEntity o2) {
-            return Double.compare(o1.getLocation().distanceSquared(loc), o2.getLocation().distanceSquared(loc));
-        }
-    }
 }
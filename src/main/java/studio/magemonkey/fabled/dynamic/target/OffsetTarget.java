@@ -27,6 +27,7 @@
 package studio.magemonkey.fabled.dynamic.target;
 
 import com.google.common.collect.ImmutableList;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.dynamic.TempEntity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.util.Vector;
@@ -44,6 +45,10 @@ public class OffsetTarget extends TargetComponent {
     private static final String RIGHT      = "right";
     private static final String HORIZONTAL = "horizontal";
 
+    private static final int FORWARD_SLOT = CompiledSettings.slot(FORWARD);
+    private static final int UPWARD_SLOT  = CompiledSettings.slot(UPWARD);
+    private static final int RIGHT_SLOT   = CompiledSettings.slot(RIGHT);
+
     /**
      * {@inheritDoc}
      */
@@ -55,9 +60,9 @@ public class OffsetTarget extends TargetComponent {
 
     private TempEntity getTargetLoc(LivingEntity caster, int level, LivingEntity t) {
         final boolean horizontal = settings.getBool(HORIZONTAL, false);
-        final double  forward    = parseValues(caster, FORWARD, level, 0);
-        final double  upward     = parseValues(caster, UPWARD, level, 0);
-        final double  right      = parseValues(caster, RIGHT, level, 0);
+        final double  forward    = parseValues(caster, FORWARD_SLOT, level, 0);
+        final double  upward     = parseValues(caster, UPWARD_SLOT, level, 0);
+        final double  right      = parseValues(caster, RIGHT_SLOT, level, 0);
 
         final Vector dir = t.getLocation().getDirection().setY(0).normalize();
         if (horizontal) {
@@ -30,6 +30,7 @@ import com.google.common.collect.ImmutableList;
 import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.particle.ParticleSettings;
 import studio.magemonkey.fabled.api.target.TargetHelper;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import org.bukkit.Location;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
@@ -48,6 +49,9 @@ public class SingleTarget extends TargetComponent {
     private static final String RANGE     = "range";
     private static final String TOLERANCE = "tolerance";
 
+    private static final int RANGE_SLOT     = CompiledSettings.slot(RANGE);
+    private static final int TOLERANCE_SLOT = CompiledSettings.slot(TOLERANCE);
+
     /**
      * {@inheritDoc}
      */
@@ -55,8 +59,8 @@ public class SingleTarget extends TargetComponent {
     List<LivingEntity> getTargets(
             final LivingEntity caster, final int level, final List<LivingEntity> targets) {
 
-        double range     = parseValues(caster, RANGE, level, 5.0);
-        double tolerance = parseValues(caster, TOLERANCE, level, 4.0);
+        double range     = parseValues(caster, RANGE_SLOT, level, 5.0);
+        double tolerance = parseValues(caster, TOLERANCE_SLOT, level, 4.0);
         return determineTargets(caster, level, targets, t -> {
             final LivingEntity target = TargetHelper.getLivingTarget(t, range, tolerance);
             return target == null ? ImmutableList.of() : ImmutableList.of(target);
@@ -78,7 +82,7 @@ public class SingleTarget extends TargetComponent {
                 @Override
                 public void run() {
                     ParticleSettings particleSettings = new ParticleSettings(preview, "line-");
-                    double           range            = parseValues(caster, RANGE, level, 5.0);
+                    double           range            = parseValues(caster, RANGE_SLOT, level, 5.0);
                     double           density          = preview.getDouble("line-" + "density", 1);
 
                     double rStep = 1 / range / density;
@@ -105,8 +109,8 @@ public class SingleTarget extends TargetComponent {
                 @Override
                 public void run() {
                     ParticleSettings particleSettings = new ParticleSettings(preview, "cylinder-");
-                    double           range            = parseValues(caster, RANGE, level, 5.0);
-                    double           radius           = parseValues(caster, TOLERANCE, level, 0);
+                    double           range            = parseValues(caster, RANGE_SLOT, level, 5.0);
+                    double           radius           = parseValues(caster, TOLERANCE_SLOT, level, 0);
                     double           density          = preview.getDouble("cylinder-" + "density", 1);
 
                     double rStep     = 1 / range / density;
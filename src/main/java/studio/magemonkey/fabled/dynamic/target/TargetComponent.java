@@ -2,6 +2,8 @@ package studio.magemonkey.fabled.dynamic.target;
 
 import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.target.TargetHelper;
+import studio.magemonkey.fabled.api.util.EntityMeta;
+import studio.magemonkey.fabled.dynamic.CompiledSettings;
 import studio.magemonkey.fabled.dynamic.ComponentType;
 import studio.magemonkey.fabled.dynamic.DynamicSkill;
 import studio.magemonkey.fabled.dynamic.EffectComponent;
@@ -30,6 +32,8 @@ public abstract class TargetComponent extends EffectComponent {
     protected static final String MAX          = "max";
     private static final   String INVULNERABLE = "invulnerable";
 
+    private static final int MAX_SLOT = CompiledSettings.slot(MAX);
+
     boolean       everyone;
     boolean       allies;
     boolean       throughWall;
@@ -90,7 +94,7 @@ public abstract class TargetComponent extends EffectComponent {
                                         final List<LivingEntity> from,
                                         final Function<LivingEntity, List<LivingEntity>> conversion) {
 
-        final double max = parseValues(caster, MAX, level, 99);
+        final double max = parseValues(caster, MAX_SLOT, level, 99);
 
         final List<LivingEntity> list = new ArrayList<>();
         from.forEach(target -> {
@@ -109,7 +113,7 @@ public abstract class TargetComponent extends EffectComponent {
     }
 
     boolean isValidTarget(final LivingEntity caster, final LivingEntity from, final LivingEntity target) {
-        if (Fabled.getMeta(target, MechanicListener.ARMOR_STAND) != null) return false;
+        if (EntityMeta.has(target, MechanicListener.ARMOR_STAND_META)) return false;
         if (target instanceof TempEntity) return true;
         if (target.isInvulnerable() && !invulnerable) return false;
         if (target instanceof Player && (((Player) target).getGameMode() == GameMode.SPECTATOR
@@ -140,9 +140,8 @@ public class GUIPage {
         Player bukkitPlayer = player.getPlayer();
         for (Map.Entry<Integer, String> entry : lookup.entrySet()) {
             IconHolder holder = data.get(entry.getValue());
-            ItemStack item = holder != null && holder.isAllowed(bukkitPlayer)
-                    ? holder.getIcon(player)
-                    : GUITool.getIcon(entry.getValue());
+            boolean    shared = holder == null || !holder.isAllowed(bukkitPlayer);
+            ItemStack  item   = shared ? GUITool.getIcon(entry.getValue()) : holder.getIcon(player);
 
             if (item == null) {
                 Fabled.inst()
@@ -153,6 +152,8 @@ public class GUIPage {
             }
 
             if (PluginChecker.isPlaceholderAPIActive()) {
+                // Shared GUI icons are templates reused by every page, so only fill in a copy
+                if (shared) item = item.clone();
                 PlaceholderAPIHook.processPlaceholders(item, bukkitPlayer);
             }
             try {
@@ -67,8 +67,7 @@ public class PlaceholderAPIHook extends PlaceholderExpansion {
 
     @Override
     public String onRequest(OfflinePlayer player, String identifier) {
-        identifier = PlaceholderAPI.setBracketPlaceholders(player, identifier);
-
-        return PlaceholderUtil.replace(player, identifier);
+        // Values cached earlier this tick are returned without expanding anything again
+        return PlaceholderUtil.replace(player, identifier, id -> PlaceholderAPI.setBracketPlaceholders(player, id));
     }
 }
@@ -26,10 +26,10 @@
  */
 package studio.magemonkey.fabled.listener;
 
-import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.event.SkillDamageEvent;
 import studio.magemonkey.fabled.api.event.TrueDamageEvent;
 import studio.magemonkey.fabled.api.particle.EffectManager;
+import studio.magemonkey.fabled.api.util.EntityMeta;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -37,7 +37,7 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.entity.EntityDeathEvent;
 
 public class DeathListener extends FabledListener {
-    private final String KILLER = "sapiKiller";
+    private static final EntityMeta.Key<LivingEntity> KILLER = EntityMeta.key("sapiKiller");
 
     /**
      * Launches our own death event for when entities are killed via skills
@@ -60,16 +60,16 @@ public class DeathListener extends FabledListener {
     }
 
     private void handle(final LivingEntity entity, final LivingEntity damager, final double damage) {
-        Fabled.setMeta(entity, KILLER, damager);
+        EntityMeta.set(entity, KILLER, damager);
     }
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onDeath(EntityDeathEvent event) {
         EffectManager.clear(event.getEntity());
-        Object killer = Fabled.getMeta(event.getEntity(), KILLER);
+        LivingEntity killer = EntityMeta.get(event.getEntity(), KILLER);
 
         if (killer != null && event.getEntity().getKiller() == null) {
-            applyDeath(event.getEntity(), (LivingEntity) killer, event.getDroppedExp());
+            applyDeath(event.getEntity(), killer, event.getDroppedExp());
         }
     }
 
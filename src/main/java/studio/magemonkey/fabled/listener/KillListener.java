@@ -32,24 +32,26 @@ import studio.magemonkey.fabled.api.event.PhysicalDamageEvent;
 import studio.magemonkey.fabled.api.event.SkillDamageEvent;
 import studio.magemonkey.fabled.api.event.TrueDamageEvent;
 import studio.magemonkey.fabled.api.player.PlayerData;
-import studio.magemonkey.fabled.api.util.BuffManager;
-import studio.magemonkey.fabled.api.util.FlagManager;
+import studio.magemonkey.fabled.api.util.EntityMeta;
 import studio.magemonkey.fabled.data.Permissions;
 import studio.magemonkey.codex.util.reflection.ReflectionManager;
 import org.bukkit.GameMode;
+import org.bukkit.NamespacedKey;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.entity.CreatureSpawnEvent;
 import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.persistence.PersistentDataType;
 
 /**
  * Tracks who kills what entities and awards experience accordingly
  */
 public class KillListener extends FabledListener {
-    private static final String S_TYPE  = "sType";
-    private static final int    SPAWNER = 0, EGG = 1;
+    // Kept on the entity itself so the spawn type survives the entity being unloaded
+    private static final NamespacedKey S_TYPE  = new NamespacedKey(Fabled.inst(), "spawn_type");
+    private static final int           SPAWNER = 0, EGG = 1;
 
     public static void giveExp(LivingEntity entity, Player killer, int exp) {
 
@@ -58,8 +60,8 @@ public class KillListener extends FabledListener {
             return;
 
         // Cancel experience when applicable
-        if (entity.hasMetadata(S_TYPE)) {
-            int value = Fabled.getMetaInt(entity, S_TYPE);
+        Integer value = entity.getPersistentDataContainer().get(S_TYPE, PersistentDataType.INTEGER);
+        if (value != null) {
 
             // Block spawner mob experience
             if (value == SPAWNER && Fabled.getSettings().isBlockSpawner())
@@ -71,7 +73,7 @@ public class KillListener extends FabledListener {
         }
 
         // Summons don't give experience
-        if (entity.hasMetadata(MechanicListener.SUMMON_DAMAGE))
+        if (EntityMeta.has(entity, MechanicListener.SUMMON_DAMAGE_META))
             return;
 
         if (killer != null && killer.hasPermission(Permissions.EXP)) {
@@ -102,9 +104,6 @@ public class KillListener extends FabledListener {
      */
     @EventHandler(priority = EventPriority.MONITOR)
     public void onKill(EntityDeathEvent event) {
-        FlagManager.clearFlags(event.getEntity());
-        BuffManager.clearData(event.getEntity());
-
         giveExp(event.getEntity(), event.getEntity().getKiller(), event.getDroppedExp());
     }
 
@@ -116,9 +115,9 @@ public class KillListener extends FabledListener {
     @EventHandler
     public void onSpawn(CreatureSpawnEvent event) {
         if (event.getSpawnReason() == CreatureSpawnEvent.SpawnReason.SPAWNER)
-            Fabled.setMeta(event.getEntity(), S_TYPE, SPAWNER);
+            event.getEntity().getPersistentDataContainer().set(S_TYPE, PersistentDataType.INTEGER, SPAWNER);
         else if (event.getSpawnReason() == CreatureSpawnEvent.SpawnReason.SPAWNER_EGG)
-            Fabled.setMeta(event.getEntity(), S_TYPE, EGG);
+            event.getEntity().getPersistentDataContainer().set(S_TYPE, PersistentDataType.INTEGER, EGG);
     }
 
     /**
@@ -1,9 +1,9 @@
 package studio.magemonkey.fabled.listener;
 
-import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.Settings;
 import studio.magemonkey.fabled.api.particle.ParticleHelper;
 import studio.magemonkey.fabled.api.particle.ParticleSettings;
+import studio.magemonkey.fabled.api.util.EntityMeta;
 import studio.magemonkey.fabled.dynamic.mechanic.PotionProjectileMechanic;
 import org.bukkit.Color;
 import org.bukkit.Material;
@@ -12,7 +12,6 @@ import org.bukkit.entity.AreaEffectCloud;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.entity.AreaEffectCloudApplyEvent;
 import org.bukkit.event.entity.LingeringPotionSplashEvent;
-import org.bukkit.metadata.MetadataValue;
 
 import java.util.Locale;
 
@@ -26,12 +25,10 @@ public class LingeringPotionListener extends FabledListener {
 
     @EventHandler
     public void onLingerSplash(LingeringPotionSplashEvent event) {
-        PotionProjectileMechanic mechanic =
-                (PotionProjectileMechanic) Fabled.getMeta(event.getEntity(), POTION_PROJECTILE);
+        PotionProjectileMechanic mechanic = EntityMeta.get(event.getEntity(), POTION_PROJECTILE_META);
         if (mechanic != null) {
-            MetadataValue levelMetadata = event.getEntity().getMetadata(SKILL_LEVEL).get(0);
-            int           level         = levelMetadata.asInt();
-            Settings      settings      = mechanic.getSettings();
+            int      level    = EntityMeta.getInt(event.getEntity(), SKILL_LEVEL_META, 0);
+            Settings settings = mechanic.getSettings();
 
             AreaEffectCloud aec = event.getAreaEffectCloud();
             aec.setDuration((int) settings.getAttr(PotionProjectileMechanic.DURATION, level, 30) * 20);
@@ -58,16 +55,15 @@ public class LingeringPotionListener extends FabledListener {
                             .substring(1), 16)),
                     (float) settings.getDouble(PotionProjectileMechanic.CLOUD_PREFIX + ParticleSettings.DUST_SIZE, 1)));
 
-            Fabled.setMeta(aec, POTION_PROJECTILE, mechanic);
-            aec.setMetadata(SKILL_LEVEL, levelMetadata);
-            aec.setMetadata(SKILL_CASTER, event.getEntity().getMetadata(SKILL_CASTER).get(0));
+            EntityMeta.set(aec, POTION_PROJECTILE_META, mechanic);
+            EntityMeta.setInt(aec, SKILL_LEVEL_META, level);
+            EntityMeta.set(aec, SKILL_CASTER_META, EntityMeta.get(event.getEntity(), SKILL_CASTER_META));
         }
     }
 
     @EventHandler
     public void onLinger(AreaEffectCloudApplyEvent event) {
-        PotionProjectileMechanic mechanic =
-                (PotionProjectileMechanic) Fabled.getMeta(event.getEntity(), POTION_PROJECTILE);
+        PotionProjectileMechanic mechanic = EntityMeta.get(event.getEntity(), POTION_PROJECTILE_META);
         if (mechanic != null) {
             event.setCancelled(true);
             mechanic.callback(event.getEntity(), event.getAffectedEntities());
@@ -28,7 +28,6 @@ package studio.magemonkey.fabled.listener;
 
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Projectile;
@@ -39,18 +38,20 @@ import org.bukkit.event.entity.*;
 import org.bukkit.event.inventory.FurnaceExtractEvent;
 import org.bukkit.event.player.*;
 import org.bukkit.event.server.ServerCommandEvent;
-import org.bukkit.event.world.ChunkUnloadEvent;
 import org.bukkit.scheduler.BukkitTask;
 import studio.magemonkey.codex.mccore.util.VersionManager;
 import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.DefaultCombatProtection;
 import studio.magemonkey.fabled.api.enums.ExpSource;
 import studio.magemonkey.fabled.api.event.PhysicalDamageEvent;
+import studio.magemonkey.fabled.api.event.PlayerAccountChangeEvent;
+import studio.magemonkey.fabled.api.event.PlayerClassChangeEvent;
 import studio.magemonkey.fabled.api.event.PlayerLevelUpEvent;
 import studio.magemonkey.fabled.api.player.PlayerData;
 import studio.magemonkey.fabled.api.skills.Skill;
 import studio.magemonkey.fabled.api.util.BuffManager;
 import studio.magemonkey.fabled.api.util.Combat;
+import studio.magemonkey.fabled.api.util.EntityMeta;
 import studio.magemonkey.fabled.api.util.FlagManager;
 import studio.magemonkey.fabled.data.Permissions;
 import studio.magemonkey.fabled.dynamic.DynamicSkill;
@@ -58,6 +59,7 @@ import studio.magemonkey.fabled.dynamic.mechanic.ImmunityMechanic;
 import studio.magemonkey.fabled.gui.tool.GUITool;
 import studio.magemonkey.fabled.hook.CitizensHook;
 import studio.magemonkey.fabled.manager.ClassBoardManager;
+import studio.magemonkey.fabled.util.PlaceholderUtil;
 
 import java.util.*;
 import java.util.function.Consumer;
@@ -106,6 +108,7 @@ public class MainListener extends FabledListener {
         BuffManager.clearData(player);
         Combat.clearData(player);
         DynamicSkill.clearCastData(player);
+        PlaceholderUtil.invalidate(player);
 
         player.setDisplayName(player.getName());
         //We don't really need to reset the health... do we?
@@ -216,25 +219,6 @@ public class MainListener extends FabledListener {
         }
     }
 
-    @EventHandler(priority = EventPriority.MONITOR)
-    public void onDeath(final EntityDeathEvent event) {
-        DynamicSkill.clearCastData(event.getEntity());
-        FlagManager.clearFlags(event.getEntity());
-        BuffManager.clearData(event.getEntity());
-    }
-
-    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
-    public void onUnload(final ChunkUnloadEvent event) {
-        for (final Entity entity : event.getChunk().getEntities()) {
-            if (entity instanceof LivingEntity && !(entity instanceof Player)) {
-                final LivingEntity livingEntity = (LivingEntity) entity;
-                DynamicSkill.clearCastData(livingEntity);
-                FlagManager.clearFlags(livingEntity);
-                BuffManager.clearData(livingEntity);
-            }
-        }
-    }
-
     /**
      * Handles experience when a block is broken
      *
@@ -306,11 +290,32 @@ public class MainListener extends FabledListener {
      */
     @EventHandler
     public void onLevelUp(final PlayerLevelUpEvent event) {
+        PlaceholderUtil.invalidate(event.getPlayerData().getPlayer());
         if (Fabled.getSettings().isShowClassLevel()) {
             ClassBoardManager.updateLevel(event.getPlayerData());
         }
     }
 
+    /**
+     * Drops cached placeholder values so the new class shows up immediately
+     *
+     * @param event event details
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onClassChange(PlayerClassChangeEvent event) {
+        PlaceholderUtil.invalidate(event.getPlayerData().getPlayer());
+    }
+
+    /**
+     * Drops cached placeholder values so the new account shows up immediately
+     *
+     * @param event event details
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onAccountChange(PlayerAccountChangeEvent event) {
+        PlaceholderUtil.invalidate(event.getAccountData().getOfflinePlayer());
+    }
+
     /**
      * Starts passive abilities again after respawning
      *
@@ -337,7 +342,7 @@ public class MainListener extends FabledListener {
     public void onDamage(EntityDamageEvent event) {
         if (event.getEntity() instanceof LivingEntity && FlagManager.hasFlag((LivingEntity) event.getEntity(),
                 "immune:" + event.getCause().name())) {
-            double multiplier = Fabled.getMetaDouble(event.getEntity(), ImmunityMechanic.META_KEY);
+            double multiplier = EntityMeta.getDouble(event.getEntity(), ImmunityMechanic.META, 0);
             if (multiplier <= 0)
                 event.setCancelled(true);
             else
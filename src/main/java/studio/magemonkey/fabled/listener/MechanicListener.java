@@ -34,6 +34,10 @@ import studio.magemonkey.fabled.api.event.PlayerExperienceGainEvent;
 import studio.magemonkey.fabled.api.event.PlayerLandEvent;
 import studio.magemonkey.fabled.api.player.PlayerData;
 import studio.magemonkey.fabled.api.projectile.ItemProjectile;
+import studio.magemonkey.fabled.api.util.EntityMeta;
+import studio.magemonkey.fabled.api.util.EntityMeta.DoubleKey;
+import studio.magemonkey.fabled.api.util.EntityMeta.IntKey;
+import studio.magemonkey.fabled.api.util.EntityMeta.Key;
 import studio.magemonkey.fabled.dynamic.mechanic.*;
 import studio.magemonkey.fabled.hook.DisguiseHook;
 import studio.magemonkey.fabled.hook.PluginChecker;
@@ -51,12 +55,11 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.block.BlockIgniteEvent;
 import org.bukkit.event.entity.*;
+import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
 import org.bukkit.event.inventory.InventoryPickupItemEvent;
 import org.bukkit.event.player.PlayerArmorStandManipulateEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
-import org.bukkit.event.world.ChunkLoadEvent;
-import org.bukkit.metadata.MetadataValue;
 import org.bukkit.util.BoundingBox;
 
 import java.lang.reflect.Field;
@@ -78,6 +81,16 @@ public class MechanicListener extends FabledListener {
     public static final String ARMOR_STAND       = "asMechanic";
     public static final String DAMAGE_CAUSE      = "damageCause";
 
+    public static final DoubleKey                     SUMMON_DAMAGE_META     = EntityMeta.doubleKey(SUMMON_DAMAGE);
+    public static final Key<Object>                   P_CALL_META            = EntityMeta.key(P_CALL);
+    public static final Key<Boolean>                  NO_FIRE_META           = EntityMeta.key(NO_FIRE);
+    public static final Key<PotionProjectileMechanic> POTION_PROJECTILE_META = EntityMeta.key(POTION_PROJECTILE);
+    public static final Key<ItemProjectile>           ITEM_PROJECTILE_META   = EntityMeta.key(ITEM_PROJECTILE);
+    public static final IntKey                        SKILL_LEVEL_META       = EntityMeta.intKey(SKILL_LEVEL);
+    public static final Key<LivingEntity>             SKILL_CASTER_META      = EntityMeta.key(SKILL_CASTER);
+    public static final Key<Boolean>                  ARMOR_STAND_META       = EntityMeta.key(ARMOR_STAND);
+    public static final Key<DamageCause>              DAMAGE_CAUSE_META      = EntityMeta.key(DAMAGE_CAUSE);
+
     private static final HashMap<UUID, Double> flying = new HashMap<UUID, Double>();
     private static       Map<UUID, Double>     exempt = new HashMap<>();
 
@@ -245,9 +258,9 @@ public class MechanicListener extends FabledListener {
      */
     @EventHandler
     public void onLand(final ProjectileHitEvent event) {
-        if (event.getEntity().hasMetadata(P_CALL))
+        if (EntityMeta.has(event.getEntity(), P_CALL_META))
             Fabled.schedule(() -> {
-                final Object obj = Fabled.getMeta(event.getEntity(), P_CALL);
+                final Object obj = EntityMeta.get(event.getEntity(), P_CALL_META);
                 if (obj != null)
                     ((ProjectileMechanic) obj).callback(event.getEntity(), null);
             }, 1);
@@ -260,10 +273,10 @@ public class MechanicListener extends FabledListener {
      */
     @EventHandler
     public void onItemPickup(final InventoryPickupItemEvent event) {
-        final Object meta = Fabled.getMeta(event.getItem(), ITEM_PROJECTILE);
+        final ItemProjectile meta = EntityMeta.get(event.getItem(), ITEM_PROJECTILE_META);
         if (meta != null) {
             event.setCancelled(true);
-            ((ItemProjectile) meta).applyLanded();
+            meta.applyLanded();
         }
     }
 
@@ -294,7 +307,7 @@ public class MechanicListener extends FabledListener {
      */
     @EventHandler
     public void onExplode(EntityExplodeEvent event) {
-        if (event.getEntity().hasMetadata(P_CALL))
+        if (EntityMeta.has(event.getEntity(), P_CALL_META))
             event.setCancelled(true);
     }
 
@@ -309,14 +322,14 @@ public class MechanicListener extends FabledListener {
         Entity entity  = event.getEntity();
         if (damager instanceof Projectile) {
             Projectile p = (Projectile) damager;
-            if (p.hasMetadata(P_CALL) && entity instanceof LivingEntity) {
-                ((ProjectileMechanic) Fabled.getMeta(p, P_CALL))
+            if (EntityMeta.has(p, P_CALL_META) && entity instanceof LivingEntity) {
+                ((ProjectileMechanic) EntityMeta.get(p, P_CALL_META))
                         .callback(p, (LivingEntity) entity);
                 event.setCancelled(true);
             }
-        } else if (damager instanceof LightningStrike && damager.hasMetadata(P_CALL)
+        } else if (damager instanceof LightningStrike && EntityMeta.has(damager, P_CALL_META)
                 && entity instanceof LivingEntity) {
-            double damage = Objects.requireNonNull((LightningMechanic.Callback) Fabled.getMeta(damager, P_CALL))
+            double damage = Objects.requireNonNull((LightningMechanic.Callback) EntityMeta.get(damager, P_CALL_META))
                     .execute((LivingEntity) entity);
             if (damage <= 0) {
                 event.setCancelled(true);
@@ -328,13 +341,13 @@ public class MechanicListener extends FabledListener {
 
     @EventHandler
     public void combust(EntityCombustByEntityEvent event) {
-        if (event.getCombuster() != null && event.getCombuster().hasMetadata(NO_FIRE))
+        if (event.getCombuster() != null && EntityMeta.has(event.getCombuster(), NO_FIRE_META))
             event.setCancelled(true);
     }
 
     @EventHandler
     public void blockIgnite(BlockIgniteEvent event) {
-        if (event.getIgnitingEntity() != null && event.getIgnitingEntity().hasMetadata(NO_FIRE))
+        if (event.getIgnitingEntity() != null && EntityMeta.has(event.getIgnitingEntity(), NO_FIRE_META))
             event.setCancelled(true);
     }
 
@@ -345,8 +358,8 @@ public class MechanicListener extends FabledListener {
      */
     @EventHandler(priority = EventPriority.LOW)
     public void onSummonDamage(EntityDamageByEntityEvent event) {
-        if (event.getDamager().hasMetadata(SUMMON_DAMAGE))
-            VersionManager.setDamage(event, Fabled.getMetaDouble(event.getDamager(), SUMMON_DAMAGE));
+        if (EntityMeta.has(event.getDamager(), SUMMON_DAMAGE_META))
+            VersionManager.setDamage(event, EntityMeta.getDouble(event.getDamager(), SUMMON_DAMAGE_META, 0));
     }
 
     /**
@@ -356,10 +369,10 @@ public class MechanicListener extends FabledListener {
      */
     @EventHandler
     public void onSplash(PotionSplashEvent event) {
-        if (event.getEntity().hasMetadata(POTION_PROJECTILE)) {
+        PotionProjectileMechanic mechanic = EntityMeta.get(event.getEntity(), POTION_PROJECTILE_META);
+        if (mechanic != null) {
             event.setCancelled(true);
-            ((PotionProjectileMechanic) Fabled.getMeta(event.getEntity(), POTION_PROJECTILE))
-                    .callback(event.getEntity(), event.getAffectedEntities());
+            mechanic.callback(event.getEntity(), event.getAffectedEntities());
             event.getAffectedEntities().clear();
         }
     }
@@ -378,44 +391,38 @@ public class MechanicListener extends FabledListener {
     @EventHandler(ignoreCancelled = true)
     public void onEntityDamage(EntityDamageEvent event) {
         Entity entity = event.getEntity();
-        if (entity instanceof ArmorStand && Fabled.getMeta(entity, ARMOR_STAND) != null) {
+        if (entity instanceof ArmorStand && EntityMeta.has(entity, ARMOR_STAND_META)) {
             event.setCancelled(true);
         } else if (event.getCause().equals(EntityDamageEvent.DamageCause.FIRE_TICK)
-                && entity.hasMetadata(FireMechanic.META_KEY)) {
-            event.setDamage(Fabled.getMetaDouble(entity, FireMechanic.META_KEY));
+                && EntityMeta.has(entity, FireMechanic.META)) {
+            event.setDamage(EntityMeta.getDouble(entity, FireMechanic.META, 0));
         }
     }
 
     @EventHandler(priority = EventPriority.LOWEST)
     public void onEntityDamageCause(EntityDamageEvent event) {
-        Entity              entity       = event.getEntity();
-        List<MetadataValue> metadataList = entity.getMetadata(DAMAGE_CAUSE);
-        if (metadataList.isEmpty()) {
-            return;
-        }
-        Object metadataValue = metadataList.get(0).value();
-        if (!(metadataValue instanceof EntityDamageEvent.DamageCause)) {
+        Entity      entity = event.getEntity();
+        DamageCause cause  = EntityMeta.get(entity, DAMAGE_CAUSE_META);
+        if (cause == null) {
             return;
         }
-        if (event.getCause() != metadataValue) {
+        if (event.getCause() != cause) {
             try {
                 Field causeField = EntityDamageEvent.class.getDeclaredField("cause");
                 causeField.setAccessible(true);
-                causeField.set(event, metadataValue);
+                causeField.set(event, cause);
             } catch (Exception e) {
                 new UnsupportedOperationException("Failed to change DamageCause", e).printStackTrace();
             }
         }
-        entity.removeMetadata(DAMAGE_CAUSE, Fabled.inst());
+        EntityMeta.remove(entity, DAMAGE_CAUSE_META);
     }
 
     @EventHandler(ignoreCancelled = true)
     public void onEntityCombust(EntityCombustEvent event) {
         Entity entity = event.getEntity();
-        if (entity.hasMetadata(FireMechanic.META_KEY)) {
-            // Clears old FireMechanic data before combusting again
-            Fabled.removeMeta(entity, FireMechanic.META_KEY);
-        }
+        // Clears old FireMechanic data before combusting again
+        EntityMeta.remove(entity, FireMechanic.META);
     }
 
     /**
@@ -426,22 +433,33 @@ public class MechanicListener extends FabledListener {
     @EventHandler
     public void onArmorStandInteract(PlayerArmorStandManipulateEvent event) {
         Entity entity = event.getRightClicked();
-        if (Fabled.getMeta(entity, ARMOR_STAND) != null) {
+        if (EntityMeta.has(entity, ARMOR_STAND_META)) {
             event.setCancelled(true);
         }
     }
 
-    @EventHandler
-    public void onChunkLoad(ChunkLoadEvent event) {
-        List<Entity> entities = new ArrayList<>();
-        for (Entity entity : event.getChunk().getEntities()) {
-            if (entity.hasMetadata(WolfMechanic.SKILL_META)
-                    || entity.hasMetadata(ARMOR_STAND)) {
-                entities.add(entity);
-            }
+    /**
+     * Stops the skills of summons when they die, before their entity data is dropped
+     *
+     * @param event event details
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onSummonDeath(EntityDeathEvent event) {
+        if (EntityMeta.has(event.getEntity(), WolfMechanic.SKILLS_META)) {
+            RemoveTask.remove(event.getEntity());
         }
-        if (!entities.isEmpty()) {
-            new RemoveTask(entities, 1);
+    }
+
+    /**
+     * Removes summons and skill armor stands as they unload, since their entity data is dropped with them
+     *
+     * @param entities entities that unload
+     */
+    static void removeUnloaded(Collection<Entity> entities) {
+        for (Entity entity : entities) {
+            if (EntityMeta.has(entity, WolfMechanic.SKILLS_META) || EntityMeta.has(entity, ARMOR_STAND_META)) {
+                RemoveTask.remove(entity);
+            }
         }
     }
 }
@@ -2,7 +2,7 @@ package studio.magemonkey.fabled.listener;
 
 import studio.magemonkey.fabled.api.event.ProjectileTickEvent;
 import studio.magemonkey.fabled.task.ProjectileTickTask;
-import studio.magemonkey.fabled.thread.MainThread;
+import studio.magemonkey.fabled.thread.TickExecutor;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Projectile;
 import org.bukkit.event.EventHandler;
@@ -34,7 +34,7 @@ public class ProjectileListener extends FabledListener {
         if (!(shooter instanceof LivingEntity)) return;
 
         flyingProjectiles.add(event.getEntity().getUniqueId());
-        MainThread.register(new ProjectileTickTask((LivingEntity) event.getEntity().getShooter(), event.getEntity()));
+        TickExecutor.register(new ProjectileTickTask((LivingEntity) event.getEntity().getShooter(), event.getEntity()));
     }
 
     /**
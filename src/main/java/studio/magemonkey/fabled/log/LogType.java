@@ -35,6 +35,7 @@ public enum LogType {
     GUI,
     MANA,
     REGISTRATION,
+    SAVE,
     ;
 
     /**
@@ -82,6 +82,31 @@ public class Logger {
         log(key.key(), level, message);
     }
 
+    /**
+     * Checks whether messages of the given category and level are logged. Use this
+     * to skip building messages that would be discarded.
+     *
+     * @param key   category key
+     * @param level logging level
+     * @return true if such messages are logged
+     */
+    public static boolean isLogging(String key, int level) {
+        Integer active = LEVELS.get(key);
+        return active != null && active >= level;
+    }
+
+    /**
+     * Checks whether messages of the given category and level are logged. Use this
+     * to skip building messages that would be discarded.
+     *
+     * @param key   category key
+     * @param level logging level
+     * @return true if such messages are logged
+     */
+    public static boolean isLogging(LogType key, int level) {
+        return isLogging(key.key(), level);
+    }
+
     /**
      * Displays an error message for an invalid setting
      *
@@ -172,7 +172,7 @@ public class CmdManager {
                         SenderType.ANYONE,
                         new CmdReload(),
                         "Reloads the plugin",
-                        "",
+                        "[changed]",
                         Permissions.RELOAD),
                 new ConfigurableCommand(api,
                         "reset",
@@ -301,6 +301,27 @@ public class CmdManager {
                     "",
                     Permissions.BACKUP));
         }
+        root.addSubCommand(new ConfigurableCommand(api,
+                "migrate",
+                SenderType.ANYONE,
+                new CmdMigrate(),
+                "Converts saved data format",
+                "",
+                Permissions.BACKUP));
+        root.addSubCommand(new ConfigurableCommand(api,
+                "timings",
+                SenderType.ANYONE,
+                new CmdTimings(),
+                "Shows task timings and particle stats",
+                "[reset]",
+                Permissions.RELOAD));
+        root.addSubCommand(new ConfigurableCommand(api,
+                "leaks",
+                SenderType.ANYONE,
+                new CmdLeaks(),
+                "Shows leaked entity state",
+                "[reset]",
+                Permissions.RELOAD));
         if (Fabled.getSettings().isSkillBarEnabled()) {
             root.addSubCommand(new ConfigurableCommand(api,
                     "bar",
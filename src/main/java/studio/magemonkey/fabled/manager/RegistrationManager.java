@@ -29,13 +29,17 @@ package studio.magemonkey.fabled.manager;
 import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.SkillPlugin;
 import studio.magemonkey.fabled.api.classes.FabledClass;
+import studio.magemonkey.fabled.api.player.PlayerAccounts;
+import studio.magemonkey.fabled.api.player.PlayerData;
 import studio.magemonkey.fabled.api.skills.Skill;
+import studio.magemonkey.fabled.data.formula.Formula;
 import studio.magemonkey.fabled.dynamic.ComponentRegistry;
 import studio.magemonkey.fabled.dynamic.DynamicClass;
 import studio.magemonkey.fabled.dynamic.DynamicSkill;
 import studio.magemonkey.fabled.log.LogType;
 import studio.magemonkey.fabled.log.Logger;
 import studio.magemonkey.fabled.util.ConfigurationException;
+import studio.magemonkey.fabled.util.PlaceholderUtil;
 import studio.magemonkey.codex.mccore.config.CommentedConfig;
 import studio.magemonkey.codex.mccore.config.parse.DataSection;
 import org.bukkit.Bukkit;
@@ -44,8 +48,27 @@ import org.bukkit.plugin.Plugin;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * <p>Skill API Registration Manager.</p>
@@ -54,14 +77,26 @@ import java.nio.file.Path;
  * added.</p>
  */
 public class RegistrationManager {
-    private static final String          SKILL_FOLDER = "dynamic" + File.separator + "skill";
-    private static final String          CLASS_FOLDER = "dynamic" + File.separator + "class";
-    private static final String          SKILL_DIR    = SKILL_FOLDER + File.separator;
-    private static final String          CLASS_DIR    = CLASS_FOLDER + File.separator;
-    private final        Fabled          api;
-    private final        CommentedConfig skillConfig;
-    private final        CommentedConfig classConfig;
-    private              Mode            mode         = Mode.STARTUP;
+    private static final String                             SKILL_FOLDER = "dynamic" + File.separator + "skill";
+    private static final String                             CLASS_FOLDER = "dynamic" + File.separator + "class";
+    private static final String                             SKILL_DIR    = SKILL_FOLDER + File.separator;
+    private static final String                             CLASS_DIR    = CLASS_FOLDER + File.separator;
+    private static final String                             MANIFEST     =
+            "dynamic" + File.separator + "manifest.properties";
+    private static final String                             SKILLS_KEY   = "skills.yml";
+    private static final String                             CLASSES_KEY  = "classes.yml";
+    private final        Fabled                             api;
+    private final        CommentedConfig                    skillConfig;
+    private final        CommentedConfig                    classConfig;
+    private final        Map<String, Long>                  timings      = new LinkedHashMap<>();
+    private final        Properties                         manifest     = new Properties();
+    private final        Properties                         nextManifest = new Properties();
+    private final        Map<String, Consumer<DataSection>> savedSkills  = new LinkedHashMap<>();
+    private final        Map<String, Consumer<DataSection>> savedClasses = new LinkedHashMap<>();
+    private              boolean                            skillsChanged;
+    private              boolean                            classesChanged;
+    private              Mode                               mode         = Mode.STARTUP;
+    private volatile     boolean                            reloading;
 
     /**
      * <p>Creates a new Registration Manager for handling registering new
@@ -114,8 +149,15 @@ public class RegistrationManager {
     /**
      * Initializes the registration manager, fetching skills and classes from
      * configuration files and other plugins.
+     *
+     * <p>Individual skill and class files are parsed in parallel and then registered
+     * on the calling thread in file order. Files whose contents match the manifest
+     * from the previous startup were already written in their normalized form, so
+     * they are not serialized and written back again.</p>
      */
     public void initialize() {
+        long start = System.nanoTime();
+        timings.clear();
 
         // Make sure dynamic files are created
         if (!skillConfig.getConfigFile().exists()) {
@@ -124,7 +166,237 @@ public class RegistrationManager {
         if (!classConfig.getConfigFile().exists()) {
             classConfig.save();
         }
+        loadManifest();
+
+        time("Components", this::registerComponents);
+
+        Logger.log(LogType.REGISTRATION, 1, "Loading skills...");
+
+        // Request plugin skills
+        mode = Mode.SKILL;
+        time("Plugin skills", () -> registerPluginContent(true));
+
+        // Load dynamic skills from skills.yml
+        mode = Mode.DYNAMIC;
+        time("skills.yml", this::loadSkillsYml);
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+        try {
+            // Load individual dynamic skills
+            Logger.log(LogType.REGISTRATION, 1, "Loading individual dynamic skill files...");
+            List<LoadedFile<DynamicSkill>> skillFiles = time("Parse skill files", () ->
+                    parseFiles(pool, SKILL_FOLDER, SKILL_DIR, this::loadSkill, false));
+            time("Register skill files", () -> registerSkillFiles(skillFiles));
+
+            Logger.log(LogType.REGISTRATION, 1, "Loading classes...");
+
+            // Request plugin classes
+            mode = Mode.CLASS;
+            time("Plugin classes", () -> registerPluginContent(false));
+
+            // Load dynamic classes from classes.yml
+            time("classes.yml", this::loadClassesYml);
+
+            // Load individual dynamic classes
+            Logger.log(LogType.REGISTRATION, 1, "Loading individual dynamic class files...");
+            List<LoadedFile<DynamicClass>> classFiles = time("Parse class files", () ->
+                    parseFiles(pool, CLASS_FOLDER, CLASS_DIR, this::loadClass, false));
+            time("Register class files", () -> registerClassFiles(classFiles));
+        } finally {
+            pool.shutdown();
+        }
+
+        time("Save", () -> {
+            saveCombined(skillConfig, SKILLS_KEY, skillsChanged, savedSkills);
+            saveCombined(classConfig, CLASSES_KEY, classesChanged, savedClasses);
+            saveManifest();
+        });
+
+        mode = Mode.DONE;
+
+        // Arrange skill trees
+        time("Arrange trees", () -> {
+            for (FabledClass c : Fabled.getClasses().values()) {
+                c.arrange();
+            }
+        });
+
+        Logger.log(LogType.REGISTRATION, 0, "Registration complete in " + toMillis(System.nanoTime() - start) + "ms");
+        Logger.log(LogType.REGISTRATION, 0, " - " + Fabled.getSkills().size() + " skills");
+        Logger.log(LogType.REGISTRATION, 0, " - " + Fabled.getClasses().size() + " classes");
+        for (Map.Entry<String, Long> phase : timings.entrySet()) {
+            Logger.log(LogType.REGISTRATION, 1, " - " + phase.getKey() + ": " + toMillis(phase.getValue()) + "ms");
+        }
+    }
+
+    /**
+     * <p>Reloads only the dynamic skill and class files that changed since they were
+     * last loaded or written, leaving everything else in place.</p>
+     * <p>Changed files are parsed off the main thread. The reloaded skills and classes
+     * are then swapped in on the main thread, moving the progress and running passives
+     * of the players that have them over to the new copies. Skills are swapped in
+     * before the class files are parsed so reloaded classes pick up reloaded skills.</p>
+     *
+     * @return future completed on the main thread with the names of everything reloaded
+     */
+    public CompletableFuture<List<String>> reloadChanged() {
+        if (mode != Mode.DONE || reloading) {
+            return CompletableFuture.failedFuture(
+                    new IllegalStateException("Skills and classes are already being loaded"));
+        }
+        reloading = true;
+        nextManifest.clear();
+        nextManifest.putAll(manifest);
+
+        long         start    = System.nanoTime();
+        List<String> reloaded = new ArrayList<>();
+        Executor     async    = task -> api.getServer().getScheduler().runTaskAsynchronously(api, task);
+        Executor     sync     = task -> api.getServer().getScheduler().runTask(api, task);
+        return CompletableFuture
+                .supplyAsync(() -> parseChanged(SKILL_FOLDER, SKILL_DIR, this::loadSkill), async)
+                .thenAcceptAsync(files -> reloadSkillFiles(files, reloaded), sync)
+                .thenApplyAsync(ignored -> parseChanged(CLASS_FOLDER, CLASS_DIR, this::loadClass), async)
+                .thenApplyAsync(files -> {
+                    reloadClassFiles(files, reloaded);
+                    saveManifest();
+                    if (!reloaded.isEmpty()) {
+                        // Compiled placeholders bake in class groups, so they are recompiled as well
+                        PlaceholderUtil.cleanUp();
+                        // Reloaded formulas compile new trees, so the old ones would never be dropped
+                        Formula.cleanUp();
+                        // Players who left aren't migrated, so their cached accounts are read back instead
+                        Fabled.getPlayerCache().invalidate();
+                    }
+                    Logger.log(LogType.REGISTRATION, 0, "Reloaded " + reloaded.size()
+                            + " changed skills and classes in " + toMillis(System.nanoTime() - start) + "ms");
+                    return reloaded;
+                }, sync)
+                // Also finish on the main thread when parsing failed off it
+                .whenCompleteAsync((result, error) -> reloading = false, sync);
+    }
+
+    private <T> List<LoadedFile<T>> parseChanged(String folder, String dir, FileLoader<T> loader) {
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+        try {
+            return parseFiles(pool, folder, dir, loader, true);
+        } finally {
+            pool.shutdown();
+        }
+    }
 
+    private void reloadSkillFiles(List<LoadedFile<DynamicSkill>> files, List<String> reloaded) {
+        checkCurrent();
+        Map<String, Consumer<DataSection>> saved        = new LinkedHashMap<>();
+        boolean                            treesChanged = false;
+        mode = Mode.DYNAMIC;
+        try {
+            for (LoadedFile<DynamicSkill> file : files) {
+                String name = file.name;
+                if (file.error != null) {
+                    Logger.invalid("Failed to reload skill: " + name + " - " + file.error.getMessage());
+                    continue;
+                }
+
+                DynamicSkill skill    = file.value;
+                Skill        previous = Fabled.getSkill(skill.getName());
+                if (previous != null && !(previous instanceof DynamicSkill)) {
+                    Logger.invalid("Duplicate skill detected: " + name);
+                    continue;
+                }
+
+                api.replaceDynamicSkill(skill);
+                skill.registerEvents(api);
+                if (previous != null) {
+                    treesChanged |= migrateSkill((DynamicSkill) previous, skill);
+                }
+                normalize(file, skill::save);
+                saved.put(name, skill::save);
+                reloaded.add(skill.getName());
+                Logger.log(LogType.REGISTRATION, 2, "Reloaded the dynamic skill: " + name);
+            }
+        } finally {
+            mode = Mode.DONE;
+        }
+
+        if (!saved.isEmpty()) saveCombined(skillConfig, SKILLS_KEY, true, saved);
+        if (treesChanged) reloadSkillTrees();
+    }
+
+    /**
+     * Moves everything still pointing at the old copy of a skill over to the reloaded
+     * one and stops the old copy's triggers
+     *
+     * @return true if any class provides the skill
+     */
+    private boolean migrateSkill(DynamicSkill previous, DynamicSkill skill) {
+        for (PlayerAccounts accounts : Fabled.getPlayerAccounts().values()) {
+            for (PlayerData data : accounts.getAllData().values()) {
+                data.replaceSkill(previous, skill);
+            }
+        }
+        previous.unregisterEvents();
+
+        boolean provided = false;
+        for (FabledClass c : Fabled.getClasses().values()) {
+            provided |= c.replaceSkill(previous, skill);
+        }
+        return provided;
+    }
+
+    private void reloadClassFiles(List<LoadedFile<DynamicClass>> files, List<String> reloaded) {
+        checkCurrent();
+        Map<String, Consumer<DataSection>> saved = new LinkedHashMap<>();
+        for (LoadedFile<DynamicClass> file : files) {
+            String name = file.name;
+            if (file.error != null) {
+                Logger.invalid("Failed to reload class file: " + name + " - " + file.error.getMessage());
+                continue;
+            }
+
+            DynamicClass tree     = file.value;
+            FabledClass  previous = Fabled.getClass(tree.getName());
+            if (previous != null && !(previous instanceof DynamicClass)) {
+                Logger.invalid("Duplicate class detected: " + name);
+                continue;
+            }
+
+            api.replaceDynamicClass(tree);
+            if (previous != null) {
+                for (PlayerAccounts accounts : Fabled.getPlayerAccounts().values()) {
+                    for (PlayerData data : accounts.getAllData().values()) {
+                        data.replaceClass(previous, tree);
+                    }
+                }
+            }
+            normalize(file, tree::save);
+            saved.put(name, tree::save);
+            reloaded.add(tree.getName());
+            Logger.log(LogType.REGISTRATION, 2, "Reloaded the dynamic class: " + name);
+        }
+
+        if (!saved.isEmpty()) {
+            saveCombined(classConfig, CLASSES_KEY, true, saved);
+            reloadSkillTrees();
+        }
+    }
+
+    /**
+     * Rebuilds every skill tree, as trees of child classes include the skills of
+     * their parents
+     */
+    private void reloadSkillTrees() {
+        for (FabledClass c : Fabled.getClasses().values()) {
+            c.reloadSkillTree();
+        }
+    }
+
+    private void checkCurrent() {
+        if (Fabled.getRegistrationManager() != this) {
+            throw new IllegalStateException("Fabled was reloaded before the changed files were");
+        }
+    }
+
+    private void registerComponents() {
         Logger.log(LogType.REGISTRATION, 1, "Loading components...");
 
         for (Plugin plugin : api.getServer().getPluginManager().getPlugins()) {
@@ -140,203 +412,341 @@ public class RegistrationManager {
             }
         }
         ComponentRegistry.save();
+    }
 
-        Logger.log(LogType.REGISTRATION, 1, "Loading skills...");
-
-        // Request plugin skills
-        mode = Mode.SKILL;
+    private void registerPluginContent(boolean skills) {
         for (Plugin plugin : api.getServer().getPluginManager().getPlugins()) {
             if (plugin instanceof SkillPlugin) {
+                Logger.log(LogType.REGISTRATION, 2, " - " + plugin.getName());
                 try {
-                    Logger.log(LogType.REGISTRATION, 2, " - " + plugin.getName());
-                    ((SkillPlugin) plugin).registerSkills(api);
+                    if (skills) {
+                        ((SkillPlugin) plugin).registerSkills(api);
+                    } else {
+                        ((SkillPlugin) plugin).registerClasses(api);
+                    }
                 } catch (Throwable t) {
-                    Logger.invalid("Plugin \"" + plugin.getName() + "\" failed to register skills. Error details:");
+                    Logger.invalid("Plugin \"" + plugin.getName() + "\" failed to register "
+                            + (skills ? "skills" : "classes") + ". Error details:");
                     t.printStackTrace();
                 }
             }
         }
+    }
 
-        // Load dynamic skills from skills.yml
-        mode = Mode.DYNAMIC;
-        if (!skillConfig.getConfig().getBoolean("loaded", false)) {
-            Logger.log(LogType.REGISTRATION, 1, "Loading dynamic skills from skills.yml...");
-            skillConfig.getConfig().set("loaded", true);
-            for (String key : skillConfig.getConfig().keys()) {
-                if (!skillConfig.getConfig().isSection(key)) {
-                    Logger.log(
-                            LogType.REGISTRATION,
-                            3,
-                            "Skipping \"" + key + "\" because it isn't a configuration section");
-                    continue;
-                }
-                try {
-                    DynamicSkill skill = new DynamicSkill(key);
-                    skill.load(skillConfig.getConfig().getSection(key));
-                    if (!Fabled.isSkillRegistered(skill.getName())) {
-                        api.addDynamicSkill(skill);
-                        skill.registerEvents(api);
-                        String path = getPath(Fabled.inst().getDataFolder() + File.separator + SKILL_DIR, key);
-                        if (path == null) path = key;
-                        CommentedConfig sConfig = new CommentedConfig(api, SKILL_DIR + path);
-                        sConfig.clear();
-                        skill.save(sConfig.getConfig().createSection(key));
-                        skill.save(skillConfig.getConfig().createSection(key));
-                        sConfig.save();
-                        Logger.log(LogType.REGISTRATION, 2, "Loaded the dynamic skill: " + key);
-                    } else {
-                        Logger.invalid("Duplicate skill detected: " + key);
-                    }
-                } catch (Exception ex) {
-                    Logger.invalid("Failed to load skill: " + key + " - " + ex.getMessage());
-                    ex.printStackTrace();
-                }
-            }
-        } else {
+    private void loadSkillsYml() {
+        if (skillConfig.getConfig().getBoolean("loaded", false)) {
             Logger.log(LogType.REGISTRATION, 1, "skills.yml doesn't have any changes, skipping it");
+            return;
         }
 
-        // Load individual dynamic skills
-        Logger.log(LogType.REGISTRATION, 1, "Loading individual dynamic skill files...");
-        File skillRoot = new File(api.getDataFolder().getPath() + File.separator + SKILL_FOLDER);
-        if (skillRoot.exists()) {
-            Path skillRootPath = skillRoot.toPath();
+        Logger.log(LogType.REGISTRATION, 1, "Loading dynamic skills from skills.yml...");
+        skillConfig.getConfig().set("loaded", true);
+        skillsChanged = true;
+        for (String key : skillConfig.getConfig().keys()) {
+            if (!skillConfig.getConfig().isSection(key)) {
+                Logger.log(
+                        LogType.REGISTRATION,
+                        3,
+                        "Skipping \"" + key + "\" because it isn't a configuration section");
+                continue;
+            }
             try {
-                Files.walk(skillRootPath).forEach(path -> {
-                    String longName = getQualifiedFileName(skillRootPath, path);
-                    if (longName == null) return;
-                    String name = path.getFileName().toString().replace(".yml", "");
-                    try {
-                        CommentedConfig sConfig = new CommentedConfig(api, SKILL_DIR + longName);
-                        DynamicSkill    skill   = new DynamicSkill(name);
-                        DataSection     section = getBaseSection(sConfig, name);
-                        skill.load(section);
-                        if (!Fabled.isSkillRegistered(skill.getName())) {
-                            api.addDynamicSkill(skill);
-                            skill.registerEvents(api);
-                            sConfig.clear();
-                            skill.save(sConfig.getConfig().createSection(name));
-                            skill.save(skillConfig.getConfig().createSection(name));
-                            sConfig.save();
-                            Logger.log(LogType.REGISTRATION, 2, "Loaded the dynamic skill: " + name);
-                        } else if (Fabled.getSkill(name) instanceof DynamicSkill) {
-                            Logger.log(LogType.REGISTRATION, 3, name + " is already loaded, skipping it");
-                        } else {
-                            Logger.invalid("Duplicate skill detected: " + name);
-                        }
-                    } catch (Exception ex) {
-                        Logger.invalid("Failed to load skill: " + name + " - " + ex.getMessage());
-                        if (ex instanceof NullPointerException)
-                            Logger.log(
-                                    "Please check that " + (SKILL_DIR + name) + ".yml exists and has proper contents");
-                        ex.printStackTrace();
-                    }
-                });
-            } catch (IOException ex) {
-                Logger.invalid("Failed to read dynamic skills: " + ex.getMessage());
+                DynamicSkill skill = new DynamicSkill(key);
+                skill.load(skillConfig.getConfig().getSection(key));
+                if (!Fabled.isSkillRegistered(skill.getName())) {
+                    api.addDynamicSkill(skill);
+                    skill.registerEvents(api);
+                    String path = getPath(Fabled.inst().getDataFolder() + File.separator + SKILL_DIR, key);
+                    if (path == null) path = key;
+                    CommentedConfig sConfig = new CommentedConfig(api, SKILL_DIR + path);
+                    sConfig.clear();
+                    skill.save(sConfig.getConfig().createSection(key));
+                    skill.save(skillConfig.getConfig().createSection(key));
+                    sConfig.save();
+                    Logger.log(LogType.REGISTRATION, 2, "Loaded the dynamic skill: " + key);
+                } else {
+                    Logger.invalid("Duplicate skill detected: " + key);
+                }
+            } catch (Exception ex) {
+                Logger.invalid("Failed to load skill: " + key + " - " + ex.getMessage());
                 ex.printStackTrace();
             }
         }
+    }
 
-        Logger.log(LogType.REGISTRATION, 1, "Loading classes...");
+    private void registerSkillFiles(List<LoadedFile<DynamicSkill>> files) {
+        for (LoadedFile<DynamicSkill> file : files) {
+            String name = file.name;
+            if (file.error != null) {
+                Logger.invalid("Failed to load skill: " + name + " - " + file.error.getMessage());
+                if (file.error instanceof NullPointerException)
+                    Logger.log("Please check that " + (SKILL_DIR + name) + ".yml exists and has proper contents");
+                file.error.printStackTrace();
+                continue;
+            }
 
-        // Request plugin classes
-        mode = Mode.CLASS;
-        for (Plugin plugin : api.getServer().getPluginManager().getPlugins()) {
-            if (plugin instanceof SkillPlugin) {
-                Logger.log(LogType.REGISTRATION, 2, " - " + plugin.getName());
-                try {
-                    ((SkillPlugin) plugin).registerClasses(api);
-                } catch (Throwable t) {
-                    Logger.invalid("Plugin \"" + plugin.getName() + "\" failed to register classes. Error details:");
-                    t.printStackTrace();
-                }
+            DynamicSkill skill = file.value;
+            if (!Fabled.isSkillRegistered(skill.getName())) {
+                api.addDynamicSkill(skill);
+                skill.registerEvents(api);
+                skillsChanged |= normalize(file, skill::save);
+                savedSkills.put(name, skill::save);
+                Logger.log(LogType.REGISTRATION, 2, "Loaded the dynamic skill: " + name);
+            } else if (Fabled.getSkill(name) instanceof DynamicSkill) {
+                // Already written out while loading skills.yml
+                if (file.hash != null) nextManifest.setProperty(file.getKey(), file.hash);
+                Logger.log(LogType.REGISTRATION, 3, name + " is already loaded, skipping it");
+            } else {
+                Logger.invalid("Duplicate skill detected: " + name);
             }
         }
+    }
 
-        // Load dynamic classes from classes.yml
-        if (!classConfig.getConfig().getBoolean("loaded", false)) {
-            Logger.log(LogType.REGISTRATION, 1, "Loading dynamic classes from classes.yml...");
-            classConfig.getConfig().set("loaded", true);
-            for (String key : classConfig.getConfig().keys()) {
-                if (key.equals("loaded")) {
-                    continue;
+    private void loadClassesYml() {
+        if (classConfig.getConfig().getBoolean("loaded", false)) {
+            Logger.log(LogType.REGISTRATION, 1, "classes.yml doesn't have any changes, skipping it");
+            return;
+        }
+
+        Logger.log(LogType.REGISTRATION, 1, "Loading dynamic classes from classes.yml...");
+        classConfig.getConfig().set("loaded", true);
+        classesChanged = true;
+        for (String key : classConfig.getConfig().keys()) {
+            if (key.equals("loaded")) {
+                continue;
+            }
+            try {
+                DynamicClass tree = new DynamicClass(api, key);
+                tree.load(classConfig.getConfig().getSection(key));
+                if (!Fabled.isClassRegistered(tree.getName())) {
+                    api.addDynamicClass(tree);
+                    String path = getPath(Fabled.inst().getDataFolder() + File.separator + CLASS_DIR, key);
+                    if (path == null) path = key;
+                    CommentedConfig cConfig = new CommentedConfig(api, CLASS_DIR + path);
+                    cConfig.clear();
+                    tree.save(cConfig.getConfig().createSection(key));
+                    tree.save(classConfig.getConfig().createSection(key));
+                    cConfig.save();
+                    Logger.log(LogType.REGISTRATION, 2, "Loaded the dynamic class: " + key);
+                } else {
+                    Logger.invalid("Duplicate class detected: " + key);
                 }
+            } catch (Exception ex) {
+                Logger.invalid("Failed to load class \"" + key + "\"");
+                ex.printStackTrace();
+            }
+        }
+    }
+
+    private void registerClassFiles(List<LoadedFile<DynamicClass>> files) {
+        for (LoadedFile<DynamicClass> file : files) {
+            String name = file.name;
+            if (file.error != null) {
+                Logger.invalid("Failed to load class file: " + name + " - " + file.error.getMessage());
+                continue;
+            }
+
+            DynamicClass tree = file.value;
+            if (!Fabled.isClassRegistered(tree.getName())) {
+                api.addDynamicClass(tree);
+                classesChanged |= normalize(file, tree::save);
+                savedClasses.put(name, tree::save);
+                Logger.log(LogType.REGISTRATION, 2, "Loaded the dynamic class: " + name);
+            } else if (Fabled.getClass(name) instanceof DynamicClass) {
+                // Already written out while loading classes.yml
+                if (file.hash != null) nextManifest.setProperty(file.getKey(), file.hash);
+                Logger.log(LogType.REGISTRATION, 3, name + " is already loaded, skipping it");
+            } else {
+                Logger.invalid("Duplicate class detected: " + name);
+            }
+        }
+    }
+
+    /**
+     * Reads and parses every file under a dynamic folder on the pool. The results are
+     * returned in path order so registering them stays deterministic.
+     *
+     * @param pool        pool to parse on
+     * @param folder      folder to read, relative to the data folder
+     * @param dir         config path prefix for files in the folder
+     * @param loader      creates the skill or class from a parsed file
+     * @param changedOnly whether to skip files that still match the manifest
+     * @return parsed files in path order
+     */
+    private <T> List<LoadedFile<T>> parseFiles(ForkJoinPool pool,
+                                               String folder,
+                                               String dir,
+                                               FileLoader<T> loader,
+                                               boolean changedOnly) {
+        File root = new File(api.getDataFolder().getPath() + File.separator + folder);
+        if (!root.exists()) return List.of();
+
+        Path       rootPath = root.toPath();
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(rootPath)) {
+            paths = walk.filter(path -> getQualifiedFileName(rootPath, path) != null)
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException ex) {
+            Logger.invalid("Failed to read " + folder + ": " + ex.getMessage());
+            ex.printStackTrace();
+            return List.of();
+        }
+
+        List<ForkJoinTask<LoadedFile<T>>> tasks = new ArrayList<>(paths.size());
+        for (Path path : paths) {
+            String longName = getQualifiedFileName(rootPath, path);
+            String name     = path.getFileName().toString().replace(".yml", "");
+            tasks.add(pool.submit(() -> {
+                LoadedFile<T> file = new LoadedFile<>(path, folder, longName, name);
                 try {
-                    DynamicClass tree = new DynamicClass(api, key);
-                    tree.load(classConfig.getConfig().getSection(key));
-                    if (!Fabled.isClassRegistered(tree.getName())) {
-                        api.addDynamicClass(tree);
-                        String path = getPath(Fabled.inst().getDataFolder() + File.separator + CLASS_DIR, key);
-                        if (path == null) path = key;
-                        CommentedConfig cConfig = new CommentedConfig(api, CLASS_DIR + path);
-                        cConfig.clear();
-                        tree.save(cConfig.getConfig().createSection(key));
-                        tree.save(classConfig.getConfig().createSection(key));
-                        cConfig.save();
-                        Logger.log(LogType.REGISTRATION, 2, "Loaded the dynamic class: " + key);
-                    } else {
-                        Logger.invalid("Duplicate class detected: " + key);
+                    file.hash = hash(Files.readAllBytes(path));
+                    if (changedOnly && file.hash.equals(manifest.getProperty(file.getKey()))) {
+                        return null;
                     }
+                    file.config = new CommentedConfig(api, dir + longName);
+                    file.value = loader.load(name, getBaseSection(file.config, name));
                 } catch (Exception ex) {
-                    Logger.invalid("Failed to load class \"" + key + "\"");
-                    ex.printStackTrace();
+                    file.error = ex;
                 }
-            }
-        } else {
-            Logger.log(LogType.REGISTRATION, 1, "classes.yml doesn't have any changes, skipping it");
+                return file;
+            }));
         }
 
-        // Load individual dynamic classes first
-        Logger.log(LogType.REGISTRATION, 1, "Loading individual dynamic class files...");
-        File classRoot = new File(api.getDataFolder().getPath() + File.separator + CLASS_FOLDER);
-        if (classRoot.exists()) {
-            Path classRootPath = classRoot.toPath();
-            try {
-                Files.walk(classRootPath).forEach(path -> {
-                    String longName = getQualifiedFileName(classRootPath, path);
-                    if (longName == null) return;
-                    String name = path.getFileName().toString().replace(".yml", "");
-                    try {
-                        CommentedConfig cConfig = new CommentedConfig(api, CLASS_DIR + longName);
-                        DynamicClass    tree    = new DynamicClass(api, name);
-                        DataSection     section = getBaseSection(cConfig, name);
-                        tree.load(section);
-                        if (!Fabled.isClassRegistered(tree.getName())) {
-                            api.addDynamicClass(tree);
-                            cConfig.clear();
-                            tree.save(cConfig.getConfig().createSection(name));
-                            tree.save(classConfig.getConfig().createSection(name));
-                            cConfig.save();
-                            Logger.log(LogType.REGISTRATION, 2, "Loaded the dynamic class: " + name);
-                        } else if (Fabled.getClass(name) instanceof DynamicClass) {
-                            Logger.log(LogType.REGISTRATION, 3, name + " is already loaded, skipping it");
-                        } else {
-                            Logger.invalid("Duplicate class detected: " + name);
-                        }
-                    } catch (Exception ex) {
-                        Logger.invalid("Failed to load class file: " + name + " - " + ex.getMessage());
-                    }
-                });
-            } catch (IOException ex) {
-                Logger.invalid("Failed to read dynamic classes: " + ex.getMessage());
-                ex.printStackTrace();
-            }
+        List<LoadedFile<T>> files = new ArrayList<>(tasks.size());
+        for (ForkJoinTask<LoadedFile<T>> task : tasks) {
+            LoadedFile<T> file = task.join();
+            if (file != null) files.add(file);
         }
+        return files;
+    }
 
-        skillConfig.save();
-        classConfig.save();
+    private DynamicSkill loadSkill(String name, DataSection section) {
+        DynamicSkill skill = new DynamicSkill(name);
+        skill.load(section);
+        return skill;
+    }
 
-        mode = Mode.DONE;
+    private DynamicClass loadClass(String name, DataSection section) {
+        DynamicClass tree = new DynamicClass(api, name);
+        tree.load(section);
+        return tree;
+    }
 
-        // Arrange skill trees
-        for (FabledClass c : Fabled.getClasses().values()) {
-            c.arrange();
+    /**
+     * Writes a loaded file back in its normalized form, unless it still matches
+     * what was written the last time
+     *
+     * @param file  loaded file
+     * @param saver saves the loaded skill or class to a section
+     * @return true if the file was rewritten, false if it was already up to date
+     */
+    private boolean normalize(LoadedFile<?> file, Consumer<DataSection> saver) {
+        if (file.hash != null && file.hash.equals(manifest.getProperty(file.getKey()))) {
+            nextManifest.setProperty(file.getKey(), file.hash);
+            return false;
         }
 
-        Logger.log(LogType.REGISTRATION, 0, "Registration complete");
-        Logger.log(LogType.REGISTRATION, 0, " - " + Fabled.getSkills().size() + " skills");
-        Logger.log(LogType.REGISTRATION, 0, " - " + Fabled.getClasses().size() + " classes");
+        file.config.clear();
+        saver.accept(file.config.getConfig().createSection(file.name));
+        file.config.save();
+        String written = hashFile(file.path);
+        if (written != null) nextManifest.setProperty(file.getKey(), written);
+        return true;
+    }
+
+    /**
+     * Saves the combined skills.yml or classes.yml, skipping it when none of the
+     * files it mirrors changed and it still matches what was written last time
+     */
+    private void saveCombined(CommentedConfig config,
+                              String key,
+                              boolean changed,
+                              Map<String, Consumer<DataSection>> saved) {
+        String hash = hashFile(config.getConfigFile().toPath());
+        if (!changed && hash != null && hash.equals(manifest.getProperty(key))) {
+            nextManifest.setProperty(key, hash);
+            return;
+        }
+
+        for (Map.Entry<String, Consumer<DataSection>> entry : saved.entrySet()) {
+            entry.getValue().accept(config.getConfig().createSection(entry.getKey()));
+        }
+        config.save();
+        String written = hashFile(config.getConfigFile().toPath());
+        if (written != null) nextManifest.setProperty(key, written);
+    }
+
+    private void loadManifest() {
+        manifest.clear();
+        nextManifest.clear();
+        skillsChanged = false;
+        classesChanged = false;
+        savedSkills.clear();
+        savedClasses.clear();
+
+        File file = new File(api.getDataFolder(), MANIFEST);
+        if (!file.exists()) return;
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            manifest.load(reader);
+        } catch (IOException ex) {
+            Logger.invalid("Failed to read " + MANIFEST + ", all dynamic files will be rewritten: " + ex.getMessage());
+            manifest.clear();
+        }
+    }
+
+    private void saveManifest() {
+        if (nextManifest.equals(manifest)) return;
+
+        File file = new File(api.getDataFolder(), MANIFEST);
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            nextManifest.store(writer, "Hashes of the dynamic files as last written by Fabled");
+        } catch (IOException ex) {
+            Logger.invalid("Failed to save " + MANIFEST + ": " + ex.getMessage());
+        }
+        manifest.clear();
+        manifest.putAll(nextManifest);
+    }
+
+    private static String hashFile(Path path) {
+        try {
+            return hash(Files.readAllBytes(path));
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private static String hash(byte[] bytes) {
+        try {
+            byte[]        digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex    = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private <T> T time(String phase, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            timings.merge(phase, System.nanoTime() - start, Long::sum);
+        }
+    }
+
+    private void time(String phase, Runnable action) {
+        time(phase, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private static long toMillis(long nanos) {
+        return nanos / 1_000_000;
     }
 
     private String getQualifiedFileName(Path root, Path path) {
@@ -485,6 +895,15 @@ public class RegistrationManager {
         return null;
     }
 
+    /**
+     * Gets how long each phase of the last {@link #initialize()} took
+     *
+     * @return nanoseconds spent per phase, in the order the phases ran
+     */
+    public Map<String, Long> getTimings() {
+        return Collections.unmodifiableMap(timings);
+    }
+
     /**
      * @return true if registering dynamic skills, false otherwise
      */
@@ -492,6 +911,41 @@ public class RegistrationManager {
         return mode == Mode.DYNAMIC;
     }
 
+    /**
+     * Creates a skill or class from the section parsed out of its file
+     */
+    private interface FileLoader<T> {
+        T load(String name, DataSection section) throws Exception;
+    }
+
+    /**
+     * A dynamic skill or class file parsed off the main thread, waiting to be registered
+     */
+    private static class LoadedFile<T> {
+        private final Path            path;
+        private final String          folder;
+        private final String          longName;
+        private final String          name;
+        private       String          hash;
+        private       CommentedConfig config;
+        private       T               value;
+        private       Exception       error;
+
+        private LoadedFile(Path path, String folder, String longName, String name) {
+            this.path = path;
+            this.folder = folder;
+            this.longName = longName;
+            this.name = name;
+        }
+
+        /**
+         * @return key of the file in the manifest
+         */
+        private String getKey() {
+            return (folder + File.separator + longName).replace(File.separatorChar, '/');
+        }
+    }
+
     /**
      * The registration modes used by the manager. These values are used to check
      * what can be registered at any given time.
@@ -7,6 +7,11 @@ public class ArmorStandTask extends RepeatThreadTask {
 
     public ArmorStandTask() {super(1, 1);}
 
+    @Override
+    public boolean isMainThread() {
+        return true;
+    }
+
     @Override
     public void run() {
         ArmorStandManager.tick();
@@ -45,6 +45,16 @@ public class CooldownTask extends RepeatThreadTask {
         super(20, 20);
     }
 
+    /**
+     * Skill bar items are updated, so the task runs on the server thread
+     *
+     * @return true
+     */
+    @Override
+    public boolean isMainThread() {
+        return true;
+    }
+
     /**
      * Updates the cooldowns on skill bars each second
      */
@@ -27,15 +27,24 @@
 package studio.magemonkey.fabled.task;
 
 import studio.magemonkey.fabled.api.particle.EffectManager;
-import studio.magemonkey.fabled.thread.RepeatThreadTask;
+import studio.magemonkey.fabled.thread.SplitThreadTask;
 
-public class EffectTask extends RepeatThreadTask {
+/**
+ * Ticks particle effects off the server thread. Effect targets are read on the
+ * server thread in the apply phase, and the next run plays effects at those locations.
+ */
+public class EffectTask extends SplitThreadTask<Boolean> {
     public EffectTask() {
         super(1, 1);
     }
 
     @Override
-    public void run() {
-        EffectManager.tick();
+    protected Boolean compute() {
+        return EffectManager.tick() ? Boolean.TRUE : null;
+    }
+
+    @Override
+    protected void apply(Boolean active) {
+        EffectManager.capture();
     }
 }
@@ -0,0 +1,61 @@
+/**
+ * Fabled
+ * studio.magemonkey.fabled.task.EntityStateTask
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 MageMonkeyStudio
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package studio.magemonkey.fabled.task;
+
+import studio.magemonkey.fabled.api.util.EntityState;
+import studio.magemonkey.fabled.thread.RepeatThreadTask;
+
+/**
+ * Periodically releases the state of entities that have gone away
+ */
+public class EntityStateTask extends RepeatThreadTask {
+    /**
+     * Sets up the task. This shouldn't be used by other plugins
+     * as it is set up by the API.
+     */
+    public EntityStateTask() {
+        super(100, 100);
+    }
+
+    /**
+     * Entity validity can only be checked safely on the server thread
+     *
+     * @return true
+     */
+    @Override
+    public boolean isMainThread() {
+        return true;
+    }
+
+    /**
+     * Releases the state of entities that are no longer valid
+     */
+    @Override
+    public void run() {
+        EntityState.sweep();
+    }
+}
@@ -36,7 +36,7 @@ import studio.magemonkey.fabled.language.RPGFilter;
 import studio.magemonkey.fabled.log.LogType;
 import studio.magemonkey.fabled.log.Logger;
 import studio.magemonkey.fabled.manager.ComboManager;
-import studio.magemonkey.fabled.thread.RepeatThreadTask;
+import studio.magemonkey.fabled.thread.SplitThreadTask;
 import studio.magemonkey.codex.mccore.config.FilterType;
 import studio.magemonkey.codex.mccore.util.TextFormatter;
 import studio.magemonkey.codex.mccore.util.VersionManager;
@@ -45,11 +45,19 @@ import net.md_5.bungee.api.ChatMessageType;
 import net.md_5.bungee.api.chat.TextComponent;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Task that handles updating GUI elements such as level bar,
  * food bar, and action bar according to the config.yml content.
+ * Action bar values are read on the server thread and the text is
+ * built from them off it, so action bars trail by one run.
  */
-public class GUITask extends RepeatThreadTask {
+public class GUITask extends SplitThreadTask<Map<Player, String>> {
     private final boolean levelMana;
     private final boolean levelLevel;
 
@@ -62,6 +70,9 @@ public class GUITask extends RepeatThreadTask {
     private final boolean useAction;
     private final String  actionText;
 
+    // Action bar values read by the last apply, turned into text by the next compute
+    private volatile List<ActionBar> captured = Collections.emptyList();
+
     /**
      * Sets up the task, running if any of the GUI options are enabled
      *
@@ -96,10 +107,85 @@ public class GUITask extends RepeatThreadTask {
     }
 
     /**
-     * Runs the tasks, updating GUI elements for players
+     * Builds the action bar text for players off the server thread from the
+     * values captured on the server thread by the previous run
+     *
+     * @return action bar text by player
+     */
+    @Override
+    protected Map<Player, String> compute() {
+        Map<Player, String> actionBars = new HashMap<>();
+        for (ActionBar bar : captured) {
+            String filtered = bar.template
+                    .replace("{combo}", bar.combo)
+                    .replace("{class}", bar.prefix)
+                    .replace("{level}", "" + bar.level)
+                    .replace("{exp}", "" + (int) bar.exp)
+                    .replace("{expReq}", "" + bar.expReq)
+                    .replace("{expLeft}", "" + (int) Math.ceil(bar.expReq - bar.exp))
+                    .replace("{mana}", "" + (int) bar.mana)
+                    .replace("{maxMana}", "" + (int) bar.maxMana)
+                    .replace("{name}", bar.name)
+                    .replace("{health}", "" + (int) bar.health)
+                    .replace("{maxHealth}", "" + (int) bar.maxHealth)
+                    .replace("{attr}", "" + bar.attr)
+                    .replace("{sp}", "" + bar.sp);
+            for (Map.Entry<String, String> value : bar.values.entrySet()) {
+                filtered = filtered.replace("{value:" + value.getKey() + "}",
+                        value.getValue() == null ? "None" : value.getValue());
+            }
+            actionBars.put(bar.player, filtered);
+        }
+        return actionBars;
+    }
+
+    /**
+     * Reads everything the action bars show on the server thread, as player data,
+     * cast data and PlaceholderAPI expansions are not safe to read off it
+     *
+     * @return captured action bar values of every player showing one
+     */
+    private List<ActionBar> capture() {
+        List<ActionBar> bars = new ArrayList<>();
+        for (Player player : VersionManager.getOnlinePlayers()) {
+            if (!Fabled.getSettings().isWorldEnabled(player.getWorld())) continue;
+            if (!Fabled.hasPlayerData(player)) continue;
+
+            PlayerData data = Fabled.getPlayerData(player);
+            if (!data.hasClass()) continue;
+
+            PlayerClass main     = data.getMainClass();
+            String      template = main.getData().hasActionBarText() ? main.getData().getActionBarText() : actionText;
+            if (PluginChecker.isPlaceholderAPIActive()) {
+                template = PlaceholderAPIHook.format(template, player);
+            }
+
+            Map<String, String> values = new HashMap<>();
+            for (int index = template.indexOf("{value:"); index >= 0; index = template.indexOf("{value:", index + 1)) {
+                int end = template.indexOf('}', index);
+                if (end < 0) break;
+                String key = template.substring(index + 7, end);
+                values.put(key, DynamicSkill.getCastData(player).get(key));
+            }
+
+            String combo = Fabled.getLanguage()
+                    .getMessage(ComboManager.DISPLAY_KEY,
+                            true,
+                            FilterType.COLOR,
+                            RPGFilter.COMBO.setReplacement(data.getComboData().getCurrentComboString()))
+                    .get(0);
+            bars.add(new ActionBar(player, template, combo, main, data, values));
+        }
+        return bars;
+    }
+
+    /**
+     * Updates GUI elements for players on the server thread
+     *
+     * @param actionBars action bar text by player
      */
     @Override
-    public void run() {
+    protected void apply(Map<Player, String> actionBars) {
         Logger.log(LogType.GUI, 1, "Updating GUI (" + VersionManager.getOnlinePlayers().length + " players)...");
         for (Player player : VersionManager.getOnlinePlayers()) {
             if (!Fabled.getSettings().isWorldEnabled(player.getWorld())) continue;
@@ -158,42 +244,9 @@ public class GUITask extends RepeatThreadTask {
             }
 
             // Action bar options
-            if (useAction && data.hasClass()) {
+            String filtered = actionBars.get(player);
+            if (filtered != null) {
                 Logger.log(LogType.GUI, 2, "Updating action bar");
-                PlayerClass main = data.getMainClass();
-                String filtered = (main.getData().hasActionBarText() ? main.getData().getActionBarText() : actionText)
-                        .replace("{combo}",
-                                Fabled.getLanguage()
-                                        .getMessage(ComboManager.DISPLAY_KEY,
-                                                true,
-                                                FilterType.COLOR,
-                                                RPGFilter.COMBO.setReplacement(data.getComboData()
-                                                        .getCurrentComboString()))
-                                        .get(0))
-                        .replace("{class}", main.getData().getPrefix())
-                        .replace("{level}", "" + main.getLevel())
-                        .replace("{exp}", "" + (int) main.getExp())
-                        .replace("{expReq}", "" + main.getRequiredExp())
-                        .replace("{expLeft}", "" + (int) Math.ceil(main.getRequiredExp() - main.getExp()))
-                        .replace("{mana}", "" + (int) data.getMana())
-                        .replace("{maxMana}", "" + (int) data.getMaxMana())
-                        .replace("{name}", player.getName())
-                        .replace("{health}", "" + (int) player.getHealth())
-                        .replace("{maxHealth}", "" + (int) player.getMaxHealth())
-                        .replace("{attr}", "" + data.getAttributePoints())
-                        .replace("{sp}", "" + main.getPoints());
-                while (filtered.contains("{value:")) {
-                    int    index = filtered.indexOf("{value:");
-                    int    end   = filtered.indexOf('}', index);
-                    String key   = filtered.substring(index + 7, end);
-                    String value = DynamicSkill.getCastData(player).get(key);
-                    filtered = filtered.replace("{value:" + key + "}", (value == null ? "None" : value));
-                }
-
-                if (PluginChecker.isPlaceholderAPIActive()) {
-                    filtered = PlaceholderAPIHook.format(filtered, player);
-                }
-
                 if (VersionManager.isVersionAtLeast(11000)) {
                     player.spigot().sendMessage(ChatMessageType.ACTION_BAR, TextComponent.fromLegacyText(filtered));
                 } else {
@@ -201,5 +254,51 @@ public class GUITask extends RepeatThreadTask {
                 }
             }
         }
+
+        if (useAction) captured = capture();
+    }
+
+    /**
+     * Values of one player's action bar read on the server thread
+     */
+    private static final class ActionBar {
+        private final Player              player;
+        private final String              template;
+        private final String              combo;
+        private final String              prefix;
+        private final String              name;
+        private final int                 level;
+        private final double              exp;
+        private final int                 expReq;
+        private final double              mana;
+        private final double              maxMana;
+        private final double              health;
+        private final double              maxHealth;
+        private final int                 attr;
+        private final int                 sp;
+        private final Map<String, String> values;
+
+        private ActionBar(Player player,
+                          String template,
+                          String combo,
+                          PlayerClass main,
+                          PlayerData data,
+                          Map<String, String> values) {
+            this.player = player;
+            this.template = template;
+            this.combo = combo;
+            this.prefix = main.getData().getPrefix();
+            this.name = player.getName();
+            this.level = main.getLevel();
+            this.exp = main.getExp();
+            this.expReq = main.getRequiredExp();
+            this.mana = data.getMana();
+            this.maxMana = data.getMaxMana();
+            this.health = player.getHealth();
+            this.maxHealth = player.getMaxHealth();
+            this.attr = data.getAttributePoints();
+            this.sp = main.getPoints();
+            this.values = values;
+        }
     }
 }
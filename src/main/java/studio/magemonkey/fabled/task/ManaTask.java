@@ -52,6 +52,16 @@ public class ManaTask extends RepeatThreadTask {
         );
     }
 
+    /**
+     * Mana regeneration fires events and updates player displays, so it runs on the server thread
+     *
+     * @return true
+     */
+    @Override
+    public boolean isMainThread() {
+        return true;
+    }
+
     /**
      * <p>Checks all players for mana regeneration each interval</p>
      */
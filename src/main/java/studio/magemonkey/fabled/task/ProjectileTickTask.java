@@ -1,6 +1,5 @@
 package studio.magemonkey.fabled.task;
 
-import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.event.ProjectileTickEvent;
 import studio.magemonkey.fabled.dynamic.ComponentRegistry;
 import studio.magemonkey.fabled.dynamic.trigger.ProjectileTickTrigger;
@@ -29,6 +28,16 @@ public class ProjectileTickTask extends RepeatThreadTask {
         tick = 1;
     }
 
+    /**
+     * The projectile is checked and events are fired, so the task runs on the server thread
+     *
+     * @return true
+     */
+    @Override
+    public boolean isMainThread() {
+        return true;
+    }
+
     /**
      * Checks if projectile still did not hit the entity/ground
      * and then throws @{@link ProjectileTickEvent}
@@ -38,7 +47,7 @@ public class ProjectileTickTask extends RepeatThreadTask {
         expired = !ProjectileListener.isFlying(projectile);
         if (!expired) {
             ProjectileTickEvent event = new ProjectileTickEvent(shooter, projectile, tick);
-            Bukkit.getScheduler().runTask(Fabled.inst(), () -> Bukkit.getPluginManager().callEvent(event));
+            Bukkit.getPluginManager().callEvent(event);
             tick++;
         } else {
             ((ProjectileTickTrigger) ComponentRegistry.getTrigger("PROJECTILE_TICK")).removeProjectile(projectile.getUniqueId());
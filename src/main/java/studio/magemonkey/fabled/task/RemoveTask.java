@@ -30,6 +30,7 @@ import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.api.skills.PassiveSkill;
 import studio.magemonkey.fabled.api.skills.Skill;
 import studio.magemonkey.fabled.api.util.BuffManager;
+import studio.magemonkey.fabled.api.util.EntityMeta;
 import studio.magemonkey.fabled.api.util.FlagManager;
 import studio.magemonkey.fabled.dynamic.DynamicSkill;
 import studio.magemonkey.fabled.dynamic.mechanic.WolfMechanic;
@@ -61,29 +62,37 @@ public class RemoveTask extends BukkitRunnable {
      * Removes the entity once the time is up
      */
     @Override
-    @SuppressWarnings("unchecked")
     public void run() {
-        // Clear skill setup
         for (Entity entity : entities) {
-            if (entity.hasMetadata(WolfMechanic.SKILL_META)) {
-                final List<String> skills = (List<String>) Fabled.getMeta(entity, WolfMechanic.SKILL_META);
-                final int          level  = Fabled.getMetaInt(entity, WolfMechanic.LEVEL);
-                for (final String skillName : skills) {
-                    final Skill skill = Fabled.getSkill(skillName);
-                    if (skill instanceof PassiveSkill) {
-                        ((PassiveSkill) skill).stopEffects((LivingEntity) entity, level);
-                    }
-                }
+            remove(entity);
+        }
+    }
 
-                DynamicSkill.clearCastData((LivingEntity) entity);
-                FlagManager.clearFlags((LivingEntity) entity);
-                BuffManager.clearData((LivingEntity) entity);
+    /**
+     * Stops the skills set up for a summoned entity and removes it
+     *
+     * @param entity entity to remove
+     */
+    public static void remove(Entity entity) {
+        // Clear skill setup
+        final List<String> skills = EntityMeta.get(entity, WolfMechanic.SKILLS_META);
+        if (skills != null) {
+            final int level = EntityMeta.getInt(entity, WolfMechanic.LEVEL_META, 0);
+            for (final String skillName : skills) {
+                final Skill skill = Fabled.getSkill(skillName);
+                if (skill instanceof PassiveSkill) {
+                    ((PassiveSkill) skill).stopEffects((LivingEntity) entity, level);
+                }
             }
 
-            // Remove entity
-            if (entity.isValid()) {
-                entity.remove();
-            }
+            DynamicSkill.clearCastData((LivingEntity) entity);
+            FlagManager.clearFlags((LivingEntity) entity);
+            BuffManager.clearData((LivingEntity) entity);
+        }
+
+        // Remove entity
+        if (entity.isValid()) {
+            entity.remove();
         }
     }
 }
@@ -30,7 +30,8 @@ import studio.magemonkey.fabled.Fabled;
 import studio.magemonkey.fabled.thread.RepeatThreadTask;
 
 /**
- * Handles auto saving periodically
+ * Handles auto saving periodically. Only accounts that changed since they
+ * were last saved are written, optionally spread out over several ticks.
  */
 public class SaveTask extends RepeatThreadTask {
     /**
@@ -47,10 +48,29 @@ public class SaveTask extends RepeatThreadTask {
     }
 
     /**
-     * Saves all player data
+     * Writes the next few queued accounts before checking whether
+     * the next auto save is due
+     *
+     * @return true if expired
+     */
+    @Override
+    public boolean tick() {
+        int budget = Fabled.getSettings().getSaveBudget();
+        if (budget > 0) {
+            Fabled.getIOManager().saveQueued(budget);
+        }
+        return super.tick();
+    }
+
+    /**
+     * Saves all changed player data, or queues it when a per-tick budget is set
      */
     @Override
     public void run() {
-        Fabled.saveData();
+        if (Fabled.getSettings().getSaveBudget() > 0) {
+            Fabled.getIOManager().queueAutosave();
+        } else {
+            Fabled.saveData();
+        }
     }
 }
@@ -41,4 +41,22 @@ public interface IThreadTask extends Runnable {
      * Runs the functions of the task
      */
     void run();
+
+    /**
+     * Checks whether the task touches Bukkit state and has to run on the server thread
+     *
+     * @return true to run on the server thread, false to run asynchronously
+     */
+    default boolean isMainThread() {
+        return false;
+    }
+
+    /**
+     * Gets the number of ticks between runs, used when reporting timings
+     *
+     * @return ticks between runs
+     */
+    default int getPeriod() {
+        return 1;
+    }
 }
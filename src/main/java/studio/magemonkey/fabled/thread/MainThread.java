@@ -26,83 +26,19 @@
  */
 package studio.magemonkey.fabled.thread;
 
-import org.bukkit.plugin.IllegalPluginAccessException;
-
-import java.util.ConcurrentModificationException;
-import java.util.Objects;
-
 /**
  * The main async task for Fabled functions
+ *
+ * @deprecated tasks are run by {@link TickExecutor}, use {@link TickExecutor#register(IThreadTask)} instead
  */
-public class MainThread extends Thread {
-    private static final TaskList tasks = new TaskList();
-
-    private long time;
-
-    private boolean enabled;
-
-    private boolean print = true;
-
-    /**
-     * Sets up the main thread
-     */
-    public MainThread() {
-        time = System.currentTimeMillis();
-        enabled = true;
-        start();
-    }
-
-    /**
-     * Runs the thread until disabled or interrupted
-     */
-    @Override
-    public void run() {
-        while (enabled) {
-            try {
-                tasks.iterator();
-                while (tasks.hasNext()) {
-                    if (tasks.next().tick()) {
-                        tasks.remove();
-                    }
-                }
-
-                long current = System.currentTimeMillis();
-                time += 50;
-                sleep(Math.max(1, time - current));
-            } catch (ConcurrentModificationException ex) {
-                // Concurrent exceptions would happen infrequently
-                // but shouldn't be a concern. We'll just continue
-                // functionality next tick.
-            } catch (Exception ex) {
-                if (print) {
-                    ex.printStackTrace();
-                    print = false;
-                }
-            }
-        }
-    }
-
-    /**
-     * Disables the main thread, stopping future runs
-     */
-    public void disable() {
-        for (IThreadTask task : tasks) {
-            try {
-                task.run();
-            } catch (IllegalPluginAccessException ignored) {
-            }
-        }
-        tasks.clear();
-        enabled = false;
-    }
-
+@Deprecated
+public class MainThread {
     /**
      * Registers a new task to run
      *
      * @param task task to run
      */
     public static void register(IThreadTask task) {
-        Objects.requireNonNull(task, "Cannot register a null task");
-        tasks.add(task);
+        TickExecutor.register(task);
     }
 }
@@ -60,4 +60,12 @@ public abstract class RepeatThreadTask implements IThreadTask {
         }
         return expired;
     }
+
+    /**
+     * @return ticks between runs
+     */
+    @Override
+    public int getPeriod() {
+        return interval;
+    }
 }
@@ -0,0 +1,70 @@
+/**
+ * Fabled
+ * studio.magemonkey.fabled.thread.SplitThreadTask
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 MageMonkeyStudio
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package studio.magemonkey.fabled.thread;
+
+/**
+ * A repeating task that prepares its work asynchronously and applies it on the
+ * server thread at the start of the next tick
+ *
+ * @param <T> type of the prepared work
+ */
+public abstract class SplitThreadTask<T> extends RepeatThreadTask {
+    /**
+     * Sets up the task with an initial delay and an interval
+     *
+     * @param delay    delay before first run
+     * @param interval delay between subsequent runs
+     */
+    public SplitThreadTask(int delay, int interval) {
+        super(delay, interval);
+    }
+
+    /**
+     * Prepares the work off the server thread. This must not change Bukkit state.
+     *
+     * @return prepared work, or null to skip applying this run
+     */
+    protected abstract T compute();
+
+    /**
+     * Applies prepared work on the server thread
+     *
+     * @param result work returned by {@link #compute()}
+     */
+    protected abstract void apply(T result);
+
+    /**
+     * Prepares the work and hands it to the server thread
+     */
+    @Override
+    public void run() {
+        final T result = compute();
+        if (result != null) {
+            TickExecutor.runOnMain(() -> apply(result));
+        }
+    }
+}
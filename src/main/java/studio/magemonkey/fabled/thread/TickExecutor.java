@@ -0,0 +1,443 @@
+/**
+ * Fabled
+ * studio.magemonkey.fabled.thread.TickExecutor
+ * <p>
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 MageMonkeyStudio
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software") to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package studio.magemonkey.fabled.thread;
+
+import studio.magemonkey.fabled.Fabled;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.IllegalPluginAccessException;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>Runs Fabled's repeating tasks once per tick in two phases.</p>
+ * <p>Asynchronous tasks run on a dedicated thread that keeps to a fixed 50ms schedule,
+ * catching up on ticks it falls behind on instead of drifting. Tasks that touch Bukkit
+ * state run on the server thread, along with results handed over by asynchronous tasks
+ * through {@link #runOnMain(Runnable)}.</p>
+ * <p>Tasks may be registered from any thread. New tasks wait in lock-free queues until
+ * the phase they belong to picks them up at the start of its next tick, so the task
+ * lists themselves are only ever touched by the thread running them.</p>
+ * <p>Time spent and lateness are recorded per task class so slow tasks can be found
+ * with the timings command.</p>
+ */
+public class TickExecutor {
+    public static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    // Ticks the async phase may fall behind before it gives up catching up
+    private static final int  MAX_CATCH_UP = 10;
+    // Failures of one task class are logged at most this often, the rest are counted
+    private static final long REPORT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private static final Queue<IThreadTask>      asyncQueue = new ConcurrentLinkedQueue<>();
+    private static final Queue<IThreadTask>      mainQueue  = new ConcurrentLinkedQueue<>();
+    private static final Queue<Runnable>         applyQueue = new ConcurrentLinkedQueue<>();
+    private static final List<IThreadTask>       asyncTasks = new ArrayList<>();
+    private static final List<IThreadTask>       mainTasks  = new ArrayList<>();
+    private static final Map<String, TaskTiming> timings    = new ConcurrentHashMap<>();
+
+    @Getter
+    private static final PhaseTiming asyncPhase = new PhaseTiming("async");
+    @Getter
+    private static final PhaseTiming mainPhase  = new PhaseTiming("main");
+
+    private static Worker     worker;
+    private static BukkitTask mainTask;
+    private static long       lastMainTick;
+
+    /**
+     * Starts both phases. Tasks registered beforehand start on the first tick.
+     */
+    public static synchronized void init() {
+        if (worker == null) {
+            worker = new Worker();
+            worker.start();
+        }
+        if (mainTask == null) {
+            lastMainTick = 0;
+            mainTask = Bukkit.getScheduler().runTaskTimer(Fabled.inst(), TickExecutor::tickMain, 1, 1);
+        }
+    }
+
+    /**
+     * Stops both phases and runs every remaining task one last time on the calling thread
+     */
+    public static synchronized void cleanUp() {
+        if (worker != null) {
+            worker.running = false;
+            LockSupport.unpark(worker);
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+        if (mainTask != null) {
+            mainTask.cancel();
+            mainTask = null;
+        }
+
+        drain(asyncQueue, asyncTasks);
+        drain(mainQueue, mainTasks);
+        for (IThreadTask task : asyncTasks) {
+            runFinal(task);
+        }
+        for (IThreadTask task : mainTasks) {
+            runFinal(task);
+        }
+        for (Runnable action; (action = applyQueue.poll()) != null; ) {
+            runFinal(action);
+        }
+
+        asyncTasks.clear();
+        mainTasks.clear();
+        timings.clear();
+        asyncPhase.reset();
+        mainPhase.reset();
+    }
+
+    /**
+     * Registers a new task to run. This can be called from any thread.
+     *
+     * @param task task to run
+     */
+    public static void register(IThreadTask task) {
+        Objects.requireNonNull(task, "Cannot register a null task");
+        if (task.isMainThread()) {
+            mainQueue.add(task);
+        } else {
+            asyncQueue.add(task);
+        }
+    }
+
+    /**
+     * Queues work to run on the server thread at the start of its next tick. This is
+     * meant for applying results computed by asynchronous tasks.
+     *
+     * @param action work to run
+     */
+    public static void runOnMain(Runnable action) {
+        applyQueue.add(Objects.requireNonNull(action, "Cannot run a null action"));
+    }
+
+    /**
+     * @return copies of the timings of every task class that has run, slowest first
+     */
+    public static List<TaskTiming> getTimings() {
+        final List<TaskTiming> result = new ArrayList<>();
+        for (TaskTiming timing : timings.values()) {
+            result.add(timing.copy());
+        }
+        result.sort(Comparator.comparingLong(TaskTiming::getTotalNanos).reversed());
+        return result;
+    }
+
+    /**
+     * Clears all recorded timings
+     */
+    public static void resetTimings() {
+        for (TaskTiming timing : timings.values()) {
+            timing.reset();
+        }
+        asyncPhase.reset();
+        mainPhase.reset();
+    }
+
+    /**
+     * Runs one tick of the server thread phase
+     */
+    static void tickMain() {
+        final long now = System.nanoTime();
+        final long late = lastMainTick == 0 ? 0 : Math.max(0, now - lastMainTick - TICK_NANOS);
+        lastMainTick = now;
+
+        for (Runnable action; (action = applyQueue.poll()) != null; ) {
+            try {
+                action.run();
+            } catch (Throwable ex) {
+                ex.printStackTrace();
+            }
+        }
+        runPhase(mainQueue, mainTasks, mainPhase, now, late);
+    }
+
+    /**
+     * Runs one tick of the asynchronous phase
+     *
+     * @param scheduled when the tick was meant to start
+     */
+    static void tickAsync(long scheduled) {
+        runPhase(asyncQueue, asyncTasks, asyncPhase, scheduled, Math.max(0, System.nanoTime() - scheduled));
+    }
+
+    private static void runPhase(Queue<IThreadTask> queue,
+                                 List<IThreadTask> tasks,
+                                 PhaseTiming phase,
+                                 long scheduled,
+                                 long late) {
+        drain(queue, tasks);
+
+        final long start = System.nanoTime();
+        final Iterator<IThreadTask> iterator = tasks.iterator();
+        while (iterator.hasNext()) {
+            final IThreadTask task   = iterator.next();
+            final TaskTiming  timing = timings.computeIfAbsent(nameOf(task), name -> new TaskTiming(name, task));
+            final long        begin  = System.nanoTime();
+
+            boolean expired = false;
+            try {
+                expired = task.tick();
+            } catch (Throwable ex) {
+                // Errors such as a missing hook class must not end the phase for every other task
+                final long unreported = timing.fail(begin);
+                if (unreported >= 0) {
+                    logFailure(timing.getName(), unreported, ex);
+                }
+            }
+            timing.record(System.nanoTime() - begin, begin - scheduled);
+            if (expired) {
+                iterator.remove();
+            }
+        }
+        phase.record(late, System.nanoTime() - start);
+    }
+
+    private static void logFailure(String task, long unreported, Throwable ex) {
+        // The plugin may not be available yet or anymore when the async phase fails around startup or shutdown
+        final Logger logger = Fabled.isLoaded()
+                ? Fabled.inst().getLogger()
+                : Logger.getLogger(TickExecutor.class.getName());
+        logger.log(Level.SEVERE, "Task " + task + " failed"
+                + (unreported > 0 ? " (" + unreported + " more failures since the last report)" : ""), ex);
+    }
+
+    private static void drain(Queue<IThreadTask> queue, List<IThreadTask> tasks) {
+        for (IThreadTask task; (task = queue.poll()) != null; ) {
+            tasks.add(task);
+        }
+    }
+
+    private static void runFinal(Runnable task) {
+        try {
+            task.run();
+        } catch (IllegalPluginAccessException ignored) {
+        } catch (Throwable ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    private static String nameOf(IThreadTask task) {
+        final String name = task.getClass().getSimpleName();
+        return name.isEmpty() ? task.getClass().getName() : name;
+    }
+
+    /**
+     * The thread running the asynchronous phase on a fixed schedule
+     */
+    private static final class Worker extends Thread {
+        private volatile boolean running = true;
+
+        private Worker() {
+            super("Fabled Tick Executor");
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long next = System.nanoTime();
+            while (running) {
+                final long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(this, wait);
+                    continue;
+                }
+
+                if (-wait > TICK_NANOS * MAX_CATCH_UP) {
+                    asyncPhase.skip(-wait / TICK_NANOS);
+                    next = System.nanoTime();
+                }
+
+                tickAsync(next);
+                next += TICK_NANOS;
+            }
+        }
+    }
+
+    /**
+     * Timing totals of one phase
+     */
+    @Getter
+    public static final class PhaseTiming {
+        private final String name;
+        private       long   ticks;
+        private       long   skipped;
+        private       long   overruns;
+        private       long   totalNanos;
+        private       long   maxNanos;
+        private       long   totalLateNanos;
+        private       long   maxLateNanos;
+
+        private PhaseTiming(String name) {
+            this.name = name;
+        }
+
+        /**
+         * @return average time the phase took per tick in milliseconds
+         */
+        public synchronized double getAverageMillis() {
+            return ticks == 0 ? 0 : totalNanos / 1e6 / ticks;
+        }
+
+        /**
+         * @return average time ticks started after they were due in milliseconds
+         */
+        public synchronized double getAverageJitterMillis() {
+            return ticks == 0 ? 0 : totalLateNanos / 1e6 / ticks;
+        }
+
+        private synchronized void record(long late, long nanos) {
+            ticks++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            totalLateNanos += late;
+            maxLateNanos = Math.max(maxLateNanos, late);
+            if (nanos > TICK_NANOS) {
+                overruns++;
+            }
+        }
+
+        private synchronized void skip(long count) {
+            skipped += count;
+        }
+
+        private synchronized void reset() {
+            ticks = skipped = overruns = totalNanos = maxNanos = totalLateNanos = maxLateNanos = 0;
+        }
+    }
+
+    /**
+     * Timing totals of every task of one class
+     */
+    @Getter
+    public static final class TaskTiming {
+        private final String  name;
+        private final int     period;
+        private final boolean mainThread;
+        private       long    calls;
+        private       long    failures;
+        private       long    overruns;
+        private       long    totalNanos;
+        private       long    maxNanos;
+        private       long    totalLateNanos;
+        private       long    maxLateNanos;
+        @Getter(AccessLevel.NONE)
+        private       long    unreported;
+        @Getter(AccessLevel.NONE)
+        private       long    reportedAt;
+        @Getter(AccessLevel.NONE)
+        private       boolean reported;
+
+        private TaskTiming(String name, IThreadTask task) {
+            this(name, task.getPeriod(), task.isMainThread());
+        }
+
+        private TaskTiming(String name, int period, boolean mainThread) {
+            this.name = name;
+            this.period = period;
+            this.mainThread = mainThread;
+        }
+
+        /**
+         * @return average time per call in milliseconds
+         */
+        public double getAverageMillis() {
+            return calls == 0 ? 0 : totalNanos / 1e6 / calls;
+        }
+
+        /**
+         * @return average time calls started after their tick was due in milliseconds
+         */
+        public double getAverageJitterMillis() {
+            return calls == 0 ? 0 : totalLateNanos / 1e6 / calls;
+        }
+
+        private synchronized void record(long nanos, long late) {
+            calls++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            totalLateNanos += late;
+            maxLateNanos = Math.max(maxLateNanos, late);
+            if (nanos > TICK_NANOS) {
+                overruns++;
+            }
+        }
+
+        /**
+         * Counts a failure and decides whether to log it
+         *
+         * @param now current time in nanoseconds
+         * @return failures not logged since the last report, or -1 if this one shouldn't be logged either
+         */
+        private synchronized long fail(long now) {
+            failures++;
+            if (reported && now - reportedAt < REPORT_NANOS) {
+                unreported++;
+                return -1;
+            }
+            final long result = unreported;
+            unreported = 0;
+            reportedAt = now;
+            reported = true;
+            return result;
+        }
+
+        private synchronized void reset() {
+            calls = failures = overruns = totalNanos = maxNanos = totalLateNanos = maxLateNanos = 0;
+        }
+
+        private synchronized TaskTiming copy() {
+            final TaskTiming copy = new TaskTiming(name, period, mainThread);
+            copy.calls = calls;
+            copy.failures = failures;
+            copy.overruns = overruns;
+            copy.totalNanos = totalNanos;
+            copy.maxNanos = maxNanos;
+            copy.totalLateNanos = totalLateNanos;
+            copy.maxLateNanos = maxLateNanos;
+            return copy;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import studio.magemonkey.fabled.api.player.PlayerData;
 import studio.magemonkey.fabled.api.player.PlayerSkill;
 import studio.magemonkey.fabled.api.util.FlagData;
 import studio.magemonkey.fabled.api.util.FlagManager;
+import studio.magemonkey.fabled.api.util.SpatialIndex;
 import studio.magemonkey.fabled.dynamic.DynamicSkill;
 import studio.magemonkey.fabled.hook.PlaceholderAPIHook;
 import studio.magemonkey.fabled.hook.PluginChecker;
@@ -17,20 +18,168 @@ import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.attribute.Attribute;
-import org.bukkit.entity.LivingEntity;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * Resolves the internal %fabled_...% placeholders.
+ *
+ * <p>Each identifier is parsed once into a {@link Resolver} that already knows which
+ * value it reads, so repeat lookups skip the chain of string comparisons. Results are
+ * additionally memoized per player and identifier for the current server tick, since
+ * scoreboard and tab plugins tend to ask for the same values many times per tick.</p>
+ */
 public class PlaceholderUtil {
-    private static Pattern regex = Pattern.compile("%fabled_(.*?)%");
+    private static final Pattern regex        = Pattern.compile("%fabled_(.*?)%");
+    private static final Pattern ACCOUNT      = Pattern.compile("player_account_(\\d+)");
+    private static final int     MAX_COMPILED = 4096;
+    private static final Object  NONE         = new Object();
+
+    private static final Map<String, Function<FabledClass, String>>            GROUP_VALUES       =
+            new HashMap<>();
+    private static final Map<String, BiFunction<FabledClass, Integer, String>> GROUP_LEVEL_VALUES =
+            new LinkedHashMap<>();
+    private static final Map<String, PlayerValue>                              DEFAULT_VALUES     =
+            new HashMap<>();
+    private static final Map<String, ClassValue>                               CLASS_VALUES       =
+            new HashMap<>();
+    private static final Map<String, BiFunction<PlayerClass, String, Object>>  CLASS_ARG_VALUES   =
+            new LinkedHashMap<>();
+
+    private static final Map<String, Resolver>          compiled    = new ConcurrentHashMap<>();
+    private static final Map<String, ClassValue>        classValues = new ConcurrentHashMap<>();
+    private static final Map<UUID, Map<String, Object>> results     = new ConcurrentHashMap<>();
+
+    private static volatile long resultTick = -1;
+
+    static {
+        GROUP_VALUES.put("basehealth", data -> String.valueOf(data.getBaseHealth()));
+        GROUP_VALUES.put("sbasehealth", data -> String.valueOf((int) data.getBaseHealth()));
+        GROUP_VALUES.put("basemana", data -> String.valueOf(data.getBaseMana()));
+        GROUP_VALUES.put("sbasemana", data -> String.valueOf((int) data.getBaseMana()));
+        GROUP_VALUES.put("healthscale", data -> String.valueOf(data.getHealthScale()));
+        GROUP_VALUES.put("mananame", data -> String.valueOf(data.getManaName()));
+        GROUP_VALUES.put("smananame", data -> String.valueOf(ChatColor.stripColor(data.getManaName())));
+        GROUP_VALUES.put("manaregen", data -> String.valueOf(data.getManaRegen()));
+        GROUP_VALUES.put("manascale", data -> String.valueOf(data.getManaScale()));
+        GROUP_VALUES.put("maxlevel", data -> String.valueOf(data.getMaxLevel()));
+        GROUP_VALUES.put("parent", data -> data.getParent() != null
+                ? String.valueOf(data.getParent().getName())
+                : "0");
+        GROUP_VALUES.put("prefix", data -> String.valueOf(data.getPrefix()));
+        GROUP_VALUES.put("sprefix", data -> String.valueOf(ChatColor.stripColor(data.getPrefix())));
+
+        GROUP_LEVEL_VALUES.put("healthat:", (data, lvl) -> String.valueOf(data.getHealth(lvl)));
+        GROUP_LEVEL_VALUES.put("shealthat:", (data, lvl) -> String.valueOf((int) data.getHealth(lvl)));
+        GROUP_LEVEL_VALUES.put("manaat:", (data, lvl) -> String.valueOf(data.getMana(lvl)));
+        GROUP_LEVEL_VALUES.put("smanaat:", (data, lvl) -> String.valueOf((int) data.getMana(lvl)));
+        GROUP_LEVEL_VALUES.put("reqexpat:", (data, lvl) -> String.valueOf(data.getRequiredExp(lvl)));
+
+        DEFAULT_VALUES.put("default_currentlevel",
+                (player, data, viewer) -> String.valueOf(data.getMainClass().getLevel()));
+        DEFAULT_VALUES.put("default_currentmaxlevel",
+                (player, data, viewer) -> String.valueOf(data.getMainClass().getData().getMaxLevel()));
+        DEFAULT_VALUES.put("default_currentmaxmana",
+                (player, data, viewer) -> String.valueOf(data.getMainClass().getPlayerData().getMaxMana()));
+        DEFAULT_VALUES.put("default_scurrentmaxmana",
+                (player, data, viewer) -> String.valueOf((int) data.getMainClass().getPlayerData().getMaxMana()));
+        DEFAULT_VALUES.put("default_currentmana",
+                (player, data, viewer) -> String.valueOf(data.getMainClass().getPlayerData().getMana()));
+        DEFAULT_VALUES.put("default_scurrentmana",
+                (player, data, viewer) -> String.valueOf((int) data.getMainClass().getPlayerData().getMana()));
+        DEFAULT_VALUES.put("default_currentmaxhealth",
+                (player, data, viewer) -> String.valueOf(getMaxHealth(player)));
+        DEFAULT_VALUES.put("default_scurrentmaxhealth",
+                (player, data, viewer) -> String.valueOf((int) getMaxHealth(player)));
+        DEFAULT_VALUES.put("default_currenthealth",
+                (player, data, viewer) -> String.valueOf(player.getPlayer().getHealth()));
+        DEFAULT_VALUES.put("default_scurrenthealth",
+                (player, data, viewer) -> String.valueOf((int) player.getPlayer().getHealth()));
+        DEFAULT_VALUES.put("default_currentmananame",
+                (player, data, viewer) -> String.valueOf(data.getMainClass().getData().getManaName()));
+        DEFAULT_VALUES.put("default_scurrentmananame", (player, data, viewer) ->
+                String.valueOf(ChatColor.stripColor(data.getMainClass().getData().getManaName())));
+        DEFAULT_VALUES.put("default_currentmanaregen",
+                (player, data, viewer) -> String.valueOf(data.getMainClass().getData().getManaRegen()));
+        DEFAULT_VALUES.put("default_scurrentmanaregen",
+                (player, data, viewer) -> String.valueOf((int) data.getMainClass().getData().getManaRegen()));
+        DEFAULT_VALUES.put("default_currentgroupname",
+                (player, data, viewer) -> String.valueOf(data.getMainClass().getData().getGroup()));
+        DEFAULT_VALUES.put("default_currentclassname",
+                (player, data, viewer) -> String.valueOf(data.getMainClass().getData().getName()));
+        PlayerValue attributePoints =
+                (player, data, viewer) -> String.valueOf(data.getMainClass().getPlayerData().getAttributePoints());
+        DEFAULT_VALUES.put("default_currentavailableattributepoints", attributePoints);
+        DEFAULT_VALUES.put("default_attributepoints", attributePoints);
+        PlayerValue skillPoints = (player, data, viewer) -> String.valueOf(data.getMainClass().getPoints());
+        DEFAULT_VALUES.put("default_currentavailableskillpoints", skillPoints);
+        DEFAULT_VALUES.put("default_skillpoints", skillPoints);
+        DEFAULT_VALUES.put("default_currentlyavailablesuperawesomeultramegagigaamazingskillpoints", skillPoints);
+        DEFAULT_VALUES.put("default_currentprefix",
+                (player, data, viewer) -> String.valueOf(data.getMainClass().getData().getPrefix()));
+        DEFAULT_VALUES.put("default_scurrentprefix", (player, data, viewer) ->
+                String.valueOf(ChatColor.stripColor(data.getMainClass().getData().getPrefix())));
+        DEFAULT_VALUES.put("default_currentexp",
+                (player, data, viewer) -> String.valueOf(data.getMainClass().getExp()));
+        DEFAULT_VALUES.put("default_scurrentexp",
+                (player, data, viewer) -> String.valueOf((int) data.getMainClass().getExp()));
+        DEFAULT_VALUES.put("default_currentrequiredexp",
+                (player, data, viewer) -> String.valueOf(data.getMainClass().getRequiredExp()));
+        DEFAULT_VALUES.put("default_scurrentrequiredexp",
+                (player, data, viewer) -> String.valueOf(data.getMainClass().getRequiredExp()));
+
+        ClassValue classAttributePoints =
+                (player, playerClass) -> String.valueOf(playerClass.getPlayerData().getAttributePoints());
+        CLASS_VALUES.put("availableattributepoints", classAttributePoints);
+        CLASS_VALUES.put("attributepoints", classAttributePoints);
+        ClassValue classSkillPoints = (player, playerClass) -> String.valueOf(playerClass.getPoints());
+        CLASS_VALUES.put("availableskillpoints", classSkillPoints);
+        CLASS_VALUES.put("skillpoints", classSkillPoints);
+        CLASS_VALUES.put("availablesuperawesomeultramegagigaamazingskillpoints", classSkillPoints);
+        CLASS_VALUES.put("mainclass", (player, playerClass) ->
+                String.valueOf(playerClass.getPlayerData().getMainClass().getData().getName()));
+        CLASS_VALUES.put("class", (player, playerClass) -> String.valueOf(playerClass.getData().getName()));
+        CLASS_VALUES.put("currentexp", (player, playerClass) -> String.valueOf(playerClass.getExp()));
+        CLASS_VALUES.put("requiredexp", (player, playerClass) -> String.valueOf(playerClass.getRequiredExp()));
+        CLASS_VALUES.put("scurrentexp", (player, playerClass) -> String.valueOf((int) playerClass.getExp()));
+        CLASS_VALUES.put("srequiredexp",
+                (player, playerClass) -> String.valueOf((int) playerClass.getRequiredExp()));
+        CLASS_VALUES.put("level", (player, playerClass) -> String.valueOf(playerClass.getLevel()));
+        CLASS_VALUES.put("currentmana",
+                (player, playerClass) -> String.valueOf(playerClass.getPlayerData().getMana()));
+        CLASS_VALUES.put("maxmana",
+                (player, playerClass) -> String.valueOf(playerClass.getPlayerData().getMaxMana()));
+        CLASS_VALUES.put("scurrentmana",
+                (player, playerClass) -> String.valueOf((int) playerClass.getPlayerData().getMana()));
+        CLASS_VALUES.put("smaxmana",
+                (player, playerClass) -> String.valueOf((int) playerClass.getPlayerData().getMaxMana()));
+        CLASS_VALUES.put("scurrenthealth",
+                (player, playerClass) -> String.valueOf((int) player.getPlayer().getHealth()));
+        CLASS_VALUES.put("smaxhealth", (player, playerClass) -> String.valueOf((int) getMaxHealth(player)));
+
+        CLASS_ARG_VALUES.put("attribute:",
+                (playerClass, key) -> playerClass.getPlayerData().getAttribute(key));
+        CLASS_ARG_VALUES.put("investedattributepoints:",
+                (playerClass, key) -> playerClass.getPlayerData().getInvestedAttribute(key));
+        CLASS_ARG_VALUES.put("skillevel:",
+                (playerClass, key) -> playerClass.getPlayerData().getSkillLevel(key));
+    }
 
     @NotNull
     public static String colorizeAndReplace(@NotNull String str, OfflinePlayer player) {
@@ -57,412 +206,369 @@ public class PlaceholderUtil {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Gets the value of a placeholder, reusing the result from earlier in the same tick
+     *
+     * @param player     player to get the value for
+     * @param identifier placeholder without the "fabled_" prefix
+     * @return placeholder value or null if the identifier is not a known placeholder
+     */
     public static String replace(OfflinePlayer player, String identifier) {
-        PlayerData playerData = Fabled.getPlayerData(player);
-
-        if (identifier.startsWith("group_")) {
-            if (!Fabled.getClasses().isEmpty()) {
-                Set<String> groups = Fabled.getClasses()
-                        .values()
-                        .stream()
-                        .map(clazz -> clazz.getGroup().toLowerCase())
-                        .collect(Collectors.toSet());
-                for (String groupName : groups) {
-                    PlayerClass playerClass = playerData.getClass(groupName);
-                    if (playerClass == null || playerClass.getData() == null) continue;
+        return replace(player, identifier, UnaryOperator.identity());
+    }
+
+    /**
+     * Gets the value of a placeholder, reusing the result from earlier in the same tick.
+     * The expander is only applied when the value is not cached, and identifiers
+     * containing a bracket placeholder are never cached since whatever they expand
+     * to can change independently of Fabled.
+     *
+     * @param player     player to get the value for
+     * @param identifier placeholder without the "fabled_" prefix
+     * @param expander   expansion applied to the identifier before resolving it
+     * @return placeholder value or null if the identifier is not a known placeholder
+     */
+    public static String replace(OfflinePlayer player, String identifier, UnaryOperator<String> expander) {
+        Map<String, Object> memo = identifier.indexOf('{') < 0 ? getResults(player) : null;
+        if (memo != null) {
+            Object cached = memo.get(identifier);
+            if (cached != null) return cached == NONE ? null : (String) cached;
+        }
+
+        String value = resolve(player, expander.apply(identifier));
+        if (memo != null) memo.put(identifier, value == null ? NONE : value);
+        return value;
+    }
+
+    /**
+     * Gets the value of a placeholder without consulting the per-tick results
+     *
+     * @param player     player to get the value for
+     * @param identifier placeholder without the "fabled_" prefix
+     * @return placeholder value or null if the identifier is not a known placeholder
+     */
+    public static String resolve(OfflinePlayer player, String identifier) {
+        Resolver resolver = compiled.get(identifier);
+        if (resolver == null) {
+            // Identifiers naming other players are unbounded, so start over rather than grow forever
+            if (compiled.size() >= MAX_COMPILED) {
+                compiled.clear();
+                classValues.clear();
+            }
+            resolver = compiled.computeIfAbsent(identifier, PlaceholderUtil::compile);
+        }
+        return resolver.resolve(player);
+    }
 
-                    if (identifier.equals("group_" + groupName + "_basehealth")) {
-                        return String.valueOf(playerClass.getData().getBaseHealth());
-                    }
-                    if (identifier.equals("group_" + groupName + "_sbasehealth")) {
-                        return String.valueOf((int) playerClass.getData().getBaseHealth());
-                    }
-                    if (identifier.equals("group_" + groupName + "_basemana")) {
-                        return String.valueOf(playerClass.getData().getBaseMana());
-                    }
-                    if (identifier.equals("group_" + groupName + "_sbasemana")) {
-                        return String.valueOf((int) playerClass.getData().getBaseMana());
-                    }
-                    if (identifier.startsWith("group_" + groupName + "_healthat:")) {
-                        String[] idSplit = identifier.split(":");
-                        try {
-                            int lvl = Integer.parseInt(idSplit[1]);
-                            return String.valueOf(playerClass.getData().getHealth(lvl));
-                        } catch (NumberFormatException e) {
-                            return "0";
-                        }
-                    }
-                    if (identifier.startsWith("group_" + groupName + "_shealthat:")) {
-                        String[] idSplit = identifier.split(":");
-                        try {
-                            int lvl = Integer.parseInt(idSplit[1]);
-                            return String.valueOf((int) playerClass.getData().getHealth(lvl));
-                        } catch (NumberFormatException e) {
-                            return "0";
-                        }
-                    }
-                    if (identifier.equals("group_" + groupName + "_healthscale")) {
-                        return String.valueOf(playerClass.getData().getHealthScale());
-                    }
-                    if (identifier.startsWith("group_" + groupName + "_manaat:")) {
-                        String[] idSplit = identifier.split(":");
-                        try {
-                            int lvl = Integer.parseInt(idSplit[1]);
-                            return String.valueOf(playerClass.getData().getMana(lvl));
-                        } catch (NumberFormatException e) {
-                            return "0";
-                        }
-                    }
-                    if (identifier.startsWith("group_" + groupName + "_smanaat:")) {
-                        String[] idSplit = identifier.split(":");
-                        try {
-                            int lvl = Integer.parseInt(idSplit[1]);
-                            return String.valueOf((int) playerClass.getData().getMana(lvl));
-                        } catch (NumberFormatException e) {
-                            return "0";
-                        }
-                    }
-                    if (identifier.equals("group_" + groupName + "_mananame")) {
-                        return String.valueOf(playerClass.getData().getManaName());
-                    }
-                    if (identifier.equals("group_" + groupName + "_smananame")) {
-                        return String.valueOf(ChatColor.stripColor(playerClass.getData().getManaName()));
-                    }
-                    if (identifier.equals("group_" + groupName + "_manaregen")) {
-                        return String.valueOf(playerClass.getData().getManaRegen());
-                    }
-                    if (identifier.equals("group_" + groupName + "_manascale")) {
-                        return String.valueOf(playerClass.getData().getManaScale());
-                    }
-                    if (identifier.equals("group_" + groupName + "_maxlevel")) {
-                        return String.valueOf(playerClass.getData().getMaxLevel());
-                    }
-                    if (identifier.equals("group_" + groupName + "_parent")) {
-                        if (playerClass.getData().getParent() != null) {
-                            return String.valueOf(playerClass.getData().getParent().getName());
-                        } else {
-                            return "0";
-                        }
-                    }
-                    if (identifier.equals("group_" + groupName + "_prefix")) {
-                        return String.valueOf(playerClass.getData().getPrefix());
-                    }
-                    if (identifier.equals("group_" + groupName + "_sprefix")) {
-                        return String.valueOf(ChatColor.stripColor(playerClass.getData().getPrefix()));
-                    }
-                    if (identifier.startsWith("group_" + groupName + "_reqexpat:")) {
-                        String[] idSplit = identifier.split(":");
-                        try {
-                            int lvl = Integer.parseInt(idSplit[1]);
-                            return String.valueOf(playerClass.getData().getRequiredExp(lvl));
-                        } catch (NumberFormatException e) {
-                            return "0";
-                        }
-                    }
-
-                    if (identifier.startsWith("group_" + groupName + "_children")) {
-                        if (Fabled.getClass(groupName) == null) {
-                            return "0";
-                        }
-
-                        ArrayList<String> childList = new ArrayList<String>();
-
-                        for (FabledClass classes : Fabled.getClasses().values()) {
-                            String classname = classes.getName().toLowerCase();
-
-                            if (classes.hasParent()) {
-                                if (classes.getParent().getName().equalsIgnoreCase(groupName)) {
-                                    childList.add(classname);
-                                }
-                            }
-                        }
-                        return childList.toString();
-                    }
-
-                    if (identifier.startsWith("group_" + groupName + "_schildren")) {
-                        if (Fabled.getClass(groupName) == null) {
-                            return "0";
-                        }
-
-                        ArrayList<String> childList = new ArrayList<String>();
-
-                        for (FabledClass classes : Fabled.getClasses().values()) {
-                            String classname = classes.getName().toLowerCase();
-
-                            if (classes.hasParent()) {
-                                if (classes.getParent().getName().equalsIgnoreCase(groupName)) {
-                                    childList.add(classname);
-                                }
-                            }
-                        }
-                        String finalList = childList.toString().replaceAll("(^\\[|\\]$)", "");
-                        if (finalList.equals("") || finalList == null) {
-                            return "0";
-                        } else {
-                            return finalList;
-                        }
-
-                    }
+    /**
+     * Drops this tick's cached placeholder values for a player, for when
+     * something changed that should show up before the next tick
+     *
+     * @param player player to drop the values for
+     */
+    public static void invalidate(OfflinePlayer player) {
+        if (player != null) results.remove(player.getUniqueId());
+    }
 
+    /**
+     * Drops this tick's cached placeholder values for every player
+     */
+    public static void invalidateAll() {
+        results.clear();
+    }
+
+    /**
+     * Drops all cached values and compiled placeholders, which bake in
+     * the class groups loaded at the time they were compiled
+     */
+    public static void cleanUp() {
+        results.clear();
+        compiled.clear();
+        classValues.clear();
+        resultTick = -1;
+    }
+
+    private static Map<String, Object> getResults(OfflinePlayer player) {
+        long tick = SpatialIndex.getTick();
+        if (tick < 0 || player == null) return null;
+
+        if (tick != resultTick) {
+            synchronized (results) {
+                if (tick != resultTick) {
+                    results.clear();
+                    resultTick = tick;
                 }
             }
         }
+        return results.computeIfAbsent(player.getUniqueId(), id -> new ConcurrentHashMap<>());
+    }
 
-        String[] args = identifier.split("_");
-        if ((args.length == 3 && args[0].equals("default")) || (args.length == 4 && args[0].equals("player")
-                && !args[1].equals("account"))) {
-            // Another player
-            String playerName = args[args.length - 1];
-            UUID   uuid       = null;
-            try {
-                uuid = UUID.fromString(playerName);
-            } catch (IllegalArgumentException ignored) {
+    private static Resolver compile(String identifier) {
+        Resolver         tail  = compileTail(identifier);
+        List<GroupValue> group = compileGroup(identifier);
+        if (group.isEmpty()) return tail;
+
+        GroupValue[] values = group.toArray(new GroupValue[0]);
+        return player -> {
+            PlayerData playerData = Fabled.getPlayerData(player);
+            if (playerData != null) {
+                for (GroupValue value : values) {
+                    PlayerClass playerClass = playerData.getClass(value.group);
+                    if (playerClass == null || playerClass.getData() == null) continue;
+                    return value.value.apply(playerClass.getData());
+                }
             }
-            player = uuid == null ? Bukkit.getOfflinePlayer(playerName) : Bukkit.getOfflinePlayer(uuid);
-            identifier = identifier.substring(0, identifier.length() - playerName.length() - 1);
-        }
+            return tail.resolve(player);
+        };
+    }
 
-        if (player == null) {
-            return "0";
+    private static List<GroupValue> compileGroup(String identifier) {
+        List<GroupValue> values = new ArrayList<>();
+        if (!identifier.startsWith("group_") || Fabled.getClasses().isEmpty()) return values;
+
+        Set<String> groups = Fabled.getClasses()
+                .values()
+                .stream()
+                .map(clazz -> clazz.getGroup().toLowerCase())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        for (String groupName : groups) {
+            String prefix = "group_" + groupName + "_";
+            if (!identifier.startsWith(prefix)) continue;
+
+            Function<FabledClass, String> value = compileGroupValue(groupName, identifier.substring(prefix.length()));
+            if (value != null) values.add(new GroupValue(groupName, value));
         }
+        return values;
+    }
 
-        if (!Fabled.hasPlayerData(player)) {
-            return "0";
+    private static Function<FabledClass, String> compileGroupValue(String groupName, String key) {
+        Function<FabledClass, String> value = GROUP_VALUES.get(key);
+        if (value != null) return value;
+
+        for (Map.Entry<String, BiFunction<FabledClass, Integer, String>> entry : GROUP_LEVEL_VALUES.entrySet()) {
+            if (!key.startsWith(entry.getKey())) continue;
+
+            Integer lvl = parseLevel(key);
+            if (lvl == null) return data -> "0";
+            BiFunction<FabledClass, Integer, String> levelValue = entry.getValue();
+            return data -> levelValue.apply(data, lvl);
         }
 
-        PlayerData data = Fabled.getPlayerData(player);
+        if (key.startsWith("children") || key.startsWith("schildren")) {
+            String children = getChildren(groupName, key.startsWith("s"));
+            return data -> children;
+        }
+        return null;
+    }
 
-        if (data == null) {
-            return "0";
+    private static Integer parseLevel(String key) {
+        String[] idSplit = key.split(":");
+        if (idSplit.length < 2) return null;
+        try {
+            return Integer.parseInt(idSplit[1]);
+        } catch (NumberFormatException e) {
+            return null;
         }
+    }
 
-        if (!data.hasClass()) {
+    private static String getChildren(String groupName, boolean stripped) {
+        if (Fabled.getClass(groupName) == null) {
             return "0";
         }
 
-        if (identifier.startsWith("default_")) {
-            if (identifier.equals("default_currentlevel")) {
-                return String.valueOf(data.getMainClass().getLevel());
-            }
-            if (identifier.equals("default_currentmaxlevel")) {
-                return String.valueOf(data.getMainClass().getData().getMaxLevel());
-            }
-            if (identifier.equals("default_currentmaxmana")) {
-                return String.valueOf(data.getMainClass().getPlayerData().getMaxMana());
-            }
-            if (identifier.equals("default_scurrentmaxmana")) {
-                return String.valueOf((int) data.getMainClass().getPlayerData().getMaxMana());
-            }
-            if (identifier.equals("default_currentmana")) {
-                return String.valueOf(data.getMainClass().getPlayerData().getMana());
-            }
-            if (identifier.equals("default_scurrentmana")) {
-                return String.valueOf((int) data.getMainClass().getPlayerData().getMana());
-            }
-            if (identifier.equals("default_currentmaxhealth")) {
-                double maxHP = player.getPlayer().getAttribute(Attribute.GENERIC_MAX_HEALTH).getBaseValue();
-                return String.valueOf(maxHP);
-            }
-            if (identifier.equals("default_scurrentmaxhealth")) {
-                double maxHP = player.getPlayer().getAttribute(Attribute.GENERIC_MAX_HEALTH).getBaseValue();
-                return String.valueOf((int) maxHP);
-            }
-            if (identifier.equals("default_currenthealth")) {
-                double currentHP = player.getPlayer().getHealth();
-                return String.valueOf(currentHP);
-            }
-            if (identifier.equals("default_scurrenthealth")) {
-                double currentHP = player.getPlayer().getHealth();
-                return String.valueOf((int) currentHP);
-            }
-            if (identifier.equals("default_currentmananame")) {
-                return String.valueOf(data.getMainClass().getData().getManaName());
-            }
-            if (identifier.equals("default_scurrentmananame")) {
-                return String.valueOf(ChatColor.stripColor(data.getMainClass().getData().getManaName()));
-            }
-            if (identifier.equals("default_currentmanaregen")) {
-                return String.valueOf(data.getMainClass().getData().getManaRegen());
-            }
-            if (identifier.equals("default_scurrentmanaregen")) {
-                return String.valueOf((int) data.getMainClass().getData().getManaRegen());
-            }
-            if (identifier.equals("default_currentgroupname")) {
-                return String.valueOf(data.getMainClass().getData().getGroup());
+        ArrayList<String> childList = new ArrayList<>();
+        for (FabledClass classes : Fabled.getClasses().values()) {
+            if (classes.hasParent() && classes.getParent().getName().equalsIgnoreCase(groupName)) {
+                childList.add(classes.getName().toLowerCase());
             }
-            if (identifier.equals("default_currentclassname")) {
-                return String.valueOf(data.getMainClass().getData().getName());
-            }
-            if (identifier.equals("default_currentavailableattributepoints")
-                    || identifier.equals("default_attributepoints")) {
-                return String.valueOf(data.getMainClass().getPlayerData().getAttributePoints());
-            }
-            if (identifier.equals("default_currentavailableskillpoints")
-                    || identifier.equals("default_skillpoints")
-                    || identifier.equals("default_currentlyavailablesuperawesomeultramegagigaamazingskillpoints")) {
-                return String.valueOf(data.getMainClass().getPoints());
-            }
-            if (identifier.equals("default_currentprefix")) {
-                return String.valueOf(data.getMainClass().getData().getPrefix());
-            }
-            if (identifier.equals("default_scurrentprefix")) {
-                return String.valueOf(ChatColor.stripColor(data.getMainClass().getData().getPrefix()));
-            }
-            if (identifier.equals("default_currentexp")) {
-                return String.valueOf(data.getMainClass().getExp());
+        }
+
+        if (!stripped) return childList.toString();
+        String finalList = childList.toString().replaceAll("(^\\[|\\]$)", "");
+        return finalList.isEmpty() ? "0" : finalList;
+    }
+
+    private static Resolver compileTail(String identifier) {
+        String[] args = identifier.split("_");
+        String   target;
+        if ((args.length == 3 && args[0].equals("default")) || (args.length == 4 && args[0].equals("player")
+                && !args[1].equals("account"))) {
+            // Another player
+            target = args[args.length - 1];
+            identifier = identifier.substring(0, identifier.length() - target.length() - 1);
+        } else {
+            target = null;
+        }
+
+        UUID uuid = null;
+        if (target != null) {
+            try {
+                uuid = UUID.fromString(target);
+            } catch (IllegalArgumentException ignored) {
             }
-            if (identifier.equals("default_scurrentexp")) {
-                return String.valueOf((int) data.getMainClass().getExp());
+        }
+
+        UUID        targetId = uuid;
+        PlayerValue value    = compileValue(identifier);
+        return player -> {
+            PlayerData viewer = Fabled.getPlayerData(player);
+            if (target != null) {
+                player = targetId == null ? Bukkit.getOfflinePlayer(target) : Bukkit.getOfflinePlayer(targetId);
             }
-            if (identifier.equals("default_currentrequiredexp")) {
-                return String.valueOf(data.getMainClass().getRequiredExp());
+
+            if (player == null || !Fabled.hasPlayerData(player)) {
+                return "0";
             }
-            if (identifier.equals("default_scurrentrequiredexp")) {
-                return String.valueOf(data.getMainClass().getRequiredExp());
+
+            PlayerData data = Fabled.getPlayerData(player);
+            if (data == null || !data.hasClass()) {
+                return "0";
             }
+            return value.resolve(player, data, viewer);
+        };
+    }
+
+    private static PlayerValue compileValue(String identifier) {
+        if (identifier.startsWith("default_")) {
+            PlayerValue value = DEFAULT_VALUES.get(identifier);
+            if (value != null) return value;
+
             if (identifier.startsWith("default_value_")) {
-                return data.getPersistentData(identifier.substring(14)).toString();
+                String key = identifier.substring(14);
+                return (player, data, viewer) -> data.getPersistentData(key).toString();
             }
         }
 
-        if (identifier.startsWith("player_")) {
-            if (identifier.startsWith("player_account_")) {
-                PlayerAccounts accounts = Fabled.getPlayerAccountData(player);
-                Pattern        pattern  = Pattern.compile("player_account_(\\d+)");
-                Matcher        matcher  = pattern.matcher(identifier);
-                if (matcher.find()) {
-                    int accNum = Integer.parseInt(matcher.group(1));
-                    data = accounts.getData(accNum);
-
-                    if (data == null) return ChatColor.GRAY + "Not Professed";
-
-                    identifier = identifier.replace("player_account_" + accNum + "_", "");
-                    return getPlaceholder(player, identifier, data.getMainClass());
-                }
-            } else if (!data.getClasses().isEmpty()) {
+        if (identifier.startsWith("player_account_")) {
+            Matcher matcher = ACCOUNT.matcher(identifier);
+            if (matcher.find()) {
+                int        accNum = Integer.parseInt(matcher.group(1));
+                ClassValue value  = getClassValue(identifier.replace("player_account_" + accNum + "_", ""));
+                return (player, data, viewer) -> {
+                    PlayerAccounts accounts    = Fabled.getPlayerAccountData(player);
+                    PlayerData     accountData = accounts.getData(accNum);
+                    if (accountData == null) return ChatColor.GRAY + "Not Professed";
+                    return value.resolve(player, accountData.getMainClass());
+                };
+            }
+        } else if (identifier.startsWith("player_")) {
+            String                  key    = identifier;
+            Map<String, ClassValue> values = new ConcurrentHashMap<>();
+            return (player, data, viewer) -> {
                 for (PlayerClass group : data.getClasses()) {
-                    String      groupName   = group.getData().getGroup();
-                    PlayerClass playerClass = playerData.getClass(groupName);
-                    if (!identifier.startsWith("player_" + groupName)) continue;
+                    String groupName = group.getData().getGroup();
+                    if (!key.startsWith(groupName, 7)) continue;
 
-                    identifier = identifier.replace("player_" + groupName + "_", "");
-                    return getPlaceholder(player, identifier, playerClass);
+                    ClassValue value = values.computeIfAbsent(groupName,
+                            name -> getClassValue(key.replace("player_" + name + "_", "")));
+                    return value.resolve(player, viewer == null ? null : viewer.getClass(groupName));
                 }
-            }
+                return null;
+            };
         }
 
         if (identifier.startsWith("dynamic_")) {
-            if (!player.isOnline()) return "0";
-            LivingEntity caster = player.getPlayer();
-            String[]     ident  = identifier.split("_", 3);
-            switch (ident[1]) {
-                case "value" -> {
-                    CastData castData = DynamicSkill.getCastData(caster);
-                    if (ident.length < 3) return "0";
+            PlayerValue value = compileDynamic(identifier.split("_", 3));
+            return (player, data, viewer) -> player.isOnline() ? value.resolve(player, data, viewer) : "0";
+        }
+
+        return (player, data, viewer) -> null;
+    }
+
+    private static PlayerValue compileDynamic(String[] ident) {
+        String key = ident.length < 3 ? null : ident[2];
+        switch (ident[1]) {
+            case "value" -> {
+                if (key == null) return (player, data, viewer) -> "0";
+                return (player, data, viewer) -> {
+                    // Only mechanics assign slots, so asking for unknown values doesn't grow the slot table
+                    int slot = CastData.find(key);
+                    if (slot < 0) return "0";
+                    CastData castData = DynamicSkill.getCastData(player.getPlayer());
                     if (castData == null) return "0";
-                    return castData.getOrDefault(ident[2], "0");
-                }
-                case "flags" -> {
-                    FlagData flagData = FlagManager.getFlagData(caster);
+                    String result = castData.get(slot);
+                    return result == null ? "0" : result;
+                };
+            }
+            case "flags" -> {
+                return (player, data, viewer) -> {
+                    FlagData flagData = FlagManager.getFlagData(player.getPlayer());
                     if (flagData == null) return "0";
                     Stream<String> stream = flagData.flagList().stream();
-                    if (ident.length > 2) stream = stream
-                            .filter(f -> f.startsWith(ident[2]))
-                            .map(f -> f.replaceFirst(ident[2], ""));
+                    if (key != null) stream = stream
+                            .filter(f -> f.startsWith(key))
+                            .map(f -> f.replaceFirst(key, ""));
                     return stream.collect(Collectors.joining(" "));
-                }
-                case "flagremain" -> {
-                    if (ident.length < 3) return "0";
-                    return String.valueOf(FlagManager.getTimeLeft(caster, ident[2]));
-                }
-                case "cooldown" -> {
-                    if (ident.length < 3) return "0";
-                    PlayerSkill skill = data.getSkill(ident[2]);
+                };
+            }
+            case "flagremain" -> {
+                if (key == null) return (player, data, viewer) -> "0";
+                return (player, data, viewer) -> String.valueOf(FlagManager.getTimeLeft(player.getPlayer(), key));
+            }
+            case "cooldown" -> {
+                if (key == null) return (player, data, viewer) -> "0";
+                return (player, data, viewer) -> {
+                    PlayerSkill skill = data.getSkill(key);
                     if (skill == null) return "0";
                     return String.valueOf(skill.getCooldownLeft());
-                }
+                };
             }
         }
+        return (player, data, viewer) -> null;
+    }
 
-        return null;
+    private static ClassValue getClassValue(String identifier) {
+        return classValues.computeIfAbsent(identifier, PlaceholderUtil::compileClassValue);
     }
 
-    private static String getPlaceholder(OfflinePlayer player, String identifier, PlayerClass playerClass) {
-        if (identifier.startsWith("attribute:")) {
-            String[] idSplit = identifier.split(":");
-            try {
-                return String.valueOf(playerClass.getPlayerData().getAttribute(idSplit[1]));
-            } catch (Exception e) {
-                return "0";
-            }
-        }
-        if (identifier.equals("availableattributepoints")
-                || identifier.equals("attributepoints")) {
-            return String.valueOf(playerClass.getPlayerData().getAttributePoints());
-        }
-        if (identifier.equals("availableskillpoints")
-                || identifier.equals("skillpoints")
-                || identifier.equals("availablesuperawesomeultramegagigaamazingskillpoints")) {
-            return String.valueOf(playerClass.getPoints());
-        }
-        if (identifier.startsWith("investedattributepoints:")) {
+    private static ClassValue compileClassValue(String identifier) {
+        ClassValue value = CLASS_VALUES.get(identifier);
+        if (value != null) return value;
+
+        for (Map.Entry<String, BiFunction<PlayerClass, String, Object>> entry : CLASS_ARG_VALUES.entrySet()) {
+            if (!identifier.startsWith(entry.getKey())) continue;
+
             String[] idSplit = identifier.split(":");
-            try {
-                return String.valueOf(playerClass.getPlayerData().getInvestedAttribute(idSplit[1]));
-            } catch (Exception e) {
-                return "0";
-            }
-        }
-        if (identifier.equals("mainclass")) {
-            return String.valueOf(playerClass.getPlayerData().getMainClass().getData().getName());
-        }
-        if (identifier.equals("class")) {
-            return String.valueOf(playerClass.getData().getName());
+            if (idSplit.length < 2) return (player, playerClass) -> "0";
+            String                                  key      = idSplit[1];
+            BiFunction<PlayerClass, String, Object> argValue = entry.getValue();
+            return (player, playerClass) -> {
+                try {
+                    return String.valueOf(argValue.apply(playerClass, key));
+                } catch (Exception e) {
+                    return "0";
+                }
+            };
         }
+        return (player, playerClass) -> null;
+    }
 
-        if (identifier.equals("currentexp")) {
-            return String.valueOf(playerClass.getExp());
-        }
-        if (identifier.equals("requiredexp")) {
-            return String.valueOf(playerClass.getRequiredExp());
-        }
-        if (identifier.equals("scurrentexp")) {
-            return String.valueOf((int) playerClass.getExp());
-        }
-        if (identifier.equals("srequiredexp")) {
-            return String.valueOf((int) playerClass.getRequiredExp());
-        }
-        if (identifier.equals("level")) {
-            return String.valueOf(playerClass.getLevel());
-        }
-        if (identifier.equals("currentmana")) {
-            return String.valueOf(playerClass.getPlayerData().getMana());
-        }
-        if (identifier.equals("maxmana")) {
-            return String.valueOf(playerClass.getPlayerData().getMaxMana());
-        }
-        if (identifier.equals("scurrentmana")) {
-            return String.valueOf((int) playerClass.getPlayerData().getMana());
-        }
-        if (identifier.equals("smaxmana")) {
-            return String.valueOf((int) playerClass.getPlayerData().getMaxMana());
-        }
-        if (identifier.equals("scurrenthealth")) {
-            double currentHP = player.getPlayer().getHealth();
-            return String.valueOf((int) currentHP);
-        }
-        if (identifier.equals("smaxhealth")) {
-            double maxHP = player.getPlayer().getAttribute(Attribute.GENERIC_MAX_HEALTH).getBaseValue();
-            return String.valueOf((int) maxHP);
-        }
-        if (identifier.startsWith("skillevel:")) {
-            String[] idSplit = identifier.split(":");
-            try {
-                return String.valueOf(playerClass.getPlayerData().getSkillLevel(idSplit[1]));
-            } catch (Exception e) {
-                return "0";
-            }
+    private static double getMaxHealth(OfflinePlayer player) {
+        return player.getPlayer().getAttribute(Attribute.GENERIC_MAX_HEALTH).getBaseValue();
+    }
+
+    /**
+     * A placeholder identifier parsed into the value it reads
+     */
+    private interface Resolver {
+        String resolve(OfflinePlayer player);
+    }
+
+    private interface PlayerValue {
+        String resolve(OfflinePlayer player, PlayerData data, PlayerData viewer);
+    }
+
+    private interface ClassValue {
+        String resolve(OfflinePlayer player, PlayerClass playerClass);
+    }
+
+    private static class GroupValue {
+        private final String                        group;
+        private final Function<FabledClass, String> value;
+
+        private GroupValue(String group, Function<FabledClass, String> value) {
+            this.group = group;
+            this.value = value;
         }
-        return null;
     }
 }
@@ -0,0 +1,99 @@
+package studio.magemonkey.fabled;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import org.bukkit.OfflinePlayer;
+import org.junit.jupiter.api.Test;
+import studio.magemonkey.fabled.api.player.PlayerAccounts;
+import studio.magemonkey.fabled.testutil.MockedTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PlayerLookupTest extends MockedTest {
+    private static final int PLAYERS = 100;
+
+    @Test
+    void concurrentLoadsShareAccounts() throws Exception {
+        OfflinePlayer  player = server.getOfflinePlayer("Offline");
+        CountDownLatch start  = new CountDownLatch(1);
+
+        List<CompletableFuture<PlayerAccounts>> loads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            loads.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                return Fabled.getPlayerAccountData(player);
+            }));
+        }
+        start.countDown();
+
+        PlayerAccounts first = loads.get(0).get(5, TimeUnit.SECONDS);
+        for (CompletableFuture<PlayerAccounts> load : loads) {
+            assertSame(first, load.get(5, TimeUnit.SECONDS));
+        }
+        assertSame(first, Fabled.getPlayerAccounts().get(player.getUniqueId()));
+    }
+
+    @Test
+    void accountsViewIsReadOnly() {
+        PlayerMock player = genPlayer("Travja");
+        assertNotNull(Fabled.getPlayerData(player));
+        assertTrue(Fabled.getPlayerAccounts().containsKey(player.getUniqueId()));
+        assertThrows(UnsupportedOperationException.class,
+                () -> Fabled.getPlayerAccounts().remove(player.getUniqueId()));
+
+        Fabled.unloadPlayerData(player, true);
+        assertFalse(Fabled.hasPlayerData(player));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void deprecatedAccountDataIsLive() {
+        PlayerMock                  player   = genPlayer("Eniripsa");
+        Map<String, PlayerAccounts> byString = Fabled.getPlayerAccountData();
+        String                      id       = player.getUniqueId().toString().toLowerCase();
+
+        PlayerAccounts accounts = Fabled.getPlayerAccountData(player);
+        assertTrue(byString.containsKey(id));
+        assertSame(accounts, byString.get(id));
+        assertEquals(Fabled.getPlayerAccounts().size(), byString.size());
+
+        byString.remove(id);
+        assertFalse(Fabled.hasPlayerData(player));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void lookupsFindEveryPlayer() {
+        List<PlayerMock> online = new ArrayList<>(PLAYERS);
+        for (int i = 0; i < PLAYERS; i++) {
+            PlayerMock player = genPlayer("Player" + i);
+            Fabled.getPlayerData(player);
+            online.add(player);
+        }
+
+        // The previous registry: lowercase string keys, checked and then fetched
+        Map<String, PlayerAccounts> byString = Fabled.getPlayerAccountData();
+        assertEquals(Fabled.getPlayerAccounts().size(), byString.size());
+
+        for (PlayerMock player : online) {
+            String id = player.getUniqueId().toString().toLowerCase();
+            assertTrue(byString.containsKey(id));
+            assertSame(Fabled.getPlayerData(player), byString.get(id).getActiveData());
+        }
+    }
+}
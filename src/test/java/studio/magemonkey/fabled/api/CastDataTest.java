@@ -0,0 +1,87 @@
+package studio.magemonkey.fabled.api;
+
+import org.bukkit.Location;
+import org.bukkit.entity.LivingEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class CastDataTest {
+    private LivingEntity caster;
+    private CastData     data;
+
+    @BeforeEach
+    public void setUp() {
+        caster = mock(LivingEntity.class);
+        data = new CastData(caster);
+    }
+
+    @Test
+    void slot_isStablePerName() {
+        int slot = CastData.slot("cast-data-test-a");
+
+        assertEquals(slot, CastData.slot("cast-data-test-a"));
+        assertEquals(slot, CastData.find("cast-data-test-a"));
+        assertNotEquals(slot, CastData.slot("cast-data-test-b"));
+        assertEquals("cast-data-test-a", CastData.getName(slot));
+        assertEquals(-1, CastData.find("cast-data-test-never-used"));
+    }
+
+    @Test
+    void numbers_areSharedBetweenNameAndSlot() {
+        int slot = CastData.slot("cast-data-test-count");
+        data.putDouble(slot, 2.5);
+
+        assertTrue(data.isNumber(slot));
+        assertTrue(data.contains("cast-data-test-count"));
+        assertEquals(2.5, data.getDouble("cast-data-test-count"));
+        assertEquals("2.5", data.get("cast-data-test-count"));
+        assertEquals(2.5, data.getRaw(slot));
+
+        data.put("cast-data-test-count", 4.0);
+        assertEquals(4.0, data.getDouble(slot));
+    }
+
+    @Test
+    void objects_keepTheirType() {
+        Location loc = mock(Location.class);
+        data.put("cast-data-test-loc", loc);
+        data.put("cast-data-test-int", 5);
+
+        assertSame(loc, data.getRaw("cast-data-test-loc"));
+        assertFalse(data.isNumber(CastData.find("cast-data-test-int")));
+        assertEquals("5", data.get("cast-data-test-int"));
+        assertEquals(5, data.getDouble("cast-data-test-int"));
+        assertSame(caster, data.getRaw("caster"));
+    }
+
+    @Test
+    void remove_clearsEitherStore() {
+        int number = CastData.slot("cast-data-test-removed-number");
+        data.putDouble(number, 1);
+        data.put("cast-data-test-removed-object", "text");
+
+        data.remove(number);
+        data.remove("cast-data-test-removed-object");
+        data.put("cast-data-test-null", null);
+
+        assertFalse(data.contains(number));
+        assertFalse(data.contains("cast-data-test-removed-object"));
+        assertFalse(data.contains("cast-data-test-null"));
+        assertNull(data.get(number));
+        assertFalse(data.contains(-1));
+    }
+
+    @Test
+    void slots_addedAfterCreationAreUsable() {
+        CastData other = new CastData(caster);
+        for (int i = 0; i < 100; i++) {
+            other.putDouble(CastData.slot("cast-data-test-grow-" + i), i);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, other.getDouble("cast-data-test-grow-" + i));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package studio.magemonkey.fabled.api.particle;
+
+import org.bukkit.Particle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FrameCacheTest {
+    private static final ParticleSink.Style FLAME = new ParticleSink.Style(Particle.FLAME, 1, 0, 0, 0, 0, null);
+
+    private final AtomicInteger builds = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() {
+        FrameCache.clear();
+        FrameCache.setCapacity(4096L * 1024);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        FrameCache.clear();
+    }
+
+    @Test
+    void get_buildsOncePerKey() {
+        FrameCache.Frame first  = FrameCache.get("ring", 1, 0, () -> frame(10));
+        FrameCache.Frame second = FrameCache.get("ring", 1, 0, () -> frame(10));
+        FrameCache.get("ring", 2, 0, () -> frame(10));
+
+        assertSame(first, second);
+        assertEquals(2, builds.get());
+
+        FrameCache.EffectStats stats = FrameCache.getStats("ring");
+        assertEquals(1, stats.getHits());
+        assertEquals(2, stats.getMisses());
+        assertEquals(2, stats.getFrames());
+        assertEquals(FrameCache.getBytes(), stats.getBytes());
+    }
+
+    @Test
+    void get_evictsLeastRecentlyPlayedPastCapacity() {
+        int bytes = frame(100).getBytes();
+        FrameCache.setCapacity(bytes * 2L);
+
+        FrameCache.get("ring", 1, 0, () -> frame(100));
+        FrameCache.get("ring", 1, 1, () -> frame(100));
+        FrameCache.get("ring", 1, 0, () -> frame(100));
+        FrameCache.get("ring", 1, 2, () -> frame(100));
+        builds.set(0);
+
+        // Frame 1 was played longest ago, so it is the one dropped
+        FrameCache.get("ring", 1, 0, () -> frame(100));
+        FrameCache.get("ring", 1, 2, () -> frame(100));
+        assertEquals(0, builds.get());
+        FrameCache.get("ring", 1, 1, () -> frame(100));
+        assertEquals(1, builds.get());
+
+        assertTrue(FrameCache.getBytes() <= FrameCache.getCapacity());
+        assertTrue(FrameCache.getStats("ring").getEvictions() >= 1);
+    }
+
+    @Test
+    void get_skipsCachingWhenDisabled() {
+        FrameCache.setCapacity(0);
+
+        FrameCache.get("ring", 1, 0, () -> frame(10));
+        FrameCache.get("ring", 1, 0, () -> frame(10));
+
+        assertEquals(2, builds.get());
+        assertEquals(0, FrameCache.size());
+        assertEquals(0, FrameCache.getBytes());
+    }
+
+    @Test
+    void invalidate_dropsOnlyThatEffect() {
+        FrameCache.get("ring", 1, 0, () -> frame(10));
+        FrameCache.get("spiral", 1, 0, () -> frame(10));
+
+        FrameCache.invalidate("ring");
+
+        assertEquals(1, FrameCache.size());
+        assertEquals(0, FrameCache.getStats("ring").getFrames());
+        assertEquals(FrameCache.getStats("spiral").getBytes(), FrameCache.getBytes());
+    }
+
+    private FrameCache.Frame frame(int points) {
+        builds.incrementAndGet();
+        ParticleSink.Style[] styles = new ParticleSink.Style[points];
+        Arrays.fill(styles, FLAME);
+        return new FrameCache.Frame(new float[points * 3], null, styles, null);
+    }
+}
@@ -0,0 +1,141 @@
+package studio.magemonkey.fabled.api.particle;
+
+import studio.magemonkey.fabled.testutil.MockedTest;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ParticleSinkTest extends MockedTest {
+    private static final ParticleSink.Style FLAME = new ParticleSink.Style(Particle.FLAME, 1, 0, 0, 0, 0, null);
+
+    private World  fakeWorld;
+    private Player near;
+    private Player far;
+
+    @BeforeEach
+    public void setup() {
+        ParticleSink.flush();
+        fakeWorld = mock(World.class);
+        when(fakeWorld.getUID()).thenReturn(UUID.randomUUID());
+        near = viewer(0);
+        far = viewer(100);
+        when(fakeWorld.getPlayers()).thenReturn(List.of(near, far));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ParticleSink.setBudget(0);
+        ParticleSink.setCullBehind(false);
+    }
+
+    @Test
+    void flush_sendsOnlyToViewersInRange() {
+        ParticleSink.emit(FLAME, fakeWorld, 5, 64, 0, 25, null);
+        ParticleSink.flush();
+
+        verify(near, times(1)).spawnParticle(eq(Particle.FLAME), anyDouble(), anyDouble(), anyDouble(),
+                anyInt(), anyDouble(), anyDouble(), anyDouble(), anyDouble(), isNull());
+        verify(far, never()).spawnParticle(any(Particle.class), anyDouble(), anyDouble(), anyDouble(),
+                anyInt(), anyDouble(), anyDouble(), anyDouble(), anyDouble(), any());
+    }
+
+    @Test
+    void flush_explicitViewersIgnoreRadius() {
+        ParticleSink.emit(FLAME, fakeWorld, 5, 64, 0, 1, Set.of(far));
+        ParticleSink.flush();
+
+        verify(far, times(1)).spawnParticle(eq(Particle.FLAME), anyDouble(), anyDouble(), anyDouble(),
+                anyInt(), anyDouble(), anyDouble(), anyDouble(), anyDouble(), isNull());
+        verify(near, never()).spawnParticle(any(Particle.class), anyDouble(), anyDouble(), anyDouble(),
+                anyInt(), anyDouble(), anyDouble(), anyDouble(), anyDouble(), any());
+    }
+
+    @Test
+    void flush_mergesIdenticalPoints() {
+        ParticleSink.emit(FLAME, fakeWorld, 5, 64, 0, 25, null);
+        ParticleSink.emit(FLAME, fakeWorld, 5, 64, 0, 25, null);
+        ParticleSink.flush();
+
+        assertEquals(1, ParticleSink.getStats(near).getLastSent());
+        assertTrue(ParticleSink.getStats(near).getMerged() >= 1);
+    }
+
+    @Test
+    void flush_mergesPointsOfEqualStyles() {
+        ParticleSink.Style first  = new ParticleSink.Style(Particle.FLAME, 1, 0, 0, 0, 0, null);
+        ParticleSink.Style second = new ParticleSink.Style(Particle.FLAME, 1, 0, 0, 0, 0, null);
+        ParticleSink.emit(first, fakeWorld, 5, 64, 0, 25, null);
+        ParticleSink.emit(second, fakeWorld, 5, 64, 0, 25, null);
+        ParticleSink.flush();
+
+        assertEquals(1, ParticleSink.getStats(near).getLastSent());
+    }
+
+    @Test
+    void flush_sendsSubmittedBatches() {
+        ParticleSink.emit(FLAME, fakeWorld, 2, 64, 0, 25, null);
+        ParticleSink.Batch batch = ParticleSink.batch(fakeWorld, 2);
+        batch.add(FLAME, 3, 64, 0, 25, null);
+        batch.add(FLAME, 4, 64, 0, 25, null);
+        batch.add(FLAME, 5, 64, 0, 25, null);
+        batch.submit();
+        ParticleSink.flush();
+
+        assertEquals(4, ParticleSink.getStats(near).getLastSent());
+    }
+
+    @Test
+    void flush_keepsPointsInDifferentCells() {
+        // These cells collided when the cell coordinates were hashed into one key
+        ParticleSink.emit(FLAME, fakeWorld, 5, 64.025, 0.025, 25, null);
+        ParticleSink.emit(FLAME, fakeWorld, 5, 64.075, -1.525, 25, null);
+        ParticleSink.flush();
+
+        assertEquals(2, ParticleSink.getStats(near).getLastSent());
+        verify(near, times(1)).spawnParticle(eq(Particle.FLAME), eq(5.0), eq(64.075), eq(-1.525),
+                anyInt(), anyDouble(), anyDouble(), anyDouble(), anyDouble(), isNull());
+    }
+
+    @Test
+    void flush_cullsPointsBehindViewer() {
+        ParticleSink.setCullBehind(true);
+        ParticleSink.emit(FLAME, fakeWorld, -20, 64, 0, 25, null);
+        ParticleSink.flush();
+
+        verify(near, never()).spawnParticle(any(Particle.class), anyDouble(), anyDouble(), anyDouble(),
+                anyInt(), anyDouble(), anyDouble(), anyDouble(), anyDouble(), any());
+        assertEquals(1, ParticleSink.getStats(near).getCulled());
+    }
+
+    @Test
+    void flush_capsEachViewerAtBudget() {
+        ParticleSink.setBudget(10);
+        for (int i = 0; i < 50; i++) {
+            ParticleSink.emit(FLAME, fakeWorld, 2 + i * 0.2, 64, 0, 25, null);
+        }
+        ParticleSink.flush();
+
+        ParticleSink.ViewerStats stats = ParticleSink.getStats(near);
+        assertEquals(10, stats.getLastSent());
+        assertEquals(40, stats.getLastDropped());
+    }
+
+    private Player viewer(double x) {
+        Player player = mock(Player.class);
+        // Yaw of -90 looks along +X
+        when(player.getEyeLocation()).thenAnswer(a -> new Location(fakeWorld, x, 64, 0, -90, 0));
+        return player;
+    }
+}
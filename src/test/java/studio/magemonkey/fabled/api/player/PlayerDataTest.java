@@ -12,6 +12,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class PlayerDataTest extends MockedTest implements Listener {
     private PlayerMock attacker;
@@ -130,6 +131,38 @@ public class PlayerDataTest extends MockedTest implements Listener {
         assertEquals(-12, playerData.getAttributeUpCost("spirit", -2));
     }
 
+    @Test
+    void getAttribute_cacheInvalidatedByModifiers() {
+        playerData.giveAttribute("spirit", 2);
+        assertEquals(2, playerData.getAttribute("spirit"));
+        long hits = playerData.getAttributeCacheHits();
+        assertEquals(2, playerData.getAttribute("spirit"));
+        assertEquals(hits + 1, playerData.getAttributeCacheHits());
+
+        PlayerAttributeModifier mod = new PlayerAttributeModifier("test-modifier", 3, Operation.ADD_NUMBER, false);
+        playerData.addAttributeModifier("spirit", mod, true);
+        assertEquals(5, playerData.getAttribute("spirit"));
+
+        playerData.removeAttributeModifier(mod.getUUID(), true);
+        assertEquals(2, playerData.getAttribute("spirit"));
+    }
+
+    @Test
+    void generation_bumpedBySavedChanges() {
+        long generation = playerData.getGeneration();
+        playerData.giveAttribute("spirit", 1);
+        assertTrue(playerData.getGeneration() > generation);
+
+        generation = playerData.getGeneration();
+        playerData.setPersistentData("key", 5);
+        assertTrue(playerData.getGeneration() > generation);
+
+        generation = playerData.getGeneration();
+        playerData.getAttribute("spirit");
+        playerData.removePersistentData("missing");
+        assertEquals(generation, playerData.getGeneration());
+    }
+
     @Test
     void upAttribute_callsEvent() {
         playerData.upAttribute("spirit");
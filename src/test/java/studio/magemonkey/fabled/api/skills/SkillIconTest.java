@@ -0,0 +1,97 @@
+package studio.magemonkey.fabled.api.skills;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import studio.magemonkey.fabled.api.player.PlayerData;
+import studio.magemonkey.fabled.api.player.PlayerSkill;
+import studio.magemonkey.fabled.testutil.MockedTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SkillIconTest extends MockedTest {
+    private PlayerData  data;
+    private PlayerSkill skillData;
+    private Skill       skill;
+
+    @Override
+    public void preInit() {
+        loadClasses("Honor Guard");
+        loadSkills("Brilliance Strike");
+    }
+
+    @BeforeEach
+    public void setup() {
+        PlayerMock player = genPlayer("Travja");
+        data = plugin.getPlayerData(player);
+        data.profess(plugin.getClass("Honor Guard"));
+        skill = plugin.getSkill("Brilliance Strike");
+        skillData = data.getSkill(skill.getName());
+    }
+
+    @Test
+    void reusesRenderedIcon() {
+        ItemStack first = skill.getIndicator(skillData, false);
+        SkillIcon icon  = skillData.getIcon(false);
+        assertNotNull(icon);
+
+        ItemStack second = skill.getIndicator(skillData, false);
+        assertSame(icon, skillData.getIcon(false));
+        assertNotSame(first, second);
+        assertTrue(first.isSimilar(second));
+
+        // Handed out icons are copies, so changing one leaves the template alone
+        second.setAmount(7);
+        assertEquals(first.getAmount(), skill.getIndicator(skillData, false).getAmount());
+    }
+
+    @Test
+    void keepsBriefIconSeparate() {
+        skill.getIndicator(skillData, false);
+        skill.getIndicator(skillData, true);
+        assertNotSame(skillData.getIcon(false), skillData.getIcon(true));
+    }
+
+    @Test
+    void rerendersWhenPointsChange() {
+        skill.getIndicator(skillData, false);
+        SkillIcon icon = skillData.getIcon(false);
+
+        skillData.getPlayerClass().givePoints(3);
+        skill.getIndicator(skillData, false);
+        assertNotSame(icon, skillData.getIcon(false));
+    }
+
+    @Test
+    void rerendersWhenAttributesChange() {
+        skill.getIndicator(skillData, false);
+        SkillIcon icon = skillData.getIcon(false);
+
+        data.invalidateAttributeCache();
+        skill.getIndicator(skillData, false);
+        assertNotSame(icon, skillData.getIcon(false));
+    }
+
+    @Test
+    void rerendersWhenSkillIsInvalidated() {
+        skill.getIndicator(skillData, false);
+        SkillIcon icon = skillData.getIcon(false);
+
+        skill.invalidateIcons();
+        skill.getIndicator(skillData, false);
+        assertNotSame(icon, skillData.getIcon(false));
+    }
+
+    @Test
+    void toolIndicatorIsCopied() {
+        ItemStack first  = skill.getToolIndicator();
+        ItemStack second = skill.getToolIndicator();
+        assertNotSame(first, second);
+        assertTrue(first.isSimilar(second));
+    }
+}
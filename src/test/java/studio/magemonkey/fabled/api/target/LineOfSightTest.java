@@ -0,0 +1,107 @@
+package studio.magemonkey.fabled.api.target;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LineOfSightTest {
+    private final Set<List<Integer>> solid   = new HashSet<>();
+    private final Set<List<Integer>> visited = new HashSet<>();
+    private final World              world   = mockWorld();
+
+    private World mockWorld() {
+        World world = mock(World.class);
+        when(world.getBlockAt(anyInt(), anyInt(), anyInt())).thenAnswer(a -> {
+            List<Integer> key = List.of(a.getArgument(0), a.getArgument(1), a.getArgument(2));
+            visited.add(key);
+            Block block = mock(Block.class);
+            when(block.getType()).thenReturn(solid.contains(key) ? Material.STONE : Material.AIR);
+            return block;
+        });
+        return world;
+    }
+
+    private Location loc(double x, double y, double z) {
+        return new Location(world, x, y, z);
+    }
+
+    @Test
+    void isSolid_matchesMaterialRules() {
+        assertTrue(LineOfSight.isSolid(Material.STONE));
+        assertTrue(LineOfSight.isSolid(Material.GLASS));
+        assertTrue(LineOfSight.isSolid(Material.OAK_FENCE));
+        assertTrue(LineOfSight.isSolid(Material.OAK_LEAVES));
+        assertFalse(LineOfSight.isSolid(Material.AIR));
+        assertFalse(LineOfSight.isSolid(Material.TALL_GRASS));
+        assertFalse(LineOfSight.isSolid(Material.WATER));
+    }
+
+    @Test
+    void isObstructed_detectsWall() {
+        assertFalse(LineOfSight.isObstructed(loc(0.5, 1.5, 0.5), loc(5.5, 1.5, 0.5)));
+
+        solid.add(List.of(3, 1, 0));
+        assertTrue(LineOfSight.isObstructed(loc(0.5, 1.5, 0.5), loc(5.5, 1.5, 0.5)));
+        assertFalse(LineOfSight.isObstructed(loc(0.5, 1.5, 1.5), loc(5.5, 1.5, 1.5)));
+    }
+
+    @Test
+    void getOpenLocation_stopsBeforeWall() {
+        solid.add(List.of(3, 1, 0));
+        Location open = LineOfSight.getOpenLocation(loc(0.5, 1.5, 0.5), loc(5.5, 1.5, 0.5), false);
+        assertEquals(2.5, open.getX());
+        assertEquals(2, open.getY());
+        assertEquals(0.5, open.getZ());
+
+        Location through = LineOfSight.getOpenLocation(loc(0.5, 1.5, 0.5), loc(5.5, 1.5, 0.5), true);
+        assertEquals(5.5, through.getX());
+        assertEquals(2, through.getY());
+    }
+
+    @Test
+    void getOpenLocation_throughWallBacksOutOfSolidEnd() {
+        solid.add(List.of(4, 1, 0));
+        solid.add(List.of(5, 1, 0));
+        Location through = LineOfSight.getOpenLocation(loc(0.5, 1.5, 0.5), loc(5.5, 1.5, 0.5), true);
+        assertEquals(3.5, through.getX());
+    }
+
+    @Test
+    void traverse_visitsEveryBlockOnTheSegment() {
+        Random random = new Random(3);
+        for (int i = 0; i < 200; i++) {
+            Location from = loc(random.nextDouble() * 20 - 10, random.nextDouble() * 20, random.nextDouble() * 20 - 10);
+            Location to   = loc(random.nextDouble() * 20 - 10, random.nextDouble() * 20, random.nextDouble() * 20 - 10);
+
+            visited.clear();
+            assertFalse(LineOfSight.traverse(world, from, to, true, new int[6]));
+
+            // Every block hit by dense sampling must have been visited
+            for (int s = 0; s <= 2000; s++) {
+                double t = s / 2000.0;
+                List<Integer> key = List.of(
+                        (int) Math.floor(from.getX() + (to.getX() - from.getX()) * t),
+                        (int) Math.floor(from.getY() + (to.getY() - from.getY()) * t),
+                        (int) Math.floor(from.getZ() + (to.getZ() - from.getZ()) * t));
+                assertTrue(visited.contains(key), "missed " + key);
+            }
+
+            int expected = Math.abs(to.getBlockX() - from.getBlockX())
+                    + Math.abs(to.getBlockY() - from.getBlockY())
+                    + Math.abs(to.getBlockZ() - from.getBlockZ()) + 1;
+            assertEquals(expected, visited.size());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package studio.magemonkey.fabled.api.util;
+
+import studio.magemonkey.fabled.api.event.BuffExpiredEvent;
+import studio.magemonkey.fabled.testutil.MockedTest;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BuffDataTest extends MockedTest implements Listener {
+    private final List<BuffExpiredEvent> expired = new ArrayList<>();
+
+    private LivingEntity entity;
+
+    @BeforeEach
+    public void setup() {
+        entity = mock(LivingEntity.class);
+        when(entity.getEntityId()).thenReturn(1);
+        when(entity.isValid()).thenReturn(true);
+        server.getPluginManager().registerEvent(BuffExpiredEvent.class, this, EventPriority.NORMAL,
+                (listener, event) -> expired.add((BuffExpiredEvent) event), plugin, true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        BuffManager.cleanUp();
+        EntityState.cleanUp();
+        expired.clear();
+    }
+
+    @Test
+    void apply_combinesBaseAndCategoryBuffs() {
+        BuffManager.addBuff(entity, BuffType.DAMAGE, new Buff("double", 2, true), 20);
+        BuffManager.addBuff(entity, BuffType.DAMAGE, new Buff("flat", 3, false), 20);
+        BuffManager.addBuff(entity, BuffType.DAMAGE, "fire", new Buff("fire", 1.5, true), 20);
+
+        assertEquals(23, BuffManager.apply(entity, BuffType.DAMAGE, 10));
+        assertEquals(33, BuffManager.apply(entity, BuffType.DAMAGE, "fire", 10));
+        assertEquals(23, BuffManager.apply(entity, BuffType.DAMAGE, "unused", 10));
+        assertEquals(10, BuffManager.apply(entity, BuffType.DEFENSE, 10));
+
+        BuffData data = BuffManager.getBuffData(entity, false);
+        assertEquals(3, data.getMultiplier(BuffType.DAMAGE, "fire"));
+        assertEquals(2, data.getMultiplier(BuffType.DAMAGE, null));
+        assertEquals(3, data.getFlatBonus(BuffType.DAMAGE, "fire"));
+    }
+
+    @Test
+    void addBuff_replacesBuffWithSameKey() {
+        BuffManager.addBuff(entity, BuffType.DEFENSE, new Buff("shield", 2, true), 20);
+        BuffManager.addBuff(entity, BuffType.DEFENSE, new Buff("shield", 0.5, true), 40);
+
+        assertEquals(5, BuffManager.apply(entity, BuffType.DEFENSE, 10));
+        assertEquals(1, BuffManager.getScheduledCount());
+
+        server.getScheduler().performTicks(20);
+        assertEquals(5, BuffManager.apply(entity, BuffType.DEFENSE, 10));
+        assertTrue(expired.isEmpty());
+    }
+
+    @Test
+    void expiry_updatesAggregatesAndCallsEvent() {
+        Buff fire = new Buff("fire", 2, true);
+        BuffManager.addBuff(entity, BuffType.DAMAGE, new Buff("flat", 1, false), 40);
+        BuffManager.addBuff(entity, BuffType.DAMAGE, "fire", fire, 20);
+
+        server.getScheduler().performTicks(20);
+        assertEquals(11, BuffManager.apply(entity, BuffType.DAMAGE, "fire", 10));
+        assertEquals(1, expired.size());
+        assertSame(fire, expired.get(0).getBuff());
+        assertEquals(BuffType.DAMAGE, expired.get(0).getType());
+
+        server.getScheduler().performTicks(20);
+        assertEquals(2, expired.size());
+        assertNull(BuffManager.getBuffData(entity, false));
+        assertEquals(0, BuffManager.getScheduledCount());
+    }
+
+    @Test
+    void clearByType_keepsOtherTypes() {
+        BuffManager.addBuff(entity, BuffType.INVISIBILITY, new Buff("invisible", 0, false), 100);
+        BuffManager.addBuff(entity, BuffType.DAMAGE, new Buff("double", 2, true), 100);
+        BuffData data = BuffManager.getBuffData(entity, false);
+        assertTrue(data.isActive(BuffType.INVISIBILITY));
+
+        data.clearByType(BuffType.INVISIBILITY);
+        assertFalse(data.isActive(BuffType.INVISIBILITY));
+        assertTrue(data.isActive(BuffType.DAMAGE));
+        assertEquals(1, BuffManager.getScheduledCount());
+    }
+
+    @Test
+    void playerBuffsSurviveRelog() {
+        UUID   id     = UUID.randomUUID();
+        Player before = mockPlayer(id, 2, false);
+        BuffManager.addBuff(before, BuffType.DAMAGE, new Buff("double", 2, true), 100);
+        BuffManager.addBuff(before, BuffType.DAMAGE, new Buff("flat", 1, false), 10);
+
+        EntityState.quit(before);
+        assertNull(EntityState.get(before));
+        server.getScheduler().performTicks(10);
+        assertTrue(expired.isEmpty());
+
+        Player after = mockPlayer(id, 3, true);
+        EntityState.join(after);
+        assertEquals(20, BuffManager.apply(after, BuffType.DAMAGE, 10));
+        assertEquals(1, BuffManager.getScheduledCount());
+    }
+
+    private Player mockPlayer(UUID id, int entityId, boolean online) {
+        Player player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(id);
+        when(player.getEntityId()).thenReturn(entityId);
+        when(player.isOnline()).thenReturn(online);
+        when(player.isValid()).thenReturn(online);
+        return player;
+    }
+}
@@ -0,0 +1,113 @@
+package studio.magemonkey.fabled.api.util;
+
+import org.bukkit.entity.Entity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import studio.magemonkey.fabled.Fabled;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class EntityMetaTest {
+    private static final EntityMeta.Key<String>  NAME   = EntityMeta.key("testName");
+    private static final EntityMeta.IntKey       LEVEL  = EntityMeta.intKey("testLevel");
+    private static final EntityMeta.DoubleKey    DAMAGE = EntityMeta.doubleKey("testDamage");
+    private static final EntityMeta.Key<Boolean> MARKER = EntityMeta.key("testMarker");
+
+    private int nextId = 1;
+
+    @AfterEach
+    void tearDown() {
+        EntityState.cleanUp();
+    }
+
+    @Test
+    void key_sameNameReturnsSameKey() {
+        assertSame(LEVEL, EntityMeta.intKey("testLevel"));
+        assertSame(LEVEL, EntityMeta.getKey("testLevel"));
+        assertThrows(IllegalArgumentException.class, () -> EntityMeta.doubleKey("testLevel"));
+        assertThrows(IllegalArgumentException.class, () -> EntityMeta.key("testLevel"));
+    }
+
+    @Test
+    void values_areKeptPerEntity() {
+        Entity first  = entity(true);
+        Entity second = entity(true);
+
+        EntityMeta.set(first, NAME, "first");
+        EntityMeta.setInt(first, LEVEL, 3);
+        EntityMeta.setDouble(second, DAMAGE, 2.5);
+
+        assertEquals("first", EntityMeta.get(first, NAME));
+        assertEquals(3, EntityMeta.getInt(first, LEVEL, 0));
+        assertEquals(2.5, EntityMeta.getDouble(second, DAMAGE, 0));
+        assertNull(EntityMeta.get(second, NAME));
+        assertFalse(EntityMeta.has(second, LEVEL));
+        assertEquals(-1, EntityMeta.getInt(second, LEVEL, -1));
+    }
+
+    @Test
+    void remove_dropsEntityOnceEmpty() {
+        Entity entity = entity(true);
+        EntityMeta.setInt(entity, LEVEL, 0);
+        EntityMeta.set(entity, MARKER, true);
+        assertTrue(EntityMeta.has(entity, LEVEL));
+
+        EntityMeta.remove(entity, LEVEL);
+        assertFalse(EntityMeta.has(entity, LEVEL));
+        assertEquals(1, EntityMeta.size());
+
+        EntityMeta.set(entity, MARKER, null);
+        assertEquals(0, EntityMeta.size());
+    }
+
+    @Test
+    void clear_dropsAllValues() {
+        Entity entity = entity(true);
+        EntityMeta.set(entity, NAME, "name");
+        EntityMeta.setDouble(entity, DAMAGE, 1);
+
+        EntityMeta.clear(entity);
+        assertFalse(EntityMeta.has(entity, NAME));
+        assertFalse(EntityMeta.has(entity, DAMAGE));
+        assertEquals(0, EntityMeta.size());
+    }
+
+    @Test
+    void sweep_dropsInvalidEntities() {
+        Entity alive = entity(true);
+        Entity gone  = entity(false);
+        EntityMeta.setInt(alive, LEVEL, 1);
+        EntityMeta.setInt(gone, LEVEL, 2);
+
+        EntityState.sweep();
+        assertEquals(1, EntityMeta.size());
+        assertEquals(1, EntityMeta.getInt(alive, LEVEL, 0));
+        assertFalse(EntityMeta.has(gone, LEVEL));
+    }
+
+    @Test
+    void setMeta_routesDeclaredKeysToTable() {
+        Entity entity = entity(true);
+        Fabled.setMeta(entity, "testLevel", 4);
+        Fabled.setMeta(entity, "testDamage", 1.5f);
+
+        assertEquals(4, EntityMeta.getInt(entity, LEVEL, 0));
+        assertEquals(4, Fabled.getMetaInt(entity, "testLevel"));
+        assertEquals(4, Fabled.getMeta(entity, "testLevel"));
+        assertEquals(1.5, Fabled.getMetaDouble(entity, "testDamage"));
+        assertTrue(Fabled.hasMeta(entity, "testDamage"));
+
+        Fabled.removeMeta(entity, "testDamage");
+        assertFalse(EntityMeta.has(entity, DAMAGE));
+    }
+
+    private Entity entity(boolean valid) {
+        Entity entity = mock(Entity.class);
+        int    id     = nextId++;
+        when(entity.getEntityId()).thenReturn(id);
+        when(entity.isValid()).thenReturn(valid);
+        return entity;
+    }
+}
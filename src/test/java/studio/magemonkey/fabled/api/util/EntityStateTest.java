@@ -0,0 +1,84 @@
+package studio.magemonkey.fabled.api.util;
+
+import studio.magemonkey.fabled.testutil.MockedTest;
+import org.bukkit.entity.LivingEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class EntityStateTest extends MockedTest {
+    private static final EntityMeta.IntKey LEVEL = EntityMeta.intKey("stateTestLevel");
+
+    private int nextId = 1;
+
+    @AfterEach
+    public void tearDown() {
+        FlagManager.cleanUp();
+        EntityState.cleanUp();
+        EntityState.resetSwept();
+    }
+
+    @Test
+    void oneRecordHoldsEveryComponent() {
+        LivingEntity entity = mockEntity(true);
+        FlagManager.addFlag(entity, "stun", 20);
+        BuffManager.getBuffData(entity);
+        EntityMeta.setInt(entity, LEVEL, 2);
+
+        assertEquals(1, EntityState.size());
+        EntityState state = EntityState.get(entity);
+        assertNotNull(state);
+        assertSame(entity, state.getEntity());
+        assertEquals(EnumSet.of(EntityState.Component.FLAGS,
+                EntityState.Component.BUFFS,
+                EntityState.Component.META), state.getComponents());
+    }
+
+    @Test
+    void release_dropsRecord() {
+        LivingEntity entity = mockEntity(true);
+        FlagManager.addFlag(entity, "stun", 20);
+        EntityMeta.setInt(entity, LEVEL, 2);
+
+        EntityState.release(entity);
+        assertNull(EntityState.get(entity));
+        assertFalse(FlagManager.hasFlag(entity, "stun"));
+        assertFalse(EntityMeta.has(entity, LEVEL));
+        assertEquals(0, FlagManager.getScheduledCount());
+    }
+
+    @Test
+    void sweep_countsOrphans() {
+        LivingEntity alive = mockEntity(true);
+        LivingEntity gone  = mockEntity(false);
+        FlagManager.addFlag(alive, "stun", 20);
+        FlagManager.addFlag(gone, "stun", 20);
+        EntityMeta.setInt(gone, LEVEL, 1);
+
+        assertEquals(1, (int) EntityState.countOrphans().get(EntityState.Component.FLAGS));
+        assertEquals(1, (int) EntityState.countOrphans().get(EntityState.Component.META));
+        assertEquals(0, (int) EntityState.countOrphans().get(EntityState.Component.BUFFS));
+
+        assertEquals(1, EntityState.sweep());
+        assertEquals(1, EntityState.size());
+        assertNotNull(EntityState.get(alive));
+        assertEquals(0, (int) EntityState.countOrphans().get(EntityState.Component.FLAGS));
+        assertEquals(1L, EntityState.getSwept().get(EntityState.Component.FLAGS));
+        assertEquals(1L, EntityState.getSwept().get(EntityState.Component.META));
+
+        EntityState.resetSwept();
+        assertEquals(0L, EntityState.getSwept().get(EntityState.Component.FLAGS));
+    }
+
+    private LivingEntity mockEntity(boolean valid) {
+        LivingEntity entity = mock(LivingEntity.class);
+        when(entity.getEntityId()).thenReturn(nextId++);
+        when(entity.isValid()).thenReturn(valid);
+        return entity;
+    }
+}
@@ -0,0 +1,94 @@
+package studio.magemonkey.fabled.api.util;
+
+import studio.magemonkey.fabled.api.event.FlagExpireEvent;
+import studio.magemonkey.fabled.testutil.MockedTest;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FlagManagerTest extends MockedTest implements Listener {
+    private static final int ENTITIES = 10_000;
+
+    private int expired;
+
+    @BeforeEach
+    public void setup() {
+        FlagManager.cleanUp();
+        expired = 0;
+        server.getPluginManager().registerEvent(FlagExpireEvent.class, this, EventPriority.NORMAL, (listener, event) -> {
+            if (((FlagExpireEvent) event).getReason() == FlagExpireEvent.ExpireReason.TIME) expired++;
+        }, plugin, true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        FlagManager.cleanUp();
+    }
+
+    @Test
+    void flagExpiresAfterDuration() {
+        LivingEntity entity = mockEntity(1);
+        FlagManager.addFlag(entity, "stun", 20);
+        server.getScheduler().performTicks(19);
+        assertTrue(FlagManager.hasFlag(entity, "stun"));
+
+        server.getScheduler().performTicks(1);
+        assertFalse(FlagManager.hasFlag(entity, "stun"));
+        assertEquals(1, expired);
+    }
+
+    @Test
+    void refreshExtendsFlag() {
+        LivingEntity entity = mockEntity(1);
+        FlagManager.addFlag(entity, "root", 10);
+        server.getScheduler().performTicks(5);
+        FlagManager.addFlag(entity, "root", 10);
+        server.getScheduler().performTicks(9);
+        assertTrue(FlagManager.hasFlag(entity, "root"));
+
+        server.getScheduler().performTicks(1);
+        assertFalse(FlagManager.hasFlag(entity, "root"));
+        assertEquals(1, expired);
+        assertEquals(0, FlagManager.getScheduledCount());
+    }
+
+    @Test
+    void manyEntitiesShareOneTask() {
+        List<LivingEntity> entities = new ArrayList<>(ENTITIES);
+        for (int i = 0; i < ENTITIES; i++) {
+            entities.add(mockEntity(i + 1));
+        }
+
+        int tasksBefore = server.getScheduler().getPendingTasks().size();
+        for (int i = 0; i < ENTITIES; i++) {
+            LivingEntity entity = entities.get(i);
+            FlagManager.addFlag(entity, "stun", 20 + i % 40);
+            FlagManager.addFlag(entity, "silence", 40 + i % 200);
+            FlagManager.addFlag(entity, "custom", 1000 + i % 500);
+        }
+
+        assertEquals(ENTITIES * 3, FlagManager.getScheduledCount());
+        assertTrue(server.getScheduler().getPendingTasks().size() - tasksBefore <= 1);
+
+        server.getScheduler().performTicks(1500);
+        assertEquals(ENTITIES * 3, expired);
+        assertEquals(0, FlagManager.getScheduledCount());
+    }
+
+    private LivingEntity mockEntity(int id) {
+        LivingEntity entity = mock(LivingEntity.class);
+        when(entity.getEntityId()).thenReturn(id);
+        when(entity.isValid()).thenReturn(true);
+        return entity;
+    }
+}
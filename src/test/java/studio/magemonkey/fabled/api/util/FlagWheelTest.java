@@ -0,0 +1,62 @@
+package studio.magemonkey.fabled.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlagWheelTest {
+    @Test
+    void timersExpireOnTheirDeadline() {
+        FlagWheel<FlagData>             wheel  = new FlagWheel<>();
+        Random                          random = new Random(42);
+        List<FlagWheel.Timer<FlagData>> timers = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            int delay = i % 3 == 0 ? random.nextInt(300) : random.nextInt(1 << 21);
+            timers.add(wheel.schedule(null, "flag" + i, delay));
+        }
+        assertEquals(timers.size(), wheel.size());
+
+        int fired = 0;
+        while (wheel.size() > 0) {
+            for (FlagWheel.Timer<FlagData> timer : wheel.advance()) {
+                assertEquals(timer.deadline, wheel.getTick());
+                assertTrue(wheel.fire(timer));
+                fired++;
+            }
+        }
+        assertEquals(timers.size(), fired);
+    }
+
+    @Test
+    void cancelledTimersDoNotFire() {
+        FlagWheel<FlagData>       wheel    = new FlagWheel<>();
+        FlagWheel.Timer<FlagData> kept     = wheel.schedule(null, "kept", 300);
+        FlagWheel.Timer<FlagData> dropped  = wheel.schedule(null, "dropped", 300);
+        FlagWheel.Timer<FlagData> sameTick = wheel.schedule(null, "same", 300);
+        wheel.cancel(dropped);
+
+        List<FlagWheel.Timer<FlagData>> expired = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            expired.addAll(wheel.advance());
+        }
+        assertEquals(2, expired.size());
+
+        // Cancelling a timer from the same tick before it is handled stops it
+        wheel.cancel(sameTick);
+        assertTrue(wheel.fire(kept));
+        assertFalse(wheel.fire(sameTick));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void zeroDelayExpiresNextTick() {
+        FlagWheel<FlagData>       wheel = new FlagWheel<>();
+        FlagWheel.Timer<FlagData> timer = wheel.schedule(null, "flag", 0);
+        assertEquals(1, wheel.advance().size());
+        assertTrue(wheel.fire(timer));
+    }
+}
@@ -0,0 +1,145 @@
+package studio.magemonkey.fabled.api.util;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.util.BoundingBox;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SpatialIndexTest {
+    private static final int    QUERIES = 200;
+    private static final double RADIUS  = 8;
+
+    @Test
+    void radius_matchesLinearScanInDistanceOrder() {
+        List<LivingEntity>    entities = spawn(500, 64, new Random(1));
+        SpatialIndex.Snapshot snapshot = SpatialIndex.build(world(entities));
+        Random                random   = new Random(2);
+
+        for (int q = 0; q < 100; q++) {
+            Location center = new Location(null, random.nextDouble() * 128 - 64, 64, random.nextDouble() * 128 - 64);
+            double   radius = 2 + random.nextDouble() * 20;
+
+            List<LivingEntity> expected = entities.stream()
+                    .filter(e -> e.getLocation().distanceSquared(center) < radius * radius)
+                    .sorted((a, b) -> Double.compare(a.getLocation().distanceSquared(center),
+                            b.getLocation().distanceSquared(center)))
+                    .collect(Collectors.toList());
+            assertEquals(expected, snapshot.radius(center, radius, null));
+        }
+    }
+
+    @Test
+    void box_matchesBoundingBoxOverlap() {
+        List<LivingEntity>    entities = spawn(500, 64, new Random(3));
+        SpatialIndex.Snapshot snapshot = SpatialIndex.build(world(entities));
+        Random                random   = new Random(4);
+
+        for (int q = 0; q < 100; q++) {
+            double      x   = random.nextDouble() * 128 - 64;
+            double      z   = random.nextDouble() * 128 - 64;
+            BoundingBox box = new BoundingBox(x, 60, z, x + random.nextDouble() * 16, 68, z + random.nextDouble() * 16);
+
+            List<LivingEntity> expected = entities.stream()
+                    .filter(e -> boundingBox(e).overlaps(box))
+                    .collect(Collectors.toList());
+            List<LivingEntity> actual = snapshot.box(box, null);
+            assertEquals(expected.size(), actual.size());
+            assertTrue(actual.containsAll(expected));
+        }
+    }
+
+    @Test
+    void radius_excludesSource() {
+        List<LivingEntity>    entities = spawn(10, 2, new Random(5));
+        SpatialIndex.Snapshot snapshot = SpatialIndex.build(world(entities));
+        LivingEntity          source   = entities.get(0);
+
+        List<LivingEntity> result = snapshot.radius(source.getLocation(), 50, source);
+        assertEquals(9, result.size());
+        assertFalse(result.contains(source));
+    }
+
+    @Test
+    void spawnedEntitiesAreFoundWithoutRebuilding() {
+        List<LivingEntity>    entities = spawn(10, 2, new Random(6));
+        SpatialIndex.Snapshot snapshot = SpatialIndex.build(world(entities));
+        LivingEntity          added    = spawn(1, 2, new Random(8)).get(0);
+        snapshot.add(added);
+
+        Location center = added.getLocation();
+        assertEquals(11, snapshot.size());
+        assertEquals(added, snapshot.radius(center, 0.5, null).get(0));
+        assertTrue(snapshot.box(new BoundingBox(center.getX() - 0.1, center.getY(), center.getZ() - 0.1,
+                center.getX() + 0.1, center.getY() + 1, center.getZ() + 0.1), null).contains(added));
+        assertFalse(snapshot.radius(center, 50, added).contains(added));
+    }
+
+    @Test
+    void radius_matchesLinearScanAtEveryDensity() {
+        for (int count : new int[]{100, 1_000}) {
+            // Keep density roughly constant as the population grows
+            List<LivingEntity>    entities = spawn(count, Math.sqrt(count) * 4, new Random(count));
+            World                 world    = world(entities);
+            Location[]            centers  = new Location[QUERIES];
+            Random                random   = new Random(7);
+            for (int i = 0; i < QUERIES; i++) {
+                centers[i] = entities.get(random.nextInt(count)).getLocation();
+            }
+
+            SpatialIndex.Snapshot snapshot = SpatialIndex.build(world);
+
+            int gridHits = 0;
+            for (Location center : centers) {
+                gridHits += snapshot.radius(center, RADIUS, null).size();
+            }
+
+            int linearHits = 0;
+            for (Location center : centers) {
+                for (LivingEntity entity : entities) {
+                    if (entity.getLocation().distanceSquared(center) < RADIUS * RADIUS) linearHits++;
+                }
+            }
+            assertEquals(linearHits, gridHits);
+        }
+    }
+
+    private static BoundingBox boundingBox(LivingEntity entity) {
+        Location loc = entity.getLocation();
+        double   w   = entity.getWidth() / 2;
+        return new BoundingBox(loc.getX() - w, loc.getY(), loc.getZ() - w,
+                loc.getX() + w, loc.getY() + entity.getHeight(), loc.getZ() + w);
+    }
+
+    private static World world(List<LivingEntity> entities) {
+        World world = mock(World.class);
+        when(world.getLivingEntities()).thenReturn(entities);
+        return world;
+    }
+
+    private static List<LivingEntity> spawn(int count, double spread, Random random) {
+        List<LivingEntity> entities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Location     loc    = new Location(null,
+                    random.nextDouble() * spread * 2 - spread,
+                    64 + random.nextDouble() * 4,
+                    random.nextDouble() * spread * 2 - spread);
+            LivingEntity entity = mock(LivingEntity.class);
+            when(entity.getLocation()).thenAnswer(a -> loc.clone());
+            when(entity.getWidth()).thenReturn(0.6);
+            when(entity.getHeight()).thenReturn(1.8);
+            when(entity.isValid()).thenReturn(true);
+            entities.add(entity);
+        }
+        return entities;
+    }
+}
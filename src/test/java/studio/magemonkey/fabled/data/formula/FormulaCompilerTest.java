@@ -0,0 +1,101 @@
+package studio.magemonkey.fabled.data.formula;
+
+import studio.magemonkey.fabled.data.formula.value.CustomValue;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FormulaCompilerTest {
+    private static final String[] EQUATIONS = {
+            "v",
+            "v+a",
+            "v*a+2",
+            "2+3*v",
+            "-v*a",
+            "v-(-a)",
+            "2*(v+a)/3",
+            "v/(a-a)",
+            "v%a",
+            "v^2-a^0.5",
+            "v_2+a_10",
+            "sin(v)*cos(a)+tan(v/3)",
+            "sqrt(abs(v*a))",
+            "floor(v)+ceil(a)-sign(v-a)",
+            "sq(v)-sq(-a)",
+            "2*3+4-v",
+            "(1+2)*(3+4)",
+            "-(v+a)*-2",
+            "v(a+1)",
+            "-sq(2)+v",
+    };
+
+    private static Formula formula(String equation) {
+        return new Formula(equation, new CustomValue("v"), new CustomValue("a"));
+    }
+
+    @Test
+    void compiled_matchesInterpreterBitForBit() {
+        Random random = new Random(11);
+        for (String equation : EQUATIONS) {
+            Formula formula = formula(equation);
+            assertTrue(formula.isValid(), equation);
+            for (int i = 0; i < 500; i++) {
+                double v = (random.nextDouble() - 0.5) * 200;
+                double a = i % 10 == 0 ? 0 : (random.nextDouble() - 0.5) * 200;
+
+                long expected = Double.doubleToRawLongBits(formula.interpret(v, a));
+                assertEquals(expected, Double.doubleToRawLongBits(formula.compute(v, a)), equation);
+                assertEquals(expected, Double.doubleToRawLongBits(formula.compute(new double[]{v, a})), equation);
+            }
+        }
+    }
+
+    @Test
+    void compiled_readsEightInputs() {
+        CustomValue[] inputs = new CustomValue[8];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = new CustomValue("x" + i);
+        }
+        Formula formula = new Formula("x0+x1*x2-x3/x4+x5%x6^x7", inputs);
+
+        Random random = new Random(5);
+        for (int i = 0; i < 200; i++) {
+            double[] in = new double[8];
+            for (int j = 0; j < in.length; j++) {
+                in[j] = random.nextDouble() * 10;
+            }
+            assertEquals(Double.doubleToRawLongBits(formula.interpret(in)),
+                    Double.doubleToRawLongBits(formula.compute(in[0], in[1], in[2], in[3],
+                            in[4], in[5], in[6], in[7])));
+        }
+    }
+
+    @Test
+    void negate_recompiles() {
+        Formula formula = formula("v+a");
+        assertEquals(3, formula.compute(1, 2));
+        formula.negate();
+        assertEquals(-3, formula.compute(1, 2));
+    }
+
+    @Test
+    void identicalEquations_shareCompiledTree() {
+        formula("v*17.25+a").compute(1, 1);
+        int count = FormulaCompiler.getInternedCount();
+        formula("v * 17.25 + a").compute(1, 1);
+        assertEquals(count, FormulaCompiler.getInternedCount());
+    }
+
+    @Test
+    void cleanUp_dropsInternedTrees() {
+        Formula formula = formula("v*31.5-a");
+        formula.compute(1, 1);
+        assertTrue(FormulaCompiler.getInternedCount() > 0);
+
+        Formula.cleanUp();
+        assertEquals(0, FormulaCompiler.getInternedCount());
+        assertEquals(30.5, formula.compute(1, 1));
+    }
+}
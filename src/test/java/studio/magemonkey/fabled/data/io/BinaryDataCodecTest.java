@@ -0,0 +1,82 @@
+package studio.magemonkey.fabled.data.io;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import studio.magemonkey.codex.mccore.config.parse.DataSection;
+import studio.magemonkey.codex.mccore.config.parse.YAMLParser;
+import studio.magemonkey.fabled.Fabled;
+import studio.magemonkey.fabled.api.classes.FabledClass;
+import studio.magemonkey.fabled.api.enums.ExpSource;
+import studio.magemonkey.fabled.api.player.PlayerAccounts;
+import studio.magemonkey.fabled.api.player.PlayerData;
+import studio.magemonkey.fabled.testutil.MockedTest;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryDataCodecTest extends MockedTest {
+    @Override
+    public void preInit() {
+        useClasses("full/classes.yml");
+        useSkills("full/skills.yml");
+    }
+
+    @Test
+    void roundTrip_matchesYaml() throws IOException {
+        for (DataSection document : createDocuments()) {
+            DataSection decoded = BinaryDataCodec.decode(BinaryDataCodec.encode(document));
+            assertEquals(document.toString(), decoded.toString());
+
+            DataSection parsed = new YAMLParser().parseText(document.toString());
+            assertEquals(parsed.toString(), BinaryDataCodec.decode(BinaryDataCodec.encode(parsed)).toString());
+        }
+    }
+
+    @Test
+    void storedValue_detectsFormat() throws IOException {
+        DataSection document = createDocuments().get(0);
+        assertEquals(document.toString(), SQLIO.parseStored(SQLIO.toStored(document, true)).toString());
+        assertEquals(document.toString(), SQLIO.parseStored(SQLIO.toStored(document, false)).toString());
+    }
+
+    @Test
+    void decode_rejectsNewerVersion() {
+        byte[] bytes = BinaryDataCodec.encode(new DataSection());
+        bytes[2] = (byte) (BinaryDataCodec.VERSION + 1);
+        assertThrows(IOException.class, () -> BinaryDataCodec.decode(bytes));
+        assertThrows(IOException.class, () -> BinaryDataCodec.decode("a: b".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void encode_isSmallerThanYaml() {
+        long yamlSize = 0, binarySize = 0;
+        for (DataSection document : createDocuments()) {
+            yamlSize += document.toString().getBytes(StandardCharsets.UTF_8).length;
+            binarySize += BinaryDataCodec.encode(document).length;
+        }
+        assertTrue(binarySize < yamlSize);
+    }
+
+    private List<DataSection> createDocuments() {
+        ConfigIO          io        = new ConfigIO(plugin);
+        List<DataSection> documents = new ArrayList<>();
+        int               index     = 0;
+        for (FabledClass fabledClass : Fabled.getClasses().values()) {
+            PlayerMock player = genPlayer("Player" + index++);
+            PlayerData data   = Fabled.getPlayerData(player);
+            data.profess(fabledClass);
+            data.giveLevels(5, ExpSource.COMMAND);
+            data.giveAttribPoints(10);
+            data.setPersistentData("counter", index);
+
+            PlayerAccounts accounts = Fabled.getPlayerAccountData(player);
+            documents.add(io.save(accounts));
+        }
+        assertFalse(documents.isEmpty());
+        return documents;
+    }
+}
@@ -0,0 +1,177 @@
+package studio.magemonkey.fabled.data.io;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import studio.magemonkey.fabled.Fabled;
+import studio.magemonkey.fabled.api.player.PlayerAccounts;
+import studio.magemonkey.fabled.testutil.MockedTest;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PlayerCacheTest extends MockedTest {
+    private IOManager    io;
+    private List<String> calls;
+
+    @BeforeEach
+    public void setup() {
+        io = mock(IOManager.class);
+        calls = new CopyOnWriteArrayList<>();
+        doAnswer(args -> {
+            PlayerAccounts data = args.getArgument(0);
+            data.markSaved(data.getGeneration());
+            calls.add("save");
+            return null;
+        }).when(io).saveData(any());
+        when(io.loadData(any())).thenAnswer(args -> {
+            calls.add("load");
+            return new PlayerAccounts(args.getArgument(0));
+        });
+    }
+
+    @Test
+    void servesReleasedAccountsFromMemory() {
+        PlayerMock     player   = genPlayer("Travja");
+        PlayerCache    cache    = new PlayerCache(plugin, io, 10, 60_000);
+        PlayerAccounts accounts = new PlayerAccounts(player);
+
+        cache.release(player, accounts);
+        server.getScheduler().waitAsyncTasksFinished();
+        verify(io).saveData(accounts);
+
+        assertSame(accounts, cache.load(player));
+        verify(io, never()).loadData(any());
+        assertEquals(1, cache.getHits());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void evictsOldestWrittenAccounts() {
+        PlayerMock  first  = genPlayer("First");
+        PlayerMock  second = genPlayer("Second");
+        PlayerCache cache  = new PlayerCache(plugin, io, 1, 60_000);
+
+        cache.release(first, new PlayerAccounts(first));
+        cache.release(second, new PlayerAccounts(second));
+        server.getScheduler().waitAsyncTasksFinished();
+        cache.evict();
+
+        assertEquals(1, cache.size());
+        cache.load(first);
+        verify(io).loadData(first);
+    }
+
+    @Test
+    void evictsExpiredAccounts() {
+        PlayerMock  player = genPlayer("Travja");
+        PlayerCache cache  = new PlayerCache(plugin, io, 10, -1);
+
+        cache.release(player, new PlayerAccounts(player));
+        server.getScheduler().waitAsyncTasksFinished();
+        cache.evict();
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void readsWaitForPendingWrite() throws Exception {
+        PlayerMock     player  = genPlayer("Travja");
+        PlayerCache    cache   = new PlayerCache(plugin, io, 0, 60_000);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch resume  = new CountDownLatch(1);
+        doAnswer(args -> {
+            writing.countDown();
+            assertTrue(resume.await(5, TimeUnit.SECONDS));
+            PlayerAccounts data = args.getArgument(0);
+            data.markSaved(data.getGeneration());
+            calls.add("save");
+            return null;
+        }).when(io).saveData(any());
+
+        PlayerAccounts accounts = new PlayerAccounts(player);
+        cache.release(player, accounts);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<PlayerAccounts> read = CompletableFuture.supplyAsync(() -> cache.load(player));
+        Thread.sleep(50);
+        assertFalse(read.isDone());
+        resume.countDown();
+
+        assertNotSame(accounts, read.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of("save", "load"), calls);
+        verify(io, times(1)).saveData(accounts);
+    }
+
+    @Test
+    void hitWaitsForPendingWrite() throws Exception {
+        PlayerMock     player  = genPlayer("Travja");
+        PlayerCache    cache   = new PlayerCache(plugin, io, 10, 60_000);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch resume  = new CountDownLatch(1);
+        doAnswer(args -> {
+            writing.countDown();
+            assertTrue(resume.await(5, TimeUnit.SECONDS));
+            PlayerAccounts data = args.getArgument(0);
+            data.markSaved(data.getGeneration());
+            calls.add("save");
+            return null;
+        }).when(io).saveData(any());
+
+        PlayerAccounts accounts = new PlayerAccounts(player);
+        cache.release(player, accounts);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<PlayerAccounts> read = CompletableFuture.supplyAsync(() -> cache.load(player));
+        Thread.sleep(50);
+        assertFalse(read.isDone());
+        resume.countDown();
+
+        assertSame(accounts, read.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of("save"), calls);
+    }
+
+    @Test
+    void invalidatedAccountsAreReadBack() {
+        PlayerMock     player   = genPlayer("Travja");
+        PlayerCache    cache    = new PlayerCache(plugin, io, 10, 60_000);
+        PlayerAccounts accounts = new PlayerAccounts(player);
+
+        cache.release(player, accounts);
+        server.getScheduler().waitAsyncTasksFinished();
+        cache.invalidate();
+
+        assertEquals(0, cache.size());
+        assertNotSame(accounts, cache.load(player));
+        verify(io).loadData(player);
+    }
+
+    @Test
+    void relogUsesCachedAccounts() {
+        PlayerMock     player   = genPlayer("Travja");
+        PlayerAccounts accounts = Fabled.getPlayerAccountData(player);
+        accounts.isLoaded(true);
+
+        Fabled.unloadPlayerData(player);
+        assertFalse(Fabled.hasPlayerData(player));
+
+        server.getScheduler().waitAsyncTasksFinished();
+        assertSame(accounts, Fabled.getPlayerAccountData(player));
+    }
+}
@@ -0,0 +1,128 @@
+package studio.magemonkey.fabled.data.io;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SQLPlayerTableTest {
+    private static int databases = 0;
+
+    private SQLConnectionPool pool;
+    private SQLPlayerTable    table;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        pool = new SQLConnectionPool("jdbc:h2:mem:fabled" + (databases++) + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                null, null, 2);
+        table = new SQLPlayerTable(pool);
+        table.ensureSchema();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void load_missingPlayerReturnsNull() throws SQLException {
+        assertNull(table.load("nobody"));
+    }
+
+    @Test
+    void saveAll_insertsThenUpdates() throws SQLException {
+        Map<String, String> batch = new LinkedHashMap<>();
+        batch.put("a", "first");
+        batch.put("b", "second");
+        table.saveAll(batch);
+
+        assertEquals("first", table.load("a"));
+        assertEquals("second", table.load("b"));
+
+        batch.put("a", "changed");
+        batch.put("c", "third");
+        table.saveAll(batch);
+
+        Map<String, String> loaded = table.loadAll(Arrays.asList("a", "b", "c", "d"));
+        assertEquals(3, loaded.size());
+        assertEquals("changed", loaded.get("a"));
+        assertEquals("third", loaded.get("c"));
+        assertEquals(3, countRows());
+    }
+
+    @Test
+    void saveAll_insertsMissingRowsWithoutUpdateCounts() throws SQLException {
+        SQLConnectionPool mockPool   = mock(SQLConnectionPool.class);
+        Connection        connection = mock(Connection.class);
+        PreparedStatement update     = mock(PreparedStatement.class);
+        PreparedStatement exists     = mock(PreparedStatement.class);
+        PreparedStatement insert     = mock(PreparedStatement.class);
+        when(mockPool.acquire()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenAnswer(args -> {
+            String sql = args.getArgument(0);
+            return sql.startsWith("UPDATE") ? update : sql.startsWith("SELECT") ? exists : insert;
+        });
+        when(update.executeBatch()).thenReturn(new int[]{Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO});
+
+        List<String> lookedUp = new ArrayList<>();
+        doAnswer(args -> lookedUp.add(args.getArgument(1))).when(exists).setString(anyInt(), anyString());
+        when(exists.executeQuery()).thenAnswer(args -> {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.next()).thenReturn(lookedUp.get(lookedUp.size() - 1).equals("a"));
+            return rs;
+        });
+
+        List<String> inserted = new ArrayList<>();
+        doAnswer(args -> inserted.add(args.getArgument(1))).when(insert).setString(anyInt(), anyString());
+
+        Map<String, String> batch = new LinkedHashMap<>();
+        batch.put("a", "first");
+        batch.put("b", "second");
+        new SQLPlayerTable(mockPool).saveAll(batch);
+
+        assertEquals(Arrays.asList("a", "b"), lookedUp);
+        assertEquals(Arrays.asList("b", "second"), inserted);
+    }
+
+    @Test
+    void ensureSchema_isRepeatable() throws SQLException {
+        table.save("a", "data");
+        table.ensureSchema();
+        assertEquals("data", table.load("a"));
+    }
+
+    @Test
+    void connectionsAreReused() throws SQLException {
+        table.save("a", "data");
+        table.load("a");
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    private int countRows() throws SQLException {
+        Connection connection = pool.acquire();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM " + SQLPlayerTable.TABLE)) {
+            rs.next();
+            return rs.getInt(1);
+        } finally {
+            pool.release(connection);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package studio.magemonkey.fabled.dynamic;
+
+import studio.magemonkey.fabled.api.PlayerDataConsumer;
+import studio.magemonkey.fabled.api.Settings;
+import studio.magemonkey.fabled.api.util.EntityState;
+import org.bukkit.entity.LivingEntity;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CompiledSettingsTest {
+    @Test
+    void getScaled_matchesSettings() {
+        Settings settings = new Settings();
+        settings.set("damage", 2.5, 1.25);
+        settings.set("radius-base", "3");
+        settings.set("range-scale", 0.5);
+
+        CompiledSettings compiled = CompiledSettings.compile(settings);
+        for (int level = 1; level <= 5; level++) {
+            assertEquals(settings.getAttr("damage", level), compiled.getScaled(null, "damage", level, 0));
+            assertEquals(settings.getAttr("radius", level), compiled.getScaled(null, "radius", level, 0));
+            assertEquals(7 + 0.5 * (level - 1), compiled.getScaled(null, "range", level, 7));
+        }
+        assertEquals(4, compiled.getScaled(null, "missing", 3, 4));
+    }
+
+    @Test
+    void getNum_parsesConstantsOnce() {
+        Settings settings = new Settings();
+        settings.set("amount", "12.5");
+        settings.set("count", 3);
+
+        CompiledSettings compiled = CompiledSettings.compile(settings);
+        assertEquals(12.5, compiled.getNum(null, "amount", 0));
+        assertEquals(3, compiled.getNum(null, "count", 0));
+        assertEquals(-1, compiled.getNum(null, "missing", -1));
+        assertEquals("3", compiled.getString("count", null));
+        assertEquals("fallback", compiled.getString("missing", "fallback"));
+    }
+
+    @Test
+    void isCurrent_tracksModifications() {
+        Settings settings = new Settings();
+        settings.set("amount", 1);
+
+        CompiledSettings compiled = CompiledSettings.compile(settings);
+        assertTrue(compiled.isCurrent(settings));
+
+        settings.set("amount", 1);
+        assertTrue(compiled.isCurrent(settings));
+
+        settings.set("amount", 2);
+        assertFalse(compiled.isCurrent(settings));
+    }
+
+    @Test
+    void slots_matchKeyLookups() {
+        Settings settings = new Settings();
+        settings.set("slot-amount", "4");
+        settings.set("slot-damage", 2, 1);
+
+        CompiledSettings compiled = CompiledSettings.compile(settings);
+        int              amount   = CompiledSettings.slot("slot-amount");
+        int              damage   = CompiledSettings.slot("slot-damage");
+        assertEquals(amount, CompiledSettings.find("slot-amount"));
+        assertEquals("slot-damage", CompiledSettings.getName(damage));
+        assertEquals(-1, CompiledSettings.find("slot-never-used"));
+
+        assertEquals(4, compiled.getNum(null, amount, 0));
+        assertEquals("4", compiled.getString(amount, null));
+        assertEquals(compiled.getScaled(null, "slot-damage", 3, 0), compiled.getScaled(null, damage, 3, 0));
+        assertEquals(-1, compiled.getNum(null, CompiledSettings.slot("slot-unset"), -1));
+    }
+
+    @Test
+    void getNum_consumesCastDataOnce() {
+        LivingEntity caster = mock(LivingEntity.class);
+        when(caster.getEntityId()).thenReturn(-4242);
+        AtomicInteger consumed = new AtomicInteger();
+        try {
+            DynamicSkill.getCastData(caster).put("consumed", (PlayerDataConsumer) () -> {
+                consumed.incrementAndGet();
+                return "7.5";
+            });
+            Settings settings = new Settings();
+            settings.set("amount", "consumed");
+
+            assertEquals(7.5, CompiledSettings.compile(settings).getNum(caster, "amount", 0));
+            assertEquals(1, consumed.get());
+        } finally {
+            EntityState.release(caster);
+        }
+    }
+}
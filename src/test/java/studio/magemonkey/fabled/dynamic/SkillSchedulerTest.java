@@ -0,0 +1,118 @@
+package studio.magemonkey.fabled.dynamic;
+
+import studio.magemonkey.fabled.dynamic.mechanic.DelayMechanic;
+import studio.magemonkey.fabled.dynamic.mechanic.RepeatMechanic;
+import studio.magemonkey.fabled.testutil.MockedTest;
+import org.bukkit.entity.LivingEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SkillSchedulerTest extends MockedTest {
+    private EffectComponent delay;
+    private EffectComponent repeat;
+
+    @BeforeEach
+    public void setup() {
+        SkillScheduler.cleanUp();
+        SkillScheduler.init();
+        delay = new DelayMechanic();
+        delay.skill = new DynamicSkill("Fireball");
+        repeat = new RepeatMechanic();
+        repeat.skill = new DynamicSkill("Blizzard");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SkillScheduler.cleanUp();
+    }
+
+    @Test
+    void runLater_runsOnceAfterDelay() {
+        LivingEntity  caster = mockEntity(1);
+        AtomicInteger runs   = new AtomicInteger();
+        SkillScheduler.runLater(delay, caster, 10, runs::incrementAndGet);
+        assertEquals(1, SkillScheduler.getPendingCount(caster));
+        assertEquals(1, SkillScheduler.getPendingCount("fireball"));
+
+        server.getScheduler().performTicks(9);
+        assertEquals(0, runs.get());
+
+        server.getScheduler().performTicks(1);
+        assertEquals(1, runs.get());
+        assertEquals(0, SkillScheduler.getPendingCount());
+        assertEquals(0, SkillScheduler.getPendingCount(caster));
+        assertEquals(0, SkillScheduler.getPendingCount("fireball"));
+    }
+
+    @Test
+    void runTimer_repeatsUntilDone() {
+        LivingEntity  caster = mockEntity(1);
+        AtomicInteger runs   = new AtomicInteger();
+        SkillScheduler.runTimer(repeat, caster, 1, 5, () -> runs.incrementAndGet() < 3);
+
+        server.getScheduler().performTicks(1);
+        assertEquals(1, runs.get());
+        server.getScheduler().performTicks(5);
+        assertEquals(2, runs.get());
+        server.getScheduler().performTicks(20);
+        assertEquals(3, runs.get());
+        assertEquals(0, SkillScheduler.getPendingCount());
+    }
+
+    @Test
+    void cancel_onlyAffectsOwnerAndCaster() {
+        LivingEntity  first  = mockEntity(1);
+        LivingEntity  second = mockEntity(2);
+        AtomicInteger runs   = new AtomicInteger();
+        SkillScheduler.runLater(delay, first, 5, runs::incrementAndGet);
+        SkillScheduler.runLater(repeat, first, 5, runs::incrementAndGet);
+        SkillScheduler.runLater(delay, second, 5, runs::incrementAndGet);
+
+        assertEquals(1, SkillScheduler.cancel(delay, first));
+        assertEquals(2, SkillScheduler.getPendingCount());
+        assertEquals(1, SkillScheduler.getPendingCount("fireball"));
+
+        server.getScheduler().performTicks(5);
+        assertEquals(2, runs.get());
+        assertEquals(0, SkillScheduler.getPendingCount());
+    }
+
+    @Test
+    void cleanUp_cancelsRepeatingWork() {
+        LivingEntity  caster = mockEntity(1);
+        AtomicInteger runs   = new AtomicInteger();
+        SkillScheduler.runTimer(repeat, caster, 1, 1, () -> runs.incrementAndGet() > 0);
+
+        server.getScheduler().performTicks(3);
+        repeat.cleanUp(caster);
+        server.getScheduler().performTicks(3);
+        assertEquals(3, runs.get());
+        assertEquals(0, SkillScheduler.getPendingCount(caster));
+    }
+
+    @Test
+    void cleanUp_cancelsDelayedWorkOfOtherComponents() {
+        LivingEntity  caster = mockEntity(1);
+        AtomicInteger runs   = new AtomicInteger();
+        SkillScheduler.runLater(delay, caster, 5, runs::incrementAndGet);
+
+        delay.cleanUp(caster);
+        server.getScheduler().performTicks(5);
+        assertEquals(0, runs.get());
+        assertEquals(0, SkillScheduler.getPendingCount());
+    }
+
+    private LivingEntity mockEntity(int id) {
+        LivingEntity entity = mock(LivingEntity.class);
+        when(entity.getEntityId()).thenReturn(id);
+        when(entity.isValid()).thenReturn(true);
+        return entity;
+    }
+}
@@ -0,0 +1,179 @@
+package studio.magemonkey.fabled.dynamic;
+
+import studio.magemonkey.fabled.api.CastData;
+import studio.magemonkey.fabled.api.Settings;
+import studio.magemonkey.fabled.dynamic.trigger.Trigger;
+import studio.magemonkey.fabled.testutil.MockedTest;
+import org.bukkit.Material;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.*;
+
+public class TriggerDispatcherTest extends MockedTest {
+    // Listeners from earlier tests stay registered on the shared server, so every test uses its own caster
+    private static final AtomicInteger nextId = new AtomicInteger(100_000);
+
+    private final Trigger<TestEvent>               testTrigger = new TestTrigger<>(TestEvent.class);
+    private final Trigger<PlayerSwapHandItemsEvent> swapTrigger =
+            new TestTrigger<>(PlayerSwapHandItemsEvent.class);
+
+    private LivingEntity caster;
+
+    @BeforeEach
+    public void setup() {
+        TriggerDispatcher.clear();
+        caster = mock(LivingEntity.class);
+        when(caster.getEntityId()).thenReturn(nextId.getAndIncrement());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TriggerDispatcher.clear();
+    }
+
+    @Test
+    void dispatch_onlyReachesHandlersOfCaster() {
+        TriggerHandler handler = handler(testTrigger, caster.getEntityId() + 1);
+        server.getPluginManager().callEvent(new TestEvent(caster));
+
+        verify(handler, never()).apply(any(), any(), any());
+    }
+
+    @Test
+    void dispatch_stopsOnceEventIsCancelled() {
+        TriggerHandler cancelling = handler(testTrigger, caster.getEntityId());
+        TriggerHandler later      = handler(testTrigger, caster.getEntityId());
+        cancelOnApply(cancelling);
+
+        TestEvent event = new TestEvent(caster);
+        server.getPluginManager().callEvent(event);
+
+        verify(cancelling).apply(same(event), same(testTrigger), same(caster));
+        verify(later, never()).apply(any(), any(), any());
+    }
+
+    @Test
+    void dispatch_skipsEventsCancelledBeforehand() {
+        TriggerHandler handler = handler(testTrigger, caster.getEntityId());
+        TestEvent      event   = new TestEvent(caster);
+        event.setCancelled(true);
+        server.getPluginManager().callEvent(event);
+
+        verify(handler, never()).apply(any(), any(), any());
+    }
+
+    @Test
+    void dispatch_swapEventsReachHandlersWhenCancelled() {
+        Player player = server.addPlayer();
+        caster = player;
+        TriggerHandler cancelling = handler(swapTrigger, player.getEntityId());
+        TriggerHandler later      = handler(swapTrigger, player.getEntityId());
+        cancelOnApply(cancelling);
+
+        PlayerSwapHandItemsEvent event =
+                new PlayerSwapHandItemsEvent(player, new ItemStack(Material.AIR), new ItemStack(Material.AIR));
+        event.setCancelled(true);
+        server.getPluginManager().callEvent(event);
+
+        verify(cancelling).apply(same(event), same(swapTrigger), same(player));
+        verify(later).apply(same(event), same(swapTrigger), same(player));
+    }
+
+    private TriggerHandler handler(Trigger<?> trigger, int casterId) {
+        TriggerHandler handler = mock(TriggerHandler.class);
+        when(handler.getTrigger()).thenReturn(trigger);
+        TriggerDispatcher.register(plugin, handler);
+        TriggerDispatcher.activate(handler, casterId);
+        return handler;
+    }
+
+    private void cancelOnApply(TriggerHandler handler) {
+        doAnswer(invocation -> {
+            ((Cancellable) invocation.getArgument(0)).setCancelled(true);
+            return null;
+        }).when(handler).apply(any(), any(), any());
+    }
+
+    private class TestTrigger<E extends Event> implements Trigger<E> {
+        private final Class<E> event;
+
+        private TestTrigger(Class<E> event) {
+            this.event = event;
+        }
+
+        @Override
+        public String getKey() {
+            return "TEST";
+        }
+
+        @Override
+        public Class<E> getEvent() {
+            return event;
+        }
+
+        @Override
+        public boolean shouldTrigger(E event, int level, Settings settings) {
+            return true;
+        }
+
+        @Override
+        public void setValues(E event, CastData data) {}
+
+        @Override
+        public LivingEntity getCaster(E event) {
+            return caster;
+        }
+
+        @Override
+        public LivingEntity getTarget(E event, Settings settings) {
+            return caster;
+        }
+    }
+
+    public static class TestEvent extends Event implements Cancellable {
+        private static final HandlerList handlers = new HandlerList();
+
+        private final LivingEntity caster;
+        private       boolean      cancelled;
+
+        TestEvent(LivingEntity caster) {
+            this.caster = caster;
+        }
+
+        public LivingEntity getCaster() {
+            return caster;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void setCancelled(boolean cancelled) {
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        public HandlerList getHandlers() {
+            return handlers;
+        }
+
+        public static HandlerList getHandlerList() {
+            return handlers;
+        }
+    }
+}
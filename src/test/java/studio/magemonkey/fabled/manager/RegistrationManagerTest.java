@@ -0,0 +1,139 @@
+package studio.magemonkey.fabled.manager;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import org.junit.jupiter.api.Test;
+import studio.magemonkey.fabled.Fabled;
+import studio.magemonkey.fabled.api.classes.FabledClass;
+import studio.magemonkey.fabled.api.player.PlayerData;
+import studio.magemonkey.fabled.api.skills.Skill;
+import studio.magemonkey.fabled.testutil.MockedTest;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RegistrationManagerTest extends MockedTest {
+    private static final long MARKER = 1_000_000L;
+
+    @Override
+    public void preInit() {
+        loadClasses("Honor Guard");
+        loadSkills("Brilliance Strike");
+    }
+
+    @Test
+    void writesManifest() {
+        assertTrue(new File(plugin.getDataFolder(), "dynamic" + File.separator + "manifest.properties").exists());
+    }
+
+    @Test
+    void unchangedFilesAreNotRewritten() {
+        File skillFile = getFile("skill", "Brilliance Strike");
+        File classFile = getFile("class", "Honor Guard");
+        assertTrue(skillFile.setLastModified(MARKER));
+        assertTrue(classFile.setLastModified(MARKER));
+
+        reload();
+
+        assertNotNull(Fabled.getSkill("Brilliance Strike"));
+        assertNotNull(Fabled.getClass("Honor Guard"));
+        assertEquals(MARKER, skillFile.lastModified());
+        assertEquals(MARKER, classFile.lastModified());
+    }
+
+    @Test
+    void changedFilesAreRewritten() throws IOException {
+        File skillFile = getFile("skill", "Brilliance Strike");
+        Files.write(skillFile.toPath(), "\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        assertTrue(skillFile.setLastModified(MARKER));
+
+        reload();
+
+        assertNotNull(Fabled.getSkill("Brilliance Strike"));
+        assertNotEquals(MARKER, skillFile.lastModified());
+    }
+
+    @Test
+    void reportsPhaseTimings() {
+        Map<String, Long> timings = Fabled.getRegistrationManager().getTimings();
+        assertTrue(timings.containsKey("Parse skill files"));
+        assertTrue(timings.containsKey("Register skill files"));
+        assertTrue(timings.containsKey("Parse class files"));
+        assertTrue(timings.containsKey("Register class files"));
+        timings.values().forEach(nanos -> assertTrue(nanos >= 0));
+    }
+
+    @Test
+    void reloadChangedSkipsUnchangedFiles() {
+        Skill       skill = Fabled.getSkill("Brilliance Strike");
+        FabledClass tree  = Fabled.getClass("Honor Guard");
+
+        assertTrue(await(Fabled.getRegistrationManager().reloadChanged()).isEmpty());
+        assertSame(skill, Fabled.getSkill("Brilliance Strike"));
+        assertSame(tree, Fabled.getClass("Honor Guard"));
+    }
+
+    @Test
+    void reloadChangedSwapsChangedSkill() throws IOException {
+        PlayerMock player = genPlayer("Travja");
+        PlayerData data   = plugin.getPlayerData(player);
+        data.profess(plugin.getClass("Honor Guard"));
+        Skill previous = Fabled.getSkill("Brilliance Strike");
+
+        File skillFile = getFile("skill", "Brilliance Strike");
+        Files.write(skillFile.toPath(), "\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        FabledClass tree = Fabled.getClass("Honor Guard");
+
+        List<String> reloaded = await(Fabled.getRegistrationManager().reloadChanged());
+
+        Skill skill = Fabled.getSkill("Brilliance Strike");
+        assertEquals(List.of("Brilliance Strike"), reloaded);
+        assertNotSame(previous, skill);
+        assertSame(skill, data.getSkill("Brilliance Strike").getData());
+        assertSame(tree, Fabled.getClass("Honor Guard"));
+        assertTrue(tree.getSkills().contains(skill));
+        assertTrue(await(Fabled.getRegistrationManager().reloadChanged()).isEmpty());
+    }
+
+    @Test
+    void reloadChangedSwapsChangedClass() throws IOException {
+        PlayerMock player = genPlayer("Travja");
+        PlayerData data   = plugin.getPlayerData(player);
+        data.profess(plugin.getClass("Honor Guard"));
+        FabledClass previous = Fabled.getClass("Honor Guard");
+
+        File classFile = getFile("class", "Honor Guard");
+        Files.write(classFile.toPath(), "\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        assertEquals(List.of("Honor Guard"), await(Fabled.getRegistrationManager().reloadChanged()));
+        FabledClass tree = Fabled.getClass("Honor Guard");
+        assertNotSame(previous, tree);
+        assertSame(tree, data.getClass(tree.getGroup()).getData());
+        assertTrue(data.isExactClass(tree));
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
+        for (int i = 0; i < 20 && !future.isDone(); i++) {
+            server.getScheduler().waitAsyncTasksFinished();
+            server.getScheduler().performOneTick();
+        }
+        return future.join();
+    }
+
+    private File getFile(String folder, String name) {
+        return new File(plugin.getDataFolder(),
+                "dynamic" + File.separator + folder + File.separator + name + ".yml");
+    }
+}
@@ -0,0 +1,172 @@
+package studio.magemonkey.fabled.thread;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TickExecutorTest {
+    @AfterEach
+    public void tearDown() {
+        TickExecutor.cleanUp();
+    }
+
+    @Test
+    void phases_onlyRunTheirOwnTasks() {
+        CountingTask async = new CountingTask(false, 1);
+        CountingTask main  = new CountingTask(true, 1);
+        TickExecutor.register(async);
+        TickExecutor.register(main);
+
+        TickExecutor.tickAsync(System.nanoTime());
+        assertEquals(1, async.runs.get());
+        assertEquals(0, main.runs.get());
+
+        TickExecutor.tickMain();
+        assertEquals(1, async.runs.get());
+        assertEquals(1, main.runs.get());
+    }
+
+    @Test
+    void repeatingTask_runsEveryPeriod() {
+        CountingTask task = new CountingTask(false, 5);
+        TickExecutor.register(task);
+
+        for (int i = 0; i < 20; i++) {
+            TickExecutor.tickAsync(System.nanoTime());
+        }
+
+        assertEquals(4, task.runs.get());
+        TickExecutor.TaskTiming timing = TickExecutor.getTimings().get(0);
+        assertEquals("CountingTask", timing.getName());
+        assertEquals(5, timing.getPeriod());
+        assertEquals(20, timing.getCalls());
+    }
+
+    @Test
+    void oneShotTask_isRemovedAfterRunning() {
+        AtomicInteger runs = new AtomicInteger();
+        TickExecutor.register(new ThreadTask(2) {
+            @Override
+            public void run() {
+                runs.incrementAndGet();
+            }
+        });
+
+        for (int i = 0; i < 5; i++) {
+            TickExecutor.tickAsync(System.nanoTime());
+        }
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void splitTask_appliesOnNextMainTick() {
+        List<Integer> applied = new ArrayList<>();
+        TickExecutor.register(new SplitThreadTask<Integer>(0, 1) {
+            private int count;
+
+            @Override
+            protected Integer compute() {
+                return ++count;
+            }
+
+            @Override
+            protected void apply(Integer result) {
+                applied.add(result);
+            }
+        });
+
+        TickExecutor.tickAsync(System.nanoTime());
+        TickExecutor.tickAsync(System.nanoTime());
+        assertTrue(applied.isEmpty());
+
+        TickExecutor.tickMain();
+        assertEquals(List.of(1, 2), applied);
+    }
+
+    @Test
+    void failingTask_keepsRunningAndCountsFailures() {
+        TickExecutor.register(new RepeatThreadTask(0, 1) {
+            @Override
+            public void run() {
+                throw new IllegalStateException("expected");
+            }
+        });
+
+        TickExecutor.tickAsync(System.nanoTime());
+        TickExecutor.tickAsync(System.nanoTime());
+
+        assertEquals(2, TickExecutor.getTimings().get(0).getFailures());
+    }
+
+    @Test
+    void failingTask_errorsDoNotStopOtherTasks() {
+        List<Integer> ran = new ArrayList<>();
+        TickExecutor.register(new RepeatThreadTask(0, 1) {
+            @Override
+            public void run() {
+                throw new NoClassDefFoundError("expected");
+            }
+        });
+        TickExecutor.register(new RepeatThreadTask(0, 1) {
+            @Override
+            public void run() {
+                ran.add(1);
+            }
+        });
+
+        TickExecutor.tickAsync(System.nanoTime());
+        TickExecutor.tickAsync(System.nanoTime());
+
+        assertEquals(List.of(1, 1), ran);
+    }
+
+    @Test
+    void register_fromManyThreadsLosesNothing() throws InterruptedException {
+        AtomicInteger runs    = new AtomicInteger();
+        Thread[]      threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 500; j++) {
+                    TickExecutor.register(new ThreadTask() {
+                        @Override
+                        public void run() {
+                            runs.incrementAndGet();
+                        }
+                    });
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        TickExecutor.tickAsync(System.nanoTime());
+        assertEquals(4000, runs.get());
+    }
+
+    private static class CountingTask extends RepeatThreadTask {
+        private final AtomicInteger runs = new AtomicInteger();
+        private final boolean       mainThread;
+
+        private CountingTask(boolean mainThread, int period) {
+            super(0, period);
+            this.mainThread = mainThread;
+        }
+
+        @Override
+        public boolean isMainThread() {
+            return mainThread;
+        }
+
+        @Override
+        public void run() {
+            runs.incrementAndGet();
+        }
+    }
+}
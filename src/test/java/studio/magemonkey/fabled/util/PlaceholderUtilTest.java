@@ -0,0 +1,140 @@
+package studio.magemonkey.fabled.util;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import studio.magemonkey.fabled.api.CastData;
+import studio.magemonkey.fabled.api.player.PlayerData;
+import studio.magemonkey.fabled.testutil.MockedTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class PlaceholderUtilTest extends MockedTest {
+    private static final int PLAYERS = 20;
+
+    private static final String[] PLACEHOLDERS = {
+            "default_currentlevel", "default_currentmaxlevel", "default_currentmaxmana",
+            "default_scurrentmaxmana", "default_currentmana", "default_scurrentmana",
+            "default_currentmananame", "default_scurrentmananame", "default_currentmanaregen",
+            "default_scurrentmanaregen", "default_currentgroupname", "default_currentclassname",
+            "default_currentavailableattributepoints", "default_attributepoints",
+            "default_currentavailableskillpoints", "default_skillpoints", "default_currentprefix",
+            "default_scurrentprefix", "default_currentexp", "default_scurrentexp",
+            "default_currentrequiredexp", "default_scurrentrequiredexp",
+            "player_account_1_level", "player_account_1_class", "player_account_1_mainclass",
+            "player_account_1_currentexp", "player_account_1_requiredexp", "player_account_1_scurrentexp",
+            "player_account_1_srequiredexp", "player_account_1_skillpoints", "player_account_1_attributepoints",
+            "player_account_1_currentmana", "player_account_1_maxmana", "player_account_1_scurrentmana",
+            "player_account_1_smaxmana", "player_account_1_attribute:vitality",
+            "player_class_level", "player_class_class", "player_class_currentexp",
+            "group_class_basehealth", "group_class_sbasehealth", "group_class_basemana",
+            "group_class_sbasemana", "group_class_healthscale", "group_class_mananame",
+            "group_class_manaregen", "group_class_maxlevel", "group_class_prefix",
+            "group_class_healthat:10", "group_class_smanaat:10",
+    };
+
+    private PlayerMock player;
+
+    @Override
+    public void preInit() {
+        loadClasses("Honor Guard");
+    }
+
+    @BeforeEach
+    public void setup() {
+        player = genPlayer("Travja");
+        PlayerData data = plugin.getPlayerData(player);
+        data.profess(plugin.getClass("Honor Guard"));
+    }
+
+    @AfterEach
+    public void teardown() {
+        PlaceholderUtil.cleanUp();
+    }
+
+    @Test
+    void resolvesPlaceholders() {
+        assertEquals("Honor Guard", PlaceholderUtil.replace(player, "default_currentclassname"));
+        assertEquals("1", PlaceholderUtil.replace(player, "player_account_1_level"));
+        assertEquals("Honor Guard", PlaceholderUtil.replace(player, "player_class_class"));
+        assertEquals("50", PlaceholderUtil.replace(player, "group_class_maxlevel"));
+        assertEquals("0", PlaceholderUtil.replace(player, "group_class_healthat:nope"));
+        assertEquals("0", PlaceholderUtil.replace(player, "dynamic_value_missing"));
+        assertNull(PlaceholderUtil.replace(player, "unknown_placeholder"));
+    }
+
+    @Test
+    void dynamicValues_doNotAssignCastDataSlots() {
+        assertEquals("0", PlaceholderUtil.replace(player, "dynamic_value_placeholder-only"));
+        assertEquals(-1, CastData.find("placeholder-only"));
+    }
+
+    @Test
+    void cachesResultsForOneTick() {
+        AtomicInteger         expanded = new AtomicInteger();
+        UnaryOperator<String> expander = id -> {
+            expanded.incrementAndGet();
+            return id;
+        };
+
+        PlaceholderUtil.replace(player, "default_currentlevel", expander);
+        PlaceholderUtil.replace(player, "default_currentlevel", expander);
+        PlaceholderUtil.replace(player, "unknown_placeholder", expander);
+        PlaceholderUtil.replace(player, "unknown_placeholder", expander);
+        assertEquals(2, expanded.get());
+
+        server.getScheduler().performOneTick();
+        PlaceholderUtil.replace(player, "default_currentlevel", expander);
+        assertEquals(3, expanded.get());
+
+        PlaceholderUtil.invalidate(player);
+        PlaceholderUtil.replace(player, "default_currentlevel", expander);
+        assertEquals(4, expanded.get());
+    }
+
+    @Test
+    void neverCachesBracketPlaceholders() {
+        AtomicInteger         expanded = new AtomicInteger();
+        UnaryOperator<String> expander = id -> {
+            expanded.incrementAndGet();
+            return "default_currentlevel";
+        };
+
+        assertEquals("1", PlaceholderUtil.replace(player, "{player_level}", expander));
+        assertEquals("1", PlaceholderUtil.replace(player, "{player_level}", expander));
+        assertEquals(2, expanded.get());
+    }
+
+    @Test
+    void resolveManyPlayers() {
+        List<PlayerMock> online = new ArrayList<>(PLAYERS);
+        online.add(player);
+        for (int i = 1; i < PLAYERS; i++) {
+            PlayerMock other = genPlayer("Player" + i);
+            plugin.getPlayerData(other).profess(plugin.getClass("Honor Guard"));
+            online.add(other);
+        }
+
+        // Cold, cached and compiled after the cache expires
+        resolveAll(online);
+        resolveAll(online);
+        server.getScheduler().performOneTick();
+        resolveAll(online);
+    }
+
+    private void resolveAll(List<PlayerMock> online) {
+        for (PlayerMock player : online) {
+            for (String placeholder : PLACEHOLDERS) {
+                assertNotNull(PlaceholderUtil.replace(player, placeholder), placeholder);
+            }
+        }
+    }
+}